@@ -0,0 +1,249 @@
+package ilp.wrapper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import ilp.wrapper.IncrementalIlpSolver.Constraint;
+import ilp.wrapper.config.IlpSolverConfig;
+
+/**
+ * Pool of variables (columns) that are not added to the solver's model up
+ * front but generated on demand (column generation): The restricted model is
+ * relaxed, the dual values of all constraints the pooled columns participate
+ * in are read from the LP relaxation and only the columns with a negative
+ * reduced cost are added to the model. This is repeated until no pooled column
+ * has a negative reduced cost, i.e., until the LP relaxation of the restricted
+ * model is optimal for the LP relaxation of the complete model. Afterwards, the
+ * restricted model can be solved as an ILP.
+ *
+ * If the solver does not support dual values, all pooled columns are added at
+ * once.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpColumnPool {
+
+	/**
+	 * Tolerance for the reduced cost check.
+	 */
+	private static final double EPS = 1e-9;
+
+	/**
+	 * All pooled (not yet added) columns by name.
+	 */
+	private final Map<String, Column> pending = new LinkedHashMap<>();
+
+	/**
+	 * Number of columns that were added to a solver.
+	 */
+	private int addedCount = 0;
+
+	/**
+	 * Adds a column to the pool.
+	 *
+	 * @param column Column to add.
+	 */
+	public void add(final Column column) {
+		pending.put(column.name, column);
+	}
+
+	/**
+	 * Returns all pooled columns with a negative reduced cost for given dual
+	 * values and removes them from the pool. The columns are sorted by their
+	 * reduced costs (ascending). Missing dual values are treated as zero.
+	 *
+	 * @param duals Map of constraint names to dual values.
+	 * @return List of all priced columns.
+	 */
+	public List<Column> price(final Map<String, Double> duals) {
+		final Map<Column, Double> reducedCosts = new LinkedHashMap<>();
+		for (final Column c : pending.values()) {
+			final double rc = c.getReducedCost(duals);
+			if (rc < -EPS) {
+				reducedCosts.put(c, rc);
+			}
+		}
+
+		final List<Column> priced = new ArrayList<>(reducedCosts.keySet());
+		priced.sort(Comparator.comparingDouble(reducedCosts::get));
+		for (final Column c : priced) {
+			pending.remove(c.name);
+		}
+		return priced;
+	}
+
+	/**
+	 * Prices all pooled columns with the dual values of the LP relaxation of a
+	 * given solver's model and adds all columns with a negative reduced cost to
+	 * the model. If the solver does not support dual values, all pooled columns
+	 * are added.
+	 *
+	 * @param solver Solver to add the columns to.
+	 * @return Number of added columns (0 if no pooled column has a negative
+	 *         reduced cost).
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	public int addPriced(final IncrementalIlpSolver solver) throws IlpSolverException {
+		if (pending.isEmpty()) {
+			return 0;
+		}
+
+		final Set<String> rows = new HashSet<>();
+		for (final Column c : pending.values()) {
+			rows.addAll(c.terms.keySet());
+		}
+
+		final Map<String, Double> duals;
+		try {
+			duals = solver.getLpDuals(rows);
+		} catch (final UnsupportedOperationException e) {
+			if (IlpSolverConfig.ENABLE_ILP_OUTPUT) {
+				System.out.println("=> Column generation: Solver provides no LP dual values, adding all "
+						+ pending.size() + " pooled columns");
+			}
+			return addAll(solver);
+		}
+
+		return add(solver, price(duals));
+	}
+
+	/**
+	 * Adds all pooled columns to a given solver's model.
+	 *
+	 * @param solver Solver to add the columns to.
+	 * @return Number of added columns.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	public int addAll(final IncrementalIlpSolver solver) throws IlpSolverException {
+		final List<Column> columns = new ArrayList<>(pending.values());
+		pending.clear();
+		return add(solver, columns);
+	}
+
+	/**
+	 * Adds given columns to a given solver's model.
+	 *
+	 * @param solver  Solver to add the columns to.
+	 * @param columns Columns to add.
+	 * @return Number of added columns.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	private int add(final IncrementalIlpSolver solver, final List<Column> columns) throws IlpSolverException {
+		if (columns.isEmpty()) {
+			return 0;
+		}
+
+		final IlpDelta delta = new IlpDelta();
+		for (final Column c : columns) {
+			delta.addVariable(c.name, c.cost);
+		}
+		for (final Column c : columns) {
+			for (final Entry<String, Double> e : c.terms.entrySet()) {
+				delta.setVariableWeightForConstraint(e.getKey(), e.getValue(), c.name);
+			}
+			if (!c.constraints.isEmpty()) {
+				delta.addLessOrEqualsConstraints(c.constraints.toArray(new Constraint[c.constraints.size()]));
+			}
+		}
+		delta.apply(solver);
+		addedCount += columns.size();
+		return columns.size();
+	}
+
+	/**
+	 * Returns the number of pooled (not yet added) columns.
+	 *
+	 * @return Number of pooled columns.
+	 */
+	public int getPendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 * Returns the number of columns that were added to a solver.
+	 *
+	 * @return Number of added columns.
+	 */
+	public int getAddedCount() {
+		return addedCount;
+	}
+
+	/**
+	 * Column of the pool, i.e., a variable with its objective weight, its
+	 * coefficients in constraints of the model and its own less or equals
+	 * constraints that are added together with the variable.
+	 */
+	public static class Column {
+
+		private final String name;
+		private final double cost;
+		private final Map<String, Double> terms = new LinkedHashMap<>();
+		private final List<Constraint> constraints = new LinkedList<>();
+
+		/**
+		 * Creates a new column.
+		 *
+		 * @param name Name of the variable.
+		 * @param cost Objective weight of the variable.
+		 */
+		public Column(final String name, final double cost) {
+			this.name = name;
+			this.cost = cost;
+		}
+
+		/**
+		 * Adds a coefficient of the variable in a constraint of the model.
+		 *
+		 * @param constraint Name of the constraint.
+		 * @param weight     Coefficient of the variable.
+		 * @return This column.
+		 */
+		public Column addTerm(final String constraint, final double weight) {
+			terms.merge(constraint, weight, Double::sum);
+			return this;
+		}
+
+		/**
+		 * Adds a less or equals constraint that is added together with the
+		 * variable. These constraints are not considered for the pricing.
+		 *
+		 * @param constraint Constraint to add.
+		 * @return This column.
+		 */
+		public Column addLessOrEqualsConstraint(final Constraint constraint) {
+			constraints.add(constraint);
+			return this;
+		}
+
+		/**
+		 * Returns the reduced cost of the column for given dual values.
+		 *
+		 * @param duals Map of constraint names to dual values.
+		 * @return Reduced cost of the column.
+		 */
+		public double getReducedCost(final Map<String, Double> duals) {
+			double rc = cost;
+			for (final Entry<String, Double> e : terms.entrySet()) {
+				rc -= e.getValue() * duals.getOrDefault(e.getKey(), 0.0);
+			}
+			return rc;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public double getCost() {
+			return cost;
+		}
+
+	}
+
+}
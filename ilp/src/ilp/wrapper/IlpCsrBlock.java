@@ -0,0 +1,196 @@
+package ilp.wrapper;
+
+import ilp.wrapper.IncrementalIlpSolver.Constraint;
+
+/**
+ * Read-only block of constraints of the same sense in compressed sparse row
+ * (CSR) format. The terms of row {@code r} are stored at the positions
+ * {@code getRowStart(r)} (inclusive) to {@code getRowStart(r + 1)} (exclusive)
+ * of the column and coefficient arrays. Columns are integer IDs of the given
+ * variable symbol table.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpCsrBlock {
+
+	/**
+	 * Symbol table of the referenced variables.
+	 */
+	private final IlpSymbolTable columns;
+
+	/**
+	 * Number of rows.
+	 */
+	private final int rowCount;
+
+	/**
+	 * Row names.
+	 */
+	private final String[] names;
+
+	/**
+	 * Right hand sides of all rows.
+	 */
+	private final double[] rights;
+
+	/**
+	 * Row start positions (length = row count + 1).
+	 */
+	private final int[] rowStart;
+
+	/**
+	 * Column (variable) IDs of all terms.
+	 */
+	private final int[] cols;
+
+	/**
+	 * Coefficients of all terms.
+	 */
+	private final double[] coefs;
+
+	/**
+	 * Creates a new CSR block. The arrays are not copied.
+	 *
+	 * @param columns  Symbol table of the referenced variables.
+	 * @param rowCount Number of rows.
+	 * @param names    Row names.
+	 * @param rights   Right hand sides of all rows.
+	 * @param rowStart Row start positions (length at least row count + 1).
+	 * @param cols     Column (variable) IDs of all terms.
+	 * @param coefs    Coefficients of all terms.
+	 */
+	public IlpCsrBlock(final IlpSymbolTable columns, final int rowCount, final String[] names, final double[] rights,
+			final int[] rowStart, final int[] cols, final double[] coefs) {
+		this.columns = columns;
+		this.rowCount = rowCount;
+		this.names = names;
+		this.rights = rights;
+		this.rowStart = rowStart;
+		this.cols = cols;
+		this.coefs = coefs;
+	}
+
+	/**
+	 * Returns the symbol table of the referenced variables.
+	 *
+	 * @return Symbol table of the referenced variables.
+	 */
+	public IlpSymbolTable getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Returns the number of rows.
+	 *
+	 * @return Number of rows.
+	 */
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Returns the total number of terms.
+	 *
+	 * @return Total number of terms.
+	 */
+	public int getTermCount() {
+		return rowStart[rowCount];
+	}
+
+	/**
+	 * Returns the name of a given row.
+	 *
+	 * @param row Row index.
+	 * @return Name of the row.
+	 */
+	public String getName(final int row) {
+		return names[row];
+	}
+
+	/**
+	 * Returns the right hand side of a given row.
+	 *
+	 * @param row Row index.
+	 * @return Right hand side of the row.
+	 */
+	public double getRight(final int row) {
+		return rights[row];
+	}
+
+	/**
+	 * Returns the start position of the terms of a given row. Use
+	 * {@code row + 1} to get the (exclusive) end position.
+	 *
+	 * @param row Row index.
+	 * @return Start position of the terms of the row.
+	 */
+	public int getRowStart(final int row) {
+		return rowStart[row];
+	}
+
+	/**
+	 * Returns the row names array. Must not be modified.
+	 *
+	 * @return Row names array.
+	 */
+	public String[] getNames() {
+		return names;
+	}
+
+	/**
+	 * Returns the right hand sides array. Must not be modified.
+	 *
+	 * @return Right hand sides array.
+	 */
+	public double[] getRights() {
+		return rights;
+	}
+
+	/**
+	 * Returns the column (variable) IDs array of all terms. Must not be modified.
+	 *
+	 * @return Column (variable) IDs array of all terms.
+	 */
+	public int[] getColumnIds() {
+		return cols;
+	}
+
+	/**
+	 * Returns the coefficients array of all terms. Must not be modified.
+	 *
+	 * @return Coefficients array of all terms.
+	 */
+	public double[] getCoefficients() {
+		return coefs;
+	}
+
+	/**
+	 * Converts a given row to a (String-keyed) constraint object. This is used as
+	 * adapter for solver implementations without a native bulk API.
+	 *
+	 * @param row Row index.
+	 * @return Constraint object for the row.
+	 */
+	public Constraint toConstraint(final int row) {
+		final Constraint c = new Constraint(names[row], 0);
+		c.setRight(rights[row]);
+		for (int k = rowStart[row]; k < rowStart[row + 1]; k++) {
+			c.addVar(columns.getName(cols[k]), coefs[k]);
+		}
+		return c;
+	}
+
+	/**
+	 * Converts all rows to (String-keyed) constraint objects.
+	 *
+	 * @return Array of constraint objects.
+	 */
+	public Constraint[] toConstraints() {
+		final Constraint[] constraints = new Constraint[rowCount];
+		for (int r = 0; r < rowCount; r++) {
+			constraints[r] = toConstraint(r);
+		}
+		return constraints;
+	}
+
+}
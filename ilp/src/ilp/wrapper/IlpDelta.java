@@ -1,14 +1,12 @@
 package ilp.wrapper;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.SortedMap;
-import java.util.TreeMap;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Map.Entry;
 
 import ilp.wrapper.IncrementalIlpSolver.Constraint;
 import ilp.wrapper.IncrementalIlpSolver.SosConstraint;
@@ -17,6 +15,12 @@ import ilp.wrapper.IncrementalIlpSolver.Variable;
 /**
  * Data object that holds new, changed or removed variables and constraints.
  *
+ * Internally, all variable and constraint names are interned to integer IDs
+ * via {@link IlpSymbolTable}s and all added terms are stored in primitive
+ * arrays. On {@link #apply(IncrementalIlpSolver)}, the added constraints are
+ * compacted into {@link IlpCsrBlock}s and handed to the bulk API of the solver.
+ * The String-based methods are thin adapters on top of the integer-based ones.
+ *
  * Parts of this implementation are heavily inspired, taken or adapted from the
  * idyve project [1].
  *
@@ -29,27 +33,95 @@ import ilp.wrapper.IncrementalIlpSolver.Variable;
  */
 public class IlpDelta {
 
+	/**
+	 * Constraint sense: equals.
+	 */
+	static final byte EQ = 0;
+
+	/**
+	 * Constraint sense: less or equals.
+	 */
+	static final byte LE = 1;
+
+	/**
+	 * Symbol table for all variable names referenced by this delta.
+	 */
+	final IlpSymbolTable varSymbols = new IlpSymbolTable();
+
+	/**
+	 * Symbol table for all constraint names added by this delta.
+	 */
+	private final IlpSymbolTable constraintSymbols = new IlpSymbolTable();
+
+	/*
+	 * Added variables: variable ID to slot (-1 if the variable is not added by
+	 * this delta) and the slot arrays. All primitive arrays of this class are
+	 * package-private so that an IlpPresolver can reduce the delta in place.
+	 */
+	int[] varSlot = new int[0];
+	int[] addVarIds = new int[16];
+	double[] addVarWeights = new double[16];
+	int addVarCount = 0;
+
+	/*
+	 * Added constraints: constraint ID to row (-1 if the constraint is not added
+	 * by this delta) and the row arrays. Rows that were replaced by a newer row of
+	 * the same name or removed by a presolver are flagged as replaced.
+	 */
+	private int[] constraintRow = new int[0];
+	String[] rowNames = new String[16];
+	byte[] rowSenses = new byte[16];
+	double[] rowRights = new double[16];
+	boolean[] rowReplaced = new boolean[16];
+	int rowCount = 0;
+
 	/*
-	 * Added variables and constraints.
+	 * Terms of the added constraints in coordinate format (row, variable ID,
+	 * weight). They are compacted into CSR format on apply.
 	 */
-	final SortedMap<String, Variable> addVariables = new TreeMap<>();
-	final SortedMap<String, Constraint> addEqConstraints = new TreeMap<>();
-	final SortedMap<String, Constraint> addLeConstraints = new TreeMap<>();
-	final SortedMap<String, SosConstraint> addSosConstraints = new TreeMap<>();
+	int[] termRows = new int[64];
+	int[] termVars = new int[64];
+	double[] termWeights = new double[64];
+	int termCount = 0;
+
+	/*
+	 * Added SOS1 constraints (name to variable IDs).
+	 */
+	final Map<String, int[]> addSosConstraints = new LinkedHashMap<>();
 
 	/*
 	 * Changed variable and constraint parameters.
 	 */
-	final SortedMap<String, Double> changeVariableWeights = new TreeMap<>();
-	final SortedMap<String, int[]> changeVariableBounds = new TreeMap<>();
-	final SortedMap<String, Map<String, Double>> changeConstraintVariableWeights = new TreeMap<>();
-	final SortedMap<String, Double> changeConstraintRight = new TreeMap<>();
+	final Map<String, Double> changeVariableWeights = new LinkedHashMap<>();
+	final Map<String, int[]> changeVariableBounds = new LinkedHashMap<>();
+	final Map<String, Map<String, Double>> changeConstraintVariableWeights = new LinkedHashMap<>();
+	final Map<String, Double> changeConstraintRight = new LinkedHashMap<>();
 
 	/*
 	 * Removed variables and constraints.
 	 */
-	final List<String> removeVariables = new LinkedList<>();
-	final List<String> removeConstraints = new LinkedList<>();
+	final List<String> removeVariables = new ArrayList<>();
+	final List<String> removeConstraints = new ArrayList<>();
+
+	/**
+	 * Returns the symbol table for all variable names referenced by this delta.
+	 *
+	 * @return Symbol table for all variable names.
+	 */
+	public IlpSymbolTable getVariableSymbols() {
+		return varSymbols;
+	}
+
+	/**
+	 * Returns the integer ID for a given variable name. Unknown names will be
+	 * interned.
+	 *
+	 * @param name Variable name.
+	 * @return Integer ID of the variable name.
+	 */
+	public int getVariableId(final String name) {
+		return varSymbols.intern(name);
+	}
 
 	/**
 	 * Adds an SOS1 constraint with given name. Uses all variables corresponding to
@@ -60,9 +132,12 @@ public class IlpDelta {
 	 *               constraint.
 	 */
 	public void addSosConstraint(final String name, final List<String> varIds) {
-		final List<Variable> vars = new LinkedList<>();
-		varIds.forEach(id -> vars.add(addVariables.get(id)));
-		addSosConstraints.put(name, new SosConstraint(name, vars));
+		final int[] ids = new int[varIds.size()];
+		int i = 0;
+		for (final String id : varIds) {
+			ids[i++] = varSymbols.intern(id);
+		}
+		addSosConstraints.put(name, ids);
 	}
 
 	/**
@@ -72,7 +147,7 @@ public class IlpDelta {
 	 * @param right Value of the right side.
 	 */
 	public void addEqualsConstraint(final String name, final int right) {
-		addEqConstraints.put(name, new Constraint(name, right));
+		addRow(name, right, EQ);
 	}
 
 	/**
@@ -84,7 +159,22 @@ public class IlpDelta {
 	 * @param vars    Array of strings defining the variable names.
 	 */
 	public void addEqualsConstraint(final String name, final int right, final int[] weights, final String[] vars) {
-		addEqConstraints.put(name, new Constraint(name, right).addVars(vars, weights));
+		addEqualsConstraint(name, right, weights, internAll(vars));
+	}
+
+	/**
+	 * Adds an equals constraint.
+	 *
+	 * @param name    Name of the new constraint.
+	 * @param right   Value of the right side.
+	 * @param weights Array of integers defining the weights for each variable.
+	 * @param varIds  Array of variable IDs (see {@link #getVariableId(String)}).
+	 */
+	public void addEqualsConstraint(final String name, final int right, final int[] weights, final int[] varIds) {
+		final int row = addRow(name, right, EQ);
+		for (int i = 0; i < varIds.length; i++) {
+			addTerm(row, varIds[i], weights[i]);
+		}
 	}
 
 	/**
@@ -93,8 +183,9 @@ public class IlpDelta {
 	 * @param constraints Array of constraints.
 	 */
 	public void addEqualsConstraints(final Constraint[] constraints) {
-		addEqConstraints
-				.putAll(Arrays.stream(constraints).collect(Collectors.toMap(Constraint::getName, Function.identity())));
+		for (final Constraint c : constraints) {
+			addConstraint(c, EQ);
+		}
 	}
 
 	/**
@@ -104,7 +195,7 @@ public class IlpDelta {
 	 * @param right Value of the right side.
 	 */
 	public void addLessOrEqualsConstraint(final String name, final int right) {
-		addLeConstraints.put(name, new Constraint(name, right));
+		addRow(name, right, LE);
 	}
 
 	/**
@@ -117,7 +208,23 @@ public class IlpDelta {
 	 */
 	public void addLessOrEqualsConstraint(final String name, final int right, final int[] weights,
 			final String[] vars) {
-		addLeConstraints.put(name, new Constraint(name, right).addVars(vars, weights));
+		addLessOrEqualsConstraint(name, right, weights, internAll(vars));
+	}
+
+	/**
+	 * Adds a less or equals constraint.
+	 *
+	 * @param name    Name of the new constraint.
+	 * @param right   Value of the right side.
+	 * @param weights Array of integers defining the weights for each variable.
+	 * @param varIds  Array of variable IDs (see {@link #getVariableId(String)}).
+	 */
+	public void addLessOrEqualsConstraint(final String name, final int right, final int[] weights,
+			final int[] varIds) {
+		final int row = addRow(name, right, LE);
+		for (int i = 0; i < varIds.length; i++) {
+			addTerm(row, varIds[i], weights[i]);
+		}
 	}
 
 	/**
@@ -126,8 +233,9 @@ public class IlpDelta {
 	 * @param constraints Array of constraints.
 	 */
 	public void addLessOrEqualsConstraints(final Constraint[] constraints) {
-		addLeConstraints
-				.putAll(Arrays.stream(constraints).collect(Collectors.toMap(Constraint::getName, Function.identity())));
+		for (final Constraint c : constraints) {
+			addConstraint(c, LE);
+		}
 	}
 
 	/**
@@ -137,7 +245,31 @@ public class IlpDelta {
 	 * @param solutionWeight Weight of the variable in solution.
 	 */
 	public void addVariable(final String name, final double solutionWeight) {
-		addVariables.put(name, new Variable(name, solutionWeight));
+		addVariable(varSymbols.intern(name), solutionWeight);
+	}
+
+	/**
+	 * Adds a variable with a given ID and solution weight.
+	 *
+	 * @param varId          ID of the variable to add (see
+	 *                       {@link #getVariableId(String)}).
+	 * @param solutionWeight Weight of the variable in solution.
+	 */
+	public void addVariable(final int varId, final double solutionWeight) {
+		ensureVarSlots();
+		final int slot = varSlot[varId];
+		if (slot >= 0) {
+			addVarWeights[slot] = solutionWeight;
+			return;
+		}
+
+		if (addVarCount == addVarIds.length) {
+			addVarIds = Arrays.copyOf(addVarIds, addVarCount * 2);
+			addVarWeights = Arrays.copyOf(addVarWeights, addVarCount * 2);
+		}
+		addVarIds[addVarCount] = varId;
+		addVarWeights[addVarCount] = solutionWeight;
+		varSlot[varId] = addVarCount++;
 	}
 
 	/**
@@ -146,7 +278,9 @@ public class IlpDelta {
 	 * @param variables Predefined array of variables.
 	 */
 	public void addVariables(final Variable[] variables) {
-		addVariables.putAll(Arrays.stream(variables).collect(Collectors.toMap(Variable::getName, Function.identity())));
+		for (final Variable v : variables) {
+			addVariable(v.getName(), v.getWeight());
+		}
 	}
 
 	/**
@@ -156,7 +290,18 @@ public class IlpDelta {
 	 * @return True if there is a variable with matching name.
 	 */
 	public boolean hasAddVariable(final String name) {
-		return addVariables.containsKey(name);
+		final int id = varSymbols.getId(name);
+		return id >= 0 && hasAddVariable(id);
+	}
+
+	/**
+	 * Returns true if there is a variable with matching ID.
+	 *
+	 * @param varId Variable ID to match.
+	 * @return True if there is a variable with matching ID.
+	 */
+	public boolean hasAddVariable(final int varId) {
+		return varId < varSlot.length && varSlot[varId] >= 0;
 	}
 
 	/**
@@ -168,18 +313,22 @@ public class IlpDelta {
 	 *                            with the solver.
 	 */
 	public void apply(final IncrementalIlpSolver solver) throws IlpSolverException {
-		if (!addVariables.isEmpty()) {
-			solver.addVariables(addVariables.values().toArray(new Variable[addVariables.size()]));
-		}
-		if (!addEqConstraints.isEmpty()) {
-			solver.addEqualsConstraints(addEqConstraints.values().toArray(new Constraint[addEqConstraints.size()]));
+		final long start = System.nanoTime();
+		if (addVarCount > 0) {
+			solver.addVariables(varSymbols, addVarIds, addVarWeights, addVarCount);
 		}
-		if (!addLeConstraints.isEmpty()) {
-			solver.addLessOrEqualsConstraints(
-					addLeConstraints.values().toArray(new Constraint[addLeConstraints.size()]));
+		if (rowCount > 0) {
+			final IlpCsrBlock eqBlock = toCsrBlock(EQ);
+			if (eqBlock.getRowCount() > 0) {
+				solver.addEqualsConstraints(eqBlock);
+			}
+			final IlpCsrBlock leBlock = toCsrBlock(LE);
+			if (leBlock.getRowCount() > 0) {
+				solver.addLessOrEqualsConstraints(leBlock);
+			}
 		}
 		if (!addSosConstraints.isEmpty()) {
-			solver.addSosConstraints(addSosConstraints.values().toArray(new SosConstraint[addSosConstraints.size()]));
+			solver.addSosConstraints(toSosConstraints());
 		}
 
 		if (!changeVariableWeights.isEmpty()) {
@@ -201,6 +350,7 @@ public class IlpDelta {
 		if (!removeConstraints.isEmpty()) {
 			solver.removeConstraints(removeConstraints);
 		}
+		IlpStatisticsManager.addDeltaApplyTime(System.nanoTime() - start);
 	}
 
 	/**
@@ -221,8 +371,9 @@ public class IlpDelta {
 	 * @param solutionWeight New solution weight.
 	 */
 	public void changeVariableWeight(final String name, final double solutionWeight) {
-		if (addVariables.containsKey(name)) {
-			addVariables.get(name).setWeight(solutionWeight);
+		final int id = varSymbols.getId(name);
+		if (id >= 0 && hasAddVariable(id)) {
+			addVarWeights[varSlot[id]] = solutionWeight;
 		} else {
 			changeVariableWeights.put(name, solutionWeight);
 		}
@@ -253,10 +404,9 @@ public class IlpDelta {
 	 * @param newRight New value of the right side.
 	 */
 	public void setConstraintRight(final String name, final double newRight) {
-		if (addEqConstraints.containsKey(name)) {
-			addEqConstraints.get(name).setRight(newRight);
-		} else if (addLeConstraints.containsKey(name)) {
-			addLeConstraints.get(name).setRight(newRight);
+		final int row = getAddedRow(name);
+		if (row >= 0) {
+			rowRights[row] = newRight;
 		} else {
 			changeConstraintRight.put(name, newRight);
 		}
@@ -270,32 +420,220 @@ public class IlpDelta {
 	 * @param var    Name of the variable.
 	 */
 	public void setVariableWeightForConstraint(final String name, final double weight, final String var) {
-		if (addEqConstraints.containsKey(name)) {
-			addEqConstraints.get(name).addVar(var, weight);
-		} else if (addLeConstraints.containsKey(name)) {
-			addLeConstraints.get(name).addVar(var, weight);
+		final int row = getAddedRow(name);
+		if (row >= 0) {
+			addTerm(row, varSymbols.intern(var), weight);
 		} else {
-			changeConstraintVariableWeights.computeIfAbsent(name, k -> new HashMap<>()).put(var, weight);
+			changeConstraintVariableWeights.computeIfAbsent(name, k -> new LinkedHashMap<>()).put(var, weight);
 		}
 	}
 
+	/**
+	 * Sets the weight for a given constraint's variable to a given value.
+	 *
+	 * @param name   Name of the constraint.
+	 * @param weight Value of the variable's weight.
+	 * @param varId  ID of the variable (see {@link #getVariableId(String)}).
+	 */
+	public void setVariableWeightForConstraint(final String name, final double weight, final int varId) {
+		final int row = getAddedRow(name);
+		if (row >= 0) {
+			addTerm(row, varId, weight);
+		} else {
+			changeConstraintVariableWeights.computeIfAbsent(name, k -> new LinkedHashMap<>())
+					.put(varSymbols.getName(varId), weight);
+		}
+	}
+
+	/**
+	 * Returns the row of an added constraint or -1 if the constraint was not added
+	 * by this delta.
+	 *
+	 * @param name Name of the constraint.
+	 * @return Row of the added constraint or -1.
+	 */
+	private int getAddedRow(final String name) {
+		final int id = constraintSymbols.getId(name);
+		return id < 0 ? -1 : constraintRow[id];
+	}
+
+	/**
+	 * Adds a new row for a constraint. If a constraint with the same name was
+	 * already added, the old row will be replaced.
+	 *
+	 * @param name  Name of the constraint.
+	 * @param right Value of the right side.
+	 * @param sense Sense of the constraint.
+	 * @return Index of the new row.
+	 */
+	private int addRow(final String name, final double right, final byte sense) {
+		final int id = constraintSymbols.intern(name);
+		if (id >= constraintRow.length) {
+			final int oldLength = constraintRow.length;
+			constraintRow = Arrays.copyOf(constraintRow, Math.max(16, constraintSymbols.size() * 2));
+			Arrays.fill(constraintRow, oldLength, constraintRow.length, -1);
+		}
+		if (constraintRow[id] >= 0) {
+			rowReplaced[constraintRow[id]] = true;
+		}
+
+		if (rowCount == rowNames.length) {
+			rowNames = Arrays.copyOf(rowNames, rowCount * 2);
+			rowSenses = Arrays.copyOf(rowSenses, rowCount * 2);
+			rowRights = Arrays.copyOf(rowRights, rowCount * 2);
+			rowReplaced = Arrays.copyOf(rowReplaced, rowCount * 2);
+		}
+		rowNames[rowCount] = name;
+		rowSenses[rowCount] = sense;
+		rowRights[rowCount] = right;
+		constraintRow[id] = rowCount;
+		return rowCount++;
+	}
+
+	/**
+	 * Adds a term to a given row.
+	 *
+	 * @param row    Row index.
+	 * @param varId  Variable ID.
+	 * @param weight Weight of the variable.
+	 */
+	private void addTerm(final int row, final int varId, final double weight) {
+		if (termCount == termRows.length) {
+			termRows = Arrays.copyOf(termRows, termCount * 2);
+			termVars = Arrays.copyOf(termVars, termCount * 2);
+			termWeights = Arrays.copyOf(termWeights, termCount * 2);
+		}
+		termRows[termCount] = row;
+		termVars[termCount] = varId;
+		termWeights[termCount] = weight;
+		termCount++;
+	}
+
+	/**
+	 * Adds a predefined (String-based) constraint.
+	 *
+	 * @param c     Constraint to add.
+	 * @param sense Sense of the constraint.
+	 */
+	private void addConstraint(final Constraint c, final byte sense) {
+		final int row = addRow(c.getName(), c.getRight(), sense);
+		final Iterator<String> vars = c.getVarnames().iterator();
+		final Iterator<Double> weights = c.getWeights().iterator();
+		while (vars.hasNext()) {
+			addTerm(row, varSymbols.intern(vars.next()), weights.next());
+		}
+	}
+
+	/**
+	 * Interns all given variable names.
+	 *
+	 * @param vars Variable names.
+	 * @return Variable IDs.
+	 */
+	private int[] internAll(final String[] vars) {
+		final int[] ids = new int[vars.length];
+		for (int i = 0; i < vars.length; i++) {
+			ids[i] = varSymbols.intern(vars[i]);
+		}
+		return ids;
+	}
+
+	/**
+	 * Grows the variable slot array to the size of the variable symbol table.
+	 */
+	private void ensureVarSlots() {
+		if (varSlot.length < varSymbols.size()) {
+			final int oldLength = varSlot.length;
+			varSlot = Arrays.copyOf(varSlot, Math.max(16, varSymbols.size() * 2));
+			Arrays.fill(varSlot, oldLength, varSlot.length, -1);
+		}
+	}
+
+	/**
+	 * Compacts all added (and not replaced) rows of a given sense into a CSR
+	 * block. Runs in linear time in the number of rows and terms.
+	 *
+	 * @param sense Sense of the rows to compact.
+	 * @return CSR block of all rows with the given sense.
+	 */
+	private IlpCsrBlock toCsrBlock(final byte sense) {
+		// Map rows to block rows
+		final int[] blockRow = new int[rowCount];
+		int blockRows = 0;
+		for (int r = 0; r < rowCount; r++) {
+			blockRow[r] = (!rowReplaced[r] && rowSenses[r] == sense) ? blockRows++ : -1;
+		}
+
+		final String[] names = new String[blockRows];
+		final double[] rights = new double[blockRows];
+		for (int r = 0; r < rowCount; r++) {
+			if (blockRow[r] >= 0) {
+				names[blockRow[r]] = rowNames[r];
+				rights[blockRow[r]] = rowRights[r];
+			}
+		}
+
+		// Count terms per row and compute the row start positions
+		final int[] rowStart = new int[blockRows + 1];
+		for (int k = 0; k < termCount; k++) {
+			final int br = blockRow[termRows[k]];
+			if (br >= 0) {
+				rowStart[br + 1]++;
+			}
+		}
+		for (int r = 0; r < blockRows; r++) {
+			rowStart[r + 1] += rowStart[r];
+		}
+
+		// Scatter the terms (stable, i.e., in insertion order per row)
+		final int[] fill = Arrays.copyOf(rowStart, blockRows);
+		final int[] cols = new int[rowStart[blockRows]];
+		final double[] coefs = new double[rowStart[blockRows]];
+		for (int k = 0; k < termCount; k++) {
+			final int br = blockRow[termRows[k]];
+			if (br >= 0) {
+				final int pos = fill[br]++;
+				cols[pos] = termVars[k];
+				coefs[pos] = termWeights[k];
+			}
+		}
+
+		return new IlpCsrBlock(varSymbols, blockRows, names, rights, rowStart, cols, coefs);
+	}
+
+	/**
+	 * Converts all added SOS1 constraints to constraint objects.
+	 *
+	 * @return Array of SOS1 constraint objects.
+	 */
+	private SosConstraint[] toSosConstraints() {
+		final SosConstraint[] constraints = new SosConstraint[addSosConstraints.size()];
+		int i = 0;
+		for (final Entry<String, int[]> entry : addSosConstraints.entrySet()) {
+			final List<Variable> vars = new ArrayList<>(entry.getValue().length);
+			for (final int id : entry.getValue()) {
+				vars.add(new Variable(varSymbols.getName(id), hasAddVariable(id) ? addVarWeights[varSlot[id]] : 0));
+			}
+			constraints[i++] = new SosConstraint(entry.getKey(), vars);
+		}
+		return constraints;
+	}
+
 	@Override
 	public String toString() {
 		final StringBuilder builder = new StringBuilder();
 
-		for (final String key : addVariables.keySet()) {
-			builder.append(key + addVariables.get(key));
+		for (int i = 0; i < addVarCount; i++) {
+			builder.append(varSymbols.getName(addVarIds[i]) + "=" + addVarWeights[i]);
 			builder.append(System.lineSeparator());
 		}
 
-		for (final String key : addEqConstraints.keySet()) {
-			builder.append(key + addEqConstraints.get(key));
-			builder.append(System.lineSeparator());
-		}
-
-		for (final String key : addLeConstraints.keySet()) {
-			builder.append(key + addLeConstraints.get(key));
-			builder.append(System.lineSeparator());
+		for (final byte sense : new byte[] { EQ, LE }) {
+			final IlpCsrBlock block = toCsrBlock(sense);
+			for (int r = 0; r < block.getRowCount(); r++) {
+				builder.append(block.getName(r) + block.toConstraint(r));
+				builder.append(System.lineSeparator());
+			}
 		}
 
 		return builder.toString();
@@ -0,0 +1,749 @@
+package ilp.wrapper;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * Presolver for the binary embedding models of the PM- and ILP-based VNE
+ * algorithms. It works directly on the primitive arrays of an {@link IlpDelta}
+ * and only reduces elements that were added by the delta itself. All variables
+ * are binary; variables that are not added by the delta are treated as [0,1]
+ * (unless their bounds are changed by the delta) and are never removed.
+ *
+ * The following reductions are applied (in this order):
+ * <ol>
+ * <li>Column fixing: Added variables that can not be set to 1 without
+ * violating the activity bounds of a row (e.g., a virtual server mapping with a
+ * CPU demand that exceeds the residual CPU of the substrate server) or whose
+ * upper bound is set to 0 are removed. The fixing is propagated until a fixed
+ * point is reached.</li>
+ * <li>Redundant rows: Less or equals rows that can not be violated and empty
+ * equals rows with a right hand side of 0 are removed.</li>
+ * <li>Parallel rows: Of two rows with identical terms, the weaker one is
+ * removed.</li>
+ * <li>SOS1 constraints with at most one variable or that are implied by a row
+ * (e.g., the partitioning row of a virtual element) are removed.</li>
+ * <li>Dominated columns: Of two added variables with identical columns that
+ * can not be 1 at the same time, the more expensive one is removed.</li>
+ * <li>Coefficient tightening on less or equals rows.</li>
+ * </ol>
+ *
+ * As removed elements are not present in the solver's model afterwards,
+ * subsequent deltas must not reference them by name. Instances of this class
+ * are not thread-safe.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpDeltaPresolver implements IlpPresolver {
+
+	/**
+	 * Tolerance for all activity checks.
+	 */
+	private static final double EPS = 1e-9;
+
+	/*
+	 * State of the current presolve run.
+	 */
+
+	private IlpDelta delta;
+	private IlpPresolveReport report;
+
+	/**
+	 * Variable bounds by variable ID.
+	 */
+	private double[] lb;
+	private double[] ub;
+
+	/**
+	 * Per variable: true if the variable is added by the delta and may be removed.
+	 */
+	private boolean[] removable;
+
+	/**
+	 * Per variable: true if the variable was removed.
+	 */
+	private boolean[] removedVar;
+
+	/**
+	 * Per row: true if the row is active (i.e., added and not replaced or
+	 * removed).
+	 */
+	private boolean[] activeRow;
+
+	/**
+	 * Per row: true if the row contains a variable more than once.
+	 */
+	private boolean[] duplicateRow;
+
+	/**
+	 * Terms per row (indices into the term arrays of the delta).
+	 */
+	private int[] rowStart;
+	private int[] rowTerms;
+
+	/**
+	 * Rows per variable.
+	 */
+	private int[] colStart;
+	private int[] colRows;
+
+	/**
+	 * Minimum and maximum activity per row (ignoring removed variables).
+	 */
+	private double[] minAct;
+	private double[] maxAct;
+
+	@Override
+	public IlpPresolveReport presolve(final IlpDelta delta) {
+		final long start = System.nanoTime();
+		this.delta = delta;
+		this.report = new IlpPresolveReport();
+
+		init();
+		fixColumns();
+		removeRedundantRows();
+		removeParallelRows();
+		reduceSosConstraints();
+		removeDominatedColumns();
+		tightenCoefficients();
+		writeBack();
+
+		final IlpPresolveReport result = report;
+		result.setDuration(System.nanoTime() - start);
+		this.delta = null;
+		this.report = null;
+		return result;
+	}
+
+	/**
+	 * Initializes the bounds, the row and column indices and the activities.
+	 */
+	private void init() {
+		final int n = delta.varSymbols.size();
+		final int m = delta.rowCount;
+
+		lb = new double[n];
+		ub = new double[n];
+		Arrays.fill(ub, 1);
+		for (final Entry<String, int[]> entry : delta.changeVariableBounds.entrySet()) {
+			final int id = delta.varSymbols.getId(entry.getKey());
+			if (id >= 0) {
+				lb[id] = entry.getValue()[0];
+				ub[id] = entry.getValue()[1];
+			}
+		}
+
+		// Variables that are referenced by other parts of the delta must be kept
+		final Set<String> pinned = new HashSet<>(delta.removeVariables);
+		pinned.addAll(delta.changeVariableWeights.keySet());
+		for (final Map<String, Double> weights : delta.changeConstraintVariableWeights.values()) {
+			pinned.addAll(weights.keySet());
+		}
+		removable = new boolean[n];
+		removedVar = new boolean[n];
+		for (int i = 0; i < delta.addVarCount; i++) {
+			final int id = delta.addVarIds[i];
+			removable[id] = lb[id] <= 0 && !pinned.contains(delta.varSymbols.getName(id));
+		}
+
+		// Row index (terms of all active rows)
+		activeRow = new boolean[m];
+		for (int r = 0; r < m; r++) {
+			activeRow[r] = !delta.rowReplaced[r];
+		}
+		rowStart = new int[m + 1];
+		colStart = new int[n + 1];
+		for (int k = 0; k < delta.termCount; k++) {
+			if (activeRow[delta.termRows[k]]) {
+				rowStart[delta.termRows[k] + 1]++;
+				colStart[delta.termVars[k] + 1]++;
+			}
+		}
+		for (int r = 0; r < m; r++) {
+			rowStart[r + 1] += rowStart[r];
+		}
+		for (int j = 0; j < n; j++) {
+			colStart[j + 1] += colStart[j];
+		}
+		rowTerms = new int[rowStart[m]];
+		colRows = new int[colStart[n]];
+		final int[] rowFill = Arrays.copyOf(rowStart, m);
+		final int[] colFill = Arrays.copyOf(colStart, n);
+		for (int k = 0; k < delta.termCount; k++) {
+			final int r = delta.termRows[k];
+			if (activeRow[r]) {
+				rowTerms[rowFill[r]++] = k;
+			}
+		}
+		// Fill the column index in row order, so that the rows per column are sorted
+		for (int r = 0; r < m; r++) {
+			for (int p = rowStart[r]; p < rowStart[r + 1]; p++) {
+				final int j = delta.termVars[rowTerms[p]];
+				colRows[colFill[j]++] = r;
+			}
+		}
+
+		// Activities and duplicate detection
+		minAct = new double[m];
+		maxAct = new double[m];
+		duplicateRow = new boolean[m];
+		final int[] seen = new int[n];
+		Arrays.fill(seen, -1);
+		for (int r = 0; r < m; r++) {
+			for (int p = rowStart[r]; p < rowStart[r + 1]; p++) {
+				final int k = rowTerms[p];
+				final int j = delta.termVars[k];
+				final double a = delta.termWeights[k];
+				minAct[r] += minContribution(j, a);
+				maxAct[r] += maxContribution(j, a);
+				if (seen[j] == r) {
+					duplicateRow[r] = true;
+				}
+				seen[j] = r;
+			}
+		}
+	}
+
+	/**
+	 * Fixes all removable variables to 0 that can not be set to 1 without
+	 * violating a row. Fixed variables are removed and the activities of their
+	 * rows are updated, which may lead to further fixings.
+	 */
+	private void fixColumns() {
+		final ArrayDeque<Integer> queue = new ArrayDeque<>();
+		final boolean[] queued = new boolean[delta.rowCount];
+
+		// Variables with an upper bound of 0 are already fixed
+		for (int i = 0; i < delta.addVarCount; i++) {
+			final int id = delta.addVarIds[i];
+			if (removable[id] && ub[id] <= 0) {
+				removeVariable(id, queue, queued);
+			}
+		}
+		for (int r = 0; r < delta.rowCount; r++) {
+			if (activeRow[r] && !queued[r]) {
+				queue.add(r);
+				queued[r] = true;
+			}
+		}
+
+		while (!queue.isEmpty()) {
+			final int r = queue.poll();
+			queued[r] = false;
+			final double rhs = delta.rowRights[r];
+			final boolean eq = delta.rowSenses[r] == IlpDelta.EQ;
+			for (int p = rowStart[r]; p < rowStart[r + 1]; p++) {
+				final int k = rowTerms[p];
+				final int j = delta.termVars[k];
+				if (!removable[j] || removedVar[j]) {
+					continue;
+				}
+
+				// Activity bounds of the row if the variable is set to 1
+				final double a = delta.termWeights[k];
+				final double minOne = minAct[r] - minContribution(j, a) + a;
+				final double maxOne = maxAct[r] - maxContribution(j, a) + a;
+				if (minOne > rhs + EPS || (eq && maxOne < rhs - EPS)) {
+					removeVariable(j, queue, queued);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all rows that can not be violated.
+	 */
+	private void removeRedundantRows() {
+		for (int r = 0; r < delta.rowCount; r++) {
+			if (!activeRow[r]) {
+				continue;
+			}
+			if (delta.rowSenses[r] == IlpDelta.LE) {
+				if (maxAct[r] <= delta.rowRights[r] + EPS) {
+					removeRow(r);
+				}
+			} else if (Math.abs(delta.rowRights[r]) <= EPS && isEmpty(r)) {
+				removeRow(r);
+			}
+		}
+	}
+
+	/**
+	 * Removes the weaker row of all pairs of rows with identical terms. Rows with
+	 * duplicate variables are ignored.
+	 */
+	private void removeParallelRows() {
+		final Map<RowKey, Integer> leRows = new HashMap<>();
+		final Map<RowKey, Integer> eqRows = new HashMap<>();
+
+		for (int r = 0; r < delta.rowCount; r++) {
+			if (!activeRow[r] || duplicateRow[r] || isEmpty(r)) {
+				continue;
+			}
+			final RowKey key = new RowKey(r);
+			final double rhs = delta.rowRights[r];
+
+			if (delta.rowSenses[r] == IlpDelta.EQ) {
+				final Integer other = eqRows.get(key);
+				if (other != null) {
+					// Two equals rows with different right hand sides are infeasible, which is
+					// left to the solver
+					if (Math.abs(delta.rowRights[other] - rhs) <= EPS) {
+						removeRow(r);
+					}
+					continue;
+				}
+				eqRows.put(key, r);
+
+				// An equals row implies all parallel less or equals rows with a greater right
+				// hand side
+				final Integer le = leRows.get(key);
+				if (le != null && rhs <= delta.rowRights[le] + EPS) {
+					removeRow(le);
+					leRows.remove(key);
+				}
+			} else {
+				final Integer eq = eqRows.get(key);
+				if (eq != null && delta.rowRights[eq] <= rhs + EPS) {
+					removeRow(r);
+					continue;
+				}
+
+				final Integer other = leRows.get(key);
+				if (other == null) {
+					leRows.put(key, r);
+				} else if (delta.rowRights[other] <= rhs) {
+					removeRow(r);
+				} else {
+					removeRow(other);
+					leRows.put(key, r);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all removed variables from the SOS1 constraints and drops the SOS1
+	 * constraints that contain at most one variable or that are implied by a row.
+	 */
+	private void reduceSosConstraints() {
+		final int[] mark = new int[delta.varSymbols.size()];
+		int stamp = 0;
+
+		final Iterator<Entry<String, int[]>> it = delta.addSosConstraints.entrySet().iterator();
+		while (it.hasNext()) {
+			final Entry<String, int[]> entry = it.next();
+			final int[] vars = Arrays.stream(entry.getValue()).filter(j -> !removedVar[j]).distinct().toArray();
+			entry.setValue(vars);
+			if (vars.length <= 1) {
+				it.remove();
+				report.incRemovedSosConstraints();
+				continue;
+			}
+
+			stamp++;
+			for (final int j : vars) {
+				mark[j] = stamp;
+			}
+
+			// Search for a row over all variables of the set with coefficients 1 that
+			// allows at most one of them to be 1
+			boolean implied = false;
+			for (int c = colStart[vars[0]]; c < colStart[vars[0] + 1] && !implied; c++) {
+				final int r = colRows[c];
+				if (!activeRow[r] || duplicateRow[r]) {
+					continue;
+				}
+
+				int found = 0;
+				double minRest = 0;
+				boolean valid = true;
+				for (int p = rowStart[r]; p < rowStart[r + 1]; p++) {
+					final int k = rowTerms[p];
+					final int j = delta.termVars[k];
+					if (removedVar[j]) {
+						continue;
+					}
+					if (mark[j] == stamp) {
+						if (delta.termWeights[k] != 1) {
+							valid = false;
+							break;
+						}
+						found++;
+					} else {
+						minRest += minContribution(j, delta.termWeights[k]);
+					}
+				}
+				implied = valid && found == vars.length && delta.rowRights[r] - minRest < 2 - EPS;
+			}
+
+			if (implied) {
+				it.remove();
+				report.incRemovedSosConstraints();
+			}
+		}
+	}
+
+	/**
+	 * Removes all added variables whose column equals the column of a cheaper
+	 * variable, if both variables can not be 1 at the same time. In this case,
+	 * every solution using the removed variable can use the cheaper one instead.
+	 */
+	private void removeDominatedColumns() {
+		// SOS1 constraints per variable
+		final Map<Integer, int[]> sosPerVar = new HashMap<>();
+		int s = 0;
+		for (final int[] vars : delta.addSosConstraints.values()) {
+			for (final int j : vars) {
+				final int[] old = sosPerVar.get(j);
+				final int[] sos = old == null ? new int[1] : Arrays.copyOf(old, old.length + 1);
+				sos[sos.length - 1] = s;
+				sosPerVar.put(j, sos);
+			}
+			s++;
+		}
+
+		// Group all candidates by their column
+		final Map<ColumnKey, Integer> cheapest = new HashMap<>();
+		for (int i = 0; i < delta.addVarCount; i++) {
+			final int j = delta.addVarIds[i];
+			if (!removable[j] || removedVar[j] || ub[j] < 1) {
+				continue;
+			}
+			final ColumnKey key = new ColumnKey(j, sosPerVar.get(j));
+			if (key.rows == null) {
+				continue;
+			}
+
+			final Integer other = cheapest.get(key);
+			if (other == null) {
+				cheapest.put(key, j);
+				continue;
+			}
+			if (!exclusive(other, key)) {
+				continue;
+			}
+			if (weight(j) < weight(other)) {
+				removeVariable(other, null, null);
+				cheapest.put(key, j);
+			} else {
+				removeVariable(j, null, null);
+			}
+		}
+	}
+
+	/**
+	 * Returns true if two variables with a given (identical) column can not be 1
+	 * at the same time.
+	 *
+	 * @param j   One of the variables.
+	 * @param key Column of the variables.
+	 * @return True if both variables can not be 1 at the same time.
+	 */
+	private boolean exclusive(final int j, final ColumnKey key) {
+		if (key.sos.length > 0) {
+			return true;
+		}
+		for (int c = 0; c < key.rows.length; c++) {
+			final int r = key.rows[c];
+			final double a = key.coefs[c];
+			// Both variables contribute 0 to the minimum activity
+			if (a > 0 && (delta.rowRights[r] - minAct[r]) / a < 2 - EPS) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Tightens the coefficients of all less or equals rows over binary variables.
+	 * If a positive coefficient a of a variable x is greater than the slack d =
+	 * rhs - (maxAct - a) of the row for x = 0, the coefficient and the right hand
+	 * side can both be reduced by d. This does not change the set of integer
+	 * solutions but strengthens the LP relaxation.
+	 */
+	private void tightenCoefficients() {
+		for (int r = 0; r < delta.rowCount; r++) {
+			if (!activeRow[r] || duplicateRow[r] || delta.rowSenses[r] != IlpDelta.LE) {
+				continue;
+			}
+
+			boolean binary = true;
+			for (int p = rowStart[r]; p < rowStart[r + 1] && binary; p++) {
+				final int j = delta.termVars[rowTerms[p]];
+				binary = removedVar[j] || (lb[j] == 0 && ub[j] == 1);
+			}
+			if (!binary) {
+				continue;
+			}
+
+			for (int p = rowStart[r]; p < rowStart[r + 1]; p++) {
+				final int k = rowTerms[p];
+				final double a = delta.termWeights[k];
+				if (removedVar[delta.termVars[k]] || a <= 0) {
+					continue;
+				}
+
+				final double rhs = delta.rowRights[r];
+				final double d = rhs - (maxAct[r] - a);
+				if (maxAct[r] > rhs + EPS && d > EPS && a - d > EPS) {
+					delta.termWeights[k] = a - d;
+					delta.rowRights[r] = rhs - d;
+					maxAct[r] -= d;
+					report.incTightenedCoefficients();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes all removals back to the delta.
+	 */
+	private void writeBack() {
+		// Compact the added variables
+		int count = 0;
+		for (int i = 0; i < delta.addVarCount; i++) {
+			final int id = delta.addVarIds[i];
+			if (removedVar[id]) {
+				delta.varSlot[id] = -1;
+				delta.changeVariableBounds.remove(delta.varSymbols.getName(id));
+			} else {
+				delta.addVarIds[count] = id;
+				delta.addVarWeights[count] = delta.addVarWeights[i];
+				delta.varSlot[id] = count++;
+			}
+		}
+		delta.addVarCount = count;
+
+		// Compact the terms
+		count = 0;
+		for (int k = 0; k < delta.termCount; k++) {
+			final int r = delta.termRows[k];
+			if (activeRow[r] && !removedVar[delta.termVars[k]]) {
+				delta.termRows[count] = r;
+				delta.termVars[count] = delta.termVars[k];
+				delta.termWeights[count] = delta.termWeights[k];
+				count++;
+			}
+		}
+		delta.termCount = count;
+
+		// Remove the variables of dominated columns from the SOS1 constraints
+		final Iterator<Entry<String, int[]>> it = delta.addSosConstraints.entrySet().iterator();
+		while (it.hasNext()) {
+			final Entry<String, int[]> entry = it.next();
+			final int[] vars = Arrays.stream(entry.getValue()).filter(j -> !removedVar[j]).toArray();
+			entry.setValue(vars);
+			if (vars.length <= 1) {
+				it.remove();
+				report.incRemovedSosConstraints();
+			}
+		}
+
+		// Removed rows are flagged as replaced
+		for (int r = 0; r < delta.rowCount; r++) {
+			if (!activeRow[r]) {
+				delta.rowReplaced[r] = true;
+			}
+		}
+	}
+
+	/**
+	 * Removes a variable and updates the activities of all its rows. If a queue
+	 * is given, all rows of the variable are added to it.
+	 *
+	 * @param j      Variable ID.
+	 * @param queue  Queue of rows to process (may be null).
+	 * @param queued Per row: true if the row is already in the queue.
+	 */
+	private void removeVariable(final int j, final ArrayDeque<Integer> queue, final boolean[] queued) {
+		removedVar[j] = true;
+		report.addRemovedVariable(delta.varSymbols.getName(j));
+		for (int c = colStart[j]; c < colStart[j + 1]; c++) {
+			final int r = colRows[c];
+			for (int p = rowStart[r]; p < rowStart[r + 1]; p++) {
+				final int k = rowTerms[p];
+				if (delta.termVars[k] == j) {
+					minAct[r] -= minContribution(j, delta.termWeights[k]);
+					maxAct[r] -= maxContribution(j, delta.termWeights[k]);
+				}
+			}
+			if (queue != null && activeRow[r] && !queued[r]) {
+				queue.add(r);
+				queued[r] = true;
+			}
+			// A row with duplicate variables lists the variable more than once
+			while (c + 1 < colStart[j + 1] && colRows[c + 1] == r) {
+				c++;
+			}
+		}
+	}
+
+	/**
+	 * Removes a row.
+	 *
+	 * @param r Row index.
+	 */
+	private void removeRow(final int r) {
+		activeRow[r] = false;
+		report.addRemovedConstraint(delta.rowNames[r]);
+	}
+
+	/**
+	 * Returns true if a row does not contain any (not removed) variable.
+	 *
+	 * @param r Row index.
+	 * @return True if the row is empty.
+	 */
+	private boolean isEmpty(final int r) {
+		for (int p = rowStart[r]; p < rowStart[r + 1]; p++) {
+			if (!removedVar[delta.termVars[rowTerms[p]]]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the objective weight of an added variable.
+	 *
+	 * @param j Variable ID.
+	 * @return Objective weight of the variable.
+	 */
+	private double weight(final int j) {
+		return delta.addVarWeights[delta.varSlot[j]];
+	}
+
+	/**
+	 * Returns the minimum contribution of a term to the activity of its row.
+	 *
+	 * @param j Variable ID.
+	 * @param a Coefficient.
+	 * @return Minimum contribution of the term.
+	 */
+	private double minContribution(final int j, final double a) {
+		return a > 0 ? a * lb[j] : a * ub[j];
+	}
+
+	/**
+	 * Returns the maximum contribution of a term to the activity of its row.
+	 *
+	 * @param j Variable ID.
+	 * @param a Coefficient.
+	 * @return Maximum contribution of the term.
+	 */
+	private double maxContribution(final int j, final double a) {
+		return a > 0 ? a * ub[j] : a * lb[j];
+	}
+
+	/**
+	 * Key of a row: its (not removed) variables with their coefficients sorted by
+	 * variable ID.
+	 */
+	private class RowKey {
+
+		private final int[] vars;
+		private final double[] coefs;
+
+		/**
+		 * Creates the key of a given row.
+		 *
+		 * @param r Row index.
+		 */
+		RowKey(final int r) {
+			final int[] terms = Arrays.stream(rowTerms, rowStart[r], rowStart[r + 1])
+					.filter(k -> !removedVar[delta.termVars[k]]).boxed()
+					.sorted((k1, k2) -> Integer.compare(delta.termVars[k1], delta.termVars[k2]))
+					.mapToInt(Integer::intValue).toArray();
+			vars = new int[terms.length];
+			coefs = new double[terms.length];
+			for (int i = 0; i < terms.length; i++) {
+				vars[i] = delta.termVars[terms[i]];
+				coefs[i] = delta.termWeights[terms[i]];
+			}
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof RowKey)) {
+				return false;
+			}
+			final RowKey other = (RowKey) obj;
+			return Arrays.equals(vars, other.vars) && Arrays.equals(coefs, other.coefs);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * Arrays.hashCode(vars) + Arrays.hashCode(coefs);
+		}
+
+	}
+
+	/**
+	 * Key of a column: its active rows with their coefficients (sorted by row) and
+	 * its SOS1 constraints.
+	 */
+	private class ColumnKey {
+
+		/**
+		 * Rows of the column or null if the column contains a row more than once.
+		 */
+		private final int[] rows;
+		private final double[] coefs;
+		private final int[] sos;
+
+		/**
+		 * Creates the key of a given variable.
+		 *
+		 * @param j   Variable ID.
+		 * @param sos SOS1 constraints of the variable (may be null).
+		 */
+		ColumnKey(final int j, final int[] sos) {
+			this.sos = sos == null ? new int[0] : sos;
+			int[] keyRows = new int[colStart[j + 1] - colStart[j]];
+			final double[] keyCoefs = new double[keyRows.length];
+			int count = 0;
+			for (int c = colStart[j]; c < colStart[j + 1]; c++) {
+				final int r = colRows[c];
+				if (!activeRow[r]) {
+					continue;
+				}
+				if (duplicateRow[r]) {
+					keyRows = null;
+					break;
+				}
+				for (int p = rowStart[r]; p < rowStart[r + 1]; p++) {
+					if (delta.termVars[rowTerms[p]] == j) {
+						keyCoefs[count] = delta.termWeights[rowTerms[p]];
+					}
+				}
+				keyRows[count++] = r;
+			}
+			this.rows = keyRows == null ? null : Arrays.copyOf(keyRows, count);
+			this.coefs = Arrays.copyOf(keyCoefs, count);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof ColumnKey)) {
+				return false;
+			}
+			final ColumnKey other = (ColumnKey) obj;
+			return Arrays.equals(rows, other.rows) && Arrays.equals(coefs, other.coefs)
+					&& Arrays.equals(sos, other.sos);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * Arrays.hashCode(rows) + Arrays.hashCode(coefs)) + Arrays.hashCode(sos);
+		}
+
+	}
+
+}
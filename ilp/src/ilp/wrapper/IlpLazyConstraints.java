@@ -0,0 +1,154 @@
+package ilp.wrapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import ilp.wrapper.IncrementalIlpSolver.Constraint;
+
+/**
+ * Pool of less or equals constraints that are not added to the solver's model
+ * up front but generated lazily (row generation): The model is solved without
+ * the pooled constraints, the solution is checked against them and only the
+ * violated constraints are added to the model before it is solved again. This
+ * is repeated until no pooled constraint is violated. As the pooled
+ * constraints are only ever added, every solution of the final model is
+ * feasible (and optimal) for the complete model.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpLazyConstraints {
+
+	/**
+	 * Tolerance for the violation check.
+	 */
+	private static final double EPS = 1e-9;
+
+	/**
+	 * All pooled (not yet added) constraints by name.
+	 */
+	private final Map<String, Constraint> pending = new LinkedHashMap<>();
+
+	/**
+	 * All terms of the pooled constraints by variable name.
+	 */
+	private final Map<String, List<Term>> terms = new HashMap<>();
+
+	/**
+	 * Number of constraints that were added to a solver.
+	 */
+	private int addedCount = 0;
+
+	/**
+	 * Adds a less or equals constraint to the pool.
+	 *
+	 * @param name  Name of the new constraint.
+	 * @param right Value of the right side.
+	 */
+	public void addLessOrEqualsConstraint(final String name, final int right) {
+		pending.put(name, new Constraint(name, right));
+	}
+
+	/**
+	 * Sets the weight for a given pooled constraint's variable.
+	 *
+	 * @param name   Name of the constraint.
+	 * @param weight Value of the variable's weight.
+	 * @param var    Name of the variable.
+	 */
+	public void setVariableWeightForConstraint(final String name, final double weight, final String var) {
+		final Constraint c = pending.get(name);
+		if (c == null) {
+			throw new IllegalArgumentException("Constraint with the name=" + name + " is not pooled.");
+		}
+		c.addVar(var, weight);
+		terms.computeIfAbsent(var, k -> new LinkedList<>()).add(new Term(c, weight));
+	}
+
+	/**
+	 * Returns all pooled constraints that are violated by a given solution and
+	 * removes them from the pool.
+	 *
+	 * @param selected Names of all selected variables of the solution.
+	 * @return Array of all violated constraints.
+	 */
+	public Constraint[] separate(final Collection<String> selected) {
+		final Map<Constraint, Double> loads = new HashMap<>();
+		for (final String var : selected) {
+			final List<Term> varTerms = terms.get(var);
+			if (varTerms == null) {
+				continue;
+			}
+			for (final Term t : varTerms) {
+				loads.merge(t.constraint, t.weight, Double::sum);
+			}
+		}
+
+		final List<Constraint> violated = new ArrayList<>();
+		for (final Constraint c : pending.values()) {
+			if (loads.getOrDefault(c, 0.0) > c.getRight() + EPS) {
+				violated.add(c);
+			}
+		}
+		for (final Constraint c : violated) {
+			pending.remove(c.getName());
+		}
+		return violated.toArray(new Constraint[violated.size()]);
+	}
+
+	/**
+	 * Adds all pooled constraints that are violated by the current solution of a
+	 * given solver to the solver's model.
+	 *
+	 * @param solver Solver with a feasible solution.
+	 * @return Number of added constraints (0 if the solution is feasible for all
+	 *         pooled constraints).
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	public int addViolated(final IncrementalIlpSolver solver) throws IlpSolverException {
+		final Constraint[] violated = separate(solver.getSelectedVariables());
+		if (violated.length > 0) {
+			solver.addLessOrEqualsConstraints(violated);
+			addedCount += violated.length;
+		}
+		return violated.length;
+	}
+
+	/**
+	 * Returns the number of pooled (not yet added) constraints.
+	 *
+	 * @return Number of pooled constraints.
+	 */
+	public int getPendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 * Returns the number of constraints that were added to a solver.
+	 *
+	 * @return Number of added constraints.
+	 */
+	public int getAddedCount() {
+		return addedCount;
+	}
+
+	/**
+	 * Term of a pooled constraint.
+	 */
+	private static class Term {
+
+		private final Constraint constraint;
+		private final double weight;
+
+		private Term(final Constraint constraint, final double weight) {
+			this.constraint = constraint;
+			this.weight = weight;
+		}
+
+	}
+
+}
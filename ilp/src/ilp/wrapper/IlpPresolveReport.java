@@ -0,0 +1,133 @@
+package ilp.wrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Report of all reductions an {@link IlpPresolver} applied to an
+ * {@link IlpDelta}.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpPresolveReport {
+
+	/**
+	 * Names of all removed (fixed or dominated) variables.
+	 */
+	private final List<String> removedVariables = new ArrayList<>();
+
+	/**
+	 * Names of all removed (redundant or parallel) constraints.
+	 */
+	private final List<String> removedConstraints = new ArrayList<>();
+
+	/**
+	 * Number of removed SOS1 constraints.
+	 */
+	private int removedSosConstraints = 0;
+
+	/**
+	 * Number of tightened constraint coefficients.
+	 */
+	private int tightenedCoefficients = 0;
+
+	/**
+	 * Duration of the presolve in nanoseconds.
+	 */
+	private long duration = 0;
+
+	/**
+	 * Adds a removed variable.
+	 *
+	 * @param name Name of the removed variable.
+	 */
+	public void addRemovedVariable(final String name) {
+		removedVariables.add(name);
+	}
+
+	/**
+	 * Adds a removed constraint.
+	 *
+	 * @param name Name of the removed constraint.
+	 */
+	public void addRemovedConstraint(final String name) {
+		removedConstraints.add(name);
+	}
+
+	/**
+	 * Increments the number of removed SOS1 constraints.
+	 */
+	public void incRemovedSosConstraints() {
+		removedSosConstraints++;
+	}
+
+	/**
+	 * Increments the number of tightened constraint coefficients.
+	 */
+	public void incTightenedCoefficients() {
+		tightenedCoefficients++;
+	}
+
+	/**
+	 * Sets the duration of the presolve.
+	 *
+	 * @param duration Duration of the presolve in nanoseconds.
+	 */
+	public void setDuration(final long duration) {
+		this.duration = duration;
+	}
+
+	/**
+	 * Returns the names of all removed variables.
+	 *
+	 * @return Names of all removed variables.
+	 */
+	public List<String> getRemovedVariables() {
+		return removedVariables;
+	}
+
+	/**
+	 * Returns the names of all removed constraints.
+	 *
+	 * @return Names of all removed constraints.
+	 */
+	public List<String> getRemovedConstraints() {
+		return removedConstraints;
+	}
+
+	/**
+	 * Returns the number of removed SOS1 constraints.
+	 *
+	 * @return Number of removed SOS1 constraints.
+	 */
+	public int getRemovedSosConstraints() {
+		return removedSosConstraints;
+	}
+
+	/**
+	 * Returns the number of tightened constraint coefficients.
+	 *
+	 * @return Number of tightened constraint coefficients.
+	 */
+	public int getTightenedCoefficients() {
+		return tightenedCoefficients;
+	}
+
+	/**
+	 * Returns the duration of the presolve in nanoseconds.
+	 *
+	 * @return Duration of the presolve in nanoseconds.
+	 */
+	public long getDuration() {
+		return duration;
+	}
+
+	@Override
+	public String toString() {
+		return "Presolve [removedVariables=" + removedVariables.size() + ", removedConstraints="
+				+ removedConstraints.size() + ", removedSosConstraints=" + removedSosConstraints
+				+ ", tightenedCoefficients=" + tightenedCoefficients + ", duration=" + duration / 1_000_000.0
+				+ "ms]";
+	}
+
+}
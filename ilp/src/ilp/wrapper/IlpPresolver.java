@@ -0,0 +1,22 @@
+package ilp.wrapper;
+
+/**
+ * Presolver that reduces an {@link IlpDelta} in place before it is applied to
+ * an {@link IncrementalIlpSolver}. Implementations must preserve the optimal
+ * objective value of the resulting model, i.e., they may only remove elements
+ * that can not be part of any (better) optimal solution or that do not
+ * restrict the solution space.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public interface IlpPresolver {
+
+	/**
+	 * Reduces the given ILP delta in place.
+	 *
+	 * @param delta ILP delta to reduce.
+	 * @return Report of all reductions.
+	 */
+	IlpPresolveReport presolve(final IlpDelta delta);
+
+}
@@ -0,0 +1,89 @@
+package ilp.wrapper;
+
+/**
+ * Global manager for the ILP statistics of the current embedding request. The
+ * algorithms check in the model build times, the presolve reports and the
+ * statistics of all solver runs, {@link IlpDelta} checks in its apply times.
+ * The aggregated statistics can be exported afterwards, e.g., per virtual
+ * network request, and must be reset before the next request.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpStatisticsManager {
+
+	/**
+	 * Aggregated statistics of the current embedding request. The status is null
+	 * until the first solver run is checked in.
+	 */
+	private static Statistics current = new Statistics(null, 0);
+
+	/**
+	 * True if any value was checked in since the last reset.
+	 */
+	private static boolean recorded = false;
+
+	/**
+	 * Private constructor ensures no instantiation of this class.
+	 */
+	private IlpStatisticsManager() {
+	}
+
+	/**
+	 * Adds the time for building a model (delta).
+	 *
+	 * @param nanos Time in nanoseconds.
+	 */
+	public static synchronized void addModelBuildTime(final long nanos) {
+		current.addModelTimes(nanos, 0);
+		recorded = true;
+	}
+
+	/**
+	 * Adds the time for applying a model (delta) to a solver.
+	 *
+	 * @param nanos Time in nanoseconds.
+	 */
+	public static synchronized void addDeltaApplyTime(final long nanos) {
+		current.addModelTimes(0, nanos);
+		recorded = true;
+	}
+
+	/**
+	 * Adds the reductions of a presolve report.
+	 *
+	 * @param report Presolve report.
+	 */
+	public static synchronized void addPresolveReport(final IlpPresolveReport report) {
+		current.addPresolveReductions(report.getRemovedVariables().size(), report.getRemovedConstraints().size());
+		recorded = true;
+	}
+
+	/**
+	 * Adds the statistics of a solver run.
+	 *
+	 * @param statistics Statistics of the solver run.
+	 */
+	public static synchronized void addSolve(final Statistics statistics) {
+		current.add(statistics);
+		recorded = true;
+	}
+
+	/**
+	 * Returns the aggregated statistics of the current embedding request or null
+	 * if nothing was checked in since the last reset.
+	 *
+	 * @return Aggregated statistics or null.
+	 */
+	public static synchronized Statistics getStatistics() {
+		return recorded ? current : null;
+	}
+
+	/**
+	 * Resets the aggregated statistics.
+	 */
+	public static synchronized void reset() {
+		current = new Statistics(null, 0);
+		recorded = false;
+	}
+
+}
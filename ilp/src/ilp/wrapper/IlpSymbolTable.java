@@ -0,0 +1,122 @@
+package ilp.wrapper;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Symbol table that interns variable or constraint names to dense integer IDs.
+ * IDs start at 0 and are assigned in the order of the first
+ * {@link #intern(String)} call for a name. This allows all other data
+ * structures of the integer-indexed ILP API to use primitive arrays.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpSymbolTable {
+
+	/**
+	 * Mapping of names to IDs.
+	 */
+	private final Map<String, Integer> ids;
+
+	/**
+	 * Names by ID.
+	 */
+	private String[] names;
+
+	/**
+	 * Number of interned names.
+	 */
+	private int size = 0;
+
+	/**
+	 * Creates a new, empty symbol table.
+	 */
+	public IlpSymbolTable() {
+		this(16);
+	}
+
+	/**
+	 * Creates a new, empty symbol table with a given initial capacity.
+	 *
+	 * @param capacity Initial capacity.
+	 */
+	public IlpSymbolTable(final int capacity) {
+		ids = new HashMap<>(Math.max(16, capacity * 4 / 3 + 1));
+		names = new String[Math.max(1, capacity)];
+	}
+
+	/**
+	 * Returns the ID of a given name. If the name is not yet known, it will be
+	 * added with the next free ID.
+	 *
+	 * @param name Name to intern.
+	 * @return ID of the name.
+	 */
+	public int intern(final String name) {
+		final Integer id = ids.get(name);
+		if (id != null) {
+			return id;
+		}
+
+		if (size == names.length) {
+			names = Arrays.copyOf(names, size * 2);
+		}
+		names[size] = name;
+		ids.put(name, size);
+		return size++;
+	}
+
+	/**
+	 * Returns the ID of a given name or -1 if the name is unknown.
+	 *
+	 * @param name Name to look up.
+	 * @return ID of the name or -1 if the name is unknown.
+	 */
+	public int getId(final String name) {
+		final Integer id = ids.get(name);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * Returns true if the given name is known.
+	 *
+	 * @param name Name to look up.
+	 * @return True if the given name is known.
+	 */
+	public boolean contains(final String name) {
+		return ids.containsKey(name);
+	}
+
+	/**
+	 * Returns the name for a given ID.
+	 *
+	 * @param id ID to get the name for.
+	 * @return Name for the given ID.
+	 */
+	public String getName(final int id) {
+		if (id < 0 || id >= size) {
+			throw new IlpSolverException("Symbol with the id=" + id + " does not exist.");
+		}
+		return names[id];
+	}
+
+	/**
+	 * Returns the number of interned names.
+	 *
+	 * @return Number of interned names.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all names from this symbol table.
+	 */
+	public void clear() {
+		ids.clear();
+		Arrays.fill(names, 0, size, null);
+		size = 0;
+	}
+
+}
@@ -1,9 +1,12 @@
 package ilp.wrapper;
 
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -162,6 +165,18 @@ public interface IncrementalIlpSolver {
 
 	void addEqualsConstraints(final Constraint[] constraints) throws IlpSolverException;
 
+	/**
+	 * Adds a block of equals constraints in CSR format. The default implementation
+	 * is an adapter to the String-based API. Implementations should override it
+	 * to avoid the creation of intermediate constraint objects.
+	 *
+	 * @param block CSR block of constraints.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	default void addEqualsConstraints(final IlpCsrBlock block) throws IlpSolverException {
+		addEqualsConstraints(block.toConstraints());
+	}
+
 	void addLessOrEqualsConstraint(final String name, final double right) throws IlpSolverException;
 
 	void addLessOrEqualsConstraint(final String name, final double right, double[] weights, String[] vars)
@@ -169,12 +184,45 @@ public interface IncrementalIlpSolver {
 
 	void addLessOrEqualsConstraints(final Constraint[] constraints) throws IlpSolverException;
 
+	/**
+	 * Adds a block of less or equals constraints in CSR format. The default
+	 * implementation is an adapter to the String-based API. Implementations should
+	 * override it to avoid the creation of intermediate constraint objects.
+	 *
+	 * @param block CSR block of constraints.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	default void addLessOrEqualsConstraints(final IlpCsrBlock block) throws IlpSolverException {
+		addLessOrEqualsConstraints(block.toConstraints());
+	}
+
 	void addToVariableWeight(final String name, final double change) throws IlpSolverException;
 
 	void addVariable(final String name, final double solutionWeight) throws IlpSolverException;
 
 	void addVariables(final Variable[] variables) throws IlpSolverException;
 
+	/**
+	 * Adds a block of variables. Variable i is named
+	 * {@code symbols.getName(ids[i])} and has the solution weight
+	 * {@code weights[i]}. The default implementation is an adapter to the
+	 * String-based API.
+	 *
+	 * @param symbols Symbol table of the variable names.
+	 * @param ids     Variable IDs.
+	 * @param weights Solution weights.
+	 * @param count   Number of variables to add (prefix of both arrays).
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	default void addVariables(final IlpSymbolTable symbols, final int[] ids, final double[] weights, final int count)
+			throws IlpSolverException {
+		final Variable[] vars = new Variable[count];
+		for (int i = 0; i < count; i++) {
+			vars[i] = new Variable(symbols.getName(ids[i]), weights[i]);
+		}
+		addVariables(vars);
+	}
+
 	void changeVariableBounds(final String name, final int lower, final int upper) throws IlpSolverException;
 
 	void changeVariableWeight(final String name, final double solutionWeight) throws IlpSolverException;
@@ -191,6 +239,58 @@ public interface IncrementalIlpSolver {
 
 	double getObjectiveValue() throws IlpSolverException;
 
+	/**
+	 * Solves the LP relaxation of the current model (all variables continuous, no
+	 * SOS1 constraints) and returns the dual values of the given constraints.
+	 * Constraints that are not part of the model are ignored. The current solution
+	 * of the model may be invalidated, i.e., the model has to be solved again
+	 * before the solution can be read. The default implementation throws an
+	 * UnsupportedOperationException.
+	 *
+	 * @param names Names of the constraints.
+	 * @return Map of constraint names to dual values.
+	 * @throws IlpSolverException If the solver encounters a problem or the LP
+	 *                            relaxation could not be solved to optimality.
+	 */
+	default Map<String, Double> getLpDuals(final Collection<String> names) throws IlpSolverException {
+		throw new UnsupportedOperationException("LP duals are not supported by this solver.");
+	}
+
+	/**
+	 * Returns the names of all variables that are selected (value 1) in the
+	 * current solution. In contrast to {@link #getMappings()}, this does not
+	 * create an entry for every variable of the model. The default implementation
+	 * is an adapter to {@link #getMappings()}. Implementations should override it
+	 * to fetch all solution values with one bulk call.
+	 *
+	 * @return List of the names of all selected variables.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	default List<String> getSelectedVariables() throws IlpSolverException {
+		return getMappings().entrySet().stream().filter(Entry::getValue).map(Entry::getKey)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns all variables that are selected (value 1) in the current solution as
+	 * a bit set over the IDs of a given symbol table. Selected variables that are
+	 * not part of the symbol table are ignored.
+	 *
+	 * @param symbols Symbol table of the variable names.
+	 * @return Bit set with the IDs of all selected variables.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	default BitSet getSelectedVariables(final IlpSymbolTable symbols) throws IlpSolverException {
+		final BitSet selected = new BitSet(symbols.size());
+		for (final String name : getSelectedVariables()) {
+			final int id = symbols.getId(name);
+			if (id >= 0) {
+				selected.set(id);
+			}
+		}
+		return selected;
+	}
+
 	int getVariableCount();
 
 	boolean hasVariable(final String name) throws IlpSolverException;
@@ -220,6 +320,17 @@ public interface IncrementalIlpSolver {
 
 	void setSeed(final int seed);
 
+	/**
+	 * Sets a (possibly partial) start solution for the next solve call, e.g., a
+	 * greedy placement or the solution of a previous run. Variables that are not
+	 * part of the given map are left to the solver. Unknown variable names are
+	 * ignored. Every call replaces the previously set start solution.
+	 *
+	 * @param startSolution Map of variable names to their start values.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	void setStartSolution(final Map<String, Boolean> startSolution) throws IlpSolverException;
+
 	void setTimeout(final int parameterValue);
 
 	void setVariableBounds(final Map<String, int[]> changeVariableBounds) throws IlpSolverException;
@@ -230,6 +341,40 @@ public interface IncrementalIlpSolver {
 
 	void setVariableWeightsForConstraints(final Map<String, Map<String, Double>> changeConstraitVariableWeights);
 
-	Statistics solve() throws IlpSolverException;
+	default Statistics solve() throws IlpSolverException {
+		return solve(null);
+	}
+
+	/**
+	 * Solves the model and reports all improving incumbents to the given solve
+	 * handle. The solver stops early if the handle requests it (see
+	 * {@link SolveHandle#shouldStop(double, double)}).
+	 *
+	 * @param handle Solve handle (may be null).
+	 * @return Statistics of the solver run.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	Statistics solve(final SolveHandle handle) throws IlpSolverException;
+
+	/**
+	 * Solves the model asynchronously and returns a handle that streams all
+	 * improving incumbents to the given listener. The run stops early if it gets
+	 * cancelled, the relative gap of the incumbent drops below the given limit or
+	 * the given wall-clock time limit is exceeded. The configured timeout of the
+	 * solver applies additionally. The model must not be modified until the run
+	 * is finished.
+	 *
+	 * @param listener  Listener for all improving incumbents (may be null).
+	 * @param gapLimit  Relative gap limit. Values less or equal to zero disable
+	 *                  the gap rule.
+	 * @param timeLimit Wall-clock time limit in milliseconds. Values less or equal
+	 *                  to zero disable the time limit.
+	 * @return Handle of the asynchronous solve run.
+	 */
+	default SolveHandle solveAsync(final Consumer<Incumbent> listener, final double gapLimit, final long timeLimit) {
+		final SolveHandle handle = new SolveHandle(listener, gapLimit, timeLimit);
+		handle.start(() -> solve(handle));
+		return handle;
+	}
 
 }
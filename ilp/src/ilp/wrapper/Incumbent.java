@@ -0,0 +1,97 @@
+package ilp.wrapper;
+
+/**
+ * Incumbent (best feasible solution found so far) reported by an ILP solver
+ * during an asynchronous solve run.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class Incumbent {
+
+	/**
+	 * Objective value of the incumbent.
+	 */
+	private final double objective;
+
+	/**
+	 * Best known (lower) bound of the objective value.
+	 */
+	private final double bound;
+
+	/**
+	 * Time since the start of the solve run in nanoseconds.
+	 */
+	private final long time;
+
+	/**
+	 * Creates a new incumbent object with given parameters.
+	 *
+	 * @param objective Objective value of the incumbent.
+	 * @param bound     Best known (lower) bound of the objective value.
+	 * @param time      Time since the start of the solve run in nanoseconds.
+	 */
+	public Incumbent(final double objective, final double bound, final long time) {
+		this.objective = objective;
+		this.bound = bound;
+		this.time = time;
+	}
+
+	/**
+	 * Returns the objective value of the incumbent.
+	 *
+	 * @return Objective value of the incumbent.
+	 */
+	public double getObjective() {
+		return objective;
+	}
+
+	/**
+	 * Returns the best known (lower) bound of the objective value.
+	 *
+	 * @return Best known (lower) bound of the objective value.
+	 */
+	public double getBound() {
+		return bound;
+	}
+
+	/**
+	 * Returns the relative gap between the objective value and the bound.
+	 *
+	 * @return Relative gap between the objective value and the bound.
+	 */
+	public double getGap() {
+		return gap(objective, bound);
+	}
+
+	/**
+	 * Returns the time since the start of the solve run in nanoseconds.
+	 *
+	 * @return Time since the start of the solve run in nanoseconds.
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Calculates the relative gap |objective - bound| / |objective| between an
+	 * objective value and a bound. Returns infinity if there is no finite
+	 * objective value.
+	 *
+	 * @param objective Objective value.
+	 * @param bound     Bound of the objective value.
+	 * @return Relative gap between the objective value and the bound.
+	 */
+	public static double gap(final double objective, final double bound) {
+		if (!Double.isFinite(objective) || !Double.isFinite(bound)) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return Math.abs(objective - bound) / Math.max(1e-10, Math.abs(objective));
+	}
+
+	@Override
+	public String toString() {
+		return "Incumbent [objective=" + objective + ", bound=" + bound + ", gap=" + getGap() + ", time=" + time
+				+ "]";
+	}
+
+}
@@ -0,0 +1,220 @@
+package ilp.wrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+
+/**
+ * Handle of an asynchronous solve run of an {@link IncrementalIlpSolver}. The
+ * handle streams all improving incumbents to an (optional) listener, supports
+ * the cancellation of the run and implements an early stop rule: The run stops
+ * as soon as the relative gap of the incumbent drops below a given limit or a
+ * given wall-clock time limit is exceeded. If the run stops early, the solver
+ * keeps the best incumbent found so far and reports the status
+ * {@link SolverStatus#TIME_OUT}.
+ *
+ * The model of the solver must not be modified while a run is active.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SolveHandle {
+
+	/**
+	 * Listener for all improving incumbents (may be null).
+	 */
+	private final Consumer<Incumbent> listener;
+
+	/**
+	 * Relative gap limit. Values less or equal to zero disable the gap rule.
+	 */
+	private final double gapLimit;
+
+	/**
+	 * Start of the run in terms of {@link System#nanoTime()}.
+	 */
+	private final long start;
+
+	/**
+	 * Deadline of the run in terms of {@link System#nanoTime()}.
+	 */
+	private final long deadline;
+
+	/**
+	 * True if the run was cancelled.
+	 */
+	private volatile boolean cancelled = false;
+
+	/**
+	 * Best incumbent found so far (may be null).
+	 */
+	private volatile Incumbent best = null;
+
+	/**
+	 * First incumbent found (may be null).
+	 */
+	private volatile Incumbent first = null;
+
+	/**
+	 * Number of improving incumbents found so far.
+	 */
+	private volatile int incumbentCount = 0;
+
+	/**
+	 * Task that runs the solver.
+	 */
+	private FutureTask<Statistics> task = null;
+
+	/**
+	 * Creates a new solve handle with given parameters.
+	 *
+	 * @param listener  Listener for all improving incumbents (may be null).
+	 * @param gapLimit  Relative gap limit. Values less or equal to zero disable
+	 *                  the gap rule.
+	 * @param timeLimit Wall-clock time limit in milliseconds. Values less or equal
+	 *                  to zero disable the time limit.
+	 */
+	public SolveHandle(final Consumer<Incumbent> listener, final double gapLimit, final long timeLimit) {
+		this.listener = listener;
+		this.gapLimit = gapLimit;
+		this.start = System.nanoTime();
+		if (timeLimit <= 0 || Long.MAX_VALUE - start < timeLimit * 1_000_000L) {
+			this.deadline = Long.MAX_VALUE;
+		} else {
+			this.deadline = start + timeLimit * 1_000_000L;
+		}
+	}
+
+	/**
+	 * Starts the given solver call in a new (daemon) thread.
+	 *
+	 * @param solve Solver call to run.
+	 */
+	void start(final Callable<Statistics> solve) {
+		task = new FutureTask<>(solve);
+		final Thread thread = new Thread(task, "ilp-solve");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Cancels the run. The solver stops as soon as possible and keeps the best
+	 * incumbent found so far.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Returns true if the run was cancelled.
+	 *
+	 * @return True if the run was cancelled.
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * Returns true if the run is finished.
+	 *
+	 * @return True if the run is finished.
+	 */
+	public boolean isDone() {
+		return task == null || task.isDone();
+	}
+
+	/**
+	 * Returns the best incumbent found so far or null if there is none.
+	 *
+	 * @return Best incumbent found so far or null.
+	 */
+	public Incumbent getBestIncumbent() {
+		return best;
+	}
+
+	/**
+	 * Returns the first incumbent found or null if there is none.
+	 *
+	 * @return First incumbent found or null.
+	 */
+	public Incumbent getFirstIncumbent() {
+		return first;
+	}
+
+	/**
+	 * Returns the number of improving incumbents found so far.
+	 *
+	 * @return Number of improving incumbents.
+	 */
+	public int getIncumbentCount() {
+		return incumbentCount;
+	}
+
+	/**
+	 * Waits for the run to finish and returns its statistics.
+	 *
+	 * @return Statistics of the run.
+	 * @throws IlpSolverException If the solver encounters a problem or the
+	 *                            waiting thread was interrupted.
+	 */
+	public Statistics get() throws IlpSolverException {
+		if (task == null) {
+			throw new IlpSolverException("Solve run was not started.");
+		}
+
+		try {
+			return task.get();
+		} catch (final InterruptedException e) {
+			cancel();
+			Thread.currentThread().interrupt();
+			throw new IlpSolverException(e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof IlpSolverException) {
+				throw (IlpSolverException) e.getCause();
+			}
+			throw new IlpSolverException(e.getCause());
+		}
+	}
+
+	/**
+	 * Reports a new incumbent. This method is called by the solver
+	 * implementations (possibly from multiple threads). Incumbents that do not
+	 * improve the objective value are ignored.
+	 *
+	 * @param objective Objective value of the incumbent.
+	 * @param bound     Best known (lower) bound of the objective value.
+	 */
+	public synchronized void reportIncumbent(final double objective, final double bound) {
+		if (best != null && best.getObjective() <= objective) {
+			return;
+		}
+
+		best = new Incumbent(objective, bound, System.nanoTime() - start);
+		if (first == null) {
+			first = best;
+		}
+		incumbentCount++;
+		if (listener != null) {
+			listener.accept(best);
+		}
+	}
+
+	/**
+	 * Returns true if the solver should stop the run, i.e., if the run was
+	 * cancelled, the time limit is exceeded or the relative gap between the given
+	 * objective value and bound is within the gap limit. This method is called by
+	 * the solver implementations.
+	 *
+	 * @param objective Objective value of the current incumbent (infinity if
+	 *                  there is none).
+	 * @param bound     Best known (lower) bound of the objective value.
+	 * @return True if the solver should stop the run.
+	 */
+	public boolean shouldStop(final double objective, final double bound) {
+		if (cancelled || System.nanoTime() >= deadline) {
+			return true;
+		}
+		return gapLimit > 0 && Incumbent.gap(objective, bound) <= gapLimit;
+	}
+
+}
@@ -1,7 +1,11 @@
 package ilp.wrapper;
 
 /**
- * Statistics class for the ILP solver implementations.
+ * Statistics class for the ILP solver implementations. Besides the status and
+ * the runtime of a solver run, the statistics contain the size of the solved
+ * model and details of the search that are filled by the solver
+ * implementations. The model build and delta apply times as well as the
+ * presolve reductions are filled by the {@link IlpStatisticsManager}.
  *
  * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
  */
@@ -10,12 +14,68 @@ public class Statistics {
 	/**
 	 * Status of the solver after running, e.g., OPTIMAL.
 	 */
-	private final SolverStatus status;
+	private SolverStatus status;
 
 	/**
 	 * Runtime of the solver in nanoseconds.
 	 */
-	private final long duration;
+	private long duration;
+
+	/**
+	 * Time for building the model (delta) in nanoseconds.
+	 */
+	private long modelBuildTime = 0;
+
+	/**
+	 * Time for applying the model (delta) to the solver in nanoseconds.
+	 */
+	private long deltaApplyTime = 0;
+
+	/**
+	 * Number of variables of the solved model.
+	 */
+	private int variableCount = 0;
+
+	/**
+	 * Number of constraints of the solved model.
+	 */
+	private int constraintCount = 0;
+
+	/**
+	 * Number of non-zero coefficients of the constraints of the solved model.
+	 */
+	private long nonZeroCount = 0;
+
+	/**
+	 * Number of variables removed by the presolve.
+	 */
+	private int presolveRemovedVariables = 0;
+
+	/**
+	 * Number of constraints removed by the presolve.
+	 */
+	private int presolveRemovedConstraints = 0;
+
+	/**
+	 * Number of explored branch and bound nodes.
+	 */
+	private long nodeCount = 0;
+
+	/**
+	 * Final relative MIP gap (NaN if unknown).
+	 */
+	private double mipGap = Double.NaN;
+
+	/**
+	 * Time from the start of the solver run to the first incumbent in nanoseconds
+	 * (-1 if there is none).
+	 */
+	private long timeToFirstIncumbent = -1;
+
+	/**
+	 * Number of improving incumbents found by the solver.
+	 */
+	private int incumbentCount = 0;
 
 	/**
 	 * Creates a new statistics object with given parameters.
@@ -28,6 +88,110 @@ public class Statistics {
 		this.duration = duration;
 	}
 
+	/**
+	 * Adds the statistics of a subsequent solver run to this object, e.g., if a
+	 * model is solved multiple times for one embedding request. Times and counters
+	 * of the search are summed up, the status, the model size and the MIP gap are
+	 * taken from the subsequent run.
+	 *
+	 * @param other Statistics of the subsequent solver run.
+	 * @return This statistics object.
+	 */
+	public Statistics add(final Statistics other) {
+		if (timeToFirstIncumbent < 0 && other.timeToFirstIncumbent >= 0) {
+			timeToFirstIncumbent = duration + other.timeToFirstIncumbent;
+		}
+		if (other.status != null) {
+			status = other.status;
+			variableCount = other.variableCount;
+			constraintCount = other.constraintCount;
+			nonZeroCount = other.nonZeroCount;
+			mipGap = other.mipGap;
+		}
+		duration += other.duration;
+		modelBuildTime += other.modelBuildTime;
+		deltaApplyTime += other.deltaApplyTime;
+		presolveRemovedVariables += other.presolveRemovedVariables;
+		presolveRemovedConstraints += other.presolveRemovedConstraints;
+		nodeCount += other.nodeCount;
+		incumbentCount += other.incumbentCount;
+		return this;
+	}
+
+	/**
+	 * Sets the size of the solved model.
+	 *
+	 * @param variableCount   Number of variables.
+	 * @param constraintCount Number of constraints.
+	 * @param nonZeroCount    Number of non-zero coefficients of the constraints.
+	 * @return This statistics object.
+	 */
+	public Statistics setModelSize(final int variableCount, final int constraintCount, final long nonZeroCount) {
+		this.variableCount = variableCount;
+		this.constraintCount = constraintCount;
+		this.nonZeroCount = nonZeroCount;
+		return this;
+	}
+
+	/**
+	 * Sets the details of the search.
+	 *
+	 * @param nodeCount            Number of explored branch and bound nodes.
+	 * @param mipGap               Final relative MIP gap (NaN if unknown).
+	 * @param timeToFirstIncumbent Time to the first incumbent in nanoseconds (-1 if
+	 *                             there is none).
+	 * @param incumbentCount       Number of improving incumbents.
+	 * @return This statistics object.
+	 */
+	public Statistics setSearch(final long nodeCount, final double mipGap, final long timeToFirstIncumbent,
+			final int incumbentCount) {
+		this.nodeCount = nodeCount;
+		this.mipGap = mipGap;
+		this.timeToFirstIncumbent = timeToFirstIncumbent;
+		this.incumbentCount = incumbentCount;
+		return this;
+	}
+
+	/**
+	 * Sets the search details from a solve handle that tracked the incumbents of
+	 * the solver run.
+	 *
+	 * @param nodeCount Number of explored branch and bound nodes.
+	 * @param mipGap    Final relative MIP gap (NaN if unknown).
+	 * @param tracker   Solve handle of the run.
+	 * @param before    Number of incumbents of the handle before the run.
+	 * @return This statistics object.
+	 */
+	public Statistics setSearch(final long nodeCount, final double mipGap, final SolveHandle tracker,
+			final int before) {
+		final Incumbent first = tracker.getFirstIncumbent();
+		return setSearch(nodeCount, mipGap, before == 0 && first != null ? first.getTime() : -1,
+				tracker.getIncumbentCount() - before);
+	}
+
+	/**
+	 * Adds model build and delta apply times.
+	 *
+	 * @param modelBuildTime Time for building the model in nanoseconds.
+	 * @param deltaApplyTime Time for applying the model to the solver in
+	 *                       nanoseconds.
+	 */
+	void addModelTimes(final long modelBuildTime, final long deltaApplyTime) {
+		this.modelBuildTime += modelBuildTime;
+		this.deltaApplyTime += deltaApplyTime;
+	}
+
+	/**
+	 * Adds presolve reductions.
+	 *
+	 * @param removedVariables   Number of removed variables.
+	 * @param removedConstraints Number of removed constraints.
+	 */
+	void addPresolveReductions(final int removedVariables, final int removedConstraints) {
+		this.presolveRemovedVariables += removedVariables;
+		this.presolveRemovedConstraints += removedConstraints;
+	}
+
 	/**
 	 * Returns the status of the solver.
 	 *
@@ -46,6 +210,108 @@ public class Statistics {
 		return duration;
 	}
 
+	/**
+	 * Returns the time for building the model (delta) in nanoseconds.
+	 *
+	 * @return Model build time in nanoseconds.
+	 */
+	public long getModelBuildTime() {
+		return modelBuildTime;
+	}
+
+	/**
+	 * Returns the time for applying the model (delta) to the solver in
+	 * nanoseconds.
+	 *
+	 * @return Delta apply time in nanoseconds.
+	 */
+	public long getDeltaApplyTime() {
+		return deltaApplyTime;
+	}
+
+	/**
+	 * Returns the number of variables of the solved model.
+	 *
+	 * @return Number of variables.
+	 */
+	public int getVariableCount() {
+		return variableCount;
+	}
+
+	/**
+	 * Returns the number of constraints of the solved model.
+	 *
+	 * @return Number of constraints.
+	 */
+	public int getConstraintCount() {
+		return constraintCount;
+	}
+
+	/**
+	 * Returns the number of non-zero coefficients of the constraints of the solved
+	 * model.
+	 *
+	 * @return Number of non-zero coefficients.
+	 */
+	public long getNonZeroCount() {
+		return nonZeroCount;
+	}
+
+	/**
+	 * Returns the number of variables removed by the presolve.
+	 *
+	 * @return Number of removed variables.
+	 */
+	public int getPresolveRemovedVariables() {
+		return presolveRemovedVariables;
+	}
+
+	/**
+	 * Returns the number of constraints removed by the presolve.
+	 *
+	 * @return Number of removed constraints.
+	 */
+	public int getPresolveRemovedConstraints() {
+		return presolveRemovedConstraints;
+	}
+
+	/**
+	 * Returns the number of explored branch and bound nodes.
+	 *
+	 * @return Number of explored nodes.
+	 */
+	public long getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Returns the final relative MIP gap (NaN if unknown).
+	 *
+	 * @return Final relative MIP gap.
+	 */
+	public double getMipGap() {
+		return mipGap;
+	}
+
+	/**
+	 * Returns the time from the start of the solver run to the first incumbent in
+	 * nanoseconds (-1 if there is none).
+	 *
+	 * @return Time to the first incumbent in nanoseconds.
+	 */
+	public long getTimeToFirstIncumbent() {
+		return timeToFirstIncumbent;
+	}
+
+	/**
+	 * Returns the number of improving incumbents found by the solver.
+	 *
+	 * @return Number of improving incumbents.
+	 */
+	public int getIncumbentCount() {
+		return incumbentCount;
+	}
+
 	/**
 	 * Returns true if the statistics object was feasible.
 	 *
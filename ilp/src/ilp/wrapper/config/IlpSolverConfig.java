@@ -1,8 +1,11 @@
 package ilp.wrapper.config;
 
+import ilp.wrapper.IlpPresolver;
 import ilp.wrapper.IncrementalIlpSolver;
 import ilp.wrapper.impl.IncrementalCplexSolver;
 import ilp.wrapper.impl.IncrementalGurobiSolver;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+import ilp.wrapper.impl.IncrementalPortfolioSolver;
 
 /**
  * General configuration class for all ILP solvers.
@@ -18,9 +21,18 @@ public class IlpSolverConfig {
 	}
 
 	/**
-	 * If true, enables the output of the ILP solvers.
+	 * If true, enables the output of the ILP solvers. If false (quiet mode), the
+	 * log output of the solvers and the per-solve outputs of the algorithms are
+	 * disabled.
 	 */
-	public static final boolean ENABLE_ILP_OUTPUT = true;
+	public static boolean ENABLE_ILP_OUTPUT = true;
+
+	/**
+	 * If true, the environments of the Gurobi and CPLEX solvers are pooled and
+	 * reused by subsequent solver instances instead of being created for every
+	 * instance.
+	 */
+	public static boolean REUSE_ENVIRONMENTS = true;
 
 	/**
 	 * Configuration for the ILP solver to use.
@@ -32,6 +44,27 @@ public class IlpSolverConfig {
 	 */
 	public static int TIME_OUT = Integer.MAX_VALUE;
 
+	/**
+	 * Number of solver instances (with different random seeds) that race against
+	 * each other in a portfolio. Values less or equal to one disable the
+	 * portfolio.
+	 */
+	public static int PORTFOLIO_SIZE = 1;
+
+	/**
+	 * Latency budget (wall-clock time limit) in milliseconds for every solver run
+	 * of an embedding request. If the budget is exceeded, the best incumbent found
+	 * so far will be used. Values less or equal to zero disable the budget.
+	 */
+	public static long LATENCY_BUDGET = -1;
+
+	/**
+	 * Relative gap at which a solver run of an embedding request will be stopped
+	 * early and the incumbent will be used. Values less or equal to zero disable
+	 * the early stop.
+	 */
+	public static double GAP_LIMIT = -1;
+
 	/**
 	 * Random seed for the ILP solver.
 	 */
@@ -42,6 +75,12 @@ public class IlpSolverConfig {
 	 */
 	public static boolean ENABLE_PRESOLVE = true;
 
+	/**
+	 * Presolver that reduces every ILP delta of an embedding request before it is
+	 * applied to the solver. Null disables the delta presolve.
+	 */
+	public static IlpPresolver presolver = null;
+
 	/**
 	 * Optimality tolerance for the ILP implementation part of the PM algorithm.
 	 * This value is the default value of the Gurobi solver (1e-6) taken from
@@ -66,15 +105,44 @@ public class IlpSolverConfig {
 	 * @return New instance of the configured solver.
 	 */
 	public static IncrementalIlpSolver getIlpSolver() {
+		if (PORTFOLIO_SIZE > 1) {
+			final IncrementalIlpSolver[] solvers = new IncrementalIlpSolver[PORTFOLIO_SIZE];
+			for (int i = 0; i < PORTFOLIO_SIZE; i++) {
+				solvers[i] = createIlpSolver(IlpSolverConfig.RANDOM_SEED + i);
+			}
+			return new IncrementalPortfolioSolver(solvers);
+		}
+		return createIlpSolver(IlpSolverConfig.RANDOM_SEED);
+	}
+
+	/**
+	 * Returns a new instance of the configured solver with a given random seed.
+	 *
+	 * @param seed Random seed for the solver.
+	 * @return New instance of the configured solver.
+	 */
+	private static IncrementalIlpSolver createIlpSolver(final int seed) {
 		switch (IlpSolverConfig.solver) {
 		case GUROBI:
-			return new IncrementalGurobiSolver(IlpSolverConfig.TIME_OUT, IlpSolverConfig.RANDOM_SEED);
+			return new IncrementalGurobiSolver(IlpSolverConfig.TIME_OUT, seed);
 		case CPLEX:
-			return new IncrementalCplexSolver(IlpSolverConfig.TIME_OUT, IlpSolverConfig.RANDOM_SEED);
+			return new IncrementalCplexSolver(IlpSolverConfig.TIME_OUT, seed);
+		case JAVA:
+			return new IncrementalJavaSolver(IlpSolverConfig.TIME_OUT, seed);
 		}
 		throw new UnsupportedOperationException("Solver type not implemented.");
 	}
 
+	/**
+	 * Closes all idle (pooled) solver environments. Environments of solver
+	 * instances that are not yet disposed are not affected. This method is also
+	 * called on the shutdown of the JVM.
+	 */
+	public static void closeEnvironments() {
+		IncrementalGurobiSolver.closeEnvironments();
+		IncrementalCplexSolver.closeEnvironments();
+	}
+
 	/**
 	 * Transforms the input value of the former objective function according to the
 	 * settings for the ILP solver.
@@ -0,0 +1,711 @@
+package ilp.wrapper.impl;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import ilp.wrapper.SolveHandle;
+import ilp.wrapper.SolverStatus;
+
+/**
+ * Depth-first branch-and-bound engine for binary integer linear programs
+ * (minimization) used by the {@link IncrementalJavaSolver}. The engine works on
+ * a compact, row-wise (CSR) snapshot of the model that is built right before
+ * solving.
+ *
+ * The search combines bound propagation on all rows (activity based fixing of
+ * binary variables) with a combinatorial lower bound on set partitioning rows
+ * (equality rows with all coefficients and the right hand side equal to 1).
+ * These rows are also used for branching: The open partitioning row with the
+ * fewest free variables is chosen and its cheapest free variable is set to 1
+ * first. This structure matches the embedding models of the PM-based
+ * algorithms, where every virtual element (and the rejection variable of its
+ * network) forms such a row.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+final class BranchAndBoundEngine {
+
+	/**
+	 * Row sense: less or equals.
+	 */
+	static final byte LE = 0;
+
+	/**
+	 * Row sense: equals.
+	 */
+	static final byte EQ = 1;
+
+	/**
+	 * Tolerance for all feasibility checks.
+	 */
+	private static final double EPS = 1e-9;
+
+	/*
+	 * Static model data.
+	 */
+
+	private final int n;
+	private final int m;
+	private final double[] obj;
+	private final byte[] sense;
+	private final double[] rhs;
+	private final int[] rowStart;
+	private final int[] rowVar;
+	private final double[] rowCoef;
+	private final int[] colStart;
+	private final int[] colRow;
+	private final double[] colCoef;
+	private final double[] maxAbsCoef;
+
+	/**
+	 * Indices of all set partitioning rows.
+	 */
+	private final int[] partitionRows;
+
+	/**
+	 * Per row: true if the row is a set partitioning row.
+	 */
+	private final boolean[] isPartition;
+
+	/**
+	 * Per variable: positive part of the objective divided by the number of set
+	 * partitioning rows the variable is part of.
+	 */
+	private final double[] sharedCost;
+
+	/**
+	 * Tie-breaking priority per variable (derived from the random seed).
+	 */
+	private final int[] priority;
+
+	/**
+	 * Start solution value per variable (0, 1 or -1 if unknown) or null if there
+	 * is no start solution.
+	 */
+	private byte[] hints = null;
+
+	/*
+	 * Search state.
+	 */
+
+	private final int[] lb;
+	private final int[] ub;
+	private final byte[] val;
+	private final double[] minAct;
+	private final double[] maxAct;
+	private final int[] freeCount;
+	private final int[] trail;
+	private int trailSize = 0;
+	private final int[] queue;
+	private final boolean[] inQueue;
+	private int queueHead = 0;
+	private int queueTail = 0;
+	private int queueSize = 0;
+	private final double[] partitionMin;
+	private final boolean[] partitionDirty;
+	private double fixedCost = 0;
+	private double freeNegCost = 0;
+
+	/*
+	 * Search frames (explicit stack instead of recursion).
+	 */
+
+	private int[] frameVar = new int[64];
+	private int[] frameMark = new int[64];
+	private byte[] frameFirst = new byte[64];
+	private byte[] frameState = new byte[64];
+	private int depth = 0;
+
+	/*
+	 * Results.
+	 */
+
+	private byte[] best = null;
+	private double bestObjective = Double.POSITIVE_INFINITY;
+	private double rootBound = Double.NEGATIVE_INFINITY;
+	private long nodeCount = 0;
+	private int incumbentCount = 0;
+	private long firstIncumbentTime = -1;
+
+	/**
+	 * Creates a new engine for the given model snapshot.
+	 *
+	 * @param n        Number of (binary) variables.
+	 * @param obj      Objective coefficients (minimization).
+	 * @param lb       Lower bounds of all variables (0 or 1).
+	 * @param ub       Upper bounds of all variables (0 or 1).
+	 * @param m        Number of rows.
+	 * @param sense    Sense of every row ({@link #LE} or {@link #EQ}).
+	 * @param rhs      Right hand side of every row.
+	 * @param rowStart CSR row start offsets (length m + 1).
+	 * @param rowVar   CSR variable indices.
+	 * @param rowCoef  CSR coefficients.
+	 * @param seed     Random seed used for tie-breaking.
+	 */
+	BranchAndBoundEngine(final int n, final double[] obj, final int[] lb, final int[] ub, final int m,
+			final byte[] sense, final double[] rhs, final int[] rowStart, final int[] rowVar, final double[] rowCoef,
+			final int seed) {
+		this.n = n;
+		this.m = m;
+		this.obj = obj;
+		this.lb = lb;
+		this.ub = ub;
+		this.sense = sense;
+		this.rhs = rhs;
+		this.rowStart = rowStart;
+		this.rowVar = rowVar;
+		this.rowCoef = rowCoef;
+
+		// Column-wise copy of the matrix
+		colStart = new int[n + 1];
+		for (int k = 0; k < rowStart[m]; k++) {
+			colStart[rowVar[k] + 1]++;
+		}
+		for (int j = 0; j < n; j++) {
+			colStart[j + 1] += colStart[j];
+		}
+		colRow = new int[rowStart[m]];
+		colCoef = new double[rowStart[m]];
+		final int[] fill = Arrays.copyOf(colStart, n);
+		for (int r = 0; r < m; r++) {
+			for (int k = rowStart[r]; k < rowStart[r + 1]; k++) {
+				final int pos = fill[rowVar[k]]++;
+				colRow[pos] = r;
+				colCoef[pos] = rowCoef[k];
+			}
+		}
+
+		// Row properties
+		maxAbsCoef = new double[m];
+		isPartition = new boolean[m];
+		int partitions = 0;
+		for (int r = 0; r < m; r++) {
+			boolean partition = sense[r] == EQ && Math.abs(rhs[r] - 1) < EPS;
+			for (int k = rowStart[r]; k < rowStart[r + 1]; k++) {
+				maxAbsCoef[r] = Math.max(maxAbsCoef[r], Math.abs(rowCoef[k]));
+				partition &= Math.abs(rowCoef[k] - 1) < EPS;
+			}
+			isPartition[r] = partition;
+			if (partition) {
+				partitions++;
+			}
+		}
+		partitionRows = new int[partitions];
+		for (int r = 0, i = 0; r < m; r++) {
+			if (isPartition[r]) {
+				partitionRows[i++] = r;
+			}
+		}
+
+		sharedCost = new double[n];
+		for (int j = 0; j < n; j++) {
+			int count = 0;
+			for (int k = colStart[j]; k < colStart[j + 1]; k++) {
+				if (isPartition[colRow[k]]) {
+					count++;
+				}
+			}
+			sharedCost[j] = count == 0 ? 0 : Math.max(obj[j], 0) / count;
+		}
+
+		priority = new int[n];
+		for (int j = 0; j < n; j++) {
+			priority[j] = j;
+		}
+		if (seed != 0) {
+			final Random random = new Random(seed);
+			for (int j = n - 1; j > 0; j--) {
+				final int swap = random.nextInt(j + 1);
+				final int tmp = priority[j];
+				priority[j] = priority[swap];
+				priority[swap] = tmp;
+			}
+		}
+
+		val = new byte[n];
+		minAct = new double[m];
+		maxAct = new double[m];
+		freeCount = new int[m];
+		trail = new int[n];
+		queue = new int[m];
+		inQueue = new boolean[m];
+		partitionMin = new double[m];
+		partitionDirty = new boolean[m];
+	}
+
+	/**
+	 * Sets a (partial) start solution. The search follows these values first, so
+	 * the first dive reaches the start solution (or a completion of it) if it is
+	 * feasible.
+	 *
+	 * @param hints Start value per variable (0, 1 or -1 if unknown).
+	 */
+	void setHints(final byte[] hints) {
+		this.hints = hints;
+	}
+
+	/**
+	 * Runs the search until optimality is proven, the deadline is reached or the
+	 * given solve handle requests an early stop.
+	 *
+	 * @param deadline Deadline in terms of {@link System#nanoTime()}.
+	 * @param handle   Solve handle to report all incumbents to (may be null).
+	 * @return Status of the search.
+	 */
+	SolverStatus solve(final long deadline, final SolveHandle handle) {
+		final long start = System.nanoTime();
+		// Initial state: all variables free
+		Arrays.fill(val, (byte) -1);
+		for (int r = 0; r < m; r++) {
+			freeCount[r] = rowStart[r + 1] - rowStart[r];
+			for (int k = rowStart[r]; k < rowStart[r + 1]; k++) {
+				if (rowCoef[k] < 0) {
+					minAct[r] += rowCoef[k];
+				} else {
+					maxAct[r] += rowCoef[k];
+				}
+			}
+			enqueue(r);
+			partitionDirty[r] = true;
+		}
+		for (int j = 0; j < n; j++) {
+			if (obj[j] < 0) {
+				freeNegCost += obj[j];
+			}
+		}
+
+		// Fixed variables (bounds)
+		boolean conflict = false;
+		for (int j = 0; j < n && !conflict; j++) {
+			if (lb[j] > ub[j] || lb[j] > 1 || ub[j] < 0) {
+				conflict = true;
+			} else if (lb[j] == 1) {
+				conflict = !fix(j, (byte) 1);
+			} else if (ub[j] == 0) {
+				conflict = !fix(j, (byte) 0);
+			}
+		}
+		conflict = conflict || !propagate();
+		if (conflict) {
+			return SolverStatus.INFEASIBLE;
+		}
+		rootBound = lowerBound();
+
+		boolean timedOut = false;
+		while (true) {
+			if (!conflict) {
+				nodeCount++;
+				if (lowerBound() < bestObjective - pruneTolerance()) {
+					final int j = selectBranchVariable();
+					if (j < 0) {
+						if (storeIncumbent()) {
+							if (incumbentCount++ == 0) {
+								firstIncumbentTime = System.nanoTime() - start;
+							}
+							if (handle != null) {
+								handle.reportIncumbent(bestObjective, rootBound);
+							}
+						}
+					} else {
+						push(j);
+					}
+				}
+			}
+
+			// Advance to the next open child
+			boolean applied = false;
+			while (depth > 0 && !applied) {
+				final int top = depth - 1;
+				undoTo(frameMark[top]);
+				if (frameState[top] < 2) {
+					final byte value = frameState[top] == 0 ? frameFirst[top] : (byte) (1 - frameFirst[top]);
+					frameState[top]++;
+					conflict = !fix(frameVar[top], value) || !propagate();
+					applied = true;
+				} else {
+					depth--;
+				}
+			}
+
+			if (!applied) {
+				break;
+			}
+
+			if (System.nanoTime() >= deadline || (handle != null && handle.shouldStop(bestObjective, rootBound))) {
+				timedOut = true;
+				break;
+			}
+		}
+
+		if (timedOut) {
+			return SolverStatus.TIME_OUT;
+		}
+		return best == null ? SolverStatus.INFEASIBLE : SolverStatus.OPTIMAL;
+	}
+
+	/**
+	 * Returns the value of the given variable in the best solution found or -1 if
+	 * there is none.
+	 *
+	 * @param j Variable index.
+	 * @return Value of the variable in the best solution or -1.
+	 */
+	int getValue(final int j) {
+		return best == null ? -1 : best[j];
+	}
+
+	/**
+	 * Returns true if the search found at least one feasible solution.
+	 *
+	 * @return True if a feasible solution was found.
+	 */
+	boolean hasSolution() {
+		return best != null;
+	}
+
+	/**
+	 * Returns the objective value of the best solution found.
+	 *
+	 * @return Objective value of the best solution found.
+	 */
+	double getObjective() {
+		return bestObjective;
+	}
+
+	/**
+	 * Returns the number of explored search nodes.
+	 *
+	 * @return Number of explored search nodes.
+	 */
+	long getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Returns the lower bound of the objective value at the root node.
+	 *
+	 * @return Lower bound of the objective value at the root node.
+	 */
+	double getRootBound() {
+		return rootBound;
+	}
+
+	/**
+	 * Returns the number of improving incumbents found by the search.
+	 *
+	 * @return Number of improving incumbents.
+	 */
+	int getIncumbentCount() {
+		return incumbentCount;
+	}
+
+	/**
+	 * Returns the time from the start of the search to the first incumbent in
+	 * nanoseconds or -1 if there is none.
+	 *
+	 * @return Time to the first incumbent in nanoseconds or -1.
+	 */
+	long getFirstIncumbentTime() {
+		return firstIncumbentTime;
+	}
+
+	/*
+	 * Search internals.
+	 */
+
+	/**
+	 * Absolute tolerance used for pruning nodes against the incumbent.
+	 *
+	 * @return Pruning tolerance.
+	 */
+	private double pruneTolerance() {
+		if (best == null) {
+			return 0;
+		}
+		return EPS * Math.max(1, Math.abs(bestObjective));
+	}
+
+	/**
+	 * Pushes a new branching frame for the given variable.
+	 *
+	 * @param j Variable to branch on.
+	 */
+	private void push(final int j) {
+		if (depth == frameVar.length) {
+			frameVar = Arrays.copyOf(frameVar, depth * 2);
+			frameMark = Arrays.copyOf(frameMark, depth * 2);
+			frameFirst = Arrays.copyOf(frameFirst, depth * 2);
+			frameState = Arrays.copyOf(frameState, depth * 2);
+		}
+		frameVar[depth] = j;
+		frameMark[depth] = trailSize;
+		if (hints != null && hints[j] != -1) {
+			frameFirst[depth] = hints[j];
+		} else {
+			frameFirst[depth] = (byte) (isInPartitionRow(j) || obj[j] < 0 ? 1 : 0);
+		}
+		frameState[depth] = 0;
+		depth++;
+	}
+
+	/**
+	 * Returns true if the given variable is part of at least one open set
+	 * partitioning row.
+	 *
+	 * @param j Variable index.
+	 * @return True if the variable is part of an open set partitioning row.
+	 */
+	private boolean isInPartitionRow(final int j) {
+		for (int k = colStart[j]; k < colStart[j + 1]; k++) {
+			final int r = colRow[k];
+			if (isPartition[r] && minAct[r] < 0.5) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Fixes the given variable to the given value and updates all row activities.
+	 *
+	 * @param j     Variable index.
+	 * @param value Value (0 or 1).
+	 * @return False if the variable was already fixed to the other value.
+	 */
+	private boolean fix(final int j, final byte value) {
+		if (val[j] == value) {
+			return true;
+		}
+		if (val[j] != -1) {
+			return false;
+		}
+		val[j] = value;
+		trail[trailSize++] = j;
+		if (value == 1) {
+			fixedCost += obj[j];
+		}
+		if (obj[j] < 0) {
+			freeNegCost -= obj[j];
+		}
+		for (int k = colStart[j]; k < colStart[j + 1]; k++) {
+			final int r = colRow[k];
+			final double a = colCoef[k];
+			freeCount[r]--;
+			if (a > 0) {
+				if (value == 1) {
+					minAct[r] += a;
+				} else {
+					maxAct[r] -= a;
+				}
+			} else {
+				if (value == 1) {
+					maxAct[r] += a;
+				} else {
+					minAct[r] -= a;
+				}
+			}
+			partitionDirty[r] = true;
+			enqueue(r);
+		}
+		return true;
+	}
+
+	/**
+	 * Reverts all fixings down to the given trail size.
+	 *
+	 * @param mark Trail size to revert to.
+	 */
+	private void undoTo(final int mark) {
+		while (trailSize > mark) {
+			final int j = trail[--trailSize];
+			final byte value = val[j];
+			val[j] = -1;
+			if (value == 1) {
+				fixedCost -= obj[j];
+			}
+			if (obj[j] < 0) {
+				freeNegCost += obj[j];
+			}
+			for (int k = colStart[j]; k < colStart[j + 1]; k++) {
+				final int r = colRow[k];
+				final double a = colCoef[k];
+				freeCount[r]++;
+				if (a > 0) {
+					if (value == 1) {
+						minAct[r] -= a;
+					} else {
+						maxAct[r] += a;
+					}
+				} else {
+					if (value == 1) {
+						maxAct[r] -= a;
+					} else {
+						minAct[r] += a;
+					}
+				}
+				partitionDirty[r] = true;
+			}
+		}
+		clearQueue();
+	}
+
+	/**
+	 * Propagates all queued rows until a fixpoint or a conflict is reached.
+	 *
+	 * @return False if a conflict was detected.
+	 */
+	private boolean propagate() {
+		while (queueSize > 0) {
+			final int r = queue[queueHead];
+			queueHead = (queueHead + 1) % m;
+			queueSize--;
+			inQueue[r] = false;
+
+			final double slackLe = rhs[r] - minAct[r];
+			final double slackGe = sense[r] == EQ ? maxAct[r] - rhs[r] : Double.POSITIVE_INFINITY;
+			if (slackLe < -EPS || slackGe < -EPS) {
+				clearQueue();
+				return false;
+			}
+
+			if (slackLe + EPS >= maxAbsCoef[r] && slackGe + EPS >= maxAbsCoef[r]) {
+				continue;
+			}
+
+			for (int k = rowStart[r]; k < rowStart[r + 1]; k++) {
+				final int j = rowVar[k];
+				if (val[j] != -1) {
+					continue;
+				}
+				final double a = rowCoef[k];
+				if (a > 0) {
+					if (a > slackLe + EPS) {
+						fix(j, (byte) 0);
+					} else if (a > slackGe + EPS) {
+						fix(j, (byte) 1);
+					}
+				} else if (a < 0) {
+					if (-a > slackLe + EPS) {
+						fix(j, (byte) 1);
+					} else if (-a > slackGe + EPS) {
+						fix(j, (byte) 0);
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Computes a lower bound of the objective value for the current node.
+	 *
+	 * @return Lower bound of the objective value.
+	 */
+	private double lowerBound() {
+		double bound = fixedCost + freeNegCost;
+		for (final int r : partitionRows) {
+			if (minAct[r] > 0.5) {
+				continue;
+			}
+			if (partitionDirty[r]) {
+				double min = Double.POSITIVE_INFINITY;
+				for (int k = rowStart[r]; k < rowStart[r + 1]; k++) {
+					final int j = rowVar[k];
+					if (val[j] == -1 && sharedCost[j] < min) {
+						min = sharedCost[j];
+					}
+				}
+				partitionMin[r] = min;
+				partitionDirty[r] = false;
+			}
+			bound += partitionMin[r];
+		}
+		return bound;
+	}
+
+	/**
+	 * Selects the next variable to branch on. Returns -1 if all variables are
+	 * fixed.
+	 *
+	 * @return Index of the variable to branch on or -1.
+	 */
+	private int selectBranchVariable() {
+		// Most constrained open set partitioning row
+		int row = -1;
+		for (final int r : partitionRows) {
+			if (minAct[r] < 0.5 && freeCount[r] > 0 && (row == -1 || freeCount[r] < freeCount[row])) {
+				row = r;
+			}
+		}
+
+		if (row != -1) {
+			int sel = -1;
+			for (int k = rowStart[row]; k < rowStart[row + 1]; k++) {
+				final int j = rowVar[k];
+				if (val[j] != -1) {
+					continue;
+				}
+				if (hints != null && hints[j] == 1) {
+					return j;
+				}
+				if (sel == -1 || obj[j] < obj[sel] || (obj[j] == obj[sel] && priority[j] < priority[sel])) {
+					sel = j;
+				}
+			}
+			return sel;
+		}
+
+		// Any other free variable
+		int sel = -1;
+		for (int j = 0; j < n; j++) {
+			if (val[j] == -1 && (sel == -1 || priority[j] < priority[sel])) {
+				sel = j;
+			}
+		}
+		return sel;
+	}
+
+	/**
+	 * Saves the current (completely fixed) assignment as new incumbent if it
+	 * improves the objective value.
+	 *
+	 * @return True if the assignment was saved as new incumbent.
+	 */
+	private boolean storeIncumbent() {
+		if (fixedCost < bestObjective) {
+			best = Arrays.copyOf(val, n);
+			bestObjective = fixedCost;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the given row to the propagation queue if it is not already queued.
+	 *
+	 * @param r Row index.
+	 */
+	private void enqueue(final int r) {
+		if (inQueue[r]) {
+			return;
+		}
+		inQueue[r] = true;
+		queue[queueTail] = r;
+		queueTail = (queueTail + 1) % m;
+		queueSize++;
+	}
+
+	/**
+	 * Empties the propagation queue.
+	 */
+	private void clearQueue() {
+		while (queueSize > 0) {
+			inQueue[queue[queueHead]] = false;
+			queueHead = (queueHead + 1) % m;
+			queueSize--;
+		}
+		queueHead = 0;
+		queueTail = 0;
+	}
+
+}
@@ -0,0 +1,127 @@
+package ilp.wrapper.impl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import ilp.wrapper.config.IlpSolverConfig;
+
+/**
+ * Pool of solver environments (e.g., Gurobi environments or CPLEX objects)
+ * that can be reused by multiple solver instances. Creating an environment is
+ * expensive (license check, log file, native resources), hence solver
+ * instances acquire an idle environment from the pool and release it on
+ * dispose. As environments are not thread-safe, every environment is used by
+ * at most one solver instance at a time, i.e., concurrently active solvers
+ * (e.g., of a portfolio) get different environments.
+ *
+ * If {@link IlpSolverConfig#REUSE_ENVIRONMENTS} is false, every acquire creates
+ * a new environment and every release closes it. All idle environments are
+ * closed by {@link #close()}, which is also called on the shutdown of the JVM.
+ *
+ * @param <T> Type of the environments.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class EnvironmentPool<T> {
+
+	/**
+	 * Factory that creates new environments.
+	 */
+	private final Supplier<T> factory;
+
+	/**
+	 * Operation that closes (disposes) an environment.
+	 */
+	private final Consumer<T> closer;
+
+	/**
+	 * All idle environments.
+	 */
+	private final Deque<T> idle = new ArrayDeque<>();
+
+	/**
+	 * Number of environments created by this pool.
+	 */
+	private int createdCount = 0;
+
+	/**
+	 * True if the shutdown hook was already registered.
+	 */
+	private boolean hooked = false;
+
+	/**
+	 * Creates a new pool with the given factory and close operation.
+	 *
+	 * @param factory Factory that creates new environments.
+	 * @param closer  Operation that closes an environment.
+	 */
+	public EnvironmentPool(final Supplier<T> factory, final Consumer<T> closer) {
+		this.factory = factory;
+		this.closer = closer;
+	}
+
+	/**
+	 * Returns an idle environment or a new one if there is none.
+	 *
+	 * @return Environment that is exclusively used by the caller until it is
+	 *         released.
+	 */
+	public synchronized T acquire() {
+		if (IlpSolverConfig.REUSE_ENVIRONMENTS && !idle.isEmpty()) {
+			return idle.pop();
+		}
+
+		if (!hooked) {
+			Runtime.getRuntime().addShutdownHook(new Thread(this::close, "ilp-env-close"));
+			hooked = true;
+		}
+		final T env = factory.get();
+		createdCount++;
+		return env;
+	}
+
+	/**
+	 * Releases an environment acquired from this pool, i.e., the environment
+	 * becomes idle and can be reused (or it will be closed if the reuse is
+	 * disabled).
+	 *
+	 * @param env Environment to release.
+	 */
+	public synchronized void release(final T env) {
+		if (IlpSolverConfig.REUSE_ENVIRONMENTS) {
+			idle.push(env);
+		} else {
+			closer.accept(env);
+		}
+	}
+
+	/**
+	 * Closes all idle environments.
+	 */
+	public synchronized void close() {
+		while (!idle.isEmpty()) {
+			closer.accept(idle.pop());
+		}
+	}
+
+	/**
+	 * Returns the number of idle environments.
+	 *
+	 * @return Number of idle environments.
+	 */
+	public synchronized int getIdleCount() {
+		return idle.size();
+	}
+
+	/**
+	 * Returns the number of environments created by this pool.
+	 *
+	 * @return Number of created environments.
+	 */
+	public synchronized int getCreatedCount() {
+		return createdCount;
+	}
+
+}
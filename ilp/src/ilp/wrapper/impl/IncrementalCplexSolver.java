@@ -1,22 +1,28 @@
 package ilp.wrapper.impl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
 
+import ilog.concert.IloConversion;
 import ilog.concert.IloException;
 import ilog.concert.IloIntVar;
 import ilog.concert.IloLinearNumExpr;
 import ilog.concert.IloNumVar;
+import ilog.concert.IloNumVarType;
 import ilog.concert.IloObjective;
 import ilog.concert.IloRange;
 import ilog.cplex.IloCplex;
+import ilp.wrapper.IlpCsrBlock;
 import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IlpSymbolTable;
 import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.SolveHandle;
 import ilp.wrapper.SolverStatus;
 import ilp.wrapper.Statistics;
 import ilp.wrapper.config.IlpSolverConfig;
@@ -38,7 +44,19 @@ import ilp.wrapper.config.IlpSolverConfig;
 public class IncrementalCplexSolver implements IncrementalIlpSolver {
 
 	/**
-	 * CPLEX object (solver and model).
+	 * Pool of CPLEX objects shared by all instances.
+	 */
+	private static final EnvironmentPool<IloCplex> ENV_POOL = new EnvironmentPool<>(() -> {
+		try {
+			return new IloCplex();
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}, IloCplex::end);
+
+	/**
+	 * CPLEX object (solver and model). The object is acquired from the pool and
+	 * released (with an empty model) on dispose.
 	 */
 	private IloCplex cplex;
 
@@ -75,18 +93,17 @@ public class IncrementalCplexSolver implements IncrementalIlpSolver {
 	 * @param randomSeed Random seed for the solver.
 	 */
 	public IncrementalCplexSolver(final int timelimit, final int randomSeed) {
+		cplex = ENV_POOL.acquire();
 		try {
-			cplex = new IloCplex();
+			// A reused object still holds the parameters of its previous solver
 			cplex.setParam(IloCplex.Param.TimeLimit, timelimit);
 			cplex.setParam(IloCplex.Param.RandomSeed, randomSeed);
 			cplex.setParam(IloCplex.Param.Preprocessing.Presolve, IlpSolverConfig.ENABLE_PRESOLVE);
-
-			if (!IlpSolverConfig.ENABLE_ILP_OUTPUT) {
-				cplex.setOut(null);
-			}
+			cplex.setOut(IlpSolverConfig.ENABLE_ILP_OUTPUT ? System.out : null);
 
 			obj = cplex.addMinimize(cplex.linearNumExpr());
 		} catch (final IloException e) {
+			ENV_POOL.release(cplex);
 			throw new RuntimeException(e);
 		}
 
@@ -183,6 +200,11 @@ public class IncrementalCplexSolver implements IncrementalIlpSolver {
 		}
 	}
 
+	@Override
+	public void addEqualsConstraints(final IlpCsrBlock block) throws IlpSolverException {
+		addConstraints(block, true);
+	}
+
 	@Override
 	public void addLessOrEqualsConstraint(final String name, final double right) throws IlpSolverException {
 		try {
@@ -216,6 +238,49 @@ public class IncrementalCplexSolver implements IncrementalIlpSolver {
 		}
 	}
 
+	@Override
+	public void addLessOrEqualsConstraints(final IlpCsrBlock block) throws IlpSolverException {
+		addConstraints(block, false);
+	}
+
+	/**
+	 * Adds a CSR block of constraints to the solver. Every variable is resolved
+	 * only once per block.
+	 *
+	 * @param block  CSR block of constraints.
+	 * @param equals True if the constraints are equals constraints, false if they
+	 *               are less or equals constraints.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	private void addConstraints(final IlpCsrBlock block, final boolean equals) throws IlpSolverException {
+		final int[] cols = block.getColumnIds();
+		final IloNumVar[] resolved = new IloNumVar[block.getColumns().size()];
+		final IloNumVar[] termVars = new IloNumVar[block.getTermCount()];
+		for (int k = 0; k < termVars.length; k++) {
+			IloNumVar var = resolved[cols[k]];
+			if (var == null) {
+				var = variables.get(block.getColumns().getName(cols[k]));
+				resolved[cols[k]] = var;
+			}
+			termVars[k] = var;
+		}
+
+		try {
+			for (int r = 0; r < block.getRowCount(); r++) {
+				final IloLinearNumExpr linearNumExpr = cplex.linearNumExpr();
+				final int start = block.getRowStart(r);
+				linearNumExpr.addTerms(block.getCoefficients(), termVars, start, block.getRowStart(r + 1) - start);
+				if (equals) {
+					constraints.put(block.getName(r), cplex.addEq(block.getRight(r), linearNumExpr, block.getName(r)));
+				} else {
+					constraints.put(block.getName(r), cplex.addGe(block.getRight(r), linearNumExpr, block.getName(r)));
+				}
+			}
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
 	@Override
 	public void addToVariableWeight(final String name, final double change) throws IlpSolverException {
 		try {
@@ -259,6 +324,27 @@ public class IncrementalCplexSolver implements IncrementalIlpSolver {
 		}
 	}
 
+	@Override
+	public void addVariables(final IlpSymbolTable symbols, final int[] ids, final double[] weights, final int count)
+			throws IlpSolverException {
+		final String[] names = new String[count];
+		for (int i = 0; i < count; i++) {
+			names[i] = symbols.getName(ids[i]);
+		}
+		try {
+			final IloIntVar[] addVars = cplex.boolVarArray(count, names);
+			final IloLinearNumExpr linearNumExpr = cplex.linearNumExpr();
+			linearNumExpr.addTerms(weights, addVars, 0, count);
+			for (int i = 0; i < count; i++) {
+				variables.put(names[i], addVars[i]);
+				objectiveCoefficients.put(names[i], weights[i]);
+			}
+			cplex.addToExpr(obj, linearNumExpr);
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
 	@Override
 	public void changeVariableBounds(final String name, final int lower, final int upper) throws IlpSolverException {
 		try {
@@ -281,11 +367,23 @@ public class IncrementalCplexSolver implements IncrementalIlpSolver {
 
 	@Override
 	public void dispose() throws IlpSolverException {
+		if (cplex == null) {
+			return;
+		}
 		try {
 			cplex.clearModel();
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
+		ENV_POOL.release(cplex);
+		cplex = null;
+	}
+
+	/**
+	 * Closes all idle CPLEX objects of the pool.
+	 */
+	public static void closeEnvironments() {
+		ENV_POOL.close();
 	}
 
 	@Override
@@ -295,13 +393,49 @@ public class IncrementalCplexSolver implements IncrementalIlpSolver {
 
 	@Override
 	public Map<String, Boolean> getMappings() throws IlpSolverException {
-		return variables.values().stream().collect(Collectors.toMap(IloNumVar::getName, v -> {
-			try {
-				return cplex.getValue(v) > 0.5;
-			} catch (final IloException e) {
-				throw new IlpSolverException(e);
+		final String[] names = new String[variables.size()];
+		final double[] values = getSolutionValues(names);
+		final Map<String, Boolean> mappings = new HashMap<>();
+		for (int i = 0; i < names.length; i++) {
+			mappings.put(names[i], values[i] > 0.5);
+		}
+		return mappings;
+	}
+
+	@Override
+	public List<String> getSelectedVariables() throws IlpSolverException {
+		final String[] names = new String[variables.size()];
+		final double[] values = getSolutionValues(names);
+		final List<String> selected = new ArrayList<>();
+		for (int i = 0; i < names.length; i++) {
+			if (values[i] > 0.5) {
+				selected.add(names[i]);
 			}
-		}));
+		}
+		return selected;
+	}
+
+	/**
+	 * Fills the given array with the names of all variables and returns their
+	 * solution values (in the same order). All values are fetched with one bulk
+	 * call instead of one call per variable.
+	 *
+	 * @param names Array to fill with the names of all variables.
+	 * @return Solution values of all variables.
+	 */
+	private double[] getSolutionValues(final String[] names) {
+		final IloNumVar[] vars = new IloNumVar[names.length];
+		int i = 0;
+		for (final Entry<String, IloIntVar> e : variables.entrySet()) {
+			names[i] = e.getKey();
+			vars[i++] = e.getValue();
+		}
+
+		try {
+			return cplex.getValues(vars);
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
 	}
 
 	@Override
@@ -309,6 +443,41 @@ public class IncrementalCplexSolver implements IncrementalIlpSolver {
 		return objectiveValue;
 	}
 
+	@Override
+	public Map<String, Double> getLpDuals(final Collection<String> names) throws IlpSolverException {
+		try {
+			// Temporarily convert all binary variables to continuous ones
+			final IloNumVar[] vars = variables.values().toArray(new IloNumVar[variables.size()]);
+			final IloConversion conversion = cplex.conversion(vars, IloNumVarType.Float);
+			cplex.add(conversion);
+			try {
+				if (!cplex.solve() || cplex.getStatus() != IloCplex.Status.Optimal) {
+					throw new IlpSolverException("LP relaxation could not be solved to optimality.");
+				}
+
+				final List<String> found = new ArrayList<>();
+				final List<IloRange> ranges = new ArrayList<>();
+				for (final String name : names) {
+					final IloRange range = constraints.get(name);
+					if (range != null) {
+						found.add(name);
+						ranges.add(range);
+					}
+				}
+				final double[] pi = cplex.getDuals(ranges.toArray(new IloRange[ranges.size()]));
+				final Map<String, Double> duals = new HashMap<>();
+				for (int i = 0; i < pi.length; i++) {
+					duals.put(found.get(i), pi[i]);
+				}
+				return duals;
+			} finally {
+				cplex.remove(conversion);
+			}
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
 	@Override
 	public int getVariableCount() {
 		return variables.size();
@@ -350,7 +519,7 @@ public class IncrementalCplexSolver implements IncrementalIlpSolver {
 	@Override
 	public void removeConstraints(final List<String> removeConstraints) {
 		try {
-			cplex.remove(removeConstraints.stream().map(constraints::remove).toArray(IloNumVar[]::new));
+			cplex.remove(removeConstraints.stream().map(constraints::remove).toArray(IloRange[]::new));
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -410,6 +579,31 @@ public class IncrementalCplexSolver implements IncrementalIlpSolver {
 		}
 	}
 
+	@Override
+	public void setStartSolution(final Map<String, Boolean> startSolution) throws IlpSolverException {
+		final List<IloNumVar> vars = new ArrayList<>(startSolution.size());
+		final double[] values = new double[startSolution.size()];
+		for (final Entry<String, Boolean> entry : startSolution.entrySet()) {
+			final IloNumVar var = variables.get(entry.getKey());
+			if (var != null) {
+				values[vars.size()] = entry.getValue() ? 1 : 0;
+				vars.add(var);
+			}
+		}
+
+		try {
+			if (cplex.getNMIPStarts() > 0) {
+				cplex.deleteMIPStarts(0, cplex.getNMIPStarts());
+			}
+			if (!vars.isEmpty()) {
+				cplex.addMIPStart(vars.toArray(new IloNumVar[vars.size()]), Arrays.copyOf(values, vars.size()),
+						IloCplex.MIPStartEffort.Auto);
+			}
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
 	@Override
 	public void setTimeout(final int parameterValue) {
 		try {
@@ -486,10 +680,20 @@ public class IncrementalCplexSolver implements IncrementalIlpSolver {
 	}
 
 	@Override
-	public Statistics solve() throws IlpSolverException {
+	public Statistics solve(final SolveHandle handle) throws IlpSolverException {
 		try {
+			// Without a given handle, an internal one tracks the incumbents for the
+			// statistics
+			final SolveHandle tracker = handle != null ? handle : new SolveHandle(null, -1, -1);
+			final int before = tracker.getIncumbentCount();
+			cplex.use(new HandleCallback(tracker));
 			final long start = System.nanoTime();
-			final boolean solve = cplex.solve();
+			final boolean solve;
+			try {
+				solve = cplex.solve();
+			} finally {
+				cplex.clearCallbacks();
+			}
 			if (solve) {
 				objectiveValue = cplex.getObjValue();
 			} else {
@@ -507,13 +711,62 @@ public class IncrementalCplexSolver implements IncrementalIlpSolver {
 				status = SolverStatus.OPTIMAL;
 			} else if (cplex.getStatus() == IloCplex.Status.Unknown) {
 				status = SolverStatus.TIME_OUT;
+			} else if (cplex.getStatus() == IloCplex.Status.Feasible) {
+				// Time limit reached or solver run stopped early with an incumbent
+				status = SolverStatus.TIME_OUT;
 			} else {
 				throw new RuntimeException("Unknown solver status.");
 			}
-			return new Statistics(status, System.nanoTime() - start);
+
+			final Statistics stats = new Statistics(status, System.nanoTime() - start);
+			stats.setModelSize(variables.size(), constraints.size(), cplex.getNNZs());
+			if (cplex.isMIP()) {
+				final double gap = solve ? cplex.getMIPRelativeGap() : Double.NaN;
+				stats.setSearch(cplex.getNnodes64(), gap, tracker, before);
+			} else {
+				stats.setSearch(0, Double.NaN, tracker, before);
+			}
+			return stats;
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
 	}
 
+	/**
+	 * CPLEX callback that reports all incumbents to a solve handle and aborts the
+	 * optimization if the handle requests it.
+	 *
+	 * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+	 */
+	private static class HandleCallback extends IloCplex.MIPInfoCallback {
+
+		/**
+		 * Solve handle to report to.
+		 */
+		private final SolveHandle handle;
+
+		/**
+		 * Creates a new callback for the given solve handle.
+		 *
+		 * @param handle Solve handle to report to.
+		 */
+		private HandleCallback(final SolveHandle handle) {
+			this.handle = handle;
+		}
+
+		@Override
+		protected void main() throws IloException {
+			double objective = Double.POSITIVE_INFINITY;
+			final double bound = getBestObjValue();
+			if (hasIncumbent()) {
+				objective = getIncumbentObjValue();
+				handle.reportIncumbent(objective, bound);
+			}
+			if (handle.shouldStop(objective, bound)) {
+				abort();
+			}
+		}
+
+	}
+
 }
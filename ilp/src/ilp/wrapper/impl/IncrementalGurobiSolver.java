@@ -1,6 +1,8 @@
 package ilp.wrapper.impl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -8,13 +10,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import com.gurobi.gurobi.GRB;
 import com.gurobi.gurobi.GRB.DoubleAttr;
 import com.gurobi.gurobi.GRB.DoubleParam;
 import com.gurobi.gurobi.GRB.IntParam;
 import com.gurobi.gurobi.GRB.StringAttr;
+import com.gurobi.gurobi.GRBCallback;
 import com.gurobi.gurobi.GRBConstr;
 import com.gurobi.gurobi.GRBEnv;
 import com.gurobi.gurobi.GRBException;
@@ -22,8 +24,11 @@ import com.gurobi.gurobi.GRBLinExpr;
 import com.gurobi.gurobi.GRBModel;
 import com.gurobi.gurobi.GRBVar;
 
+import ilp.wrapper.IlpCsrBlock;
 import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IlpSymbolTable;
 import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.SolveHandle;
 import ilp.wrapper.SolverStatus;
 import ilp.wrapper.Statistics;
 import ilp.wrapper.config.IlpSolverConfig;
@@ -45,7 +50,25 @@ import ilp.wrapper.config.IlpSolverConfig;
 public class IncrementalGurobiSolver implements IncrementalIlpSolver {
 
 	/**
-	 * Gurobi environment (for configuration etc.).
+	 * Pool of Gurobi environments shared by all instances.
+	 */
+	private static final EnvironmentPool<GRBEnv> ENV_POOL = new EnvironmentPool<>(() -> {
+		try {
+			return new GRBEnv("Gurobi_ILP.log");
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}, env -> {
+		try {
+			env.dispose();
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	});
+
+	/**
+	 * Gurobi environment (for configuration etc.). The environment is acquired from
+	 * the pool and released on dispose.
 	 */
 	private final GRBEnv env;
 
@@ -84,23 +107,30 @@ public class IncrementalGurobiSolver implements IncrementalIlpSolver {
 	 * @param randomSeed Random seed to set for the solver.
 	 */
 	public IncrementalGurobiSolver(final int timelimit, final int randomSeed) {
+		env = ENV_POOL.acquire();
 		try {
-			env = new GRBEnv("Gurobi_ILP.log");
+			// A reused environment still holds the parameters of its previous solver
 			env.set(DoubleParam.TimeLimit, timelimit);
 			env.set(IntParam.Seed, randomSeed);
 			env.set(IntParam.Presolve, IlpSolverConfig.ENABLE_PRESOLVE ? 1 : 0);
-			if (!IlpSolverConfig.ENABLE_ILP_OUTPUT) {
-				env.set(IntParam.OutputFlag, 0);
-			}
+			env.set(IntParam.OutputFlag, IlpSolverConfig.ENABLE_ILP_OUTPUT ? 1 : 0);
 			model = new GRBModel(env);
 			model.set(DoubleParam.TimeLimit, timelimit);
 			model.set(IntParam.Seed, randomSeed);
 		} catch (final GRBException e) {
+			ENV_POOL.release(env);
 			e.printStackTrace();
 			throw new IlpSolverException(e);
 		}
 	}
 
+	/**
+	 * Closes all idle Gurobi environments of the pool.
+	 */
+	public static void closeEnvironments() {
+		ENV_POOL.close();
+	}
+
 	/**
 	 * Adds a constraint to the solver.
 	 *
@@ -177,6 +207,55 @@ public class IncrementalGurobiSolver implements IncrementalIlpSolver {
 		}
 	}
 
+	/**
+	 * Adds a CSR block of constraints to the solver. Every variable is resolved
+	 * only once per block and all rows are added with a single call.
+	 *
+	 * @param block CSR block of constraints.
+	 * @param chr   Senses.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	private void addConstraints(final IlpCsrBlock block, final char chr) throws IlpSolverException {
+		final int rowCount = block.getRowCount();
+		final int[] cols = block.getColumnIds();
+		final GRBVar[] resolved = new GRBVar[block.getColumns().size()];
+		final GRBVar[] termVars = new GRBVar[block.getTermCount()];
+		for (int k = 0; k < termVars.length; k++) {
+			GRBVar var = resolved[cols[k]];
+			if (var == null) {
+				var = getVariable(block.getColumns().getName(cols[k]));
+				resolved[cols[k]] = var;
+			}
+			termVars[k] = var;
+		}
+
+		try {
+			final GRBLinExpr[] grbLinExprs = new GRBLinExpr[rowCount];
+			for (int r = 0; r < rowCount; r++) {
+				final GRBLinExpr expr = new GRBLinExpr();
+				final int start = block.getRowStart(r);
+				expr.addTerms(block.getCoefficients(), termVars, start, block.getRowStart(r + 1) - start);
+				grbLinExprs[r] = expr;
+			}
+			final char[] senses = new char[rowCount];
+			Arrays.fill(senses, chr);
+
+			final GRBConstr[] addConstrs = model.addConstrs(grbLinExprs, senses, block.getRights(),
+					block.getNames());
+			for (int r = 0; r < rowCount; r++) {
+				final GRBConstr constr = addConstrs[r];
+				constraints.put(block.getName(r), constr);
+				final Set<GRBVar> vars = constraintVars.computeIfAbsent(constr, k -> new HashSet<>());
+				for (int k = block.getRowStart(r); k < block.getRowStart(r + 1); k++) {
+					varConstraints.computeIfAbsent(termVars[k], v -> new HashSet<>()).add(constr);
+					vars.add(termVars[k]);
+				}
+			}
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
 	/**
 	 * Returns the Gurobi variable for a given name.
 	 *
@@ -235,6 +314,11 @@ public class IncrementalGurobiSolver implements IncrementalIlpSolver {
 		addConstraints(constraints, GRB.EQUAL);
 	}
 
+	@Override
+	public void addEqualsConstraints(final IlpCsrBlock block) throws IlpSolverException {
+		addConstraints(block, GRB.EQUAL);
+	}
+
 	@Override
 	public void addLessOrEqualsConstraint(final String name, final double right) throws IlpSolverException {
 		addConstraint(name, right, new double[0], new String[0], GRB.LESS_EQUAL);
@@ -251,6 +335,11 @@ public class IncrementalGurobiSolver implements IncrementalIlpSolver {
 		addConstraints(constraints, GRB.LESS_EQUAL);
 	}
 
+	@Override
+	public void addLessOrEqualsConstraints(final IlpCsrBlock block) throws IlpSolverException {
+		addConstraints(block, GRB.LESS_EQUAL);
+	}
+
 	@Override
 	public void addToVariableWeight(final String name, final double change) throws IlpSolverException {
 		try {
@@ -291,6 +380,28 @@ public class IncrementalGurobiSolver implements IncrementalIlpSolver {
 		}
 	}
 
+	@Override
+	public void addVariables(final IlpSymbolTable symbols, final int[] ids, final double[] weights, final int count)
+			throws IlpSolverException {
+		final double[] lbs = new double[count];
+		final double[] ubs = new double[count];
+		final char[] types = new char[count];
+		final String[] names = new String[count];
+		Arrays.fill(ubs, 1);
+		Arrays.fill(types, GRB.BINARY);
+		for (int i = 0; i < count; i++) {
+			names[i] = symbols.getName(ids[i]);
+		}
+		try {
+			final GRBVar[] addVars = model.addVars(lbs, ubs, Arrays.copyOf(weights, count), types, names);
+			for (int i = 0; i < count; i++) {
+				variables.put(names[i], addVars[i]);
+			}
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
 	@Override
 	public void changeVariableBounds(final String name, final int lower, final int upper) throws IlpSolverException {
 		try {
@@ -312,12 +423,12 @@ public class IncrementalGurobiSolver implements IncrementalIlpSolver {
 
 	@Override
 	public void dispose() throws IlpSolverException {
-		model.dispose();
-		try {
-			env.dispose();
-		} catch (final GRBException e) {
-			throw new IlpSolverException(e);
+		if (model == null) {
+			return;
 		}
+		model.dispose();
+		model = null;
+		ENV_POOL.release(env);
 	}
 
 	@Override
@@ -327,19 +438,49 @@ public class IncrementalGurobiSolver implements IncrementalIlpSolver {
 
 	@Override
 	public Map<String, Boolean> getMappings() throws IlpSolverException {
-		return variables.values().stream().collect(Collectors.toMap(v -> {
-			try {
-				return v.get(StringAttr.VarName);
-			} catch (final GRBException e) {
-				throw new IlpSolverException(e);
-			}
-		}, v -> {
-			try {
-				return v.get(DoubleAttr.X) > 0.5;
-			} catch (final GRBException e) {
-				throw new IlpSolverException(e);
+		final String[] names = new String[variables.size()];
+		final double[] values = getSolutionValues(names);
+		final Map<String, Boolean> mappings = new HashMap<>();
+		for (int i = 0; i < names.length; i++) {
+			mappings.put(names[i], values[i] > 0.5);
+		}
+		return mappings;
+	}
+
+	@Override
+	public List<String> getSelectedVariables() throws IlpSolverException {
+		final String[] names = new String[variables.size()];
+		final double[] values = getSolutionValues(names);
+		final List<String> selected = new ArrayList<>();
+		for (int i = 0; i < names.length; i++) {
+			if (values[i] > 0.5) {
+				selected.add(names[i]);
 			}
-		}));
+		}
+		return selected;
+	}
+
+	/**
+	 * Fills the given array with the names of all variables and returns their
+	 * solution values (in the same order). All values are fetched with one bulk
+	 * call instead of one native call per variable.
+	 *
+	 * @param names Array to fill with the names of all variables.
+	 * @return Solution values of all variables.
+	 */
+	private double[] getSolutionValues(final String[] names) {
+		final GRBVar[] vars = new GRBVar[names.length];
+		int i = 0;
+		for (final Entry<String, GRBVar> e : variables.entrySet()) {
+			names[i] = e.getKey();
+			vars[i++] = e.getValue();
+		}
+
+		try {
+			return model.get(DoubleAttr.X, vars);
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
 	}
 
 	@Override
@@ -351,6 +492,37 @@ public class IncrementalGurobiSolver implements IncrementalIlpSolver {
 		}
 	}
 
+	@Override
+	public Map<String, Double> getLpDuals(final Collection<String> names) throws IlpSolverException {
+		try {
+			model.update();
+			// The relaxation is a copy of the model, hence the model itself is unchanged
+			final GRBModel relaxed = model.relax();
+			try {
+				relaxed.optimize();
+				if (relaxed.get(GRB.IntAttr.Status) != GRB.OPTIMAL) {
+					throw new IlpSolverException("LP relaxation could not be solved to optimality.");
+				}
+
+				final Set<String> requested = new HashSet<>(names);
+				final GRBConstr[] constrs = relaxed.getConstrs();
+				final String[] constrNames = relaxed.get(StringAttr.ConstrName, constrs);
+				final double[] pi = relaxed.get(DoubleAttr.Pi, constrs);
+				final Map<String, Double> duals = new HashMap<>();
+				for (int i = 0; i < constrs.length; i++) {
+					if (requested.contains(constrNames[i])) {
+						duals.put(constrNames[i], pi[i]);
+					}
+				}
+				return duals;
+			} finally {
+				relaxed.dispose();
+			}
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
 	@Override
 	public int getVariableCount() {
 		return variables.size();
@@ -478,6 +650,32 @@ public class IncrementalGurobiSolver implements IncrementalIlpSolver {
 		}
 	}
 
+	@Override
+	public void setStartSolution(final Map<String, Boolean> startSolution) throws IlpSolverException {
+		try {
+			model.update();
+
+			// Reset all previous start values
+			final GRBVar[] allVars = variables.values().toArray(new GRBVar[variables.size()]);
+			final double[] undefined = new double[allVars.length];
+			Arrays.fill(undefined, GRB.UNDEFINED);
+			model.set(DoubleAttr.Start, allVars, undefined);
+
+			final List<GRBVar> vars = new ArrayList<>(startSolution.size());
+			final double[] values = new double[startSolution.size()];
+			for (final Entry<String, Boolean> entry : startSolution.entrySet()) {
+				final GRBVar var = variables.get(entry.getKey());
+				if (var != null) {
+					values[vars.size()] = entry.getValue() ? 1 : 0;
+					vars.add(var);
+				}
+			}
+			model.set(DoubleAttr.Start, vars.toArray(new GRBVar[vars.size()]), values, 0, vars.size());
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
 	@Override
 	public void setTimeout(final int parameterValue) {
 		try {
@@ -535,12 +733,21 @@ public class IncrementalGurobiSolver implements IncrementalIlpSolver {
 	}
 
 	@Override
-	public Statistics solve() throws IlpSolverException {
+	public Statistics solve(final SolveHandle handle) throws IlpSolverException {
 		try {
 			model.update();
 			model.set(DoubleParam.OptimalityTol, IlpSolverConfig.OPT_TOL);
+			// Without a given handle, an internal one tracks the incumbents for the
+			// statistics
+			final SolveHandle tracker = handle != null ? handle : new SolveHandle(null, -1, -1);
+			final int before = tracker.getIncumbentCount();
+			model.setCallback(new HandleCallback(tracker));
 			final long start = System.nanoTime();
-			model.optimize();
+			try {
+				model.optimize();
+			} finally {
+				model.setCallback(null);
+			}
 			SolverStatus status;
 			if (model.get(GRB.IntAttr.Status) == GRB.UNBOUNDED) {
 				status = SolverStatus.UNBOUNDED;
@@ -554,14 +761,73 @@ public class IncrementalGurobiSolver implements IncrementalIlpSolver {
 				System.err.println("Warning: time limit (" + model.get(GRB.DoubleParam.TimeLimit) + "s) reached! "
 						+ model.get(GRB.IntAttr.SolCount) + " solutions were found so far.");
 				status = SolverStatus.TIME_OUT;
+			} else if (model.get(GRB.IntAttr.Status) == GRB.INTERRUPTED && handle != null) {
+				System.err.println("Warning: solver run stopped early! " + model.get(GRB.IntAttr.SolCount)
+						+ " solutions were found so far.");
+				status = SolverStatus.TIME_OUT;
 			} else {
 				throw new RuntimeException("Unknown solver status.");
 			}
 
-			return new Statistics(status, System.nanoTime() - start);
+			final Statistics stats = new Statistics(status, System.nanoTime() - start);
+			stats.setModelSize(variables.size(), constraints.size(), model.get(GRB.IntAttr.NumNZs));
+			if (model.get(GRB.IntAttr.IsMIP) == 1) {
+				final double gap = model.get(GRB.IntAttr.SolCount) > 0 ? model.get(GRB.DoubleAttr.MIPGap) : Double.NaN;
+				stats.setSearch((long) model.get(GRB.DoubleAttr.NodeCount), gap, tracker, before);
+			} else {
+				stats.setSearch(0, Double.NaN, tracker, before);
+			}
+			return stats;
 		} catch (final GRBException e) {
 			throw new IlpSolverException(e);
 		}
 	}
 
+	/**
+	 * Gurobi callback that reports all incumbents to a solve handle and aborts the
+	 * optimization if the handle requests it.
+	 *
+	 * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+	 */
+	private static class HandleCallback extends GRBCallback {
+
+		/**
+		 * Solve handle to report to.
+		 */
+		private final SolveHandle handle;
+
+		/**
+		 * Creates a new callback for the given solve handle.
+		 *
+		 * @param handle Solve handle to report to.
+		 */
+		private HandleCallback(final SolveHandle handle) {
+			this.handle = handle;
+		}
+
+		@Override
+		protected void callback() {
+			try {
+				if (where == GRB.Callback.MIPSOL) {
+					final double objective = getDoubleInfo(GRB.Callback.MIPSOL_OBJ);
+					final double bound = getDoubleInfo(GRB.Callback.MIPSOL_OBJBND);
+					handle.reportIncumbent(objective, bound);
+					if (handle.shouldStop(getDoubleInfo(GRB.Callback.MIPSOL_OBJBST), bound)) {
+						abort();
+					}
+				} else if (where == GRB.Callback.MIP) {
+					if (handle.shouldStop(getDoubleInfo(GRB.Callback.MIP_OBJBST),
+							getDoubleInfo(GRB.Callback.MIP_OBJBND))) {
+						abort();
+					}
+				} else if (handle.isCancelled()) {
+					abort();
+				}
+			} catch (final GRBException e) {
+				throw new IlpSolverException(e);
+			}
+		}
+
+	}
+
 }
@@ -0,0 +1,772 @@
+package ilp.wrapper.impl;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import ilp.wrapper.IlpCsrBlock;
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IlpSymbolTable;
+import ilp.wrapper.Incumbent;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.SolveHandle;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.Statistics;
+import ilp.wrapper.config.IlpSolverConfig;
+
+/**
+ * Implementation of the {@link IncrementalIlpSolver} interface that does not
+ * depend on any native (licensed) solver. The model is kept in plain Java
+ * collections and solved in-process by the {@link BranchAndBoundEngine}. All
+ * variables are binary, as with the other implementations.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IncrementalJavaSolver implements IncrementalIlpSolver {
+
+	/**
+	 * Internal variable representation.
+	 */
+	private static class JavaVar {
+		private final String name;
+		private double obj;
+		private int lb = 0;
+		private int ub = 1;
+		private boolean selected = false;
+		private boolean removed = false;
+		private byte start = -1;
+		private final Set<JavaRow> rows = new HashSet<>();
+		private int index;
+
+		private JavaVar(final String name, final double obj) {
+			this.name = name;
+			this.obj = obj;
+		}
+	}
+
+	/**
+	 * Internal constraint representation.
+	 */
+	private static class JavaRow {
+		private final String name;
+		private final byte sense;
+		private double rhs;
+		private final Map<JavaVar, Double> terms = new LinkedHashMap<>();
+
+		private JavaRow(final String name, final byte sense, final double rhs) {
+			this.name = name;
+			this.sense = sense;
+			this.rhs = rhs;
+		}
+	}
+
+	/**
+	 * Internal SOS1 constraint representation.
+	 */
+	private static class JavaSos {
+		private final String name;
+		private final List<JavaVar> vars;
+
+		private JavaSos(final String name, final List<JavaVar> vars) {
+			this.name = name;
+			this.vars = vars;
+		}
+	}
+
+	/**
+	 * All variables.
+	 */
+	private final Map<String, JavaVar> variables = new LinkedHashMap<>();
+
+	/**
+	 * All constraints.
+	 */
+	private final Map<String, JavaRow> constraints = new LinkedHashMap<>();
+
+	/**
+	 * All SOS1 constraints.
+	 */
+	private final List<JavaSos> sosConstraints = new LinkedList<>();
+
+	/**
+	 * Time limit in seconds.
+	 */
+	private int timelimit;
+
+	/**
+	 * Random seed.
+	 */
+	private int seed;
+
+	/**
+	 * Objective value of the last solution or NaN if there is none.
+	 */
+	private double objectiveValue = Double.NaN;
+
+	/**
+	 * Creates a new object of this incremental Java solver with the given
+	 * parameters.
+	 *
+	 * @param timelimit  Time limit for the solver (in seconds).
+	 * @param randomSeed Random seed for the solver.
+	 */
+	public IncrementalJavaSolver(final int timelimit, final int randomSeed) {
+		this.timelimit = timelimit;
+		this.seed = randomSeed;
+	}
+
+	/**
+	 * Returns the variable for a given name.
+	 *
+	 * @param name Name to get the variable for.
+	 * @return Variable for name.
+	 */
+	private JavaVar getVariable(final String name) {
+		final JavaVar var = variables.get(name);
+		if (var == null) {
+			throw new IlpSolverException("Variable with the name=" + name + " does not exist.");
+		}
+		return var;
+	}
+
+	/**
+	 * Returns the constraint for a given name.
+	 *
+	 * @param name Name to get the constraint for.
+	 * @return Constraint for name.
+	 */
+	private JavaRow getConstraint(final String name) {
+		final JavaRow row = constraints.get(name);
+		if (row == null) {
+			throw new IlpSolverException("Constraint with the name=" + name + " does not exist.");
+		}
+		return row;
+	}
+
+	/**
+	 * Adds a constraint to the model. Multiple terms for the same variable are
+	 * summed up.
+	 *
+	 * @param name    Name of the constraint.
+	 * @param right   Value of the right side.
+	 * @param weights Variable weights.
+	 * @param vars    Variables.
+	 * @param sense   Sense of the constraint.
+	 * @throws IlpSolverException If a variable does not exist.
+	 */
+	private void addConstraint(final String name, final double right, final double[] weights, final String[] vars,
+			final byte sense) throws IlpSolverException {
+		final JavaRow row = new JavaRow(name, sense, right);
+		for (int i = 0; i < vars.length; i++) {
+			final JavaVar var = getVariable(vars[i]);
+			row.terms.merge(var, weights[i], Double::sum);
+			var.rows.add(row);
+		}
+		final JavaRow old = constraints.put(name, row);
+		if (old != null) {
+			old.terms.keySet().forEach(v -> v.rows.remove(old));
+		}
+	}
+
+	/**
+	 * Adds predefined constraints to the model.
+	 *
+	 * @param constrs Array of predefined constraints.
+	 * @param sense   Sense of the constraints.
+	 * @throws IlpSolverException If a variable does not exist.
+	 */
+	private void addConstraints(final Constraint[] constrs, final byte sense) throws IlpSolverException {
+		for (final Constraint c : constrs) {
+			addConstraint(c.getName(), c.getRight(), c.getWeights().stream().mapToDouble(w -> w).toArray(),
+					c.getVarnames().toArray(new String[c.getVarnames().size()]), sense);
+		}
+	}
+
+	/**
+	 * Adds a CSR block of constraints to the model. Every variable is resolved
+	 * only once per block.
+	 *
+	 * @param block CSR block of constraints.
+	 * @param sense Sense of the constraints.
+	 * @throws IlpSolverException If a variable does not exist.
+	 */
+	private void addConstraints(final IlpCsrBlock block, final byte sense) throws IlpSolverException {
+		final JavaVar[] resolved = new JavaVar[block.getColumns().size()];
+		final int[] cols = block.getColumnIds();
+		final double[] coefs = block.getCoefficients();
+		for (int r = 0; r < block.getRowCount(); r++) {
+			final JavaRow row = new JavaRow(block.getName(r), sense, block.getRight(r));
+			for (int k = block.getRowStart(r); k < block.getRowStart(r + 1); k++) {
+				JavaVar var = resolved[cols[k]];
+				if (var == null) {
+					var = getVariable(block.getColumns().getName(cols[k]));
+					resolved[cols[k]] = var;
+				}
+				row.terms.merge(var, coefs[k], Double::sum);
+				var.rows.add(row);
+			}
+			final JavaRow old = constraints.put(row.name, row);
+			if (old != null) {
+				old.terms.keySet().forEach(v -> v.rows.remove(old));
+			}
+		}
+	}
+
+	@Override
+	public void addSosConstraint(final SosConstraint constraint) {
+		final List<JavaVar> vars = new ArrayList<>(constraint.getVars().size());
+		for (final Variable v : constraint.getVars()) {
+			vars.add(getVariable(v.getName()));
+		}
+		sosConstraints.add(new JavaSos(constraint.getName(), vars));
+	}
+
+	@Override
+	public void addSosConstraints(final SosConstraint[] constraints) {
+		for (final SosConstraint c : constraints) {
+			addSosConstraint(c);
+		}
+	}
+
+	@Override
+	public void addEqualsConstraint(final String name, final double right) throws IlpSolverException {
+		addConstraint(name, right, new double[0], new String[0], BranchAndBoundEngine.EQ);
+	}
+
+	@Override
+	public void addEqualsConstraint(final String name, final double right, final double[] weights, final String[] vars)
+			throws IlpSolverException {
+		addConstraint(name, right, weights, vars, BranchAndBoundEngine.EQ);
+	}
+
+	@Override
+	public void addEqualsConstraints(final Constraint[] constraints) throws IlpSolverException {
+		addConstraints(constraints, BranchAndBoundEngine.EQ);
+	}
+
+	@Override
+	public void addEqualsConstraints(final IlpCsrBlock block) throws IlpSolverException {
+		addConstraints(block, BranchAndBoundEngine.EQ);
+	}
+
+	@Override
+	public void addLessOrEqualsConstraint(final String name, final double right) throws IlpSolverException {
+		addConstraint(name, right, new double[0], new String[0], BranchAndBoundEngine.LE);
+	}
+
+	@Override
+	public void addLessOrEqualsConstraint(final String name, final double right, final double[] weights,
+			final String[] vars) throws IlpSolverException {
+		addConstraint(name, right, weights, vars, BranchAndBoundEngine.LE);
+	}
+
+	@Override
+	public void addLessOrEqualsConstraints(final Constraint[] constraints) throws IlpSolverException {
+		addConstraints(constraints, BranchAndBoundEngine.LE);
+	}
+
+	@Override
+	public void addLessOrEqualsConstraints(final IlpCsrBlock block) throws IlpSolverException {
+		addConstraints(block, BranchAndBoundEngine.LE);
+	}
+
+	@Override
+	public void addToVariableWeight(final String name, final double change) throws IlpSolverException {
+		getVariable(name).obj += change;
+	}
+
+	@Override
+	public void addVariable(final String name, final double solutionWeight) throws IlpSolverException {
+		final JavaVar old = variables.get(name);
+		if (old != null) {
+			removeVariable(name);
+		}
+		variables.put(name, new JavaVar(name, solutionWeight));
+	}
+
+	@Override
+	public void addVariables(final Variable[] variables) throws IlpSolverException {
+		for (final Variable v : variables) {
+			addVariable(v.getName(), v.getWeight());
+		}
+	}
+
+	@Override
+	public void addVariables(final IlpSymbolTable symbols, final int[] ids, final double[] weights, final int count)
+			throws IlpSolverException {
+		for (int i = 0; i < count; i++) {
+			addVariable(symbols.getName(ids[i]), weights[i]);
+		}
+	}
+
+	@Override
+	public void changeVariableBounds(final String name, final int lower, final int upper) throws IlpSolverException {
+		final JavaVar var = getVariable(name);
+		var.lb = lower;
+		var.ub = upper;
+	}
+
+	@Override
+	public void changeVariableWeight(final String name, final double solutionWeight) throws IlpSolverException {
+		getVariable(name).obj = solutionWeight;
+	}
+
+	@Override
+	public void dispose() throws IlpSolverException {
+		variables.clear();
+		constraints.clear();
+		sosConstraints.clear();
+		objectiveValue = Double.NaN;
+	}
+
+	@Override
+	public int getConstraintCount() {
+		return constraints.size();
+	}
+
+	@Override
+	public Map<String, Boolean> getMappings() throws IlpSolverException {
+		checkSolution();
+		final Map<String, Boolean> mappings = new LinkedHashMap<>();
+		for (final JavaVar var : variables.values()) {
+			mappings.put(var.name, var.selected);
+		}
+		return mappings;
+	}
+
+	@Override
+	public List<String> getSelectedVariables() throws IlpSolverException {
+		checkSolution();
+		final List<String> selected = new ArrayList<>();
+		for (final JavaVar var : variables.values()) {
+			if (var.selected) {
+				selected.add(var.name);
+			}
+		}
+		return selected;
+	}
+
+	@Override
+	public double getObjectiveValue() throws IlpSolverException {
+		checkSolution();
+		return objectiveValue;
+	}
+
+	@Override
+	public int getVariableCount() {
+		return variables.size();
+	}
+
+	@Override
+	public boolean hasVariable(final String name) throws IlpSolverException {
+		return variables.containsKey(name);
+	}
+
+	@Override
+	public boolean isSelected(final String name) throws IlpSolverException {
+		checkSolution();
+		return getVariable(name).selected;
+	}
+
+	/**
+	 * Throws an exception if there is no solution available.
+	 *
+	 * @throws IlpSolverException If there is no solution available.
+	 */
+	private void checkSolution() throws IlpSolverException {
+		if (Double.isNaN(objectiveValue)) {
+			throw new IlpSolverException("No solution available.");
+		}
+	}
+
+	@Override
+	public void loadModel(final String path) throws IlpSolverException {
+		dispose();
+		try (final BufferedReader reader = Files.newBufferedReader(Path.of(path))) {
+			String section = "";
+			String line;
+			final Map<String, Double> objective = new LinkedHashMap<>();
+			while ((line = reader.readLine()) != null) {
+				line = line.strip();
+				if (line.isEmpty() || line.startsWith("\\")) {
+					continue;
+				}
+				switch (line) {
+				case "Minimize":
+				case "Subject To":
+				case "Bounds":
+				case "Binaries":
+				case "SOS":
+				case "End":
+					section = line;
+					continue;
+				}
+
+				final String[] tokens = line.split("\\s+");
+				switch (section) {
+				case "Minimize":
+					for (int i = 1; i + 2 < tokens.length; i += 3) {
+						objective.put(tokens[i + 2], parseSigned(tokens[i], tokens[i + 1]));
+					}
+					break;
+				case "Subject To":
+					final String name = tokens[0].substring(0, tokens[0].length() - 1);
+					final List<String> vars = new LinkedList<>();
+					final List<Double> weights = new LinkedList<>();
+					int i = 1;
+					for (; i + 2 < tokens.length && (tokens[i].equals("+") || tokens[i].equals("-")); i += 3) {
+						weights.add(parseSigned(tokens[i], tokens[i + 1]));
+						vars.add(tokens[i + 2]);
+					}
+					for (final String var : vars) {
+						if (!variables.containsKey(var)) {
+							variables.put(var, new JavaVar(var, 0));
+						}
+					}
+					final byte sense = tokens[i].equals("=") ? BranchAndBoundEngine.EQ : BranchAndBoundEngine.LE;
+					addConstraint(name, Double.parseDouble(tokens[i + 1]),
+							weights.stream().mapToDouble(w -> w).toArray(), vars.toArray(new String[vars.size()]),
+							sense);
+					break;
+				case "Bounds":
+					// lower <= name <= upper
+					final JavaVar bounded = variables.computeIfAbsent(tokens[2], k -> new JavaVar(k, 0));
+					bounded.lb = (int) Double.parseDouble(tokens[0]);
+					bounded.ub = (int) Double.parseDouble(tokens[4]);
+					break;
+				case "Binaries":
+					for (final String token : tokens) {
+						variables.computeIfAbsent(token, k -> new JavaVar(k, 0));
+					}
+					break;
+				case "SOS":
+					// name: S1 :: var:weight var:weight ...
+					final List<JavaVar> sosVars = new ArrayList<>();
+					for (int k = 3; k < tokens.length; k++) {
+						final String varName = tokens[k].substring(0, tokens[k].lastIndexOf(':'));
+						sosVars.add(variables.computeIfAbsent(varName, v -> new JavaVar(v, 0)));
+					}
+					sosConstraints.add(new JavaSos(tokens[0].substring(0, tokens[0].length() - 1), sosVars));
+					break;
+				default:
+					throw new IlpSolverException("Unsupported LP file format in line: " + line);
+				}
+			}
+			for (final Entry<String, Double> entry : objective.entrySet()) {
+				variables.computeIfAbsent(entry.getKey(), k -> new JavaVar(k, 0)).obj = entry.getValue();
+			}
+		} catch (final IOException | RuntimeException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	/**
+	 * Parses a sign token and a number token to a double value.
+	 *
+	 * @param sign   Sign token ("+" or "-").
+	 * @param number Number token.
+	 * @return Parsed value.
+	 */
+	private double parseSigned(final String sign, final String number) {
+		final double value = Double.parseDouble(number);
+		return sign.equals("-") ? -value : value;
+	}
+
+	@Override
+	public void removeConstraint(final String name) throws IlpSolverException {
+		final JavaRow row = constraints.remove(name);
+		if (row == null) {
+			throw new IlpSolverException("Constraint for " + name + " does not exist.");
+		}
+		row.terms.keySet().forEach(v -> v.rows.remove(row));
+	}
+
+	@Override
+	public void removeConstraints(final List<String> removeConstraints) {
+		removeConstraints.forEach(this::removeConstraint);
+	}
+
+	@Override
+	public void removeVariable(final String name) throws IlpSolverException {
+		final JavaVar var = variables.remove(name);
+		if (var == null) {
+			throw new IlpSolverException("Variable with the name=" + name + " does not exist.");
+		}
+		for (final JavaRow row : var.rows) {
+			row.terms.remove(var);
+		}
+		var.rows.clear();
+		var.removed = true;
+	}
+
+	@Override
+	public void removeVariables(final List<String> removeVariables) throws IlpSolverException {
+		for (final String removeVar : removeVariables) {
+			removeVariable(removeVar);
+		}
+	}
+
+	@Override
+	public void save(final String file) throws IlpSolverException {
+		try (final BufferedWriter out = Files.newBufferedWriter(Path.of(file))) {
+			out.write("\\ Model written by " + getClass().getSimpleName());
+			out.newLine();
+			out.write("Minimize");
+			out.newLine();
+			final StringBuilder objective = new StringBuilder(" obj:");
+			for (final JavaVar var : variables.values()) {
+				appendTerm(objective, var.obj, var.name);
+			}
+			out.write(objective.toString());
+			out.newLine();
+
+			out.write("Subject To");
+			out.newLine();
+			for (final JavaRow row : constraints.values()) {
+				final StringBuilder builder = new StringBuilder(" " + row.name + ":");
+				for (final Entry<JavaVar, Double> term : row.terms.entrySet()) {
+					appendTerm(builder, term.getValue(), term.getKey().name);
+				}
+				builder.append(row.sense == BranchAndBoundEngine.EQ ? " = " : " <= ");
+				builder.append(row.rhs);
+				out.write(builder.toString());
+				out.newLine();
+			}
+
+			out.write("Bounds");
+			out.newLine();
+			for (final JavaVar var : variables.values()) {
+				if (var.lb != 0 || var.ub != 1) {
+					out.write(" " + var.lb + " <= " + var.name + " <= " + var.ub);
+					out.newLine();
+				}
+			}
+
+			out.write("Binaries");
+			out.newLine();
+			for (final JavaVar var : variables.values()) {
+				out.write(" " + var.name);
+				out.newLine();
+			}
+
+			if (!sosConstraints.isEmpty()) {
+				out.write("SOS");
+				out.newLine();
+				for (final JavaSos sos : sosConstraints) {
+					final StringBuilder builder = new StringBuilder(" " + sos.name + ": S1 ::");
+					for (final JavaVar var : sos.vars) {
+						if (!var.removed) {
+							builder.append(" " + var.name + ":1");
+						}
+					}
+					out.write(builder.toString());
+					out.newLine();
+				}
+			}
+
+			out.write("End");
+			out.newLine();
+		} catch (final IOException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	/**
+	 * Appends a term in LP file notation to the given string builder.
+	 *
+	 * @param builder String builder to append the term to.
+	 * @param coef    Coefficient of the term.
+	 * @param name    Variable name of the term.
+	 */
+	private void appendTerm(final StringBuilder builder, final double coef, final String name) {
+		builder.append(coef < 0 ? " - " : " + ");
+		builder.append(Math.abs(coef));
+		builder.append(' ');
+		builder.append(name);
+	}
+
+	@Override
+	public void setConstraintRight(final String name, final double newRight) throws IlpSolverException {
+		getConstraint(name).rhs = newRight;
+	}
+
+	@Override
+	public void setConstraintRights(final Map<String, Double> changeConstraintRight) {
+		for (final Entry<String, Double> entry : changeConstraintRight.entrySet()) {
+			setConstraintRight(entry.getKey(), entry.getValue());
+		}
+	}
+
+	@Override
+	public void setSeed(final int seed) {
+		this.seed = seed;
+	}
+
+	@Override
+	public void setStartSolution(final Map<String, Boolean> startSolution) throws IlpSolverException {
+		for (final JavaVar var : variables.values()) {
+			var.start = -1;
+		}
+		for (final Entry<String, Boolean> entry : startSolution.entrySet()) {
+			final JavaVar var = variables.get(entry.getKey());
+			if (var != null) {
+				var.start = (byte) (entry.getValue() ? 1 : 0);
+			}
+		}
+	}
+
+	@Override
+	public void setTimeout(final int parameterValue) {
+		this.timelimit = parameterValue;
+	}
+
+	@Override
+	public void setVariableBounds(final Map<String, int[]> changeVariableBounds) throws IlpSolverException {
+		for (final Entry<String, int[]> entry : changeVariableBounds.entrySet()) {
+			changeVariableBounds(entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+		}
+	}
+
+	@Override
+	public void setVariableWeightForConstraint(final String name, final double weight, final String var)
+			throws IlpSolverException {
+		final JavaRow row = getConstraint(name);
+		final JavaVar v = getVariable(var);
+		if (weight == 0) {
+			row.terms.remove(v);
+			v.rows.remove(row);
+		} else {
+			row.terms.put(v, weight);
+			v.rows.add(row);
+		}
+	}
+
+	@Override
+	public void setVariableWeights(final Map<String, Double> changeVariableWeights) throws IlpSolverException {
+		for (final Entry<String, Double> entry : changeVariableWeights.entrySet()) {
+			changeVariableWeight(entry.getKey(), entry.getValue());
+		}
+	}
+
+	@Override
+	public void setVariableWeightsForConstraints(
+			final Map<String, Map<String, Double>> changeConstraitVariableWeights) {
+		for (final Entry<String, Map<String, Double>> entry : changeConstraitVariableWeights.entrySet()) {
+			for (final Entry<String, Double> entry2 : entry.getValue().entrySet()) {
+				setVariableWeightForConstraint(entry.getKey(), entry2.getValue(), entry2.getKey());
+			}
+		}
+	}
+
+	@Override
+	public Statistics solve(final SolveHandle handle) throws IlpSolverException {
+		final long start = System.nanoTime();
+
+		// Build a compact snapshot of the current model
+		final int n = variables.size();
+		final double[] obj = new double[n];
+		final int[] lbs = new int[n];
+		final int[] ubs = new int[n];
+		final byte[] hints = new byte[n];
+		boolean hasHints = false;
+		int j = 0;
+		for (final JavaVar var : variables.values()) {
+			var.index = j;
+			var.selected = false;
+			obj[j] = var.obj;
+			lbs[j] = var.lb;
+			ubs[j] = var.ub;
+			hints[j] = var.start;
+			hasHints |= var.start != -1;
+			j++;
+		}
+
+		// SOS1 constraints on binary variables are converted to rows: sum(vars) <= 1
+		for (final JavaSos sos : sosConstraints) {
+			sos.vars.removeIf(v -> v.removed);
+		}
+		final int m = constraints.size() + sosConstraints.size();
+		final byte[] sense = new byte[m];
+		final double[] rhs = new double[m];
+		final int[] rowStart = new int[m + 1];
+		int nnz = 0;
+		for (final JavaRow row : constraints.values()) {
+			nnz += row.terms.size();
+		}
+		for (final JavaSos sos : sosConstraints) {
+			nnz += sos.vars.size();
+		}
+		final int[] rowVar = new int[nnz];
+		final double[] rowCoef = new double[nnz];
+		int r = 0;
+		int k = 0;
+		for (final JavaRow row : constraints.values()) {
+			sense[r] = row.sense;
+			rhs[r] = row.rhs;
+			for (final Entry<JavaVar, Double> term : row.terms.entrySet()) {
+				rowVar[k] = term.getKey().index;
+				rowCoef[k] = term.getValue();
+				k++;
+			}
+			rowStart[++r] = k;
+		}
+		for (final JavaSos sos : sosConstraints) {
+			sense[r] = BranchAndBoundEngine.LE;
+			rhs[r] = 1;
+			for (final JavaVar var : sos.vars) {
+				rowVar[k] = var.index;
+				rowCoef[k] = 1;
+				k++;
+			}
+			rowStart[++r] = k;
+		}
+
+		final BranchAndBoundEngine engine = new BranchAndBoundEngine(n, obj, lbs, ubs, m, sense, rhs, rowStart, rowVar,
+				rowCoef, seed);
+		if (hasHints) {
+			engine.setHints(hints);
+		}
+		final long limit = timelimit * 1_000_000_000L;
+		final long deadline = Long.MAX_VALUE - start < limit ? Long.MAX_VALUE : start + limit;
+		final SolverStatus status = engine.solve(deadline, handle);
+
+		if (engine.hasSolution()) {
+			for (final JavaVar var : variables.values()) {
+				var.selected = engine.getValue(var.index) == 1;
+			}
+			objectiveValue = engine.getObjective();
+		} else {
+			objectiveValue = Double.NaN;
+		}
+
+		if (status == SolverStatus.TIME_OUT) {
+			System.err.println("Warning: time limit (" + timelimit + "s) reached or solver run stopped early! "
+					+ (engine.hasSolution() ? 1 : 0) + " solutions were found so far.");
+		}
+		if (IlpSolverConfig.ENABLE_ILP_OUTPUT) {
+			System.out.println("=> Java ILP solver: " + status + ", objective " + objectiveValue + ", "
+					+ engine.getNodeCount() + " nodes, " + n + " variables, " + m + " constraints");
+		}
+
+		double gap = Double.NaN;
+		if (status == SolverStatus.OPTIMAL) {
+			gap = 0;
+		} else if (engine.hasSolution()) {
+			gap = Incumbent.gap(objectiveValue, engine.getRootBound());
+		}
+		// SOS1 constraints are counted as rows
+		return new Statistics(status, System.nanoTime() - start).setModelSize(n, m, nnz).setSearch(
+				engine.getNodeCount(), gap, engine.getFirstIncumbentTime(), engine.getIncumbentCount());
+	}
+
+}
@@ -0,0 +1,461 @@
+package ilp.wrapper.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import ilp.wrapper.IlpCsrBlock;
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IlpSymbolTable;
+import ilp.wrapper.Incumbent;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.SolveHandle;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.Statistics;
+
+/**
+ * Implementation of the {@link IncrementalIlpSolver} interface that races a
+ * portfolio of solver instances against each other. All model changes are
+ * applied to every member, so every member holds the same model. On solving,
+ * all members run on separate threads. The first member that proves optimality
+ * (or infeasibility) wins and all other members get cancelled. If no member
+ * finishes with a proven result, the member with the best incumbent wins. All
+ * solution getters are forwarded to the winner of the last run.
+ *
+ * The members should differ in their random seeds (see
+ * {@link #setSeed(int)}) or other parameters, because the solve times of the
+ * embedding models vary a lot with these settings.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IncrementalPortfolioSolver implements IncrementalIlpSolver {
+
+	/**
+	 * Member solvers of the portfolio.
+	 */
+	private final IncrementalIlpSolver[] solvers;
+
+	/**
+	 * Executor that runs the members.
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * Index of the member that won the last solver run.
+	 */
+	private int winner = 0;
+
+	/**
+	 * Creates a new portfolio of the given member solvers. The members must not
+	 * contain any model elements yet.
+	 *
+	 * @param solvers Member solvers of the portfolio.
+	 */
+	public IncrementalPortfolioSolver(final IncrementalIlpSolver... solvers) {
+		if (solvers.length == 0) {
+			throw new IllegalArgumentException("The portfolio must contain at least one solver.");
+		}
+		this.solvers = solvers;
+		this.executor = Executors.newFixedThreadPool(solvers.length, r -> {
+			final Thread thread = new Thread(r, "ilp-portfolio");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Returns the number of member solvers.
+	 *
+	 * @return Number of member solvers.
+	 */
+	public int getSize() {
+		return solvers.length;
+	}
+
+	/**
+	 * Returns the index of the member that won the last solver run.
+	 *
+	 * @return Index of the member that won the last solver run.
+	 */
+	public int getWinner() {
+		return winner;
+	}
+
+	@Override
+	public void addSosConstraint(final SosConstraint constraint) {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.addSosConstraint(constraint);
+		}
+	}
+
+	@Override
+	public void addSosConstraints(final SosConstraint[] constraints) {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.addSosConstraints(constraints);
+		}
+	}
+
+	@Override
+	public void addEqualsConstraint(final String name, final double right) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.addEqualsConstraint(name, right);
+		}
+	}
+
+	@Override
+	public void addEqualsConstraint(final String name, final double right, final double[] weights, final String[] vars)
+			throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.addEqualsConstraint(name, right, weights, vars);
+		}
+	}
+
+	@Override
+	public void addEqualsConstraints(final Constraint[] constraints) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.addEqualsConstraints(constraints);
+		}
+	}
+
+	@Override
+	public void addEqualsConstraints(final IlpCsrBlock block) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.addEqualsConstraints(block);
+		}
+	}
+
+	@Override
+	public void addLessOrEqualsConstraint(final String name, final double right) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.addLessOrEqualsConstraint(name, right);
+		}
+	}
+
+	@Override
+	public void addLessOrEqualsConstraint(final String name, final double right, final double[] weights,
+			final String[] vars) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.addLessOrEqualsConstraint(name, right, weights, vars);
+		}
+	}
+
+	@Override
+	public void addLessOrEqualsConstraints(final Constraint[] constraints) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.addLessOrEqualsConstraints(constraints);
+		}
+	}
+
+	@Override
+	public void addLessOrEqualsConstraints(final IlpCsrBlock block) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.addLessOrEqualsConstraints(block);
+		}
+	}
+
+	@Override
+	public void addToVariableWeight(final String name, final double change) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.addToVariableWeight(name, change);
+		}
+	}
+
+	@Override
+	public void addVariable(final String name, final double solutionWeight) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.addVariable(name, solutionWeight);
+		}
+	}
+
+	@Override
+	public void addVariables(final Variable[] variables) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.addVariables(variables);
+		}
+	}
+
+	@Override
+	public void addVariables(final IlpSymbolTable symbols, final int[] ids, final double[] weights, final int count)
+			throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.addVariables(symbols, ids, weights, count);
+		}
+	}
+
+	@Override
+	public void changeVariableBounds(final String name, final int lower, final int upper) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.changeVariableBounds(name, lower, upper);
+		}
+	}
+
+	@Override
+	public void changeVariableWeight(final String name, final double solutionWeight) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.changeVariableWeight(name, solutionWeight);
+		}
+	}
+
+	@Override
+	public void dispose() throws IlpSolverException {
+		executor.shutdownNow();
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.dispose();
+		}
+	}
+
+	@Override
+	public int getConstraintCount() {
+		return solvers[0].getConstraintCount();
+	}
+
+	@Override
+	public Map<String, Boolean> getMappings() throws IlpSolverException {
+		return solvers[winner].getMappings();
+	}
+
+	@Override
+	public List<String> getSelectedVariables() throws IlpSolverException {
+		return solvers[winner].getSelectedVariables();
+	}
+
+	@Override
+	public double getObjectiveValue() throws IlpSolverException {
+		return solvers[winner].getObjectiveValue();
+	}
+
+	@Override
+	public Map<String, Double> getLpDuals(final Collection<String> names) throws IlpSolverException {
+		// All members share the same model
+		return solvers[0].getLpDuals(names);
+	}
+
+	@Override
+	public int getVariableCount() {
+		return solvers[0].getVariableCount();
+	}
+
+	@Override
+	public boolean hasVariable(final String name) throws IlpSolverException {
+		return solvers[0].hasVariable(name);
+	}
+
+	@Override
+	public boolean isSelected(final String name) throws IlpSolverException {
+		return solvers[winner].isSelected(name);
+	}
+
+	@Override
+	public void loadModel(final String path) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.loadModel(path);
+		}
+	}
+
+	@Override
+	public void removeConstraint(final String name) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.removeConstraint(name);
+		}
+	}
+
+	@Override
+	public void removeConstraints(final List<String> removeConstraints) {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.removeConstraints(removeConstraints);
+		}
+	}
+
+	@Override
+	public void removeVariable(final String name) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.removeVariable(name);
+		}
+	}
+
+	@Override
+	public void removeVariables(final List<String> removeVariables) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.removeVariables(removeVariables);
+		}
+	}
+
+	@Override
+	public void save(final String file) throws IlpSolverException {
+		solvers[0].save(file);
+	}
+
+	@Override
+	public void setConstraintRight(final String name, final double newRight) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.setConstraintRight(name, newRight);
+		}
+	}
+
+	@Override
+	public void setConstraintRights(final Map<String, Double> changeConstraintRight) {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.setConstraintRights(changeConstraintRight);
+		}
+	}
+
+	/**
+	 * Sets the random seed of all members. Member i gets the seed
+	 * {@code seed + i}.
+	 */
+	@Override
+	public void setSeed(final int seed) {
+		for (int i = 0; i < solvers.length; i++) {
+			solvers[i].setSeed(seed + i);
+		}
+	}
+
+	@Override
+	public void setStartSolution(final Map<String, Boolean> startSolution) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.setStartSolution(startSolution);
+		}
+	}
+
+	@Override
+	public void setTimeout(final int parameterValue) {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.setTimeout(parameterValue);
+		}
+	}
+
+	@Override
+	public void setVariableBounds(final Map<String, int[]> changeVariableBounds) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.setVariableBounds(changeVariableBounds);
+		}
+	}
+
+	@Override
+	public void setVariableWeightForConstraint(final String name, final double weight, final String var)
+			throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.setVariableWeightForConstraint(name, weight, var);
+		}
+	}
+
+	@Override
+	public void setVariableWeights(final Map<String, Double> changeVariableWeights) throws IlpSolverException {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.setVariableWeights(changeVariableWeights);
+		}
+	}
+
+	@Override
+	public void setVariableWeightsForConstraints(
+			final Map<String, Map<String, Double>> changeConstraitVariableWeights) {
+		for (final IncrementalIlpSolver solver : solvers) {
+			solver.setVariableWeightsForConstraints(changeConstraitVariableWeights);
+		}
+	}
+
+	@Override
+	public Statistics solve(final SolveHandle handle) throws IlpSolverException {
+		final long start = System.nanoTime();
+
+		// Every member gets its own handle that forwards all incumbents to the given
+		// handle and stops if the given handle requests it
+		final SolveHandle[] handles = new SolveHandle[solvers.length];
+		for (int i = 0; i < solvers.length; i++) {
+			handles[i] = new SolveHandle(handle == null ? null
+					: inc -> handle.reportIncumbent(inc.getObjective(), inc.getBound()), -1, -1) {
+				@Override
+				public boolean shouldStop(final double objective, final double bound) {
+					return super.shouldStop(objective, bound) || (handle != null && handle.shouldStop(objective, bound));
+				}
+			};
+		}
+
+		final CompletionService<Statistics> service = new ExecutorCompletionService<>(executor);
+		final List<Future<Statistics>> futures = new ArrayList<>(solvers.length);
+		for (int i = 0; i < solvers.length; i++) {
+			final int index = i;
+			futures.add(service.submit(() -> solvers[index].solve(handles[index])));
+		}
+
+		// Wait for the first proven result and cancel all other members
+		final Statistics[] results = new Statistics[solvers.length];
+		IlpSolverException error = null;
+		int proven = -1;
+		for (int done = 0; done < solvers.length; done++) {
+			try {
+				final Future<Statistics> future = service.take();
+				final int index = indexOf(futures, future);
+				results[index] = future.get();
+				if (proven == -1 && results[index].getStatus() != SolverStatus.TIME_OUT) {
+					proven = index;
+					for (final SolveHandle other : handles) {
+						other.cancel();
+					}
+				}
+			} catch (final InterruptedException e) {
+				for (final SolveHandle other : handles) {
+					other.cancel();
+				}
+				Thread.currentThread().interrupt();
+				error = new IlpSolverException(e);
+			} catch (final ExecutionException e) {
+				error = e.getCause() instanceof IlpSolverException ? (IlpSolverException) e.getCause()
+						: new IlpSolverException(e.getCause());
+			}
+		}
+
+		if (proven != -1) {
+			winner = proven;
+		} else if (error != null) {
+			throw error;
+		} else {
+			// No proven result: The member with the best incumbent wins
+			winner = 0;
+			for (int i = 1; i < solvers.length; i++) {
+				final Incumbent best = handles[winner].getBestIncumbent();
+				final Incumbent other = handles[i].getBestIncumbent();
+				if (other != null && (best == null || other.getObjective() < best.getObjective())) {
+					winner = i;
+				}
+			}
+		}
+
+		// The search effort of all members is summed up, all other details are taken
+		// from the winner
+		final Statistics best = results[winner];
+		long nodes = 0;
+		for (final Statistics result : results) {
+			if (result != null) {
+				nodes += result.getNodeCount();
+			}
+		}
+		return new Statistics(best.getStatus(), System.nanoTime() - start)
+				.setModelSize(best.getVariableCount(), best.getConstraintCount(), best.getNonZeroCount())
+				.setSearch(nodes, best.getMipGap(), best.getTimeToFirstIncumbent(), best.getIncumbentCount());
+	}
+
+	/**
+	 * Returns the index of the given future in the given list.
+	 *
+	 * @param futures List of futures.
+	 * @param future  Future to search for.
+	 * @return Index of the future in the list.
+	 */
+	private static int indexOf(final List<Future<Statistics>> futures, final Future<Statistics> future) {
+		for (int i = 0; i < futures.size(); i++) {
+			if (futures.get(i) == future) {
+				return i;
+			}
+		}
+		throw new IlpSolverException("Unknown solver run.");
+	}
+
+}
@@ -149,13 +149,30 @@ public class CostUtility {
 		if (virtualElement instanceof VirtualServer && substrateElement instanceof SubstrateServer) {
 			// final VirtualServer vsrv = (VirtualServer) virtualElement;
 			final SubstrateServer ssrv = (SubstrateServer) substrateElement;
-			return 1.0 * ssrv.getResidualCpu() / ssrv.getCpu() + 1.0 * ssrv.getResidualMemory() / ssrv.getMemory()
-					+ 1.0 * ssrv.getResidualStorage() / ssrv.getStorage();
+			return getTotalCommunicationCostObjectiveNodeC(ssrv, ssrv.getResidualCpu(), ssrv.getResidualMemory(),
+					ssrv.getResidualStorage());
 		}
 
 		return 0;
 	}
 
+	/**
+	 * Returns the adapted total communication cost for a virtual server to
+	 * substrate server embedding with the given residual resources of the
+	 * substrate server instead of its current ones. (This one is used by the
+	 * OBJECTIVE.)
+	 *
+	 * @param ssrv            Substrate server to embed.
+	 * @param residualCpu     Residual CPU of the substrate server.
+	 * @param residualMemory  Residual memory of the substrate server.
+	 * @param residualStorage Residual storage of the substrate server.
+	 * @return Cost for this particular mapping.
+	 */
+	public static double getTotalCommunicationCostObjectiveNodeC(final SubstrateServer ssrv, final double residualCpu,
+			final double residualMemory, final double residualStorage) {
+		return residualCpu / ssrv.getCpu() + residualMemory / ssrv.getMemory() + residualStorage / ssrv.getStorage();
+	}
+
 	/**
 	 * Returns the adapted total communication cost for substrate server. (This one
 	 * is used by the METRIC.) This one prefers already filled up substrate servers
@@ -192,6 +209,23 @@ public class CostUtility {
 		return 0;
 	}
 
+	/**
+	 * Returns the adapted total communication cost for a virtual server to
+	 * substrate server embedding with the given residual resources of the
+	 * substrate server instead of its current ones. (This one is used by the
+	 * OBJECTIVE.)
+	 *
+	 * @param ssrv            Substrate server to embed.
+	 * @param residualCpu     Residual CPU of the substrate server.
+	 * @param residualMemory  Residual memory of the substrate server.
+	 * @param residualStorage Residual storage of the substrate server.
+	 * @return Cost for this particular mapping.
+	 */
+	public static double getTotalCommunicationCostObjectiveNodeD(final SubstrateServer ssrv, final double residualCpu,
+			final double residualMemory, final double residualStorage) {
+		return 1.0 / getTotalCommunicationCostObjectiveNodeC(ssrv, residualCpu, residualMemory, residualStorage);
+	}
+
 	/**
 	 * Returns the adapted total communication cost for a node to node embedding.
 	 * (This one is used by the METRIC.) This one prefers empty substrate servers
@@ -95,6 +95,26 @@ public class EmoflonGtRackA implements IncrementalPatternMatcher {
 			addMatch(currentDelta::addLinkServerMatchPositive, m.getVirtualLink(), m.getSubstrateServer());
 			tupleToGtMatch.put(new Tuple(m.getVirtualLink(), m.getSubstrateServer()), m);
 		});
+
+		/*
+		 * Disappearing matches
+		 */
+
+		api.serverMatchPositive().subscribeDisappearing(m -> {
+			removeMatch(currentDelta::addServerMatchNegative, m.getVirtualNode(), m.getSubstrateNode(), m);
+		});
+
+		api.switchMatchPositive().subscribeDisappearing(m -> {
+			removeMatch(currentDelta::addSwitchMatchNegative, m.getVirtualSwitch(), m.getSubstrateSwitch(), m);
+		});
+
+		api.linkPathMatchPositive().subscribeDisappearing(m -> {
+			removeMatch(currentDelta::addLinkPathMatchNegative, m.getVirtualLink(), m.getSubstratePath(), m);
+		});
+
+		api.linkServerMatchPositive().subscribeDisappearing(m -> {
+			removeMatch(currentDelta::addLinkServerMatchNegative, m.getVirtualLink(), m.getSubstrateServer(), m);
+		});
 	}
 
 	/**
@@ -144,4 +164,30 @@ public class EmoflonGtRackA implements IncrementalPatternMatcher {
 		deltaModification.accept(virtual, substrate);
 	}
 
+	/**
+	 * Removes a disappeared match from the collection virtualMatches. If the GT
+	 * match was already replaced by another one for the same virtual and substrate
+	 * element, the removal is ignored.
+	 *
+	 * @param deltaModification Modification (input).
+	 * @param virtual           Virtual element for the mapping.
+	 * @param substrate         Substrate element for the mapping.
+	 * @param match             Disappeared GT match.
+	 */
+	public void removeMatch(final BiConsumer<Element, Element> deltaModification, final Element virtual,
+			final Element substrate, final GraphTransformationMatch<?, ?> match) {
+		if (!tupleToGtMatch.remove(new Tuple(virtual, substrate), match)) {
+			return;
+		}
+
+		final List<Element> substrates = virtualMatches.get(virtual);
+		if (substrates != null) {
+			substrates.remove(substrate);
+			if (substrates.isEmpty()) {
+				virtualMatches.remove(virtual);
+			}
+		}
+		deltaModification.accept(virtual, substrate);
+	}
+
 }
@@ -77,6 +77,14 @@ public class EmoflonGtVnet implements IncrementalPatternMatcher {
 			addMatch(currentDelta::addNetworkServerMatchPositive, m.getVirtualNetwork(), m.getSubstrateNode());
 			tupleToGtMatch.put(new Tuple(m.getVirtualNetwork(), m.getSubstrateNode()), m);
 		});
+
+		/*
+		 * Disappearing matches
+		 */
+
+		api.vnetToServer().subscribeDisappearing(m -> {
+			removeMatch(currentDelta::addNetworkServerMatchNegative, m.getVirtualNetwork(), m.getSubstrateNode(), m);
+		});
 	}
 
 	/**
@@ -120,4 +128,30 @@ public class EmoflonGtVnet implements IncrementalPatternMatcher {
 		deltaModification.accept(virtual, substrate);
 	}
 
+	/**
+	 * Removes a disappeared match from the collection virtualMatches. If the GT
+	 * match was already replaced by another one for the same virtual and substrate
+	 * element, the removal is ignored.
+	 *
+	 * @param deltaModification Modification (input).
+	 * @param virtual           Virtual element for the mapping.
+	 * @param substrate         Substrate element for the mapping.
+	 * @param match             Disappeared GT match.
+	 */
+	public void removeMatch(final BiConsumer<Element, Element> deltaModification, final Element virtual,
+			final Element substrate, final GraphTransformationMatch<?, ?> match) {
+		if (!tupleToGtMatch.remove(new Tuple(virtual, substrate), match)) {
+			return;
+		}
+
+		final List<Element> substrates = virtualMatches.get(virtual);
+		if (substrates != null) {
+			substrates.remove(substrate);
+			if (substrates.isEmpty()) {
+				virtualMatches.remove(virtual);
+			}
+		}
+		deltaModification.accept(virtual, substrate);
+	}
+
 }
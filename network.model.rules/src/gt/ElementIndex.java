@@ -0,0 +1,201 @@
+package gt;
+
+import java.util.Arrays;
+
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+
+import model.Element;
+
+/**
+ * Index that maps model elements to dense integer IDs. This allows the storage
+ * of a match (virtual element, substrate element) as one primitive long value
+ * (see {@link #pair(int, int)}) instead of an object with two references.
+ *
+ * IDs are assigned in the order of the first {@link #intern(Element)} call for
+ * an element. Optionally, the index counts the references to an ID via
+ * {@link #retain(int)} and {@link #release(int)}. If the last reference of an
+ * ID is released, the element is removed from the index and its ID will be
+ * reused for the next new element. Hence, long-living indexes do not keep
+ * elements that were removed from the model.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class ElementIndex {
+
+	/**
+	 * Mapping of elements to IDs.
+	 */
+	private final ObjectIntHashMap<Element> ids = new ObjectIntHashMap<>();
+
+	/**
+	 * Elements by ID.
+	 */
+	private Element[] elements = new Element[16];
+
+	/**
+	 * Number of references by ID.
+	 */
+	private int[] references = new int[16];
+
+	/**
+	 * Number of used ID slots (including freed ones).
+	 */
+	private int slots = 0;
+
+	/**
+	 * Freed IDs that can be reused.
+	 */
+	private int[] freeIds = new int[16];
+
+	/**
+	 * Number of freed IDs.
+	 */
+	private int freeCount = 0;
+
+	/**
+	 * Returns the ID of a given element. If the element is not yet known, it will
+	 * be added with the next free ID.
+	 *
+	 * @param element Element to intern.
+	 * @return ID of the element.
+	 */
+	public int intern(final Element element) {
+		final int known = ids.getIfAbsent(element, -1);
+		if (known != -1) {
+			return known;
+		}
+
+		final int id;
+		if (freeCount > 0) {
+			id = freeIds[--freeCount];
+		} else {
+			if (slots == elements.length) {
+				elements = Arrays.copyOf(elements, slots * 2);
+				references = Arrays.copyOf(references, slots * 2);
+			}
+			id = slots++;
+		}
+		elements[id] = element;
+		references[id] = 0;
+		ids.put(element, id);
+		return id;
+	}
+
+	/**
+	 * Returns the ID of a given element or -1 if the element is unknown.
+	 *
+	 * @param element Element to look up.
+	 * @return ID of the element or -1 if the element is unknown.
+	 */
+	public int getId(final Element element) {
+		return ids.getIfAbsent(element, -1);
+	}
+
+	/**
+	 * Returns the element for a given ID.
+	 *
+	 * @param id ID to get the element for.
+	 * @return Element for the given ID.
+	 */
+	public Element get(final int id) {
+		if (id < 0 || id >= slots || elements[id] == null) {
+			throw new IllegalArgumentException("Element with the id=" + id + " does not exist.");
+		}
+		return elements[id];
+	}
+
+	/**
+	 * Adds a reference to the given ID.
+	 *
+	 * @param id ID to reference.
+	 */
+	public void retain(final int id) {
+		references[id]++;
+	}
+
+	/**
+	 * Removes a reference from the given ID. If it was the last reference, the
+	 * element is removed from the index and the ID can be reused.
+	 *
+	 * @param id ID to release.
+	 */
+	public void release(final int id) {
+		if (--references[id] > 0) {
+			return;
+		}
+
+		ids.remove(elements[id]);
+		elements[id] = null;
+		if (freeCount == freeIds.length) {
+			freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+		}
+		freeIds[freeCount++] = id;
+	}
+
+	/**
+	 * Returns the number of indexed elements.
+	 *
+	 * @return Number of indexed elements.
+	 */
+	public int size() {
+		return ids.size();
+	}
+
+	/**
+	 * Returns the approximate heap size of this index in bytes, i.e., the arrays
+	 * and the entries of the element map (not the elements themselves).
+	 *
+	 * @return Approximate heap size in bytes.
+	 */
+	public long getFootprint() {
+		return 64 + 16 + 4L * elements.length + 16 + 4L * references.length + 16 + 4L * freeIds.length
+				+ 2 * 8L * ids.size();
+	}
+
+	/**
+	 * Removes all elements from this index.
+	 */
+	public void clear() {
+		ids.clear();
+		Arrays.fill(elements, 0, slots, null);
+		Arrays.fill(references, 0, slots, 0);
+		slots = 0;
+		freeCount = 0;
+	}
+
+	/*
+	 * Encoding of matches
+	 */
+
+	/**
+	 * Returns the primitive key of a match.
+	 *
+	 * @param virtual   ID of the virtual element.
+	 * @param substrate ID of the substrate element.
+	 * @return Key of the match.
+	 */
+	public static long pair(final int virtual, final int substrate) {
+		return ((long) virtual << 32) | (substrate & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Returns the ID of the virtual element of a given match key.
+	 *
+	 * @param pair Key of the match.
+	 * @return ID of the virtual element.
+	 */
+	public static int virtualOf(final long pair) {
+		return (int) (pair >>> 32);
+	}
+
+	/**
+	 * Returns the ID of the substrate element of a given match key.
+	 *
+	 * @param pair Key of the match.
+	 * @return ID of the substrate element.
+	 */
+	public static int substrateOf(final long pair) {
+		return (int) pair;
+	}
+
+}
@@ -1,9 +1,46 @@
 package gt;
 
+import java.util.Map;
+import java.util.Set;
+
+import model.VirtualNetwork;
+
 public interface IncrementalPatternMatcher {
 
 	void dispose();
 
 	PatternMatchingDelta run();
 
+	/**
+	 * Runs the pattern matcher and reports all appeared and disappeared matches
+	 * to the given sink instead of collecting them in a delta. The default
+	 * implementation replays the delta of {@link #run()}, pattern matchers that
+	 * override it do not materialize the delta.
+	 *
+	 * @param sink Sink that receives all matches.
+	 */
+	default void run(final PatternMatchingSink sink) {
+		run().replay(sink);
+	}
+
+	/**
+	 * Removes all bookkeeping of the pattern matcher for the matches of the given
+	 * (embedded or rejected) virtual networks that is not needed to find further
+	 * matches. The default implementation does not keep such bookkeeping.
+	 *
+	 * @param vNets Virtual networks to evict.
+	 */
+	default void evict(final Set<VirtualNetwork> vNets) {
+	}
+
+	/**
+	 * Returns the approximate heap size of the caches of the pattern matcher in
+	 * bytes by the name of the cache.
+	 *
+	 * @return Approximate heap size of all caches in bytes.
+	 */
+	default Map<String, Long> getCacheFootprints() {
+		return Map.of();
+	}
+
 }
@@ -0,0 +1,317 @@
+package gt;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+import gt.PatternMatchingDelta.Match;
+import model.Element;
+
+/**
+ * Compact set of matches. Every match is stored as one primitive long key (see
+ * {@link ElementIndex#pair(int, int)}) in an open-addressing hash table with
+ * linear probing, i.e., a match costs 8 to 16 bytes instead of a
+ * {@link Match} object, a hash set entry and a boxed hash.
+ *
+ * The set is a read-only {@link java.util.Set} of {@link Match} objects for the
+ * interoperability with the existing code. Its iterator creates the match
+ * objects on the fly. {@link #forEachMatch(BiConsumer)} and
+ * {@link #contains(Element, Element)} do not allocate anything per match.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class MatchSet extends AbstractSet<Match> {
+
+	/**
+	 * Marker of an empty slot. (No valid key has negative IDs.)
+	 */
+	private static final long EMPTY = -1L;
+
+	/**
+	 * Initial capacity of the hash table.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * Index of the elements of all keys.
+	 */
+	private final ElementIndex index;
+
+	/**
+	 * Hash table of the keys.
+	 */
+	private long[] keys;
+
+	/**
+	 * Number of stored keys.
+	 */
+	private int size = 0;
+
+	/**
+	 * Creates a new, empty set for a given element index.
+	 *
+	 * @param index Index of the elements of all keys.
+	 */
+	public MatchSet(final ElementIndex index) {
+		this.index = index;
+		this.keys = newTable(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Adds a key to this set.
+	 *
+	 * @param key Key to add.
+	 * @return True if the key was not already part of this set.
+	 */
+	public boolean add(final long key) {
+		if (2 * (size + 1) > keys.length) {
+			rehash(keys.length * 2);
+		}
+
+		final int mask = keys.length - 1;
+		int slot = slot(key, mask);
+		while (keys[slot] != EMPTY) {
+			if (keys[slot] == key) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Removes a key from this set.
+	 *
+	 * @param key Key to remove.
+	 * @return True if the key was part of this set.
+	 */
+	public boolean remove(final long key) {
+		final int slot = find(key);
+		if (slot < 0) {
+			return false;
+		}
+
+		// Backward shift deletion: Move all following keys of the probe sequence
+		// that may use the freed slot
+		final int mask = keys.length - 1;
+		int gap = slot;
+		int i = (slot + 1) & mask;
+		while (keys[i] != EMPTY) {
+			final int home = slot(keys[i], mask);
+			if (((i - home) & mask) >= ((i - gap) & mask)) {
+				keys[gap] = keys[i];
+				gap = i;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[gap] = EMPTY;
+		size--;
+		return true;
+	}
+
+	/**
+	 * Removes all keys that satisfy a given filter.
+	 *
+	 * @param filter Filter of the keys to remove.
+	 * @return All removed keys.
+	 */
+	public long[] removeKeysIf(final LongPredicate filter) {
+		long[] removed = new long[8];
+		int count = 0;
+		for (final long key : keys) {
+			if (key != EMPTY && filter.test(key)) {
+				if (count == removed.length) {
+					removed = Arrays.copyOf(removed, count * 2);
+				}
+				removed[count++] = key;
+			}
+		}
+
+		for (int i = 0; i < count; i++) {
+			remove(removed[i]);
+		}
+		return Arrays.copyOf(removed, count);
+	}
+
+	/**
+	 * Returns true if this set contains a given key.
+	 *
+	 * @param key Key to look up.
+	 * @return True if this set contains the key.
+	 */
+	public boolean contains(final long key) {
+		return find(key) >= 0;
+	}
+
+	/**
+	 * Returns true if this set contains the match of the given elements.
+	 *
+	 * @param virtual   Virtual element of the match.
+	 * @param substrate Substrate element of the match.
+	 * @return True if this set contains the match.
+	 */
+	public boolean contains(final Element virtual, final Element substrate) {
+		final int v = index.getId(virtual);
+		final int s = index.getId(substrate);
+		return v >= 0 && s >= 0 && contains(ElementIndex.pair(v, s));
+	}
+
+	@Override
+	public boolean contains(final Object o) {
+		if (!(o instanceof Match)) {
+			return false;
+		}
+		final Match m = (Match) o;
+		return contains(m.getVirtual(), m.getSubstrate());
+	}
+
+	/**
+	 * Performs a given action for the virtual and the substrate element of every
+	 * match of this set.
+	 *
+	 * @param action Action to perform.
+	 */
+	public void forEachMatch(final BiConsumer<Element, Element> action) {
+		for (final long key : keys) {
+			if (key != EMPTY) {
+				action.accept(index.get(ElementIndex.virtualOf(key)), index.get(ElementIndex.substrateOf(key)));
+			}
+		}
+	}
+
+	/**
+	 * Performs a given action for every key of this set.
+	 *
+	 * @param action Action to perform.
+	 */
+	public void forEachKey(final LongConsumer action) {
+		for (final long key : keys) {
+			if (key != EMPTY) {
+				action.accept(key);
+			}
+		}
+	}
+
+	@Override
+	public Iterator<Match> iterator() {
+		return new Iterator<>() {
+			private int slot = advance(0);
+
+			private int advance(final int from) {
+				int i = from;
+				while (i < keys.length && keys[i] == EMPTY) {
+					i++;
+				}
+				return i;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return slot < keys.length;
+			}
+
+			@Override
+			public Match next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				final long key = keys[slot];
+				slot = advance(slot + 1);
+				return new Match(index.get(ElementIndex.virtualOf(key)), index.get(ElementIndex.substrateOf(key)));
+			}
+		};
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		if (keys.length > INITIAL_CAPACITY) {
+			keys = newTable(INITIAL_CAPACITY);
+		} else {
+			Arrays.fill(keys, EMPTY);
+		}
+		size = 0;
+	}
+
+	/**
+	 * Returns the approximate heap size of this set in bytes.
+	 *
+	 * @return Approximate heap size in bytes.
+	 */
+	public long getFootprint() {
+		return 32 + 16 + 8L * keys.length;
+	}
+
+	/**
+	 * Returns the slot of a given key or -1 if the key is not part of this set.
+	 *
+	 * @param key Key to look up.
+	 * @return Slot of the key or -1.
+	 */
+	private int find(final long key) {
+		final int mask = keys.length - 1;
+		int slot = slot(key, mask);
+		while (keys[slot] != EMPTY) {
+			if (keys[slot] == key) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Re-inserts all keys into a new table with the given capacity.
+	 *
+	 * @param capacity New capacity (power of two).
+	 */
+	private void rehash(final int capacity) {
+		final long[] old = keys;
+		keys = newTable(capacity);
+		final int mask = capacity - 1;
+		for (final long key : old) {
+			if (key != EMPTY) {
+				int slot = slot(key, mask);
+				while (keys[slot] != EMPTY) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = key;
+			}
+		}
+	}
+
+	/**
+	 * Returns the home slot of a given key.
+	 *
+	 * @param key  Key.
+	 * @param mask Mask of the table size.
+	 * @return Home slot of the key.
+	 */
+	private static int slot(final long key, final int mask) {
+		final long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+
+	/**
+	 * Creates a new, empty table.
+	 *
+	 * @param capacity Capacity (power of two).
+	 * @return New table.
+	 */
+	private static long[] newTable(final int capacity) {
+		final long[] table = new long[capacity];
+		Arrays.fill(table, EMPTY);
+		return table;
+	}
+
+}
@@ -1,7 +1,7 @@
 package gt;
 
 /**
- * Configuration of the emoflon pattern matcher.
+ * Configuration of the pattern matcher.
  *
  * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
  */
@@ -14,12 +14,14 @@ public class PatternMatchingConfig {
 	}
 
 	/**
-	 * Pattern matcher instance to choose.
+	 * Pattern matcher instance to choose. HIPE and DEMOCLES are the eMoflon
+	 * pattern matchers, NATIVE is the index-based Java implementation
+	 * {@link gt.indexed.IndexedPatternMatcher} (embedding rules only).
 	 *
 	 * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
 	 */
 	public enum PatternMatcher {
-		HIPE, DEMOCLES;
+		HIPE, DEMOCLES, NATIVE;
 	}
 
 	/**
@@ -1,12 +1,19 @@
 package gt;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.function.Predicate;
 
 import model.Element;
 
 /**
- * Data object that holds new matches from a pattern matcher.
+ * Data object that holds new matches (positives) and removed matches
+ * (negatives) from a pattern matcher. A match that is added and removed within
+ * the same delta (or within two deltas that are combined) cancels out, i.e.,
+ * the delta only holds the net change of the matches.
+ *
+ * All matches are stored in compact {@link MatchSet}s of primitive keys over
+ * an {@link ElementIndex} of this delta. The getters return these sets, i.e.,
+ * the matches can be iterated as {@link Match} objects or without any
+ * allocation per match via {@link MatchSet#forEachMatch}.
  *
  * Parts of this implementation are heavily inspired, taken or adapted from the
  * idyve project [1].
@@ -18,7 +25,7 @@ import model.Element;
  * @author Stefan Tomaszek (ES TU Darmstadt) [idyve project]
  * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
  */
-public class PatternMatchingDelta {
+public class PatternMatchingDelta implements PatternMatchingSink {
 
 	/**
 	 * Data object that holds one particular match from a virtual to a substrate
@@ -86,85 +93,266 @@ public class PatternMatchingDelta {
 
 	}
 
+	/**
+	 * Index of all elements of the matches of this delta object.
+	 */
+	private final ElementIndex index = new ElementIndex();
+
 	/*
 	 * New matches for this delta object.
 	 */
-	// private final Set<Match> newNetworkMatches = new HashSet<>();
-	private final Set<Match> newServerMatchPositives = new HashSet<>();
-	private final Set<Match> newSwitchMatchPositives = new HashSet<>();
-	private final Set<Match> newLinkPathMatchPositives = new HashSet<>();
-	private final Set<Match> newLinkServerMatchPositives = new HashSet<>();
-	private final Set<Match> newNetworkServerMatchPositives = new HashSet<>();
+	// private final MatchSet newNetworkMatches = new MatchSet(index);
+	private final MatchSet newServerMatchPositives = new MatchSet(index);
+	private final MatchSet newSwitchMatchPositives = new MatchSet(index);
+	private final MatchSet newLinkPathMatchPositives = new MatchSet(index);
+	private final MatchSet newLinkServerMatchPositives = new MatchSet(index);
+	private final MatchSet newNetworkServerMatchPositives = new MatchSet(index);
+
+	/*
+	 * Removed (disappeared) matches for this delta object.
+	 */
+	private final MatchSet newServerMatchNegatives = new MatchSet(index);
+	private final MatchSet newSwitchMatchNegatives = new MatchSet(index);
+	private final MatchSet newLinkPathMatchNegatives = new MatchSet(index);
+	private final MatchSet newLinkServerMatchNegatives = new MatchSet(index);
+	private final MatchSet newNetworkServerMatchNegatives = new MatchSet(index);
+
+	/**
+	 * Adds the match of the given elements to a given set of matches. If the match
+	 * is part of the given set of opposite matches, both cancel out.
+	 *
+	 * @param virtual    Virtual element of the match.
+	 * @param substrate  Substrate element of the match.
+	 * @param newMatches Set for adding the match to.
+	 * @param opposite   Set with the opposite matches.
+	 */
+	private void addValue(final Element virtual, final Element substrate, final MatchSet newMatches,
+			final MatchSet opposite) {
+		final int v = index.intern(virtual);
+		final int s = index.intern(substrate);
+		final long key = ElementIndex.pair(v, s);
+		if (opposite.remove(key)) {
+			release(key);
+		} else if (newMatches.add(key)) {
+			index.retain(v);
+			index.retain(s);
+		}
+	}
+
+	/**
+	 * Releases the elements of a removed match from the index, i.e., elements
+	 * without any match are removed from the index.
+	 *
+	 * @param key Key of the removed match.
+	 */
+	private void release(final long key) {
+		index.release(ElementIndex.virtualOf(key));
+		index.release(ElementIndex.substrateOf(key));
+	}
 
 	/**
-	 * Adds a given value of type T to a given set of matches.
+	 * Adds all matches of a given set of another delta to a given set of matches.
+	 * All matches that are part of the given set of opposite matches cancel out.
 	 *
-	 * @param <T>        Type parameter.
-	 * @param value      Value of type T.
-	 * @param newMatches Set of type T for adding value to.
+	 * @param other      Other delta that holds the values.
+	 * @param values     Set of matches of the other delta.
+	 * @param newMatches Set for adding the matches to.
+	 * @param opposite   Set with the opposite matches.
 	 */
-	private <T> void addValue(final T value, final Set<T> newMatches) {
-		newMatches.add(value);
+	private void addValues(final PatternMatchingDelta other, final MatchSet values, final MatchSet newMatches,
+			final MatchSet opposite) {
+		values.forEachKey(key -> addValue(other.index.get(ElementIndex.virtualOf(key)),
+				other.index.get(ElementIndex.substrateOf(key)), newMatches, opposite));
 	}
 
 	/*
 	 * Adders
 	 */
 
+	@Override
 	public void addServerMatchPositive(final Element virtual, final Element substrate) {
-		addValue(new Match(virtual, substrate), newServerMatchPositives);
+		addValue(virtual, substrate, newServerMatchPositives, newServerMatchNegatives);
 	}
 
+	@Override
 	public void addSwitchMatchPositive(final Element virtual, final Element substrate) {
-		addValue(new Match(virtual, substrate), newSwitchMatchPositives);
+		addValue(virtual, substrate, newSwitchMatchPositives, newSwitchMatchNegatives);
 	}
 
+	@Override
 	public void addLinkPathMatchPositive(final Element virtual, final Element substrate) {
-		addValue(new Match(virtual, substrate), newLinkPathMatchPositives);
+		addValue(virtual, substrate, newLinkPathMatchPositives, newLinkPathMatchNegatives);
 	}
 
+	@Override
 	public void addLinkServerMatchPositive(final Element virtual, final Element substrate) {
-		addValue(new Match(virtual, substrate), newLinkServerMatchPositives);
+		addValue(virtual, substrate, newLinkServerMatchPositives, newLinkServerMatchNegatives);
 	}
 
+	@Override
 	public void addNetworkServerMatchPositive(final Element virtual, final Element substrate) {
-		addValue(new Match(virtual, substrate), newNetworkServerMatchPositives);
+		addValue(virtual, substrate, newNetworkServerMatchPositives, newNetworkServerMatchNegatives);
+	}
+
+	@Override
+	public void addServerMatchNegative(final Element virtual, final Element substrate) {
+		addValue(virtual, substrate, newServerMatchNegatives, newServerMatchPositives);
+	}
+
+	@Override
+	public void addSwitchMatchNegative(final Element virtual, final Element substrate) {
+		addValue(virtual, substrate, newSwitchMatchNegatives, newSwitchMatchPositives);
+	}
+
+	@Override
+	public void addLinkPathMatchNegative(final Element virtual, final Element substrate) {
+		addValue(virtual, substrate, newLinkPathMatchNegatives, newLinkPathMatchPositives);
+	}
+
+	@Override
+	public void addLinkServerMatchNegative(final Element virtual, final Element substrate) {
+		addValue(virtual, substrate, newLinkServerMatchNegatives, newLinkServerMatchPositives);
+	}
+
+	@Override
+	public void addNetworkServerMatchNegative(final Element virtual, final Element substrate) {
+		addValue(virtual, substrate, newNetworkServerMatchNegatives, newNetworkServerMatchPositives);
 	}
 
 	/*
 	 * Getters
 	 */
 
-	public Set<Match> getNewServerMatchPositives() {
+	public MatchSet getNewServerMatchPositives() {
 		return newServerMatchPositives;
 	}
 
-	public Set<Match> getNewSwitchMatchPositives() {
+	public MatchSet getNewSwitchMatchPositives() {
 		return newSwitchMatchPositives;
 	}
 
-	public Set<Match> getNewLinkPathMatchPositives() {
+	public MatchSet getNewLinkPathMatchPositives() {
 		return newLinkPathMatchPositives;
 	}
 
-	public Set<Match> getNewLinkServerMatchPositives() {
+	public MatchSet getNewLinkServerMatchPositives() {
 		return newLinkServerMatchPositives;
 	}
 
-	public Set<Match> getNewNetworkServerMatchPositives() {
+	public MatchSet getNewNetworkServerMatchPositives() {
 		return newNetworkServerMatchPositives;
 	}
 
+	public MatchSet getNewServerMatchNegatives() {
+		return newServerMatchNegatives;
+	}
+
+	public MatchSet getNewSwitchMatchNegatives() {
+		return newSwitchMatchNegatives;
+	}
+
+	public MatchSet getNewLinkPathMatchNegatives() {
+		return newLinkPathMatchNegatives;
+	}
+
+	public MatchSet getNewLinkServerMatchNegatives() {
+		return newLinkServerMatchNegatives;
+	}
+
+	public MatchSet getNewNetworkServerMatchNegatives() {
+		return newNetworkServerMatchNegatives;
+	}
+
 	/*
-	 * Add other delta to this one
+	 * Add other (subsequent) delta to this one
 	 */
 
 	public void addOther(final PatternMatchingDelta other) {
-		this.newServerMatchPositives.addAll(other.newServerMatchPositives);
-		this.newSwitchMatchPositives.addAll(other.newSwitchMatchPositives);
-		this.newLinkPathMatchPositives.addAll(other.newLinkPathMatchPositives);
-		this.newLinkServerMatchPositives.addAll(other.newLinkServerMatchPositives);
-		this.newNetworkServerMatchPositives.addAll(other.newNetworkServerMatchPositives);
+		addValues(other, other.newServerMatchPositives, newServerMatchPositives, newServerMatchNegatives);
+		addValues(other, other.newSwitchMatchPositives, newSwitchMatchPositives, newSwitchMatchNegatives);
+		addValues(other, other.newLinkPathMatchPositives, newLinkPathMatchPositives, newLinkPathMatchNegatives);
+		addValues(other, other.newLinkServerMatchPositives, newLinkServerMatchPositives, newLinkServerMatchNegatives);
+		addValues(other, other.newNetworkServerMatchPositives, newNetworkServerMatchPositives,
+				newNetworkServerMatchNegatives);
+
+		addValues(other, other.newServerMatchNegatives, newServerMatchNegatives, newServerMatchPositives);
+		addValues(other, other.newSwitchMatchNegatives, newSwitchMatchNegatives, newSwitchMatchPositives);
+		addValues(other, other.newLinkPathMatchNegatives, newLinkPathMatchNegatives, newLinkPathMatchPositives);
+		addValues(other, other.newLinkServerMatchNegatives, newLinkServerMatchNegatives, newLinkServerMatchPositives);
+		addValues(other, other.newNetworkServerMatchNegatives, newNetworkServerMatchNegatives,
+				newNetworkServerMatchPositives);
+	}
+
+	/**
+	 * Reports all matches of this delta to a given sink.
+	 *
+	 * @param sink Sink that receives all matches.
+	 */
+	public void replay(final PatternMatchingSink sink) {
+		newServerMatchNegatives.forEachMatch(sink::addServerMatchNegative);
+		newSwitchMatchNegatives.forEachMatch(sink::addSwitchMatchNegative);
+		newLinkPathMatchNegatives.forEachMatch(sink::addLinkPathMatchNegative);
+		newLinkServerMatchNegatives.forEachMatch(sink::addLinkServerMatchNegative);
+		newNetworkServerMatchNegatives.forEachMatch(sink::addNetworkServerMatchNegative);
+
+		newServerMatchPositives.forEachMatch(sink::addServerMatchPositive);
+		newSwitchMatchPositives.forEachMatch(sink::addSwitchMatchPositive);
+		newLinkPathMatchPositives.forEachMatch(sink::addLinkPathMatchPositive);
+		newLinkServerMatchPositives.forEachMatch(sink::addLinkServerMatchPositive);
+		newNetworkServerMatchPositives.forEachMatch(sink::addNetworkServerMatchPositive);
+	}
+
+	/**
+	 * Removes all matches (positives and negatives) whose virtual element
+	 * satisfies a given filter, e.g., all matches of a virtual network that is
+	 * neither needed nor part of the model anymore.
+	 *
+	 * @param virtual Filter of the virtual elements to evict.
+	 */
+	public void evict(final Predicate<Element> virtual) {
+		for (final MatchSet set : getAllSets()) {
+			for (final long key : set.removeKeysIf(k -> virtual.test(index.get(ElementIndex.virtualOf(k))))) {
+				release(key);
+			}
+		}
+	}
+
+	/**
+	 * Removes all negatives. This may be used by deltas that accumulate the state
+	 * of all matches (instead of a change), as a negative without a positive
+	 * carries no information there.
+	 */
+	public void clearNegatives() {
+		for (final MatchSet set : new MatchSet[] { newServerMatchNegatives, newSwitchMatchNegatives,
+				newLinkPathMatchNegatives, newLinkServerMatchNegatives, newNetworkServerMatchNegatives }) {
+			set.forEachKey(this::release);
+			set.clear();
+		}
+	}
+
+	/**
+	 * Returns the approximate heap size of this delta in bytes.
+	 *
+	 * @return Approximate heap size in bytes.
+	 */
+	public long getFootprint() {
+		long footprint = index.getFootprint();
+		for (final MatchSet set : getAllSets()) {
+			footprint += set.getFootprint();
+		}
+		return footprint;
+	}
+
+	/**
+	 * Returns all sets of matches of this delta.
+	 *
+	 * @return All sets of matches.
+	 */
+	private MatchSet[] getAllSets() {
+		return new MatchSet[] { newServerMatchPositives, newSwitchMatchPositives, newLinkPathMatchPositives,
+				newLinkServerMatchPositives, newNetworkServerMatchPositives, newServerMatchNegatives,
+				newSwitchMatchNegatives, newLinkPathMatchNegatives, newLinkServerMatchNegatives,
+				newNetworkServerMatchNegatives };
 	}
 
 	public void clear() {
@@ -173,6 +361,12 @@ public class PatternMatchingDelta {
 		newLinkPathMatchPositives.clear();
 		newLinkServerMatchPositives.clear();
 		newNetworkServerMatchPositives.clear();
+		newServerMatchNegatives.clear();
+		newSwitchMatchNegatives.clear();
+		newLinkPathMatchNegatives.clear();
+		newLinkServerMatchNegatives.clear();
+		newNetworkServerMatchNegatives.clear();
+		index.clear();
 	}
 
 }
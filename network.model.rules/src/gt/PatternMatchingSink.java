@@ -0,0 +1,39 @@
+package gt;
+
+import model.Element;
+
+/**
+ * Receiver of the appeared (positive) and disappeared (negative) matches of a
+ * pattern matcher. A {@link PatternMatchingDelta} collects all matches, other
+ * sinks may process every match as soon as the pattern matcher finds it (see
+ * {@link IncrementalPatternMatcher#run(PatternMatchingSink)}).
+ *
+ * The pattern matchers report the net change of the matches of one run, i.e.,
+ * a match is never reported as appeared and disappeared within the same run.
+ * The matches of different kinds are reported in no particular order.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public interface PatternMatchingSink {
+
+	void addServerMatchPositive(final Element virtual, final Element substrate);
+
+	void addSwitchMatchPositive(final Element virtual, final Element substrate);
+
+	void addLinkPathMatchPositive(final Element virtual, final Element substrate);
+
+	void addLinkServerMatchPositive(final Element virtual, final Element substrate);
+
+	void addNetworkServerMatchPositive(final Element virtual, final Element substrate);
+
+	void addServerMatchNegative(final Element virtual, final Element substrate);
+
+	void addSwitchMatchNegative(final Element virtual, final Element substrate);
+
+	void addLinkPathMatchNegative(final Element virtual, final Element substrate);
+
+	void addLinkServerMatchNegative(final Element virtual, final Element substrate);
+
+	void addNetworkServerMatchNegative(final Element virtual, final Element substrate);
+
+}
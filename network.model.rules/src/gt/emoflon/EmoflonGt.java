@@ -1,25 +1,34 @@
 package gt.emoflon;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiConsumer;
 
-import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
 import org.emoflon.ibex.gt.api.GraphTransformationMatch;
 
+import gt.ElementIndex;
 import gt.IncrementalPatternMatcher;
 import gt.PatternMatchingConfig;
 import gt.PatternMatchingDelta;
+import gt.PatternMatchingSink;
 import gt.emoflon.apps.EmoflonGtDemoclesApp;
 import gt.emoflon.apps.EmoflonGtHiPEApp;
 import model.Element;
+import model.Link;
+import model.Node;
 import model.Root;
 import model.SubstrateElement;
 import model.VirtualElement;
+import model.VirtualNetwork;
 import network.model.rules.api.RulesAPI;
 import network.model.rules.api.RulesApp;
-import network.model.rules.api.matches.LinkPathMatchPositiveMatch;
+import network.model.rules.api.matches.LinkPathMatchServerServerMatch;
+import network.model.rules.api.matches.LinkPathMatchServerSwitchMatch;
+import network.model.rules.api.matches.LinkPathMatchSwitchServerMatch;
+import network.model.rules.api.matches.LinkPathMatchSwitchSwitchMatch;
 import network.model.rules.api.matches.LinkServerMatchPositiveMatch;
 import network.model.rules.api.matches.ServerMatchPositiveMatch;
 import network.model.rules.api.matches.SwitchNodeMatchPositiveMatch;
@@ -47,17 +56,24 @@ public class EmoflonGt implements IncrementalPatternMatcher {
 	private PatternMatchingDelta currentDelta = new PatternMatchingDelta();
 
 	/**
-	 * Map for matches: (Virtual) element to (substrate) element.
+	 * Receiver of all match notifications. This is the current delta, except for
+	 * streaming runs, in which the given sink receives the matches directly.
 	 */
-	private final Map<Element, List<Element>> virtualMatches = new UnifiedMap<>();
+	private PatternMatchingSink target = currentDelta;
 
 	/**
-	 * Map for GT matches: Tuple of virtual and substrate element to
-	 * GraphTransformationMatch.
+	 * Index of all elements that are part of a current GT match. An element is
+	 * removed from the index if its last match disappears.
 	 */
-	private final Map<Tuple, GraphTransformationMatch<?, ?>> tupleToGtMatch = new UnifiedMap<>();
+	private final ElementIndex elementIndex = new ElementIndex();
 
-	// TODO: Currently all update and removal functionality is missing!
+	/**
+	 * Map for GT matches: Key of virtual and substrate element (see
+	 * {@link ElementIndex#pair(int, int)}) to GraphTransformationMatch.
+	 */
+	private final LongObjectHashMap<GraphTransformationMatch<?, ?>> pairToGtMatch = new LongObjectHashMap<>();
+
+	// TODO: Currently all update functionality is missing!
 
 	/**
 	 * Constructor that initializes the object for a given root node.
@@ -83,25 +99,66 @@ public class EmoflonGt implements IncrementalPatternMatcher {
 		 */
 
 		api.serverMatchPositive().subscribeAppearing(m -> {
-			addMatch(currentDelta::addServerMatchPositive, m.getVirtualNode(), m.getSubstrateNode());
-			tupleToGtMatch.put(new Tuple(m.getVirtualNode(), m.getSubstrateNode()), m);
+			addMatch(target::addServerMatchPositive, m.getVirtualNode(), m.getSubstrateNode(), m);
 		});
 
 		api.switchNodeMatchPositive().subscribeAppearing(m -> {
-			addMatch(currentDelta::addSwitchMatchPositive, m.getVirtualSwitch(), m.getSubstrateNode());
-			tupleToGtMatch.put(new Tuple(m.getVirtualSwitch(), m.getSubstrateNode()), m);
+			addMatch(target::addSwitchMatchPositive, m.getVirtualSwitch(), m.getSubstrateNode(), m);
+		});
+
+		// Link to path matches are split into one rule per combination of endpoint
+		// types
+		api.linkPathMatchServerServer().subscribeAppearing(m -> {
+			addMatch(target::addLinkPathMatchPositive, m.getVirtualLink(), m.getSubstratePath(), m);
+		});
+
+		api.linkPathMatchServerSwitch().subscribeAppearing(m -> {
+			addMatch(target::addLinkPathMatchPositive, m.getVirtualLink(), m.getSubstratePath(), m);
+		});
+
+		api.linkPathMatchSwitchServer().subscribeAppearing(m -> {
+			addMatch(target::addLinkPathMatchPositive, m.getVirtualLink(), m.getSubstratePath(), m);
 		});
 
-		api.linkPathMatchPositive().subscribeAppearing(m -> {
-			addMatch(currentDelta::addLinkPathMatchPositive, m.getVirtualLink(), m.getSubstratePath());
-			tupleToGtMatch.put(new Tuple(m.getVirtualLink(), m.getSubstratePath()), m);
+		api.linkPathMatchSwitchSwitch().subscribeAppearing(m -> {
+			addMatch(target::addLinkPathMatchPositive, m.getVirtualLink(), m.getSubstratePath(), m);
 		});
 
 		api.linkServerMatchPositive().subscribeAppearing(m -> {
-			addMatch(currentDelta::addLinkServerMatchPositive, m.getVirtualLink(), m.getSubstrateServer());
-			tupleToGtMatch.put(new Tuple(m.getVirtualLink(), m.getSubstrateServer()), m);
+			addMatch(target::addLinkServerMatchPositive, m.getVirtualLink(), m.getSubstrateServer(), m);
+		});
+
+		/*
+		 * Disappearing matches
+		 */
+
+		api.serverMatchPositive().subscribeDisappearing(m -> {
+			removeMatch(target::addServerMatchNegative, m.getVirtualNode(), m.getSubstrateNode(), m);
+		});
+
+		api.switchNodeMatchPositive().subscribeDisappearing(m -> {
+			removeMatch(target::addSwitchMatchNegative, m.getVirtualSwitch(), m.getSubstrateNode(), m);
 		});
 
+		api.linkPathMatchServerServer().subscribeDisappearing(m -> {
+			removeMatch(target::addLinkPathMatchNegative, m.getVirtualLink(), m.getSubstratePath(), m);
+		});
+
+		api.linkPathMatchServerSwitch().subscribeDisappearing(m -> {
+			removeMatch(target::addLinkPathMatchNegative, m.getVirtualLink(), m.getSubstratePath(), m);
+		});
+
+		api.linkPathMatchSwitchServer().subscribeDisappearing(m -> {
+			removeMatch(target::addLinkPathMatchNegative, m.getVirtualLink(), m.getSubstratePath(), m);
+		});
+
+		api.linkPathMatchSwitchSwitch().subscribeDisappearing(m -> {
+			removeMatch(target::addLinkPathMatchNegative, m.getVirtualLink(), m.getSubstratePath(), m);
+		});
+
+		api.linkServerMatchPositive().subscribeDisappearing(m -> {
+			removeMatch(target::addLinkServerMatchNegative, m.getVirtualLink(), m.getSubstrateServer(), m);
+		});
 	}
 
 	/**
@@ -111,20 +168,91 @@ public class EmoflonGt implements IncrementalPatternMatcher {
 	 * @param virt     Virtual element to embed.
 	 * @param sub      Substrate element to embed on.
 	 * @param doUpdate True if PM should do updates.
+	 * @return True if a GT match for the given elements was found and applied,
+	 *         false if there is none (e.g., because it was evicted).
 	 */
-	public void apply(final VirtualElement virt, final SubstrateElement sub, final boolean doUpdate) {
-		final GraphTransformationMatch<?, ?> match = tupleToGtMatch.get(new Tuple(virt, sub));
+	public boolean apply(final VirtualElement virt, final SubstrateElement sub, final boolean doUpdate) {
+		final int v = elementIndex.getId(virt);
+		final int s = elementIndex.getId(sub);
+		final GraphTransformationMatch<?, ?> match = (v < 0 || s < 0) ? null
+				: pairToGtMatch.get(ElementIndex.pair(v, s));
 		if (match instanceof ServerMatchPositiveMatch) {
 			api.serverMatchPositive().apply((ServerMatchPositiveMatch) match, doUpdate);
 		} else if (match instanceof SwitchNodeMatchPositiveMatch) {
 			api.switchNodeMatchPositive().apply((SwitchNodeMatchPositiveMatch) match, doUpdate);
-		} else if (match instanceof LinkPathMatchPositiveMatch) {
-			api.linkPathMatchPositive().apply((LinkPathMatchPositiveMatch) match, doUpdate);
+		} else if (match instanceof LinkPathMatchServerServerMatch) {
+			api.linkPathMatchServerServer().apply((LinkPathMatchServerServerMatch) match, doUpdate);
+		} else if (match instanceof LinkPathMatchServerSwitchMatch) {
+			api.linkPathMatchServerSwitch().apply((LinkPathMatchServerSwitchMatch) match, doUpdate);
+		} else if (match instanceof LinkPathMatchSwitchServerMatch) {
+			api.linkPathMatchSwitchServer().apply((LinkPathMatchSwitchServerMatch) match, doUpdate);
+		} else if (match instanceof LinkPathMatchSwitchSwitchMatch) {
+			api.linkPathMatchSwitchSwitch().apply((LinkPathMatchSwitchSwitchMatch) match, doUpdate);
 		} else if (match instanceof LinkServerMatchPositiveMatch) {
 			api.linkServerMatchPositive().apply((LinkServerMatchPositiveMatch) match, doUpdate);
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the GT matches of all elements of the given virtual networks from the
+	 * map of GT matches. The Rete network keeps the matches, hence an evicted match
+	 * can not be applied anymore (see
+	 * {@link #apply(VirtualElement, SubstrateElement, boolean)}), but a later
+	 * disappearing of it is still handled correctly.
+	 *
+	 * @param vNets Virtual networks to evict.
+	 */
+	@Override
+	public void evict(final Set<VirtualNetwork> vNets) {
+		final Set<Integer> evicted = new HashSet<>();
+		for (final VirtualNetwork vNet : vNets) {
+			addId(evicted, vNet);
+			for (final Node n : vNet.getNodes()) {
+				addId(evicted, n);
+			}
+			for (final Link l : vNet.getLinks()) {
+				addId(evicted, l);
+			}
+		}
+		if (evicted.isEmpty()) {
+			return;
+		}
+
+		for (final long key : pairToGtMatch.keySet().toArray()) {
+			if (evicted.contains(ElementIndex.virtualOf(key))) {
+				pairToGtMatch.remove(key);
+				elementIndex.release(ElementIndex.virtualOf(key));
+				elementIndex.release(ElementIndex.substrateOf(key));
+			}
+		}
+	}
+
+	/**
+	 * Adds the ID of a given element to a given set if the element is indexed.
+	 *
+	 * @param ids     Set of IDs.
+	 * @param element Element.
+	 */
+	private void addId(final Set<Integer> ids, final Element element) {
+		final int id = elementIndex.getId(element);
+		if (id >= 0) {
+			ids.add(id);
 		}
 	}
 
+	@Override
+	public Map<String, Long> getCacheFootprints() {
+		final Map<String, Long> footprints = new LinkedHashMap<>();
+		// Keys and values of the open-addressing map with a load factor of 0.5
+		footprints.put("gtMatches", 64 + 2 * 12L * pairToGtMatch.size());
+		footprints.put("gtElementIndex", elementIndex.getFootprint());
+		footprints.put("gtDelta", currentDelta.getFootprint());
+		return footprints;
+	}
+
 	@Override
 	public void dispose() {
 		api.terminate();
@@ -135,19 +263,69 @@ public class EmoflonGt implements IncrementalPatternMatcher {
 		api.updateMatches();
 		final PatternMatchingDelta old = currentDelta;
 		currentDelta = new PatternMatchingDelta();
+		target = currentDelta;
 		return old;
 	}
 
+	@Override
+	public void run(final PatternMatchingSink sink) {
+		// Matches that were found outside of a run (e.g., while applying matches)
+		// are part of the current delta
+		currentDelta.replay(sink);
+		currentDelta.clear();
+
+		target = sink;
+		try {
+			api.updateMatches();
+		} finally {
+			target = currentDelta;
+		}
+	}
+
 	/**
-	 * Adds a match to the collection virtualMatches.
+	 * Adds a match to the map of GT matches.
 	 *
 	 * @param deltaModification Modification (input).
 	 * @param virtual           Virtual element for the mapping.
 	 * @param substrate         Substrate element for the mapping.
+	 * @param match             Appeared GT match.
 	 */
 	public void addMatch(final BiConsumer<Element, Element> deltaModification, final Element virtual,
-			final Element substrate) {
-		virtualMatches.computeIfAbsent(virtual, k -> new LinkedList<>()).add(substrate);
+			final Element substrate, final GraphTransformationMatch<?, ?> match) {
+		final int v = elementIndex.intern(virtual);
+		final int s = elementIndex.intern(substrate);
+		if (pairToGtMatch.put(ElementIndex.pair(v, s), match) == null) {
+			elementIndex.retain(v);
+			elementIndex.retain(s);
+		}
+		deltaModification.accept(virtual, substrate);
+	}
+
+	/**
+	 * Removes a disappeared match from the map of GT matches. If the GT match was
+	 * already replaced by another (not equal) one for the same virtual and
+	 * substrate element, the removal is ignored.
+	 *
+	 * @param deltaModification Modification (input).
+	 * @param virtual           Virtual element for the mapping.
+	 * @param substrate         Substrate element for the mapping.
+	 * @param match             Disappeared GT match.
+	 */
+	public void removeMatch(final BiConsumer<Element, Element> deltaModification, final Element virtual,
+			final Element substrate, final GraphTransformationMatch<?, ?> match) {
+		final int v = elementIndex.getId(virtual);
+		final int s = elementIndex.getId(substrate);
+		if (v < 0 || s < 0) {
+			return;
+		}
+		final long key = ElementIndex.pair(v, s);
+		if (!match.equals(pairToGtMatch.get(key))) {
+			return;
+		}
+
+		pairToGtMatch.remove(key);
+		elementIndex.release(v);
+		elementIndex.release(s);
 		deltaModification.accept(virtual, substrate);
 	}
 
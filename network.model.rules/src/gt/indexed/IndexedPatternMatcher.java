@@ -0,0 +1,727 @@
+package gt.indexed;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+
+import gt.IncrementalPatternMatcher;
+import gt.PatternMatchingDelta;
+import gt.PatternMatchingSink;
+import model.Element;
+import model.Link;
+import model.Network;
+import model.Node;
+import model.Root;
+import model.SubstrateNetwork;
+import model.SubstrateNode;
+import model.SubstratePath;
+import model.SubstrateServer;
+import model.VirtualLink;
+import model.VirtualNetwork;
+import model.VirtualServer;
+import model.VirtualSwitch;
+
+/**
+ * Pure Java implementation of the {@link IncrementalPatternMatcher} that finds
+ * the same matches as the rules of the embeddingRules.gt file without a Rete
+ * network:
+ *
+ * <ul>
+ * <li>Server match: The substrate server has at least the residual resources
+ * required by the virtual server.</li>
+ * <li>Switch match: Every virtual switch matches every substrate node.</li>
+ * <li>Link to path match: The substrate path has a positive residual bandwidth
+ * of at least the bandwidth required by the virtual link and the endpoints of
+ * the virtual link can be embedded onto the endpoints of the path (a virtual
+ * server needs a substrate server, a virtual switch matches every node). The
+ * residual resources of the endpoints are not checked, because embedding the
+ * virtual endpoint would invalidate the match.</li>
+ * <li>Link to server match: Every virtual link matches every substrate
+ * server.</li>
+ * </ul>
+ *
+ * The matcher listens to the change notifications of the model. Changed
+ * elements are only marked as dirty and re-evaluated on the next
+ * {@link #run()}, which queries the substrate servers (indexed by their
+ * residual cpu) and the substrate paths (indexed by their endpoints and their
+ * residual bandwidth) instead of checking all pairs of elements. The link to
+ * path candidates are joined with the substrate nodes that can host the link's
+ * endpoints.
+ * The returned deltas contain all appeared (positive) and disappeared
+ * (negative) matches since the last run. {@link #run(PatternMatchingSink)}
+ * reports every match directly to the given sink instead.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IndexedPatternMatcher implements IncrementalPatternMatcher {
+
+	/**
+	 * Index of elements by a resource value.
+	 *
+	 * @param <T> Type of the indexed elements.
+	 *
+	 * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+	 */
+	private static class ResourceIndex<T> {
+
+		/**
+		 * All elements grouped by their value.
+		 */
+		private final TreeMap<Long, Set<T>> byValue = new TreeMap<>();
+
+		/**
+		 * Current value of every element.
+		 */
+		private final Map<T, Long> values = new HashMap<>();
+
+		/**
+		 * Adds an element or updates its value.
+		 *
+		 * @param element Element to index.
+		 * @param value   Value of the element.
+		 */
+		private void put(final T element, final long value) {
+			final Long old = values.put(element, value);
+			if (old != null) {
+				if (old == value) {
+					return;
+				}
+				removeFromGroup(element, old);
+			}
+			byValue.computeIfAbsent(value, k -> new HashSet<>()).add(element);
+		}
+
+		/**
+		 * Removes an element.
+		 *
+		 * @param element Element to remove.
+		 */
+		private void remove(final T element) {
+			final Long old = values.remove(element);
+			if (old != null) {
+				removeFromGroup(element, old);
+			}
+		}
+
+		/**
+		 * Removes an element from the group of the given value.
+		 *
+		 * @param element Element to remove.
+		 * @param value   Value of the group.
+		 */
+		private void removeFromGroup(final T element, final long value) {
+			final Set<T> group = byValue.get(value);
+			group.remove(element);
+			if (group.isEmpty()) {
+				byValue.remove(value);
+			}
+		}
+
+		/**
+		 * Returns all groups of elements with a value of at least the given one.
+		 *
+		 * @param value Lower bound (inclusive).
+		 * @return Groups of elements.
+		 */
+		private Collection<Set<T>> atLeast(final long value) {
+			return byValue.tailMap(value, true).values();
+		}
+
+		/**
+		 * Returns all groups of elements with a value of at most the given one.
+		 *
+		 * @param value Upper bound (inclusive).
+		 * @return Groups of elements.
+		 */
+		private Collection<Set<T>> atMost(final long value) {
+			return byValue.headMap(value, true).values();
+		}
+
+	}
+
+	/**
+	 * Names of the attributes whose changes may let matches appear or disappear.
+	 */
+	private static final Set<String> MATCH_ATTRIBUTES = Set.of("residualCpu", "residualMemory", "residualStorage",
+			"residualBandwidth", "cpu", "memory", "storage", "bandwidth");
+
+	/**
+	 * Names of the references whose changes add or remove elements.
+	 */
+	private static final Set<String> STRUCTURE_REFERENCES = Set.of("networks", "nodes", "links", "paths");
+
+	/**
+	 * Root node of the model.
+	 */
+	private final Root root;
+
+	/**
+	 * Adapter that receives the change notifications of all model elements.
+	 */
+	private final EContentAdapter adapter = new EContentAdapter() {
+		@Override
+		public void notifyChanged(final Notification notification) {
+			super.notifyChanged(notification);
+			handleNotification(notification);
+		}
+	};
+
+	/**
+	 * Sink that receives all matches of the current run.
+	 */
+	private PatternMatchingSink sink;
+
+	/**
+	 * True if elements were added or removed since the last run.
+	 */
+	private boolean structureChanged = true;
+
+	/**
+	 * Elements whose resources changed since the last run.
+	 */
+	private final Set<EObject> dirty = new HashSet<>();
+
+	/*
+	 * Known elements of all substrate and virtual networks.
+	 */
+	private final Set<SubstrateServer> substrateServers = new HashSet<>();
+	private final Set<SubstrateNode> substrateNodes = new HashSet<>();
+	private final Set<SubstratePath> substratePaths = new HashSet<>();
+	private final Set<VirtualServer> virtualServers = new HashSet<>();
+	private final Set<VirtualSwitch> virtualSwitches = new HashSet<>();
+	private final Set<VirtualLink> virtualLinks = new HashSet<>();
+
+	/*
+	 * Indexes of the resources.
+	 */
+	private final ResourceIndex<SubstrateServer> serversByResidualCpu = new ResourceIndex<>();
+	private final ResourceIndex<VirtualServer> virtualServersByCpu = new ResourceIndex<>();
+	private final ResourceIndex<SubstratePath> pathsByResidualBandwidth = new ResourceIndex<>();
+	private final ResourceIndex<VirtualLink> virtualLinksByBandwidth = new ResourceIndex<>();
+
+	/**
+	 * Substrate paths indexed by their source and target node.
+	 */
+	private final Map<SubstrateNode, Map<SubstrateNode, Set<SubstratePath>>> pathsByEndpoints = new HashMap<>();
+
+	/*
+	 * Current server and link to path matches in both directions. (The switch and
+	 * the link to server matches are all pairs of the respective elements.)
+	 */
+	private final Map<VirtualServer, Set<SubstrateServer>> serverMatches = new HashMap<>();
+	private final Map<SubstrateServer, Set<VirtualServer>> serverMatchesBySubstrate = new HashMap<>();
+	private final Map<VirtualLink, Set<SubstratePath>> pathMatches = new HashMap<>();
+	private final Map<SubstratePath, Set<VirtualLink>> pathMatchesBySubstrate = new HashMap<>();
+
+	/**
+	 * Constructor that initializes the object for a given root node.
+	 *
+	 * @param root Root node to work with.
+	 */
+	public IndexedPatternMatcher(final Root root) {
+		this.root = root;
+		root.eAdapters().add(adapter);
+	}
+
+	@Override
+	public void dispose() {
+		root.eAdapters().remove(adapter);
+	}
+
+	@Override
+	public PatternMatchingDelta run() {
+		final PatternMatchingDelta delta = new PatternMatchingDelta();
+		run(delta);
+		return delta;
+	}
+
+	@Override
+	public void run(final PatternMatchingSink sink) {
+		this.sink = sink;
+		try {
+			update();
+		} finally {
+			this.sink = null;
+		}
+	}
+
+	/**
+	 * Updates all indexes and matches and reports the changed matches to the
+	 * current sink.
+	 */
+	private void update() {
+		if (structureChanged) {
+			synchronizeElements();
+			structureChanged = false;
+		}
+
+		// Update all indexes before any element is evaluated
+		for (final EObject o : dirty) {
+			if (o instanceof SubstrateServer && substrateServers.contains(o)) {
+				serversByResidualCpu.put((SubstrateServer) o, ((SubstrateServer) o).getResidualCpu());
+			} else if (o instanceof VirtualServer && virtualServers.contains(o)) {
+				virtualServersByCpu.put((VirtualServer) o, ((VirtualServer) o).getCpu());
+			} else if (o instanceof SubstratePath && substratePaths.contains(o)) {
+				pathsByResidualBandwidth.put((SubstratePath) o, ((SubstratePath) o).getResidualBandwidth());
+			} else if (o instanceof VirtualLink && virtualLinks.contains(o)) {
+				virtualLinksByBandwidth.put((VirtualLink) o, ((VirtualLink) o).getBandwidth());
+			}
+		}
+
+		for (final EObject o : dirty) {
+			if (o instanceof SubstrateServer && substrateServers.contains(o)) {
+				evaluate((SubstrateServer) o);
+			} else if (o instanceof VirtualServer && virtualServers.contains(o)) {
+				evaluate((VirtualServer) o);
+			} else if (o instanceof SubstratePath && substratePaths.contains(o)) {
+				evaluate((SubstratePath) o);
+			} else if (o instanceof VirtualLink && virtualLinks.contains(o)) {
+				evaluate((VirtualLink) o);
+			}
+		}
+		dirty.clear();
+	}
+
+	/**
+	 * Returns all substrate paths from a given source to a given target node.
+	 *
+	 * @param source Source node.
+	 * @param target Target node.
+	 * @return Set of all substrate paths (may be empty).
+	 */
+	public Set<SubstratePath> getPaths(final SubstrateNode source, final SubstrateNode target) {
+		return pathsByEndpoints.getOrDefault(source, Map.of()).getOrDefault(target, Set.of());
+	}
+
+	/**
+	 * Marks elements as dirty (or the structure as changed) depending on the
+	 * changed feature of a notification.
+	 *
+	 * @param notification Change notification of the model.
+	 */
+	private void handleNotification(final Notification notification) {
+		if (notification.isTouch() || !(notification.getFeature() instanceof EStructuralFeature)) {
+			return;
+		}
+
+		final String feature = ((EStructuralFeature) notification.getFeature()).getName();
+		if (STRUCTURE_REFERENCES.contains(feature)) {
+			structureChanged = true;
+		} else if (MATCH_ATTRIBUTES.contains(feature) && notification.getNotifier() instanceof EObject) {
+			dirty.add((EObject) notification.getNotifier());
+		}
+	}
+
+	/**
+	 * Synchronizes the known elements with the ones of the model. Matches of
+	 * removed elements disappear, new elements get evaluated.
+	 */
+	private void synchronizeElements() {
+		final Set<SubstrateServer> currServers = new HashSet<>();
+		final Set<SubstrateNode> currNodes = new HashSet<>();
+		final Set<SubstratePath> currPaths = new HashSet<>();
+		final Set<VirtualServer> currVirtualServers = new HashSet<>();
+		final Set<VirtualSwitch> currVirtualSwitches = new HashSet<>();
+		final Set<VirtualLink> currVirtualLinks = new HashSet<>();
+
+		for (final Network net : root.getNetworks()) {
+			if (net instanceof SubstrateNetwork) {
+				for (final Node n : net.getNodes()) {
+					currNodes.add((SubstrateNode) n);
+					if (n instanceof SubstrateServer) {
+						currServers.add((SubstrateServer) n);
+					}
+				}
+				currPaths.addAll(((SubstrateNetwork) net).getPaths());
+			} else if (net instanceof VirtualNetwork) {
+				for (final Node n : net.getNodes()) {
+					if (n instanceof VirtualServer) {
+						currVirtualServers.add((VirtualServer) n);
+					} else if (n instanceof VirtualSwitch) {
+						currVirtualSwitches.add((VirtualSwitch) n);
+					}
+				}
+				for (final Link l : net.getLinks()) {
+					if (l instanceof VirtualLink) {
+						currVirtualLinks.add((VirtualLink) l);
+					}
+				}
+			}
+		}
+
+		// Removed elements
+		for (final SubstrateServer s : difference(substrateServers, currServers)) {
+			removeSubstrateServer(s);
+		}
+		for (final SubstrateNode n : difference(substrateNodes, currNodes)) {
+			substrateNodes.remove(n);
+			virtualSwitches.forEach(w -> sink.addSwitchMatchNegative(w, n));
+		}
+		for (final SubstratePath p : difference(substratePaths, currPaths)) {
+			removeSubstratePath(p);
+		}
+		for (final VirtualServer v : difference(virtualServers, currVirtualServers)) {
+			removeVirtualServer(v);
+		}
+		for (final VirtualSwitch w : difference(virtualSwitches, currVirtualSwitches)) {
+			virtualSwitches.remove(w);
+			substrateNodes.forEach(n -> sink.addSwitchMatchNegative(w, n));
+		}
+		for (final VirtualLink l : difference(virtualLinks, currVirtualLinks)) {
+			removeVirtualLink(l);
+		}
+
+		// New elements
+		for (final SubstrateNode n : difference(currNodes, substrateNodes)) {
+			substrateNodes.add(n);
+			virtualSwitches.forEach(w -> sink.addSwitchMatchPositive(w, n));
+		}
+		for (final VirtualSwitch w : difference(currVirtualSwitches, virtualSwitches)) {
+			virtualSwitches.add(w);
+			substrateNodes.forEach(n -> sink.addSwitchMatchPositive(w, n));
+		}
+		for (final SubstrateServer s : difference(currServers, substrateServers)) {
+			substrateServers.add(s);
+			virtualLinks.forEach(l -> sink.addLinkServerMatchPositive(l, s));
+			dirty.add(s);
+		}
+		for (final VirtualLink l : difference(currVirtualLinks, virtualLinks)) {
+			virtualLinks.add(l);
+			substrateServers.forEach(s -> sink.addLinkServerMatchPositive(l, s));
+			dirty.add(l);
+		}
+		for (final SubstratePath p : difference(currPaths, substratePaths)) {
+			substratePaths.add(p);
+			pathsByEndpoints.computeIfAbsent(p.getSource(), k -> new HashMap<>())
+					.computeIfAbsent(p.getTarget(), k -> new HashSet<>()).add(p);
+			dirty.add(p);
+		}
+		for (final VirtualServer v : difference(currVirtualServers, virtualServers)) {
+			virtualServers.add(v);
+			dirty.add(v);
+		}
+	}
+
+	/**
+	 * Returns all elements of the first set that are not part of the second one.
+	 *
+	 * @param <T>    Type of the elements.
+	 * @param first  First set.
+	 * @param second Second set.
+	 * @return New set with the difference.
+	 */
+	private static <T> Set<T> difference(final Set<T> first, final Set<T> second) {
+		final Set<T> diff = new HashSet<>(first);
+		diff.removeAll(second);
+		return diff;
+	}
+
+	/*
+	 * Evaluation of dirty elements
+	 */
+
+	/**
+	 * Evaluates the server matches of a virtual server.
+	 *
+	 * @param v Virtual server to evaluate.
+	 */
+	private void evaluate(final VirtualServer v) {
+		final Set<SubstrateServer> matches = new HashSet<>();
+		for (final Set<SubstrateServer> group : serversByResidualCpu.atLeast(v.getCpu())) {
+			for (final SubstrateServer s : group) {
+				if (fits(v, s)) {
+					matches.add(s);
+				}
+			}
+		}
+
+		final Set<SubstrateServer> old = serverMatches.getOrDefault(v, Set.of());
+		for (final SubstrateServer s : difference(old, matches)) {
+			setServerMatch(v, s, false);
+		}
+		for (final SubstrateServer s : difference(matches, old)) {
+			setServerMatch(v, s, true);
+		}
+	}
+
+	/**
+	 * Evaluates the server matches of a substrate server.
+	 *
+	 * @param s Substrate server to evaluate.
+	 */
+	private void evaluate(final SubstrateServer s) {
+		final Set<VirtualServer> matches = new HashSet<>();
+		for (final Set<VirtualServer> group : virtualServersByCpu.atMost(s.getResidualCpu())) {
+			for (final VirtualServer v : group) {
+				if (fits(v, s)) {
+					matches.add(v);
+				}
+			}
+		}
+
+		final Set<VirtualServer> old = serverMatchesBySubstrate.getOrDefault(s, Set.of());
+		for (final VirtualServer v : difference(old, matches)) {
+			setServerMatch(v, s, false);
+		}
+		for (final VirtualServer v : difference(matches, old)) {
+			setServerMatch(v, s, true);
+		}
+	}
+
+	/**
+	 * Evaluates the link to path matches of a virtual link.
+	 *
+	 * @param l Virtual link to evaluate.
+	 */
+	private void evaluate(final VirtualLink l) {
+		final Set<SubstratePath> matches = new HashSet<>();
+		final long bandwidth = Math.max(1, l.getBandwidth());
+
+		if (l.getSource() instanceof VirtualSwitch && l.getTarget() instanceof VirtualSwitch) {
+			// Every path is possible, hence only the bandwidth restricts the candidates
+			for (final Set<SubstratePath> group : pathsByResidualBandwidth.atLeast(bandwidth)) {
+				matches.addAll(group);
+			}
+		} else {
+			// Join the paths with the substrate nodes that can host the endpoints
+			for (final SubstrateNode source : getHostCandidates(l.getSource())) {
+				for (final Map.Entry<SubstrateNode, Set<SubstratePath>> e : pathsByEndpoints
+						.getOrDefault(source, Map.of()).entrySet()) {
+					if (!canHost(l.getTarget(), e.getKey())) {
+						continue;
+					}
+					for (final SubstratePath p : e.getValue()) {
+						if (p.getResidualBandwidth() >= bandwidth) {
+							matches.add(p);
+						}
+					}
+				}
+			}
+		}
+
+		final Set<SubstratePath> old = pathMatches.getOrDefault(l, Set.of());
+		for (final SubstratePath p : difference(old, matches)) {
+			setPathMatch(l, p, false);
+		}
+		for (final SubstratePath p : difference(matches, old)) {
+			setPathMatch(l, p, true);
+		}
+	}
+
+	/**
+	 * Evaluates the link to path matches of a substrate path.
+	 *
+	 * @param p Substrate path to evaluate.
+	 */
+	private void evaluate(final SubstratePath p) {
+		final Set<VirtualLink> matches = new HashSet<>();
+		if (p.getResidualBandwidth() > 0) {
+			for (final Set<VirtualLink> group : virtualLinksByBandwidth.atMost(p.getResidualBandwidth())) {
+				for (final VirtualLink l : group) {
+					if (canHost(l.getSource(), p.getSource()) && canHost(l.getTarget(), p.getTarget())) {
+						matches.add(l);
+					}
+				}
+			}
+		}
+
+		final Set<VirtualLink> old = pathMatchesBySubstrate.getOrDefault(p, Set.of());
+		for (final VirtualLink l : difference(old, matches)) {
+			setPathMatch(l, p, false);
+		}
+		for (final VirtualLink l : difference(matches, old)) {
+			setPathMatch(l, p, true);
+		}
+	}
+
+	/**
+	 * Returns true if the residual resources of a substrate server suffice for a
+	 * virtual server.
+	 *
+	 * @param v Virtual server.
+	 * @param s Substrate server.
+	 * @return True if the virtual server fits on the substrate server.
+	 */
+	private static boolean fits(final VirtualServer v, final SubstrateServer s) {
+		return v.getCpu() <= s.getResidualCpu() && v.getMemory() <= s.getResidualMemory()
+				&& v.getStorage() <= s.getResidualStorage();
+	}
+
+	/**
+	 * Returns all substrate nodes that can host a given virtual node, i.e., all
+	 * substrate servers for a virtual server or all substrate nodes for a virtual
+	 * switch. The residual resources are not checked (see
+	 * {@link #canHost(Node, Node)}).
+	 *
+	 * @param v Virtual node.
+	 * @return Substrate nodes that can host the virtual node.
+	 */
+	private Set<? extends SubstrateNode> getHostCandidates(final Node v) {
+		if (v instanceof VirtualServer) {
+			return substrateServers;
+		} else if (v instanceof VirtualSwitch) {
+			return substrateNodes;
+		}
+		return Set.of();
+	}
+
+	/**
+	 * Returns true if a given substrate node can host a given virtual node by its
+	 * type. The residual resources are not checked, because embedding the virtual
+	 * node itself would otherwise remove the link to path matches of its links.
+	 * Candidates whose endpoints do not fit are filtered by the missing node
+	 * mapping variables of the ILP.
+	 *
+	 * @param v Virtual node.
+	 * @param s Substrate node.
+	 * @return True if the virtual node can be embedded onto the substrate node.
+	 */
+	private boolean canHost(final Node v, final Node s) {
+		if (v instanceof VirtualServer) {
+			return s instanceof SubstrateServer;
+		}
+		return v instanceof VirtualSwitch && s instanceof SubstrateNode;
+	}
+
+	/*
+	 * Bookkeeping of matches
+	 */
+
+	/**
+	 * Adds or removes a server match and reports it to the current delta.
+	 *
+	 * @param v     Virtual server.
+	 * @param s     Substrate server.
+	 * @param match True if the match appears, false if it disappears.
+	 */
+	private void setServerMatch(final VirtualServer v, final SubstrateServer s, final boolean match) {
+		setMatch(serverMatches, serverMatchesBySubstrate, v, s, match,
+				match ? sink::addServerMatchPositive : sink::addServerMatchNegative);
+	}
+
+	/**
+	 * Adds or removes a link to path match and reports it to the current delta.
+	 *
+	 * @param l     Virtual link.
+	 * @param p     Substrate path.
+	 * @param match True if the match appears, false if it disappears.
+	 */
+	private void setPathMatch(final VirtualLink l, final SubstratePath p, final boolean match) {
+		setMatch(pathMatches, pathMatchesBySubstrate, l, p, match,
+				match ? sink::addLinkPathMatchPositive : sink::addLinkPathMatchNegative);
+	}
+
+	/**
+	 * Adds or removes a match to the given maps and reports it to the delta.
+	 *
+	 * @param <V>               Type of the virtual element.
+	 * @param <S>               Type of the substrate element.
+	 * @param byVirtual         Matches by virtual element.
+	 * @param bySubstrate       Matches by substrate element.
+	 * @param virtual           Virtual element.
+	 * @param substrate         Substrate element.
+	 * @param match             True if the match appears, false if it disappears.
+	 * @param deltaModification Modification of the delta.
+	 */
+	private static <V extends Element, S extends Element> void setMatch(final Map<V, Set<S>> byVirtual,
+			final Map<S, Set<V>> bySubstrate, final V virtual, final S substrate, final boolean match,
+			final BiConsumer<Element, Element> deltaModification) {
+		if (match) {
+			byVirtual.computeIfAbsent(virtual, k -> new HashSet<>()).add(substrate);
+			bySubstrate.computeIfAbsent(substrate, k -> new HashSet<>()).add(virtual);
+		} else {
+			removeFromMap(byVirtual, virtual, substrate);
+			removeFromMap(bySubstrate, substrate, virtual);
+		}
+		deltaModification.accept(virtual, substrate);
+	}
+
+	/**
+	 * Removes a value from the set of a key and removes the key if its set gets
+	 * empty.
+	 *
+	 * @param <K>   Type of the keys.
+	 * @param <T>   Type of the values.
+	 * @param map   Map to remove the value from.
+	 * @param key   Key.
+	 * @param value Value to remove.
+	 */
+	private static <K, T> void removeFromMap(final Map<K, Set<T>> map, final K key, final T value) {
+		final Set<T> values = map.get(key);
+		if (values != null) {
+			values.remove(value);
+			if (values.isEmpty()) {
+				map.remove(key);
+			}
+		}
+	}
+
+	/*
+	 * Removal of elements
+	 */
+
+	/**
+	 * Removes a substrate server with all of its matches.
+	 *
+	 * @param s Substrate server to remove.
+	 */
+	private void removeSubstrateServer(final SubstrateServer s) {
+		for (final VirtualServer v : new HashSet<>(serverMatchesBySubstrate.getOrDefault(s, Set.of()))) {
+			setServerMatch(v, s, false);
+		}
+		virtualLinks.forEach(l -> sink.addLinkServerMatchNegative(l, s));
+		serversByResidualCpu.remove(s);
+		substrateServers.remove(s);
+	}
+
+	/**
+	 * Removes a substrate path with all of its matches.
+	 *
+	 * @param p Substrate path to remove.
+	 */
+	private void removeSubstratePath(final SubstratePath p) {
+		for (final VirtualLink l : new HashSet<>(pathMatchesBySubstrate.getOrDefault(p, Set.of()))) {
+			setPathMatch(l, p, false);
+		}
+		pathsByResidualBandwidth.remove(p);
+		pathsByEndpoints.values().forEach(targets -> targets.values().forEach(paths -> paths.remove(p)));
+		substratePaths.remove(p);
+	}
+
+	/**
+	 * Removes a virtual server with all of its matches.
+	 *
+	 * @param v Virtual server to remove.
+	 */
+	private void removeVirtualServer(final VirtualServer v) {
+		for (final SubstrateServer s : new HashSet<>(serverMatches.getOrDefault(v, Set.of()))) {
+			setServerMatch(v, s, false);
+		}
+		virtualServersByCpu.remove(v);
+		virtualServers.remove(v);
+	}
+
+	/**
+	 * Removes a virtual link with all of its matches.
+	 *
+	 * @param l Virtual link to remove.
+	 */
+	private void removeVirtualLink(final VirtualLink l) {
+		for (final SubstratePath p : new HashSet<>(pathMatches.getOrDefault(l, Set.of()))) {
+			setPathMatch(l, p, false);
+		}
+		substrateServers.forEach(s -> sink.addLinkServerMatchNegative(l, s));
+		virtualLinksByBandwidth.remove(l);
+		virtualLinks.remove(l);
+	}
+
+}
@@ -0,0 +1,14 @@
+package gt.indexed;
+
+import facade.ModelFacade;
+import gt.IncrementalPatternMatcher;
+import gt.IncrementalPatternMatcherFactory;
+
+public class IndexedPatternMatcherFactory extends IncrementalPatternMatcherFactory {
+
+	@Override
+	public IncrementalPatternMatcher create() {
+		return new IndexedPatternMatcher(ModelFacade.getInstance().getRoot());
+	}
+
+}
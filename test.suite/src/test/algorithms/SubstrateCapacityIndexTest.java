@@ -0,0 +1,131 @@
+package test.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.SubstrateCapacityIndex;
+import facade.ModelFacade;
+import model.SubstrateNetwork;
+import model.SubstrateServer;
+
+/**
+ * Test class for the substrate capacity index.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SubstrateCapacityIndexTest {
+
+	/**
+	 * ModelFacade instance.
+	 */
+	protected ModelFacade facade = ModelFacade.getInstance();
+
+	/**
+	 * Substrate network.
+	 */
+	private SubstrateNetwork sNet;
+
+	/**
+	 * Index of the substrate network.
+	 */
+	private SubstrateCapacityIndex index;
+
+	@BeforeEach
+	public void setUp() {
+		facade.resetAll();
+		facade.addNetworkToRoot("sub", false);
+		facade.addNetworkToRoot("virt", true);
+
+		facade.addServerToNetwork("ssrv1", "sub", 1, 1, 1, 0);
+		facade.addServerToNetwork("ssrv2", "sub", 4, 2, 2, 0);
+		facade.addServerToNetwork("ssrv3", "sub", 4, 4, 4, 0);
+
+		sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		index = SubstrateCapacityIndex.of(sNet);
+	}
+
+	@AfterEach
+	public void clearReservations() {
+		index.clearReservations();
+	}
+
+	@Test
+	public void testSharedIndex() {
+		assertSame(index, SubstrateCapacityIndex.of(sNet));
+	}
+
+	@Test
+	public void testCandidates() {
+		assertEquals(List.of("ssrv1", "ssrv2", "ssrv3"), getCandidates(1, 1, 1));
+		assertEquals(List.of("ssrv2", "ssrv3"), getCandidates(2, 1, 1));
+		assertEquals(List.of("ssrv3"), getCandidates(2, 3, 1));
+		assertEquals(List.of("ssrv3"), getCandidates(1, 1, 3));
+		assertEquals(List.of(), getCandidates(5, 1, 1));
+		assertEquals(9, index.getTotalResidualCpu());
+		assertEquals(7, index.getTotalResidualMemory());
+		assertEquals(7, index.getTotalResidualStorage());
+	}
+
+	@Test
+	public void testReservations() {
+		final SubstrateServer ssrv3 = (SubstrateServer) facade.getServerById("ssrv3");
+		index.reserve(ssrv3, 3, 1, 1);
+		assertFalse(index.fits(ssrv3, 2, 1, 1));
+		assertEquals(1, index.getFreeCpu(ssrv3));
+		assertEquals(3, index.getFreeMemory(ssrv3));
+		assertEquals(3, index.getFreeStorage(ssrv3));
+		assertEquals(List.of("ssrv2"), getCandidates(2, 1, 1));
+
+		// Reservations do not change the total residual resources of the model
+		assertEquals(9, index.getTotalResidualCpu());
+
+		index.clearReservations();
+		assertTrue(index.fits(ssrv3, 2, 1, 1));
+		assertEquals(List.of("ssrv2", "ssrv3"), getCandidates(2, 1, 1));
+	}
+
+	@Test
+	public void testEmbeddingUpdatesIndex() {
+		facade.addServerToNetwork("vsrv1", "virt", 3, 1, 1, 0);
+		assertEquals(List.of("ssrv2", "ssrv3"), getCandidates(2, 1, 1));
+
+		facade.embedNetworkToNetwork("sub", "virt");
+		facade.embedServerToServer("ssrv2", "vsrv1");
+		assertEquals(List.of("ssrv3"), getCandidates(2, 1, 1));
+		assertEquals(6, index.getTotalResidualCpu());
+	}
+
+	@Test
+	public void testServerAdditionAndRemoval() {
+		facade.addServerToNetwork("ssrv4", "sub", 8, 8, 8, 0);
+		assertEquals(List.of("ssrv4"), getCandidates(5, 1, 1));
+		assertEquals(17, index.getTotalResidualCpu());
+
+		facade.removeSubstrateServerFromNetwork("ssrv1");
+		assertEquals(List.of("ssrv2", "ssrv3", "ssrv4"), getCandidates(1, 1, 1));
+		assertEquals(16, index.getTotalResidualCpu());
+	}
+
+	/**
+	 * Returns the names of all candidates of the index for the given demand.
+	 *
+	 * @param cpu     CPU demand.
+	 * @param memory  Memory demand.
+	 * @param storage Storage demand.
+	 * @return Names of all candidates.
+	 */
+	private List<String> getCandidates(final long cpu, final long memory, final long storage) {
+		return index.getCandidates(cpu, memory, storage).stream().map(SubstrateServer::getName)
+				.collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,26 @@
+package test.algorithms.heuristics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+import algorithms.AlgorithmConfig;
+
+/**
+ * Test class for the TAF algorithm implementation with the parallel candidate
+ * evaluation enabled. It runs all tests of the sequential evaluation.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class TafAlgorithmParallelTest extends TafAlgorithmTest {
+
+	@BeforeEach
+	public void setThreads() {
+		AlgorithmConfig.tafThreads = 4;
+	}
+
+	@AfterEach
+	public void resetThreads() {
+		AlgorithmConfig.tafThreads = 1;
+	}
+
+}
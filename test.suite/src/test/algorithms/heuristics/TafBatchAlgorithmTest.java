@@ -0,0 +1,123 @@
+package test.algorithms.heuristics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.heuristics.TafBatchAlgorithm;
+import facade.config.ModelFacadeConfig;
+import model.Node;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+import model.VirtualServer;
+import test.algorithms.generic.AAlgorithmTest;
+
+/**
+ * Test class for the TAF algorithm implementation with multiple virtual
+ * networks per invocation.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class TafBatchAlgorithmTest extends AAlgorithmTest {
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		algo = new TafBatchAlgorithm(sNet, vNets);
+	}
+
+	@BeforeEach
+	public void setUp() {
+		facade.addNetworkToRoot("virt2", true);
+		ModelFacadeConfig.IGNORE_BW = true;
+		AlgorithmConfig.obj = Objective.TOTAL_TAF_COMMUNICATION_COST;
+	}
+
+	@Test
+	public void testAllNetworksPlacedAgainstSharedCapacities() {
+		oneTierSetup("sub", 2, 2);
+		oneTierSetup("virt", 2, 1);
+		oneTierSetup("virt2", 2, 1);
+		facade.createAllPathsForNetwork("sub");
+
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		final VirtualNetwork vNet1 = (VirtualNetwork) facade.getNetworkById("virt");
+		final VirtualNetwork vNet2 = (VirtualNetwork) facade.getNetworkById("virt2");
+
+		initAlgo(sNet, Set.of(vNet1, vNet2));
+		assertTrue(algo.execute());
+		checkAllElementsEmbeddedOnSubstrateNetwork(sNet, Set.of(vNet1, vNet2));
+
+		// Both virtual networks have the same demand, hence, they are placed in the
+		// order of their names and every one fits onto one substrate server
+		assertAllServersOn(vNet1, "sub_srv1");
+		assertAllServersOn(vNet2, "sub_srv2");
+	}
+
+	@Test
+	public void testRejectedNetworkReleasesReservations() {
+		oneTierSetup("sub", 2, 2);
+		// Larger demand, hence, it is placed first. Only two of its three servers fit.
+		oneTierSetup("virt", 3, 2);
+		oneTierSetup("virt2", 2, 1);
+		facade.createAllPathsForNetwork("sub");
+
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		final VirtualNetwork vNet1 = (VirtualNetwork) facade.getNetworkById("virt");
+		final VirtualNetwork vNet2 = (VirtualNetwork) facade.getNetworkById("virt2");
+
+		initAlgo(sNet, Set.of(vNet1, vNet2));
+		assertFalse(algo.execute());
+
+		assertNull(vNet1.getHost());
+		checkAllElementsEmbeddedOnSubstrateNetwork(sNet, Set.of(vNet2));
+		assertAllServersOn(vNet2, "sub_srv1");
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Asserts that all virtual servers of a given virtual network are embedded on
+	 * the given substrate server.
+	 *
+	 * @param vNet     Virtual network to check.
+	 * @param serverId Expected substrate server id.
+	 */
+	private static void assertAllServersOn(final VirtualNetwork vNet, final String serverId) {
+		for (final Node n : vNet.getNodes()) {
+			if (n instanceof VirtualServer) {
+				assertEquals(serverId, ((VirtualServer) n).getHost().getName());
+			}
+		}
+	}
+
+	/**
+	 * Creates a one tier network with the given number of servers and one switch.
+	 *
+	 * @param networkId      Network id.
+	 * @param servers        Number of servers.
+	 * @param slotsPerServer Number of CPU, memory and storage resources.
+	 */
+	private void oneTierSetup(final String networkId, final int servers, final int slotsPerServer) {
+		facade.addSwitchToNetwork(networkId + "_sw", networkId, 0);
+		for (int i = 1; i <= servers; i++) {
+			facade.addServerToNetwork(networkId + "_srv" + i, networkId, slotsPerServer, slotsPerServer,
+					slotsPerServer, 1);
+		}
+		for (int i = 1; i <= servers; i++) {
+			facade.addLinkToNetwork(networkId + "_ln" + i, networkId, 1, networkId + "_srv" + i, networkId + "_sw");
+			facade.addLinkToNetwork(networkId + "_ln" + (servers + i), networkId, 1, networkId + "_sw",
+					networkId + "_srv" + i);
+		}
+	}
+
+}
@@ -0,0 +1,103 @@
+package test.algorithms.pm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.CacheRetention;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.pm.VnePmMdvneAlgorithm;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+import test.algorithms.generic.AAlgorithmMultipleVnsTest;
+
+/**
+ * Test class for the VNE pattern matching algorithm implementation with the
+ * eviction of the cache entries of finished virtual networks.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmCacheRetentionTest extends AAlgorithmMultipleVnsTest {
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		AlgorithmConfig.obj = Objective.TOTAL_PATH_COST;
+		algo = VnePmMdvneAlgorithm.prepare(sNet, vNets);
+	}
+
+	@AfterEach
+	public void resetAlgo() {
+		if (algo != null) {
+			((VnePmMdvneAlgorithm) algo).dispose();
+		}
+		AlgorithmConfig.pmCacheRetention = CacheRetention.EVICT;
+	}
+
+	@Test
+	public void testCachesEvictedAfterEachRun() {
+		twoTierSetupFourServers("sub", 3);
+		facade.createAllPathsForNetwork("sub");
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+
+		for (int i = 0; i < 3; i++) {
+			final String currVnetId = "virt" + i;
+			facade.addNetworkToRoot(currVnetId, true);
+			oneTierSetupTwoServers(currVnetId, 1);
+
+			final VirtualNetwork currVnet = (VirtualNetwork) facade.getNetworkById(currVnetId);
+			initAlgo(sNet, Set.of(currVnet));
+			assertTrue(algo.execute());
+
+			final Map<String, Long> footprints = ((VnePmMdvneAlgorithm) algo).getCacheFootprints();
+			assertEquals(0L, (long) footprints.get("variablesToMatch"));
+			assertEquals(0L, (long) footprints.get("ignoredVnets"));
+		}
+	}
+
+	@Test
+	public void testCachesKept() {
+		AlgorithmConfig.pmCacheRetention = CacheRetention.KEEP;
+		oneTierSetupTwoServers("sub", 2);
+		facade.createAllPathsForNetwork("sub");
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+
+		facade.addNetworkToRoot("virt0", true);
+		oneTierSetupTwoServers("virt0", 1);
+		initAlgo(sNet, Set.of((VirtualNetwork) facade.getNetworkById("virt0")));
+		assertTrue(algo.execute());
+
+		assertTrue(((VnePmMdvneAlgorithm) algo).getCacheFootprints().get("variablesToMatch") > 0);
+	}
+
+	@Test
+	public void testRejectedNetworkNotReportedAgain() {
+		oneTierSetupTwoServers("sub", 1);
+		facade.createAllPathsForNetwork("sub");
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+
+		// The first virtual network does not fit onto the substrate network at all
+		facade.addNetworkToRoot("virt0", true);
+		oneTierSetupTwoServers("virt0", 2);
+		final VirtualNetwork vNet0 = (VirtualNetwork) facade.getNetworkById("virt0");
+		initAlgo(sNet, Set.of(vNet0));
+		assertFalse(algo.execute());
+		assertNull(vNet0.getHost());
+
+		// The second one fits and must not be rejected because of the first one
+		facade.addNetworkToRoot("virt1", true);
+		oneTierSetupTwoServers("virt1", 1);
+		final VirtualNetwork vNet1 = (VirtualNetwork) facade.getNetworkById("virt1");
+		initAlgo(sNet, Set.of(vNet1));
+		assertTrue(algo.execute());
+		checkAllElementsEmbeddedOnSubstrateNetwork(sNet, Set.of(vNet1));
+	}
+
+}
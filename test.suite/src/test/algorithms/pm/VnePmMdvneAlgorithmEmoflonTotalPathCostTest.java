@@ -0,0 +1,57 @@
+package test.algorithms.pm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.Embedding;
+import model.SubstrateNetwork;
+import model.SubstrateServer;
+import model.VirtualNetwork;
+import model.VirtualServer;
+
+/**
+ * Test class for the VNE pattern matching algorithm implementation for
+ * minimizing the total path cost metric with the embeddings created by the
+ * graph transformation rules (including the updates of the pattern matcher). It
+ * runs all tests of the default embedding mode.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmEmoflonTotalPathCostTest extends VnePmMdvneAlgorithmTotalPathCostTest {
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		AlgorithmConfig.emb = Embedding.EMOFLON;
+		super.initAlgo(sNet, vNets);
+	}
+
+	@Test
+	public void testLinksEmbeddedIfServersFilledExactly() {
+		oneTierSetupTwoServers("sub", 1);
+		facade.createAllPathsForNetwork("sub");
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		oneTierSetupTwoServers("virt", 1);
+		final VirtualNetwork vNet = (VirtualNetwork) facade.getNetworkById("virt");
+
+		initAlgo(sNet, Set.of(vNet));
+		assertTrue(algo.execute());
+		checkAllElementsEmbeddedOnSubstrateNetwork(sNet, Set.of(vNet));
+
+		// Each virtual server uses all resources of its host
+		assertNotEquals(((VirtualServer) facade.getServerById("virt_srv1")).getHost(),
+				((VirtualServer) facade.getServerById("virt_srv2")).getHost());
+		for (final String id : Set.of("sub_srv1", "sub_srv2")) {
+			final SubstrateServer host = (SubstrateServer) facade.getServerById(id);
+			assertEquals(0, host.getResidualCpu());
+			assertEquals(0, host.getResidualMemory());
+			assertEquals(0, host.getResidualStorage());
+		}
+	}
+
+}
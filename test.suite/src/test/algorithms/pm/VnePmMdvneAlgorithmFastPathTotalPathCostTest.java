@@ -0,0 +1,85 @@
+package test.algorithms.pm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+import model.VirtualServer;
+import model.VirtualSwitch;
+
+/**
+ * Test class for the VNE pattern matching algorithm implementation for
+ * minimizing the total path cost metric with the greedy fast path.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmFastPathTotalPathCostTest extends VnePmMdvneAlgorithmTotalPathCostTest {
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		AlgorithmConfig.pmFastPath = true;
+		super.initAlgo(sNet, vNets);
+	}
+
+	@AfterEach
+	public void resetFastPath() {
+		AlgorithmConfig.pmFastPath = false;
+		AlgorithmConfig.pmFastPathGap = 0.2;
+	}
+
+	@Test
+	public void testFastPathEmbedsOnOneServer() {
+		oneTierSetupTwoServers("sub", 2);
+		facade.createAllPathsForNetwork("sub");
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		oneTierSetupTwoServers("virt", 1);
+		final VirtualNetwork vNet = (VirtualNetwork) facade.getNetworkById("virt");
+
+		initAlgo(sNet, Set.of(vNet));
+		assertTrue(algo.execute());
+		checkAllElementsEmbeddedOnSubstrateNetwork(sNet, Set.of(vNet));
+
+		// Cost of 8 (the switch is placed onto the server) vs. lower bound of 7
+		assertEquals("sub_srv1", ((VirtualServer) facade.getServerById("virt_srv1")).getHost().getName());
+		assertEquals("sub_srv1", ((VirtualServer) facade.getServerById("virt_srv2")).getHost().getName());
+		assertEquals("sub_srv1", ((VirtualSwitch) facade.getSwitchById("virt_sw")).getHost().getName());
+	}
+
+	@Test
+	public void testIlpIfFastPathGapExceeded() {
+		AlgorithmConfig.pmFastPathGap = 0;
+		oneTierSetupTwoServers("sub", 2);
+		facade.createAllPathsForNetwork("sub");
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		oneTierSetupTwoServers("virt", 1);
+		final VirtualNetwork vNet = (VirtualNetwork) facade.getNetworkById("virt");
+
+		initAlgo(sNet, Set.of(vNet));
+		assertTrue(algo.execute());
+		checkAllElementsEmbeddedOnSubstrateNetwork(sNet, Set.of(vNet));
+	}
+
+	@Test
+	public void testIlpIfNoSingleServerFits() {
+		oneTierSetupTwoServers("sub", 1);
+		facade.createAllPathsForNetwork("sub");
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		oneTierSetupTwoServers("virt", 1);
+		final VirtualNetwork vNet = (VirtualNetwork) facade.getNetworkById("virt");
+
+		initAlgo(sNet, Set.of(vNet));
+		assertTrue(algo.execute());
+		checkAllElementsEmbeddedOnSubstrateNetwork(sNet, Set.of(vNet));
+		assertNotEquals(((VirtualServer) facade.getServerById("virt_srv1")).getHost(),
+				((VirtualServer) facade.getServerById("virt_srv2")).getHost());
+	}
+
+}
@@ -0,0 +1,32 @@
+package test.algorithms.pm;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+
+import gt.PatternMatchingConfig;
+import gt.PatternMatchingConfig.PatternMatcher;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+
+/**
+ * Test class for the VNE pattern matching algorithm implementation for
+ * minimizing the total path cost metric with the index-based pattern matcher.
+ * It runs all tests of the eMoflon pattern matcher.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmIndexedPmTotalPathCostTest extends VnePmMdvneAlgorithmTotalPathCostTest {
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		PatternMatchingConfig.pm = PatternMatcher.NATIVE;
+		super.initAlgo(sNet, vNets);
+	}
+
+	@AfterEach
+	public void resetPatternMatcher() {
+		PatternMatchingConfig.pm = PatternMatcher.HIPE;
+	}
+
+}
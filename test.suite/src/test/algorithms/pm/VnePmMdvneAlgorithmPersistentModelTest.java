@@ -0,0 +1,84 @@
+package test.algorithms.pm;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.pm.VnePmMdvneAlgorithm;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+import test.algorithms.generic.AAlgorithmMultipleVnsTest;
+
+/**
+ * Test class for the VNE pattern matching algorithm implementation with the
+ * persistent ILP solver model mode enabled.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmPersistentModelTest extends AAlgorithmMultipleVnsTest {
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		AlgorithmConfig.obj = Objective.TOTAL_PATH_COST;
+		AlgorithmConfig.pmPersistentModel = true;
+		algo = VnePmMdvneAlgorithm.prepare(sNet, vNets);
+	}
+
+	@AfterEach
+	public void resetAlgo() {
+		if (algo != null) {
+			((VnePmMdvneAlgorithm) algo).dispose();
+		}
+		AlgorithmConfig.pmPersistentModel = false;
+	}
+
+	@Test
+	public void testMultipleNetworksAfterEachOther() {
+		twoTierSetupFourServers("sub", 3);
+		facade.createAllPathsForNetwork("sub");
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+
+		for (int i = 0; i < 4; i++) {
+			final String currVnetId = "virt" + i;
+			facade.addNetworkToRoot(currVnetId, true);
+			oneTierSetupTwoServers(currVnetId, 1);
+
+			final VirtualNetwork currVnet = (VirtualNetwork) facade.getNetworkById(currVnetId);
+			initAlgo(sNet, Set.of(currVnet));
+			assertTrue(algo.execute());
+
+			checkAllElementsEmbeddedOnSubstrateNetwork(sNet, Set.of(currVnet));
+		}
+	}
+
+	@Test
+	public void testResidualCapacityUpdated() {
+		oneTierSetupTwoServers("sub", 1);
+		facade.createAllPathsForNetwork("sub");
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+
+		// The first virtual network uses all resources of the substrate network
+		facade.addNetworkToRoot("virt0", true);
+		oneTierSetupTwoServers("virt0", 1);
+		final VirtualNetwork vNet0 = (VirtualNetwork) facade.getNetworkById("virt0");
+		initAlgo(sNet, Set.of(vNet0));
+		assertTrue(algo.execute());
+		checkAllElementsEmbeddedOnSubstrateNetwork(sNet, Set.of(vNet0));
+
+		// The second one must be rejected by the (updated) persistent model
+		facade.addNetworkToRoot("virt1", true);
+		oneTierSetupTwoServers("virt1", 1);
+		final VirtualNetwork vNet1 = (VirtualNetwork) facade.getNetworkById("virt1");
+		initAlgo(sNet, Set.of(vNet1));
+		assertFalse(algo.execute());
+		assertNull(vNet1.getHost());
+	}
+
+}
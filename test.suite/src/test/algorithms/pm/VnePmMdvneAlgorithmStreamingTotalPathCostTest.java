@@ -0,0 +1,95 @@
+package test.algorithms.pm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.pm.VnePmMdvneAlgorithm;
+import metrics.manager.GlobalMetricsManager;
+import model.Link;
+import model.SubstrateNetwork;
+import model.VirtualLink;
+import model.VirtualNetwork;
+import model.VirtualServer;
+
+/**
+ * Test class for the VNE pattern matching algorithm implementation for
+ * minimizing the total path cost metric with the streaming of the matches into
+ * the ILP formulation enabled. It runs all tests of the non-streaming mode.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmStreamingTotalPathCostTest extends VnePmMdvneAlgorithmTotalPathCostTest {
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		AlgorithmConfig.pmStreaming = true;
+		super.initAlgo(sNet, vNets);
+	}
+
+	@AfterEach
+	public void resetStreaming() {
+		AlgorithmConfig.pmStreaming = false;
+	}
+
+	@Test
+	public void testMatchesDisappearingWithinRun() {
+		oneTierSetupTwoServers("sub", 2);
+		facade.createAllPathsForNetwork("sub");
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		oneTierSetupTwoServers("virt", 1);
+		final VirtualNetwork vNet = (VirtualNetwork) facade.getNetworkById("virt");
+
+		AlgorithmConfig.pmStreaming = true;
+		AlgorithmConfig.obj = Objective.TOTAL_PATH_COST;
+		algo = new DisappearingMatchesAlgorithm(sNet, Set.of(vNet));
+		assertTrue(algo.execute());
+		checkAllElementsEmbeddedOnSubstrateNetwork(sNet, Set.of(vNet));
+
+		// Neither the disappeared server match nor the disappeared link to server
+		// matches may be part of the embedding
+		assertEquals("sub_srv2", ((VirtualServer) facade.getServerById("virt_srv1")).getHost().getName());
+		for (final Link l : vNet.getLinks()) {
+			assertNotEquals("sub_srv2", ((VirtualLink) l).getHost().getName());
+		}
+	}
+
+	/**
+	 * Algorithm that reports the disappearing of the server match of virt_srv1
+	 * onto sub_srv1 and of all link to server matches onto sub_srv2 after the
+	 * pattern matcher streamed its matches, but before the run ends.
+	 */
+	private static class DisappearingMatchesAlgorithm extends VnePmMdvneAlgorithm {
+
+		private DisappearingMatchesAlgorithm(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+			super(sNet, vNets);
+			instance = this;
+		}
+
+		@Override
+		protected void streamMatches2Ilp() {
+			final IlpDeltaGenerator gen = new IlpDeltaGenerator();
+			addElementsToSolver(gen);
+
+			final IlpMatchSink sink = new IlpMatchSink(gen);
+			patternMatcher.run(sink);
+			GlobalMetricsManager.endPmTime();
+
+			sink.addServerMatchNegative(facade.getServerById("virt_srv1"), facade.getServerById("sub_srv1"));
+			for (final Link l : facade.getNetworkById("virt").getLinks()) {
+				sink.addLinkServerMatchNegative(l, facade.getServerById("sub_srv2"));
+			}
+			sink.flush();
+			gen.apply();
+		}
+
+	}
+
+}
@@ -0,0 +1,31 @@
+package test.algorithms.pm.migration;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+
+import algorithms.AlgorithmConfig;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+
+/**
+ * Test class for the VNE pattern matching algorithm migration implementation
+ * with the parallel migration search enabled. It runs all tests of the
+ * sequential migration.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmMigrationParallelTest extends VnePmMdvneAlgorithmMigrationTest {
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		AlgorithmConfig.pmMigrationThreads = 4;
+		super.initAlgo(sNet, vNets);
+	}
+
+	@AfterEach
+	public void resetThreads() {
+		AlgorithmConfig.pmMigrationThreads = 1;
+	}
+
+}
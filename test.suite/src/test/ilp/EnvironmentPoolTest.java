@@ -0,0 +1,74 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.config.IlpSolverConfig;
+import ilp.wrapper.impl.EnvironmentPool;
+
+/**
+ * Test class for the {@link EnvironmentPool} of the solver environments.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class EnvironmentPoolTest {
+
+	/**
+	 * All closed environments.
+	 */
+	private final List<Object> closed = new LinkedList<>();
+
+	/**
+	 * Pool to test.
+	 */
+	private EnvironmentPool<Object> pool;
+
+	@BeforeEach
+	public void setUp() {
+		pool = new EnvironmentPool<>(Object::new, closed::add);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		IlpSolverConfig.REUSE_ENVIRONMENTS = true;
+	}
+
+	@Test
+	public void testReuse() {
+		final Object first = pool.acquire();
+		final Object second = pool.acquire();
+		assertNotSame(first, second);
+
+		pool.release(first);
+		assertSame(first, pool.acquire());
+		assertEquals(2, pool.getCreatedCount());
+		assertEquals(0, closed.size());
+
+		pool.release(first);
+		pool.release(second);
+		assertEquals(2, pool.getIdleCount());
+		pool.close();
+		assertEquals(0, pool.getIdleCount());
+		assertEquals(2, closed.size());
+	}
+
+	@Test
+	public void testNoReuse() {
+		IlpSolverConfig.REUSE_ENVIRONMENTS = false;
+
+		final Object first = pool.acquire();
+		pool.release(first);
+		assertEquals(List.of(first), closed);
+		assertNotSame(first, pool.acquire());
+		assertEquals(2, pool.getCreatedCount());
+	}
+
+}
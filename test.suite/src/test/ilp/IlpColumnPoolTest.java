@@ -0,0 +1,93 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IlpColumnPool;
+import ilp.wrapper.IlpColumnPool.Column;
+import ilp.wrapper.IlpDelta;
+import ilp.wrapper.IncrementalIlpSolver.Constraint;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+
+/**
+ * Test class for the column generation with {@link IlpColumnPool}.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpColumnPoolTest {
+
+	/**
+	 * Solver to apply the deltas to.
+	 */
+	private IncrementalJavaSolver solver;
+
+	@BeforeEach
+	public void setUp() {
+		solver = new IncrementalJavaSolver(Integer.MAX_VALUE, 0);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		solver.dispose();
+	}
+
+	@Test
+	public void testPrice() {
+		final IlpColumnPool pool = new IlpColumnPool();
+		pool.add(new Column("a_p2", 2).addTerm("va", 1).addTerm("sl2", 10));
+		pool.add(new Column("a_p3", 3).addTerm("va", 1).addTerm("sl1", 1));
+		pool.add(new Column("a_p4", 8).addTerm("va", 1));
+
+		// Dual value of the bandwidth constraint of link 1 is negative (link is full)
+		final List<Column> priced = pool.price(Map.of("va", 5.0, "sl1", -1.0));
+		assertEquals(2, priced.size());
+		assertEquals("a_p2", priced.get(0).getName());
+		assertEquals("a_p3", priced.get(1).getName());
+		assertEquals(-3, priced.get(0).getReducedCost(Map.of("va", 5.0)), 1e-9);
+		assertEquals(1, pool.getPendingCount());
+
+		// Priced columns are only returned once
+		assertEquals(0, pool.price(Map.of("va", 5.0)).size());
+	}
+
+	@Test
+	public void testAddPricedFallback() {
+		// Restricted model with a virtual node a and a virtual link l that is only
+		// embeddable onto an expensive short path p1
+		final IlpDelta delta = new IlpDelta();
+		delta.addVariable("rej", 100);
+		delta.addVariable("a_s1", 1);
+		delta.addVariable("l_p1", 5);
+		delta.addEqualsConstraint("va", 1, new int[] { 1, 1 }, new String[] { "a_s1", "rej" });
+		delta.addEqualsConstraint("vl", 1, new int[] { 1, 1 }, new String[] { "l_p1", "rej" });
+		delta.addLessOrEqualsConstraint("sl1", 10, new int[] { 10 }, new String[] { "l_p1" });
+		delta.addLessOrEqualsConstraint("sl2", 10);
+		delta.apply(solver);
+
+		final IlpColumnPool pool = new IlpColumnPool();
+		pool.add(new Column("l_p2", 2).addTerm("vl", 1).addTerm("sl2", 10)
+				.addLessOrEqualsConstraint(new Constraint("reql_p2", 0).addVar("l_p2", 1).addVar("a_s1", -1)));
+
+		// The Java solver does not support dual values, hence all columns are added
+		assertEquals(1, pool.addPriced(solver));
+		assertEquals(0, pool.addPriced(solver));
+		assertEquals(1, pool.getAddedCount());
+		assertEquals(0, pool.getPendingCount());
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(3, solver.getObjectiveValue(), 1e-9);
+		assertTrue(solver.isSelected("l_p2"));
+		assertFalse(solver.isSelected("l_p1"));
+		assertEquals(5, solver.getConstraintCount());
+	}
+
+}
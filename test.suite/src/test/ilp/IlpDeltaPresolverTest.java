@@ -0,0 +1,208 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IlpDelta;
+import ilp.wrapper.IlpDeltaPresolver;
+import ilp.wrapper.IlpPresolveReport;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+
+/**
+ * Test class for the {@link IlpDeltaPresolver}. Every test builds the same
+ * delta twice and checks that the presolved model has the same optimum as the
+ * original one.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpDeltaPresolverTest {
+
+	/**
+	 * Solver of the presolved delta of the last {@link #presolve(Consumer)} call.
+	 */
+	private IncrementalJavaSolver solver;
+
+	@AfterEach
+	public void tearDown() {
+		if (solver != null) {
+			solver.dispose();
+			solver = null;
+		}
+	}
+
+	@Test
+	public void testColumnFixing() {
+		final IlpPresolveReport report = presolve(delta -> {
+			delta.addVariable("rej", 100);
+			delta.addVariable("a_s1", 1);
+			delta.addVariable("a_s2", 3);
+			delta.addVariable("l_p1", 1);
+			delta.addVariable("l_p2", 5);
+			delta.addEqualsConstraint("va", 1, new int[] { 1, 1, 1 }, new String[] { "a_s1", "a_s2", "rej" });
+			delta.addEqualsConstraint("vl", 1, new int[] { 1, 1, 1 }, new String[] { "l_p1", "l_p2", "rej" });
+			// The CPU demand of a exceeds the residual CPU of s1
+			delta.addLessOrEqualsConstraint("ss1", 2, new int[] { 3 }, new String[] { "a_s1" });
+			delta.addLessOrEqualsConstraint("ss2", 4, new int[] { 3 }, new String[] { "a_s2" });
+			// Path p1 requires a on s1
+			delta.addLessOrEqualsConstraint("req", 0, new int[] { 1, -1 }, new String[] { "l_p1", "a_s1" });
+		});
+
+		// The fixing of a_s1 is propagated to l_p1
+		assertTrue(report.getRemovedVariables().contains("a_s1"));
+		assertTrue(report.getRemovedVariables().contains("l_p1"));
+		assertTrue(report.getRemovedConstraints().containsAll(List.of("ss1", "ss2", "req")));
+		assertEquals(3, solver.getVariableCount());
+		assertTrue(solver.isSelected("a_s2"));
+		assertTrue(solver.isSelected("l_p2"));
+	}
+
+	@Test
+	public void testUpperBoundFixing() {
+		final IlpPresolveReport report = presolve(delta -> {
+			delta.addVariable("rej", 100);
+			delta.addVariable("a_s1", 1);
+			delta.addVariable("a_s2", 3);
+			delta.addVariable("b_s1", 2);
+			delta.addEqualsConstraint("va", 1, new int[] { 1, 1, 1 }, new String[] { "a_s1", "a_s2", "rej" });
+			delta.addEqualsConstraint("vb", 1, new int[] { 1, 1 }, new String[] { "b_s1", "rej" });
+			delta.changeVariableBounds("a_s1", 0, 0);
+		});
+
+		assertEquals(List.of("a_s1"), report.getRemovedVariables());
+		assertEquals(3, solver.getVariableCount());
+	}
+
+	@Test
+	public void testPinnedVariablesAreKept() {
+		final IlpPresolveReport report = presolve(delta -> {
+			delta.addVariable("rej", 100);
+			delta.addVariable("a_s1", 1);
+			delta.addEqualsConstraint("va", 1, new int[] { 1, 1 }, new String[] { "a_s1", "rej" });
+			delta.addLessOrEqualsConstraint("ss1", 2, new int[] { 3 }, new String[] { "a_s1" });
+			// Variable is referenced by a constraint that is not part of the delta
+			delta.setVariableWeightForConstraint("old", 1, "a_s1");
+		}, false);
+
+		assertTrue(report.getRemovedVariables().isEmpty());
+	}
+
+	@Test
+	public void testParallelRows() {
+		final IlpPresolveReport report = presolve(delta -> {
+			delta.addVariable("x", -1);
+			delta.addVariable("y", -1);
+			delta.addVariable("z", -1);
+			delta.addLessOrEqualsConstraint("c0", 2, new int[] { 1, 1, 1 }, new String[] { "x", "y", "z" });
+			delta.addLessOrEqualsConstraint("c1", 1, new int[] { 1, 1, 1 }, new String[] { "z", "y", "x" });
+			delta.addEqualsConstraint("c2", 2, new int[] { 1, 2 }, new String[] { "x", "y" });
+			delta.addLessOrEqualsConstraint("c3", 2, new int[] { 2, 1 }, new String[] { "y", "x" });
+			delta.addEqualsConstraint("c4", 2, new int[] { 2, 1 }, new String[] { "y", "x" });
+		});
+
+		assertEquals(List.of("c0", "c3", "c4"), report.getRemovedConstraints());
+		assertEquals(2, solver.getConstraintCount());
+	}
+
+	@Test
+	public void testSosConstraints() {
+		final IlpPresolveReport report = presolve(delta -> {
+			delta.addVariable("rej", 100);
+			delta.addVariable("a_s1", 1);
+			delta.addVariable("a_s2", 3);
+			delta.addVariable("b_s1", 2);
+			delta.addVariable("b_s2", 1);
+			delta.addEqualsConstraint("va", 1, new int[] { 1, 1, 1 }, new String[] { "a_s1", "a_s2", "rej" });
+			delta.addEqualsConstraint("vb", 1, new int[] { 1, 1, 1 }, new String[] { "b_s1", "b_s2", "rej" });
+			delta.addLessOrEqualsConstraint("ss1", 2, new int[] { 2, 2 }, new String[] { "a_s1", "b_s1" });
+			// Implied by the row va
+			delta.addSosConstraint("a", List.of("a_s1", "a_s2"));
+			// Not implied by any row
+			delta.addSosConstraint("s1", List.of("a_s2", "b_s1"));
+			// Only one variable
+			delta.addSosConstraint("b", List.of("b_s1"));
+		});
+
+		assertEquals(2, report.getRemovedSosConstraints());
+		assertTrue(solver.isSelected("a_s1"));
+		assertTrue(solver.isSelected("b_s2"));
+	}
+
+	@Test
+	public void testDominatedColumns() {
+		final IlpPresolveReport report = presolve(delta -> {
+			delta.addVariable("rej", 100);
+			delta.addVariable("p", 2);
+			delta.addVariable("q", 1);
+			delta.addVariable("r", 1);
+			delta.addEqualsConstraint("va", 1, new int[] { 1, 1, 1, 1 }, new String[] { "p", "q", "r", "rej" });
+			delta.addLessOrEqualsConstraint("sl", 4, new int[] { 2, 2, 3 }, new String[] { "p", "q", "r" });
+		});
+
+		assertEquals(List.of("p"), report.getRemovedVariables());
+		assertTrue(solver.isSelected("q") || solver.isSelected("r"));
+	}
+
+	@Test
+	public void testCoefficientTightening() {
+		final IlpPresolveReport report = presolve(delta -> {
+			delta.addVariable("x", -3);
+			delta.addVariable("y", -2);
+			delta.addLessOrEqualsConstraint("c0", 4, new int[] { 3, 2 }, new String[] { "x", "y" });
+		});
+
+		assertEquals(2, report.getTightenedCoefficients());
+		assertTrue(solver.isSelected("x"));
+		assertFalse(solver.isSelected("y"));
+	}
+
+	/**
+	 * Builds a delta with the given builder, presolves it and checks that the
+	 * presolved model has the same optimum as the original model. The solver of
+	 * the presolved model is kept in {@link #solver}.
+	 *
+	 * @param builder Builder of the delta.
+	 * @return Report of the presolve.
+	 */
+	private IlpPresolveReport presolve(final Consumer<IlpDelta> builder) {
+		return presolve(builder, true);
+	}
+
+	/**
+	 * Builds a delta with the given builder, presolves it and (optionally) checks
+	 * that the presolved model has the same optimum as the original model. The
+	 * solver of the presolved model is kept in {@link #solver}.
+	 *
+	 * @param builder Builder of the delta.
+	 * @param solve   If true, both models will be solved and compared.
+	 * @return Report of the presolve.
+	 */
+	private IlpPresolveReport presolve(final Consumer<IlpDelta> builder, final boolean solve) {
+		final IlpDelta original = new IlpDelta();
+		builder.accept(original);
+		final IlpDelta reduced = new IlpDelta();
+		builder.accept(reduced);
+		final IlpPresolveReport report = new IlpDeltaPresolver().presolve(reduced);
+
+		if (solve) {
+			final IncrementalJavaSolver reference = new IncrementalJavaSolver(Integer.MAX_VALUE, 0);
+			original.apply(reference);
+			assertEquals(SolverStatus.OPTIMAL, reference.solve().getStatus());
+
+			solver = new IncrementalJavaSolver(Integer.MAX_VALUE, 0);
+			reduced.apply(solver);
+			assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+			assertEquals(reference.getObjectiveValue(), solver.getObjectiveValue(), 1e-9);
+			reference.dispose();
+		}
+		return report;
+	}
+
+}
@@ -0,0 +1,101 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IlpDelta;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+
+/**
+ * Test class for the integer-indexed {@link IlpDelta} and its String-based
+ * adapter methods.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpDeltaTest {
+
+	/**
+	 * Solver to apply the deltas to.
+	 */
+	private IncrementalJavaSolver solver;
+
+	@BeforeEach
+	public void setUp() {
+		solver = new IncrementalJavaSolver(Integer.MAX_VALUE, 0);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		solver.dispose();
+	}
+
+	@Test
+	public void testStringAndIdApi() {
+		final IlpDelta delta = new IlpDelta();
+		delta.addVariable("rej", 100);
+		final int a = delta.getVariableId("a_s1");
+		delta.addVariable(a, 1);
+		delta.addVariable("b_s1", 2);
+		assertTrue(delta.hasAddVariable("a_s1"));
+		assertTrue(delta.hasAddVariable(a));
+		assertFalse(delta.hasAddVariable("b_s2"));
+
+		// Terms can be added to constraints after their creation
+		delta.addEqualsConstraint("va", 1);
+		delta.addEqualsConstraint("vb", 1, new int[] { 1 }, new String[] { "rej" });
+		delta.addLessOrEqualsConstraint("cpu", 1);
+		delta.setVariableWeightForConstraint("va", 1, a);
+		delta.setVariableWeightForConstraint("va", 1, "rej");
+		delta.setVariableWeightForConstraint("vb", 1, "b_s1");
+		delta.setVariableWeightForConstraint("cpu", 1, "a_s1");
+		delta.setVariableWeightForConstraint("cpu", 1, "b_s1");
+		delta.apply(solver);
+
+		assertEquals(3, solver.getVariableCount());
+		assertEquals(3, solver.getConstraintCount());
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(100, solver.getObjectiveValue());
+		assertTrue(solver.isSelected("rej"));
+	}
+
+	@Test
+	public void testChangesOfAddedElements() {
+		final IlpDelta delta = new IlpDelta();
+		delta.addVariable("x", 5);
+		delta.addVariable("y", 1);
+		delta.addLessOrEqualsConstraint("c0", 0, new int[] { 1, 1 }, new String[] { "x", "y" });
+		delta.addEqualsConstraint("c1", 1, new int[] { 1, 1 }, new String[] { "x", "y" });
+
+		// Changes of elements of the same delta are applied in place
+		delta.changeVariableWeight("x", -1);
+		delta.setConstraintRight("c0", 1);
+
+		// Re-adding a constraint replaces the old one
+		delta.addEqualsConstraint("c1", 1, new int[] { 1 }, new String[] { "x" });
+		delta.apply(solver);
+
+		assertEquals(2, solver.getConstraintCount());
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(-1, solver.getObjectiveValue());
+		assertTrue(solver.isSelected("x"));
+		assertFalse(solver.isSelected("y"));
+
+		// Changes of existing solver elements are applied via the String-based API
+		final IlpDelta change = new IlpDelta();
+		change.changeVariableWeight("y", -2);
+		change.setConstraintRight("c0", 2);
+		change.setVariableWeightForConstraint("c1", 1, "y");
+		change.apply(solver);
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(-2, solver.getObjectiveValue());
+		assertTrue(solver.isSelected("y"));
+	}
+
+}
@@ -0,0 +1,98 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IlpDelta;
+import ilp.wrapper.IlpLazyConstraints;
+import ilp.wrapper.IncrementalIlpSolver.Constraint;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+
+/**
+ * Test class for the lazy generation of constraints with
+ * {@link IlpLazyConstraints}.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpLazyConstraintsTest {
+
+	/**
+	 * Solver to apply the deltas to.
+	 */
+	private IncrementalJavaSolver solver;
+
+	@BeforeEach
+	public void setUp() {
+		solver = new IncrementalJavaSolver(Integer.MAX_VALUE, 0);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		solver.dispose();
+	}
+
+	@Test
+	public void testSeparate() {
+		final IlpLazyConstraints lazy = new IlpLazyConstraints();
+		lazy.addLessOrEqualsConstraint("sl1", 2);
+		lazy.addLessOrEqualsConstraint("sl2", 2);
+		lazy.setVariableWeightForConstraint("sl1", 2, "a");
+		lazy.setVariableWeightForConstraint("sl1", 1, "b");
+		lazy.setVariableWeightForConstraint("sl2", 1, "b");
+
+		assertEquals(0, lazy.separate(List.of("a")).length);
+		final Constraint[] violated = lazy.separate(List.of("a", "b"));
+		assertEquals(1, violated.length);
+		assertEquals("sl1", violated[0].getName());
+		assertEquals(1, lazy.getPendingCount());
+
+		// Violated constraints are only returned once
+		assertEquals(0, lazy.separate(List.of("a", "b")).length);
+	}
+
+	@Test
+	public void testRowGeneration() {
+		// Two virtual links, each with a cheap path over link 1 and an expensive one
+		// over link 2. Link 1 can only carry one of them.
+		final IlpDelta delta = new IlpDelta();
+		delta.addVariable("rej", 100);
+		delta.addVariable("a_p1", 1);
+		delta.addVariable("a_p2", 3);
+		delta.addVariable("b_p1", 1);
+		delta.addVariable("b_p2", 5);
+		delta.addEqualsConstraint("va", 1, new int[] { 1, 1, 1 }, new String[] { "a_p1", "a_p2", "rej" });
+		delta.addEqualsConstraint("vb", 1, new int[] { 1, 1, 1 }, new String[] { "b_p1", "b_p2", "rej" });
+		delta.apply(solver);
+
+		final IlpLazyConstraints lazy = new IlpLazyConstraints();
+		lazy.addLessOrEqualsConstraint("sl1", 10);
+		lazy.addLessOrEqualsConstraint("sl2", 20);
+		lazy.setVariableWeightForConstraint("sl1", 10, "a_p1");
+		lazy.setVariableWeightForConstraint("sl1", 10, "b_p1");
+		lazy.setVariableWeightForConstraint("sl2", 10, "a_p2");
+		lazy.setVariableWeightForConstraint("sl2", 10, "b_p2");
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(2, solver.getObjectiveValue());
+		assertEquals(1, lazy.addViolated(solver));
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(0, lazy.addViolated(solver));
+
+		// Only the violated constraint was added to the model
+		assertEquals(3, solver.getConstraintCount());
+		assertEquals(1, lazy.getAddedCount());
+		assertEquals(4, solver.getObjectiveValue());
+		assertTrue(solver.isSelected("a_p2"));
+		assertTrue(solver.isSelected("b_p1"));
+		assertFalse(solver.isSelected("a_p1"));
+	}
+
+}
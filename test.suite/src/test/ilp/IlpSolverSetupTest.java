@@ -48,6 +48,23 @@ public class IlpSolverSetupTest {
 		genericIlpTest();
 	}
 
+	@Test
+	public void testJavaSetup() {
+		IlpSolverConfig.solver = Solver.JAVA;
+		genericIlpTest();
+	}
+
+	@Test
+	public void testPortfolioSetup() {
+		IlpSolverConfig.solver = Solver.JAVA;
+		IlpSolverConfig.PORTFOLIO_SIZE = 2;
+		try {
+			genericIlpTest();
+		} finally {
+			IlpSolverConfig.PORTFOLIO_SIZE = 1;
+		}
+	}
+
 	/**
 	 * Tests a small and generic ILP problem for the ILP solver given by the
 	 * {@link IlpSolverConfig}.
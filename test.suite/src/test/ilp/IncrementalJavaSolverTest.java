@@ -0,0 +1,192 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IlpSymbolTable;
+import ilp.wrapper.Incumbent;
+import ilp.wrapper.IncrementalIlpSolver.SosConstraint;
+import ilp.wrapper.IncrementalIlpSolver.Variable;
+import ilp.wrapper.SolveHandle;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.Statistics;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+
+/**
+ * Test class for the pure-Java incremental ILP solver implementation.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IncrementalJavaSolverTest {
+
+	/**
+	 * Solver to test.
+	 */
+	private IncrementalJavaSolver solver;
+
+	@BeforeEach
+	public void setUp() {
+		solver = new IncrementalJavaSolver(Integer.MAX_VALUE, 0);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		solver.dispose();
+	}
+
+	@Test
+	public void testSimpleAssignment() {
+		createAssignment();
+
+		final Statistics stats = solver.solve();
+		assertEquals(SolverStatus.OPTIMAL, stats.getStatus());
+		assertEquals(3, solver.getObjectiveValue());
+		assertTrue(solver.isSelected("a_s1"));
+		assertTrue(solver.isSelected("b_s2"));
+		assertFalse(solver.isSelected("rej"));
+	}
+
+	@Test
+	public void testSosConstraint() {
+		createAssignment();
+
+		// Both virtual elements must not share a substrate element
+		solver.addLessOrEqualsConstraint("cap", 1, new double[] { 1, 1 }, new String[] { "a_s1", "b_s1" });
+		solver.addSosConstraint(new SosConstraint("sos",
+				List.of(new Variable("a_s1", 0), new Variable("a_s2", 0), new Variable("rej", 0))));
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(3, solver.getObjectiveValue());
+	}
+
+	@Test
+	public void testIncrementalChanges() {
+		createAssignment();
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+
+		// Remove the cheapest mapping and lock another one
+		solver.removeVariable("a_s1");
+		solver.changeVariableBounds("b_s1", 1, 1);
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(7, solver.getObjectiveValue());
+		assertTrue(solver.isSelected("a_s2"));
+		assertTrue(solver.isSelected("b_s1"));
+
+		// Restrict the capacity of the second substrate element
+		solver.addLessOrEqualsConstraint("cap2", 1, new double[] { 1 }, new String[] { "a_s2" });
+		solver.setConstraintRight("cap2", 0);
+		solver.changeVariableBounds("b_s1", 0, 1);
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(100, solver.getObjectiveValue());
+		assertTrue(solver.isSelected("rej"));
+	}
+
+	@Test
+	public void testStartSolution() {
+		createAssignment();
+
+		// A feasible but not optimal start solution must not change the optimum
+		solver.setStartSolution(Map.of("a_s2", true, "b_s1", true, "unknown", true));
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(3, solver.getObjectiveValue());
+		assertTrue(solver.isSelected("a_s1"));
+		assertTrue(solver.isSelected("b_s2"));
+	}
+
+	@Test
+	public void testSelectedVariables() {
+		createAssignment();
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(List.of("a_s1", "b_s2"), solver.getSelectedVariables());
+
+		final IlpSymbolTable symbols = new IlpSymbolTable();
+		symbols.intern("b_s2");
+		symbols.intern("a_s2");
+		final BitSet selected = solver.getSelectedVariables(symbols);
+		assertEquals(1, selected.cardinality());
+		assertTrue(selected.get(symbols.getId("b_s2")));
+	}
+
+	@Test
+	public void testSolveAsync() {
+		createAssignment();
+
+		final List<Incumbent> incumbents = new ArrayList<>();
+		final SolveHandle handle = solver.solveAsync(incumbents::add, 0, 0);
+		assertEquals(SolverStatus.OPTIMAL, handle.get().getStatus());
+		assertTrue(handle.isDone());
+		assertFalse(incumbents.isEmpty());
+		assertEquals(3, handle.getBestIncumbent().getObjective());
+		assertEquals(3, incumbents.get(incumbents.size() - 1).getObjective());
+		assertTrue(solver.isSelected("a_s1"));
+		assertTrue(solver.isSelected("b_s2"));
+	}
+
+	@Test
+	public void testSolveAsyncEarlyStop() {
+		createAssignment();
+
+		// Every incumbent is good enough for a huge gap limit
+		final SolveHandle handle = solver.solveAsync(null, Double.MAX_VALUE, 0);
+		final Statistics stats = handle.get();
+		assertEquals(SolverStatus.TIME_OUT, stats.getStatus());
+		assertTrue(stats.isFeasible());
+		assertEquals(handle.getBestIncumbent().getObjective(), solver.getObjectiveValue());
+	}
+
+	@Test
+	public void testInfeasible() {
+		solver.addVariable("x", 1);
+		solver.addEqualsConstraint("c0", 2, new double[] { 1 }, new String[] { "x" });
+
+		assertEquals(SolverStatus.INFEASIBLE, solver.solve().getStatus());
+		assertFalse(solver.solve().isFeasible());
+	}
+
+	@Test
+	public void testStatistics() {
+		createAssignment();
+
+		final Statistics stats = solver.solve();
+		assertEquals(5, stats.getVariableCount());
+		assertEquals(2, stats.getConstraintCount());
+		assertEquals(6, stats.getNonZeroCount());
+		assertTrue(stats.getNodeCount() > 0);
+		assertTrue(stats.getIncumbentCount() >= 1);
+		assertTrue(stats.getTimeToFirstIncumbent() >= 0);
+		assertTrue(stats.getTimeToFirstIncumbent() <= stats.getDuration());
+		assertEquals(0, stats.getMipGap());
+
+		// Statistics of subsequent runs are summed up
+		final Statistics total = new Statistics(null, 0).add(stats).add(solver.solve());
+		assertEquals(SolverStatus.OPTIMAL, total.getStatus());
+		assertEquals(5, total.getVariableCount());
+		assertEquals(2 * stats.getNodeCount(), total.getNodeCount());
+		assertEquals(stats.getTimeToFirstIncumbent(), total.getTimeToFirstIncumbent());
+	}
+
+	/**
+	 * Creates a small assignment problem with two virtual elements (a, b), two
+	 * substrate elements (s1, s2) and a rejection variable.
+	 */
+	private void createAssignment() {
+		solver.addVariable("rej", 100);
+		solver.addVariable("a_s1", 1);
+		solver.addVariable("a_s2", 4);
+		solver.addVariable("b_s1", 3);
+		solver.addVariable("b_s2", 2);
+		solver.addEqualsConstraint("va", 1, new double[] { 1, 1, 1 }, new String[] { "a_s1", "a_s2", "rej" });
+		solver.addEqualsConstraint("vb", 1, new double[] { 1, 1, 1 }, new String[] { "b_s1", "b_s2", "rej" });
+	}
+
+}
@@ -0,0 +1,103 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.SolveHandle;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+import ilp.wrapper.impl.IncrementalPortfolioSolver;
+
+/**
+ * Test class for the portfolio solver implementation that races multiple
+ * (pure-Java) solver instances against each other.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IncrementalPortfolioSolverTest {
+
+	/**
+	 * Solver to test.
+	 */
+	private IncrementalPortfolioSolver solver;
+
+	@BeforeEach
+	public void setUp() {
+		solver = new IncrementalPortfolioSolver(new IncrementalJavaSolver(Integer.MAX_VALUE, 0),
+				new IncrementalJavaSolver(Integer.MAX_VALUE, 1), new IncrementalJavaSolver(Integer.MAX_VALUE, 2));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		solver.dispose();
+	}
+
+	@Test
+	public void testRace() {
+		createAssignment();
+
+		assertEquals(3, solver.getSize());
+		assertEquals(5, solver.getVariableCount());
+		assertEquals(2, solver.getConstraintCount());
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertTrue(solver.getWinner() >= 0 && solver.getWinner() < 3);
+		assertEquals(3, solver.getObjectiveValue());
+		assertEquals(List.of("a_s1", "b_s2"), solver.getSelectedVariables());
+	}
+
+	@Test
+	public void testIncrementalChanges() {
+		createAssignment();
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+
+		// All changes must be applied to every member
+		solver.removeVariable("a_s1");
+		solver.changeVariableWeight("b_s1", 1);
+		for (int i = 0; i < 5; i++) {
+			assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+			assertEquals(5, solver.getObjectiveValue());
+			assertFalse(solver.hasVariable("a_s1"));
+			assertTrue(solver.isSelected("a_s2"));
+			assertTrue(solver.isSelected("b_s1"));
+		}
+	}
+
+	@Test
+	public void testSolveWithHandle() {
+		createAssignment();
+
+		final SolveHandle handle = solver.solveAsync(null, 0, 0);
+		assertEquals(SolverStatus.OPTIMAL, handle.get().getStatus());
+		assertEquals(3, handle.getBestIncumbent().getObjective());
+	}
+
+	@Test
+	public void testInfeasible() {
+		solver.addVariable("x", 1);
+		solver.addEqualsConstraint("c0", 2, new double[] { 1 }, new String[] { "x" });
+
+		assertEquals(SolverStatus.INFEASIBLE, solver.solve().getStatus());
+	}
+
+	/**
+	 * Creates a small assignment problem with two virtual elements (a, b), two
+	 * substrate elements (s1, s2) and a rejection variable.
+	 */
+	private void createAssignment() {
+		solver.addVariable("rej", 100);
+		solver.addVariable("a_s1", 1);
+		solver.addVariable("a_s2", 4);
+		solver.addVariable("b_s1", 3);
+		solver.addVariable("b_s2", 2);
+		solver.addEqualsConstraint("va", 1, new double[] { 1, 1, 1 }, new String[] { "a_s1", "a_s2", "rej" });
+		solver.addEqualsConstraint("vb", 1, new double[] { 1, 1, 1 }, new String[] { "b_s1", "b_s2", "rej" });
+	}
+
+}
@@ -1,5 +1,6 @@
 package algorithms;
 
+import algorithms.heuristics.TafAlgorithm;
 import algorithms.pm.VnePmMdvneAlgorithm;
 import algorithms.pm.VnePmMdvneAlgorithmMigration;
 
@@ -70,6 +71,17 @@ public class AlgorithmConfig {
 		MANUAL; // Use ModelFacade methods
 	}
 
+	/**
+	 * Cache retention enumeration that defines how long the
+	 * {@link VnePmMdvneAlgorithm} keeps its cache entries for a virtual network.
+	 *
+	 * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+	 */
+	public enum CacheRetention {
+		KEEP, // Keep all entries for the whole scenario
+		EVICT; // Evict the entries of a virtual network after its run
+	}
+
 	/**
 	 * Private constructor ensures no instantiation of this class.
 	 */
@@ -101,10 +113,91 @@ public class AlgorithmConfig {
 	 */
 	public static int pmNoMigrations = 6;
 
+	/**
+	 * Number of threads the {@link VnePmMdvneAlgorithmMigration} uses to evaluate
+	 * the victim sets of the migration. If greater than 1, up to
+	 * {@link #pmNoMigrations} victim sets are evaluated in parallel instead of
+	 * trying them one after another.
+	 */
+	public static int pmMigrationThreads = 1;
+
+	/**
+	 * Number of threads the {@link TafAlgorithm} uses to evaluate the communication
+	 * cost of the substrate server candidates. If greater than 1, the candidates
+	 * are evaluated with fork-join. The chosen server is the same as in the
+	 * sequential evaluation.
+	 */
+	public static int tafThreads = 1;
+
 	/**
 	 * If true, the network rejection cost will be calculated based on the size of
 	 * the virtual network and its resources. If false, the cost will be static.
 	 */
 	public static boolean netRejCostDynamic = false;
 
+	/**
+	 * If true, the {@link VnePmMdvneAlgorithm} keeps its ILP solver model alive
+	 * across multiple runs. The substrate capacity constraints are only created
+	 * once and their right hand sides are updated to the residual values on every
+	 * run. All variables and constraints of a virtual network are removed from the
+	 * model after it was embedded or rejected.
+	 */
+	public static boolean pmPersistentModel = false;
+
+	/**
+	 * If true, the {@link VnePmMdvneAlgorithm} (without the persistent model) and
+	 * the fake ILP algorithm generate the bandwidth constraints of the substrate
+	 * links lazily: The ILP is solved without them, only the constraints violated
+	 * by the solution are added and the ILP is solved again until no bandwidth
+	 * constraint is violated.
+	 */
+	public static boolean lazyBandwidth = false;
+
+	/**
+	 * If true, the {@link VnePmMdvneAlgorithm} (without the persistent model) uses
+	 * column generation for the link to path variables: The model initially only
+	 * contains the paths with at most {@link #pmColGenInitialHops} hops, all longer
+	 * paths are priced with the dual values of the LP relaxation and only added if
+	 * they have a negative reduced cost. This mode overrides the lazy bandwidth
+	 * mode. If the ILP solver provides no LP dual values (e.g., the Java solver),
+	 * all pooled columns are added in the first round, i.e., the complete model is
+	 * solved.
+	 */
+	public static boolean pmColumnGeneration = false;
+
+	/**
+	 * Maximum number of hops of the substrate paths that are part of the initial
+	 * (restricted) model if the column generation is active.
+	 */
+	public static int pmColGenInitialHops = 2;
+
+	/**
+	 * If true, the {@link VnePmMdvneAlgorithm} translates every match into the ILP
+	 * formulation as soon as the pattern matcher reports it instead of collecting
+	 * all matches in a pattern matching delta first.
+	 */
+	public static boolean pmStreaming = false;
+
+	/**
+	 * Retention policy of the caches of the {@link VnePmMdvneAlgorithm} (and its
+	 * subclasses) for the virtual networks of previous runs.
+	 */
+	public static CacheRetention pmCacheRetention = CacheRetention.EVICT;
+
+	/**
+	 * If true, the {@link VnePmMdvneAlgorithm} first tries to embed every virtual
+	 * network of a run onto a single substrate server (greedy fast path). If this
+	 * succeeds for all virtual networks and the cost of every placement is within
+	 * {@link #pmFastPathGap} of a lower bound of its cost, the placements are
+	 * embedded directly and the pattern matching and the ILP solver are skipped.
+	 */
+	public static boolean pmFastPath = false;
+
+	/**
+	 * Maximum relative gap between the cost of a fast path placement and the lower
+	 * bound of its cost (e.g., 0.2 accepts placements that are at most 20 % more
+	 * expensive than the lower bound).
+	 */
+	public static double pmFastPathGap = 0.2;
+
 }
@@ -0,0 +1,482 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+import model.Node;
+import model.SubstrateNetwork;
+import model.SubstrateServer;
+
+/**
+ * Index of the residual resources of all substrate servers of one substrate
+ * network. It answers the question "which servers can host a demand of (cpu,
+ * memory, storage)?" without a scan over all servers.
+ *
+ * The residual resources are stored as struct-of-arrays (one array per
+ * resource type, indexed by the position of the server in the network). The
+ * servers are grouped by their free CPU resources in a sorted map, i.e., a
+ * query only visits the servers with enough CPU resources and checks the other
+ * two resources on the primitive arrays.
+ *
+ * Algorithms may reserve resources tentatively (e.g., for placements that are
+ * not yet embedded in the model). Reservations reduce the free resources of a
+ * server until {@link #clearReservations()} is called.
+ *
+ * The index is shared by all algorithms working on the same substrate network
+ * (see {@link #of(SubstrateNetwork)}) and attached to the network as an
+ * adapter. It listens to the change notifications of the model, hence, it is
+ * kept up to date on every embedding and unembedding without an explicit update
+ * call. Added or removed substrate servers lead to a rebuild of the index on
+ * the next query.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SubstrateCapacityIndex {
+
+	/**
+	 * Returns the (shared) index of a given substrate network. If there is no
+	 * index for the network yet, a new one will be created.
+	 *
+	 * @param sNet Substrate network to get the index for.
+	 * @return Index of the substrate network.
+	 */
+	public static synchronized SubstrateCapacityIndex of(final SubstrateNetwork sNet) {
+		for (final Adapter a : sNet.eAdapters()) {
+			if (a.isAdapterForType(SubstrateCapacityIndex.class)) {
+				return ((CapacityAdapter) a).getIndex();
+			}
+		}
+		return new SubstrateCapacityIndex(sNet);
+	}
+
+	/**
+	 * Adapter that receives the change notifications of the substrate network and
+	 * all its servers.
+	 */
+	private class CapacityAdapter extends AdapterImpl {
+
+		@Override
+		public void notifyChanged(final Notification notification) {
+			handleNotification(notification);
+		}
+
+		@Override
+		public boolean isAdapterForType(final Object type) {
+			return type == SubstrateCapacityIndex.class;
+		}
+
+		public SubstrateCapacityIndex getIndex() {
+			return SubstrateCapacityIndex.this;
+		}
+
+	}
+
+	/**
+	 * Substrate network of this index.
+	 */
+	private final SubstrateNetwork sNet;
+
+	/**
+	 * Adapter of the substrate network and all its servers.
+	 */
+	private final CapacityAdapter adapter = new CapacityAdapter();
+
+	/**
+	 * True if servers were added or removed since the last build of the index.
+	 */
+	private boolean structureChanged = true;
+
+	/**
+	 * All substrate servers by their position.
+	 */
+	private SubstrateServer[] servers = new SubstrateServer[0];
+
+	/**
+	 * Positions of all substrate servers.
+	 */
+	private final Map<SubstrateServer, Integer> positions = new HashMap<>();
+
+	/*
+	 * Residual resources of the model by position.
+	 */
+	private long[] residualCpu = new long[0];
+	private long[] residualMemory = new long[0];
+	private long[] residualStorage = new long[0];
+
+	/*
+	 * Tentatively reserved resources by position.
+	 */
+	private long[] reservedCpu = new long[0];
+	private long[] reservedMemory = new long[0];
+	private long[] reservedStorage = new long[0];
+
+	/**
+	 * Positions of all servers with reservations.
+	 */
+	private final BitSet reserved = new BitSet();
+
+	/**
+	 * Positions of all servers grouped by their free CPU resources.
+	 */
+	private final TreeMap<Long, BitSet> byFreeCpu = new TreeMap<>();
+
+	/*
+	 * Total residual resources of the model.
+	 */
+	private long totalResidualCpu = 0;
+	private long totalResidualMemory = 0;
+	private long totalResidualStorage = 0;
+
+	/**
+	 * Private constructor that initializes a new index for a given substrate
+	 * network. Use {@link #of(SubstrateNetwork)} instead.
+	 *
+	 * @param sNet Substrate network to index.
+	 */
+	private SubstrateCapacityIndex(final SubstrateNetwork sNet) {
+		this.sNet = sNet;
+		sNet.eAdapters().add(adapter);
+	}
+
+	/*
+	 * Queries.
+	 */
+
+	/**
+	 * Returns all substrate servers with enough free resources for the given
+	 * demand. The servers are returned in the order of the substrate network.
+	 *
+	 * @param cpu     CPU demand.
+	 * @param memory  Memory demand.
+	 * @param storage Storage demand.
+	 * @return All substrate servers that can host the demand.
+	 */
+	public synchronized List<SubstrateServer> getCandidates(final long cpu, final long memory, final long storage) {
+		update();
+		final BitSet fitting = new BitSet(servers.length);
+		for (final BitSet group : byFreeCpu.tailMap(cpu, true).values()) {
+			for (int i = group.nextSetBit(0); i >= 0; i = group.nextSetBit(i + 1)) {
+				if (getFreeMemory(i) >= memory && getFreeStorage(i) >= storage) {
+					fitting.set(i);
+				}
+			}
+		}
+
+		final List<SubstrateServer> candidates = new ArrayList<>(fitting.cardinality());
+		for (int i = fitting.nextSetBit(0); i >= 0; i = fitting.nextSetBit(i + 1)) {
+			candidates.add(servers[i]);
+		}
+		return candidates;
+	}
+
+	/**
+	 * Returns true if a given substrate server has enough free resources for the
+	 * given demand.
+	 *
+	 * @param server  Substrate server to check.
+	 * @param cpu     CPU demand.
+	 * @param memory  Memory demand.
+	 * @param storage Storage demand.
+	 * @return True if the substrate server can host the demand.
+	 */
+	public synchronized boolean fits(final SubstrateServer server, final long cpu, final long memory,
+			final long storage) {
+		final int i = getPosition(server);
+		return getFreeCpu(i) >= cpu && getFreeMemory(i) >= memory && getFreeStorage(i) >= storage;
+	}
+
+	/**
+	 * Returns the free CPU resources (residual resources minus reservations) of a
+	 * given substrate server.
+	 *
+	 * @param server Substrate server.
+	 * @return Free CPU resources.
+	 */
+	public synchronized long getFreeCpu(final SubstrateServer server) {
+		return getFreeCpu(getPosition(server));
+	}
+
+	/**
+	 * Returns the free memory resources (residual resources minus reservations) of
+	 * a given substrate server.
+	 *
+	 * @param server Substrate server.
+	 * @return Free memory resources.
+	 */
+	public synchronized long getFreeMemory(final SubstrateServer server) {
+		return getFreeMemory(getPosition(server));
+	}
+
+	/**
+	 * Returns the free storage resources (residual resources minus reservations)
+	 * of a given substrate server.
+	 *
+	 * @param server Substrate server.
+	 * @return Free storage resources.
+	 */
+	public synchronized long getFreeStorage(final SubstrateServer server) {
+		return getFreeStorage(getPosition(server));
+	}
+
+	/**
+	 * Returns the total residual CPU resources of all substrate servers (without
+	 * reservations).
+	 *
+	 * @return Total residual CPU resources.
+	 */
+	public synchronized long getTotalResidualCpu() {
+		update();
+		return totalResidualCpu;
+	}
+
+	/**
+	 * Returns the total residual memory resources of all substrate servers
+	 * (without reservations).
+	 *
+	 * @return Total residual memory resources.
+	 */
+	public synchronized long getTotalResidualMemory() {
+		update();
+		return totalResidualMemory;
+	}
+
+	/**
+	 * Returns the total residual storage resources of all substrate servers
+	 * (without reservations).
+	 *
+	 * @return Total residual storage resources.
+	 */
+	public synchronized long getTotalResidualStorage() {
+		update();
+		return totalResidualStorage;
+	}
+
+	/*
+	 * Reservations.
+	 */
+
+	/**
+	 * Reserves resources of a given substrate server tentatively.
+	 *
+	 * @param server  Substrate server to reserve resources on.
+	 * @param cpu     CPU resources to reserve.
+	 * @param memory  Memory resources to reserve.
+	 * @param storage Storage resources to reserve.
+	 */
+	public synchronized void reserve(final SubstrateServer server, final long cpu, final long memory,
+			final long storage) {
+		final int i = getPosition(server);
+		ungroup(i);
+		reservedCpu[i] += cpu;
+		reservedMemory[i] += memory;
+		reservedStorage[i] += storage;
+		reserved.set(i);
+		group(i);
+	}
+
+	/**
+	 * Releases tentatively reserved resources of a given substrate server.
+	 *
+	 * @param server  Substrate server to release resources on.
+	 * @param cpu     CPU resources to release.
+	 * @param memory  Memory resources to release.
+	 * @param storage Storage resources to release.
+	 */
+	public synchronized void release(final SubstrateServer server, final long cpu, final long memory,
+			final long storage) {
+		reserve(server, -cpu, -memory, -storage);
+	}
+
+	/**
+	 * Removes all tentative reservations.
+	 */
+	public synchronized void clearReservations() {
+		for (int i = reserved.nextSetBit(0); i >= 0; i = reserved.nextSetBit(i + 1)) {
+			ungroup(i);
+			reservedCpu[i] = 0;
+			reservedMemory[i] = 0;
+			reservedStorage[i] = 0;
+			group(i);
+		}
+		reserved.clear();
+	}
+
+	/*
+	 * Maintenance of the index.
+	 */
+
+	/**
+	 * Handles a change notification of the substrate network or one of its
+	 * servers.
+	 *
+	 * @param notification Change notification of the model.
+	 */
+	private synchronized void handleNotification(final Notification notification) {
+		if (notification.isTouch() || !(notification.getFeature() instanceof EStructuralFeature)) {
+			return;
+		}
+
+		final String feature = ((EStructuralFeature) notification.getFeature()).getName();
+		if (notification.getNotifier() == sNet) {
+			if ("nodes".equals(feature)) {
+				structureChanged = true;
+			}
+		} else if (!structureChanged && notification.getNotifier() instanceof SubstrateServer
+				&& (feature.equals("residualCpu") || feature.equals("residualMemory")
+						|| feature.equals("residualStorage"))) {
+			final Integer i = positions.get(notification.getNotifier());
+			if (i != null) {
+				refresh(i);
+			}
+		}
+	}
+
+	/**
+	 * Rebuilds the index if servers were added or removed. Reservations of servers
+	 * that are still part of the network are kept.
+	 */
+	private void update() {
+		if (!structureChanged) {
+			return;
+		}
+
+		final List<SubstrateServer> current = new ArrayList<>();
+		for (final Node n : sNet.getNodes()) {
+			if (n instanceof SubstrateServer) {
+				current.add((SubstrateServer) n);
+			}
+		}
+
+		final SubstrateServer[] oldServers = servers;
+		final long[] oldCpu = reservedCpu;
+		final long[] oldMemory = reservedMemory;
+		final long[] oldStorage = reservedStorage;
+		for (final SubstrateServer s : oldServers) {
+			s.eAdapters().remove(adapter);
+		}
+
+		final int size = current.size();
+		servers = current.toArray(new SubstrateServer[size]);
+		residualCpu = new long[size];
+		residualMemory = new long[size];
+		residualStorage = new long[size];
+		reservedCpu = new long[size];
+		reservedMemory = new long[size];
+		reservedStorage = new long[size];
+		byFreeCpu.clear();
+		reserved.clear();
+		totalResidualCpu = 0;
+		totalResidualMemory = 0;
+		totalResidualStorage = 0;
+
+		final Map<SubstrateServer, Integer> oldPositions = new HashMap<>(positions);
+		positions.clear();
+		for (int i = 0; i < size; i++) {
+			final SubstrateServer s = servers[i];
+			positions.put(s, i);
+			s.eAdapters().add(adapter);
+
+			final Integer old = oldPositions.get(s);
+			if (old != null && (oldCpu[old] != 0 || oldMemory[old] != 0 || oldStorage[old] != 0)) {
+				reservedCpu[i] = oldCpu[old];
+				reservedMemory[i] = oldMemory[old];
+				reservedStorage[i] = oldStorage[old];
+				reserved.set(i);
+			}
+
+			residualCpu[i] = s.getResidualCpu();
+			residualMemory[i] = s.getResidualMemory();
+			residualStorage[i] = s.getResidualStorage();
+			totalResidualCpu += residualCpu[i];
+			totalResidualMemory += residualMemory[i];
+			totalResidualStorage += residualStorage[i];
+			group(i);
+		}
+
+		structureChanged = false;
+	}
+
+	/**
+	 * Reads the residual resources of the server at a given position from the
+	 * model.
+	 *
+	 * @param i Position of the server.
+	 */
+	private void refresh(final int i) {
+		final SubstrateServer s = servers[i];
+		ungroup(i);
+		totalResidualCpu += s.getResidualCpu() - residualCpu[i];
+		totalResidualMemory += s.getResidualMemory() - residualMemory[i];
+		totalResidualStorage += s.getResidualStorage() - residualStorage[i];
+		residualCpu[i] = s.getResidualCpu();
+		residualMemory[i] = s.getResidualMemory();
+		residualStorage[i] = s.getResidualStorage();
+		group(i);
+	}
+
+	/**
+	 * Returns the position of a given substrate server.
+	 *
+	 * @param server Substrate server.
+	 * @return Position of the substrate server.
+	 */
+	private int getPosition(final SubstrateServer server) {
+		update();
+		final Integer i = positions.get(server);
+		if (i == null) {
+			throw new IllegalArgumentException(
+					"Substrate server " + server.getName() + " is not part of network " + sNet.getName() + ".");
+		}
+		return i;
+	}
+
+	/**
+	 * Adds the server at a given position to the group of its free CPU resources.
+	 *
+	 * @param i Position of the server.
+	 */
+	private void group(final int i) {
+		byFreeCpu.computeIfAbsent(getFreeCpu(i), k -> new BitSet()).set(i);
+	}
+
+	/**
+	 * Removes the server at a given position from the group of its free CPU
+	 * resources.
+	 *
+	 * @param i Position of the server.
+	 */
+	private void ungroup(final int i) {
+		final long cpu = getFreeCpu(i);
+		final BitSet group = byFreeCpu.get(cpu);
+		group.clear(i);
+		if (group.isEmpty()) {
+			byFreeCpu.remove(cpu);
+		}
+	}
+
+	/*
+	 * Free resources (residual resources minus reservations).
+	 */
+
+	private long getFreeCpu(final int i) {
+		return residualCpu[i] - reservedCpu[i];
+	}
+
+	private long getFreeMemory(final int i) {
+		return residualMemory[i] - reservedMemory[i];
+	}
+
+	private long getFreeStorage(final int i) {
+		return residualStorage[i] - reservedStorage[i];
+	}
+
+}
@@ -1,29 +1,31 @@
 package algorithms.heuristics;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.stream.Collectors;
 
 import algorithms.AbstractAlgorithm;
 import algorithms.AlgorithmConfig;
 import algorithms.AlgorithmConfig.Objective;
+import algorithms.SubstrateCapacityIndex;
 import facade.config.ModelFacadeConfig;
 import metrics.CostUtility;
 import metrics.manager.GlobalMetricsManager;
 import model.Link;
 import model.Node;
 import model.Server;
-import model.SubstrateLink;
 import model.SubstrateNetwork;
 import model.SubstrateNode;
 import model.SubstratePath;
@@ -60,9 +62,15 @@ import model.VirtualServer;
 public class TafAlgorithm extends AbstractAlgorithm {
 
 	/*
-	 * Data from model (will be imported in initialization method).
+	 * Data from model (the virtual network data will be imported for every virtual
+	 * network in the load method).
 	 */
 
+	/**
+	 * Virtual network that is currently placed or deployed.
+	 */
+	private VirtualNetwork currVnet;
+
 	/**
 	 * All virtual links of the virtual network.
 	 */
@@ -71,12 +79,12 @@ public class TafAlgorithm extends AbstractAlgorithm {
 	/**
 	 * All virtual servers of the virtual network.
 	 */
-	private final List<VirtualServer> virtualServers = new LinkedList<>();
+	private final List<VirtualServer> virtualServers = new ArrayList<>();
 
 	/**
 	 * All substrate servers of the substrate network.
 	 */
-	private final List<SubstrateServer> substrateServers = new LinkedList<>();
+	private final List<SubstrateServer> substrateServers = new ArrayList<>();
 
 	/**
 	 * Map of virtual -> substrate server.
@@ -84,97 +92,175 @@ public class TafAlgorithm extends AbstractAlgorithm {
 	private final Map<VirtualServer, SubstrateServer> placedVms = new HashMap<>();
 
 	/**
-	 * Model of the TAF communication cost. This is only a data type without logic.
-	 * It is needed for the ordering of substrate servers depending on their
-	 * communication cost.
+	 * Pool for the parallel evaluation of the substrate server candidates (only
+	 * during {@link #execute()} and if {@link AlgorithmConfig#tafThreads} is
+	 * greater than 1).
 	 */
-	private class TafCommunicationCost implements Comparable<TafCommunicationCost> {
+	private ForkJoinPool pool = null;
 
-		/**
-		 * Communication cost.
-		 */
-		private final double communicationCost;
+	/**
+	 * Maximum number of substrate server candidates that one task of the parallel
+	 * evaluation processes sequentially.
+	 */
+	private static final int PARALLEL_LEAF_SIZE = 64;
 
-		/**
-		 * Substrate server.
-		 */
-		private final SubstrateServer substrateServer;
+	/**
+	 * Result of the candidate evaluation if there is no candidate.
+	 */
+	private static final long NO_CANDIDATE = Long.MAX_VALUE;
 
-		/**
-		 * Constructor.
-		 *
-		 * @param communicationCost Communication cost.
-		 * @param substrateServer   Substrate server.
-		 */
-		public TafCommunicationCost(final double communicationCost, final SubstrateServer substrateServer) {
-			super();
-			this.communicationCost = communicationCost;
-			this.substrateServer = substrateServer;
-		}
+	/**
+	 * Residual resources of the substrate servers. The placements of this
+	 * algorithm are reserved tentatively until they are embedded in the model.
+	 */
+	private final SubstrateCapacityIndex capacities;
 
-		@Override
-		public int compareTo(final TafCommunicationCost obj) {
-			return (int) (communicationCost - obj.getCommunicationCost());
-		}
+	/*
+	 * Precomputed data (will be created in initialization method).
+	 */
 
-		public double getCommunicationCost() {
-			return communicationCost;
-		}
+	/**
+	 * Positions of all substrate servers in {@link #substrateServers}.
+	 */
+	private final Map<SubstrateServer, Integer> substrateServerIds = new HashMap<>();
 
-		public SubstrateServer getSubstrateServer() {
-			return substrateServer;
-		}
+	/**
+	 * Rack ID of every substrate server by its position or -1 if the server is not
+	 * connected to a switch.
+	 */
+	private int[] rackOf;
 
-	}
+	/*
+	 * State of the current placement. It is updated with every placed virtual
+	 * server, hence, the communication cost of a candidate is available without
+	 * iterating all placed virtual servers.
+	 */
+
+	/**
+	 * Number of placed virtual servers by substrate server position.
+	 */
+	private int[] vmsPerServer;
+
+	/**
+	 * Number of placed virtual servers by rack ID.
+	 */
+	private int[] vmsPerRack;
+
+	/**
+	 * Number of substrate servers that host at least one placed virtual server.
+	 */
+	private int usedServers = 0;
+
+	/**
+	 * Number of racks that host at least one placed virtual server.
+	 */
+	private int usedRacks = 0;
 
 	/**
-	 * Model of the TAF T vector. This is only a data type without logic.
+	 * The TAF T vector as a max-heap of all virtual server pairs. The pairs are
+	 * stored in primitive arrays, the heap itself only contains one primitive key
+	 * per pair (see {@link #key(int, int)}). Pairs with the same bandwidth are
+	 * ordered by their creation order.
 	 */
-	private class TafTVectorData implements Comparable<TafTVectorData> {
+	private static class TafTVector {
+
 		/**
-		 * Source server of the data set.
+		 * Source server of every pair by pair ID.
 		 */
-		private final Server sourceServer;
+		private final VirtualServer[] sourceServers;
 
 		/**
-		 * Target server of the data set.
+		 * Target server of every pair by pair ID.
 		 */
-		private final Server targetServer;
+		private final VirtualServer[] targetServers;
 
 		/**
-		 * Bandwidth between the two servers.
+		 * Heap of the keys of all remaining pairs.
 		 */
-		private final int bandwidth;
+		private final long[] heap;
 
 		/**
-		 * Constructor.
+		 * Number of remaining pairs.
+		 */
+		private int size;
+
+		/**
+		 * Constructor that builds the heap for the given pairs in linear time.
 		 *
-		 * @param sourceServer Source server.
-		 * @param targetServer Target server.
-		 * @param bandwidth    Bandwidth between source and target.
+		 * @param sourceServers Source server of every pair.
+		 * @param targetServers Target server of every pair.
+		 * @param bandwidths    Bandwidth of every pair.
 		 */
-		public TafTVectorData(final Server sourceServer, final Server targetServer, final int bandwidth) {
-			super();
-			this.sourceServer = sourceServer;
-			this.targetServer = targetServer;
-			this.bandwidth = bandwidth;
+		private TafTVector(final VirtualServer[] sourceServers, final VirtualServer[] targetServers,
+				final int[] bandwidths) {
+			this.sourceServers = sourceServers;
+			this.targetServers = targetServers;
+			this.size = bandwidths.length;
+			this.heap = new long[size];
+			for (int i = 0; i < size; i++) {
+				heap[i] = key(bandwidths[i], i);
+			}
+			for (int i = size / 2 - 1; i >= 0; i--) {
+				siftDown(i);
+			}
 		}
 
-		@Override
-		public int compareTo(final TafTVectorData obj) {
-			return bandwidth - obj.getBandwidth();
+		/**
+		 * Returns the key of a pair. The bandwidth is stored in the upper half and the
+		 * inverted pair ID in the lower half, i.e., a larger key has a larger bandwidth
+		 * or the same bandwidth and a smaller pair ID.
+		 *
+		 * @param bandwidth Bandwidth of the pair.
+		 * @param id        ID of the pair.
+		 * @return Key of the pair.
+		 */
+		private static long key(final int bandwidth, final int id) {
+			return ((long) bandwidth << 32) | (Integer.MAX_VALUE - id);
 		}
 
-		public int getBandwidth() {
-			return bandwidth;
+		/**
+		 * Removes the pair with the maximum bandwidth from the heap and returns its ID.
+		 *
+		 * @return ID of the pair with the maximum bandwidth.
+		 */
+		private int poll() {
+			if (size == 0) {
+				throw new IllegalStateException("The T vector is empty, but not all virtual servers are placed.");
+			}
+			final long top = heap[0];
+			heap[0] = heap[--size];
+			siftDown(0);
+			return Integer.MAX_VALUE - (int) top;
+		}
+
+		/**
+		 * Moves the key at a given heap position down until the heap property holds.
+		 *
+		 * @param pos Heap position.
+		 */
+		private void siftDown(final int pos) {
+			final long key = heap[pos];
+			int i = pos;
+			int child;
+			while ((child = 2 * i + 1) < size) {
+				if (child + 1 < size && heap[child + 1] > heap[child]) {
+					child++;
+				}
+				if (heap[child] <= key) {
+					break;
+				}
+				heap[i] = heap[child];
+				i = child;
+			}
+			heap[i] = key;
 		}
 
-		public Server getSourceServer() {
-			return sourceServer;
+		private VirtualServer getSourceServer(final int id) {
+			return sourceServers[id];
 		}
 
-		public Server getTargetServer() {
-			return targetServer;
+		private VirtualServer getTargetServer(final int id) {
+			return targetServers[id];
 		}
 
 	}
@@ -186,32 +272,47 @@ public class TafAlgorithm extends AbstractAlgorithm {
 	 * @param vNets Virtual network to generate embedding for.
 	 */
 	public TafAlgorithm(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		this(sNet, vNets, false);
+	}
+
+	/**
+	 * Constructor that initializes the instance of this algorithm for one or (in
+	 * batch mode) multiple virtual networks.
+	 *
+	 * @param sNet  Substrate network to embed virtual networks in.
+	 * @param vNets Virtual networks to generate embeddings for.
+	 * @param batch If true, the set of virtual networks may contain more than one
+	 *              virtual network.
+	 */
+	protected TafAlgorithm(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets, final boolean batch) {
 		super(sNet, vNets);
 
-		if (vNets.size() != 1) {
+		if (!batch && vNets.size() != 1) {
 			throw new IllegalArgumentException("The TAF algorithm is only suited for one virtual network at a time.");
 		}
 
-		// Add virtual links from model
-		final List<Link> vLinks = facade.getAllLinksOfNetwork(getFirstVnet().getName());
-		for (final Link l : vLinks) {
-			virtualLinks.add((VirtualLink) l);
-		}
-
-		// Add virtual servers from model
-		final List<Node> vServers = facade.getAllServersOfNetwork(getFirstVnet().getName());
-		for (final Node n : vServers) {
-			virtualServers.add((VirtualServer) n);
-		}
-
 		// Add substrate servers from model
 		final List<Node> sServers = facade.getAllServersOfNetwork(sNet.getName());
 		for (final Node n : sServers) {
 			substrateServers.add((SubstrateServer) n);
 		}
 
+		capacities = SubstrateCapacityIndex.of(sNet);
+
 		// Check pre-conditions
 		checkPreConditions();
+
+		// Precompute the positions of all substrate servers and their rack IDs
+		final Map<Node, Integer> rackIds = new HashMap<>();
+		rackOf = new int[substrateServers.size()];
+		for (int i = 0; i < substrateServers.size(); i++) {
+			final SubstrateServer s = substrateServers.get(i);
+			substrateServerIds.put(s, i);
+			final Node rack = s.getOutgoingLinks().get(0).getTarget();
+			rackOf[i] = rack instanceof Switch ? rackIds.computeIfAbsent(rack, k -> rackIds.size()) : -1;
+		}
+		vmsPerServer = new int[substrateServers.size()];
+		vmsPerRack = new int[rackIds.size()];
 	}
 
 	/**
@@ -226,9 +327,11 @@ public class TafAlgorithm extends AbstractAlgorithm {
 			}
 		}
 
-		// There has to be more than one virtual server
-		if (virtualServers.size() <= 1) {
-			throw new UnsupportedOperationException("There are not enough virtual servers available.");
+		// There has to be more than one virtual server (in every virtual network)
+		for (final VirtualNetwork vNet : vNets) {
+			if (vNet.getNodes().stream().filter(VirtualServer.class::isInstance).count() <= 1) {
+				throw new UnsupportedOperationException("There are not enough virtual servers available.");
+			}
 		}
 
 		// Path creation has to be enabled for paths with length = 1
@@ -255,32 +358,133 @@ public class TafAlgorithm extends AbstractAlgorithm {
 	}
 
 	/**
-	 * Starts the algorithm and embeds the generated mapping in the model.
+	 * Starts the algorithm and embeds the generated mappings in the model. All
+	 * virtual networks are placed one after another (see
+	 * {@link #getPlacementOrder()}) before the placements of all accepted virtual
+	 * networks are embedded in one deploy phase.
 	 *
-	 * @return True if execution was successful and a valid embedding was found.
+	 * @return True if execution was successful and a valid embedding was found for
+	 *         all virtual networks.
 	 */
 	@Override
 	public boolean execute() {
 		GlobalMetricsManager.measureMemory();
 
-		final boolean success = algorithm1();
+		final Map<VirtualNetwork, Map<VirtualServer, SubstrateServer>> placements = placeNetworks(
+				getPlacementOrder());
 		GlobalMetricsManager.dummyMemory();
-		if (success) {
+		if (!placements.isEmpty()) {
 			GlobalMetricsManager.startDeployTime();
-			embed();
+			placements.forEach(this::deploy);
 			GlobalMetricsManager.endDeployTime();
 		}
 
 		GlobalMetricsManager.measureMemory();
-		return success;
+		return placements.size() == vNets.size();
+	}
+
+	/**
+	 * Returns the virtual networks in the order they will be placed.
+	 *
+	 * @return Virtual networks in placement order.
+	 */
+	protected List<VirtualNetwork> getPlacementOrder() {
+		return List.of(getFirstVnet());
+	}
+
+	/**
+	 * Places the given virtual networks one after another. The placements of all
+	 * virtual networks are reserved in the capacity index until all virtual
+	 * networks are placed, i.e., every virtual network sees the placements of its
+	 * predecessors. The reservations of a virtual network that could not be placed
+	 * are released immediately.
+	 *
+	 * @param networks Virtual networks to place.
+	 * @return Placements (virtual -> substrate server) of all accepted virtual
+	 *         networks in placement order.
+	 */
+	private Map<VirtualNetwork, Map<VirtualServer, SubstrateServer>> placeNetworks(
+			final List<VirtualNetwork> networks) {
+		final Map<VirtualNetwork, Map<VirtualServer, SubstrateServer>> placements = new LinkedHashMap<>();
+
+		if (AlgorithmConfig.tafThreads > 1) {
+			pool = new ForkJoinPool(AlgorithmConfig.tafThreads);
+		}
+
+		try {
+			for (final VirtualNetwork vNet : networks) {
+				load(vNet);
+				if (algorithm1()) {
+					placements.put(vNet, new HashMap<>(placedVms));
+				} else {
+					placedVms.forEach((v, s) -> capacities.release(s, v.getCpu(), v.getMemory(), v.getStorage()));
+				}
+			}
+		} finally {
+			capacities.clearReservations();
+			if (pool != null) {
+				pool.shutdown();
+				pool = null;
+			}
+		}
+
+		return placements;
+	}
+
+	/**
+	 * Loads a virtual network and resets the state of the current placement.
+	 *
+	 * @param vNet Virtual network to load.
+	 */
+	private void load(final VirtualNetwork vNet) {
+		// Reset the counters of the previous placement (only the used entries)
+		for (final SubstrateServer s : placedVms.values()) {
+			final int server = substrateServerIds.get(s);
+			vmsPerServer[server] = 0;
+			if (rackOf[server] != -1) {
+				vmsPerRack[rackOf[server]] = 0;
+			}
+		}
+		usedServers = 0;
+		usedRacks = 0;
+		placedVms.clear();
+		virtualLinks.clear();
+		virtualServers.clear();
+
+		// Add virtual links and servers from model
+		currVnet = vNet;
+		for (final Link l : vNet.getLinks()) {
+			virtualLinks.add((VirtualLink) l);
+		}
+		for (final Node n : vNet.getNodes()) {
+			if (n instanceof VirtualServer) {
+				virtualServers.add((VirtualServer) n);
+			}
+		}
 	}
 
 	/**
-	 * Embeds the calculated mappings in the model.
+	 * Embeds a placement of a virtual network in the model.
+	 *
+	 * @param vNet      Virtual network to embed.
+	 * @param placement Placement (virtual -> substrate server) of the virtual
+	 *                  network.
+	 */
+	private void deploy(final VirtualNetwork vNet, final Map<VirtualServer, SubstrateServer> placement) {
+		load(vNet);
+		placement.forEach((v, s) -> {
+			placedVms.put(v, s);
+			count(s);
+		});
+		embed();
+	}
+
+	/**
+	 * Embeds the calculated mappings of the current virtual network in the model.
 	 */
 	private void embed() {
 		// Network
-		facade.embedNetworkToNetwork(sNet.getName(), getFirstVnet().getName());
+		facade.embedNetworkToNetwork(sNet.getName(), currVnet.getName());
 
 		// Embed all servers
 		for (final Entry<VirtualServer, SubstrateServer> m : placedVms.entrySet()) {
@@ -288,7 +492,8 @@ public class TafAlgorithm extends AbstractAlgorithm {
 		}
 
 		// Embed all links and the switch
-		final String vSwitchId = facade.getAllSwitchesOfNetwork(getFirstVnet().getName()).get(0).getName();
+		final String vSwitchId = currVnet.getNodes().stream().filter(Switch.class::isInstance).findFirst().get()
+				.getName();
 
 		if (allVirtualServersToOneSubstrateServer()) {
 			// If the virtual network can be placed onto one substrate server
@@ -412,15 +617,15 @@ public class TafAlgorithm extends AbstractAlgorithm {
 	private boolean algorithm1() {
 		// Require: pairwise traffic rate: T
 		// 1: Sort all elements in matrix T to a vector T in a decreasing order
-		final List<TafTVectorData> tvector = createTvector();
+		final TafTVector tvector = createTvector();
 
 		// 2: While at least one VM has not been placed do
-		while (!placedVms.keySet().containsAll(virtualServers)) {
+		while (placedVms.size() < virtualServers.size()) {
 
 			// 3: Let Vi and Vj be the PM pair with maximum rate Tij in the head of T
-			final TafTVectorData nextPair = tvector.get(0);
-			final VirtualServer serverVi = (VirtualServer) nextPair.getSourceServer();
-			final VirtualServer serverVj = (VirtualServer) nextPair.getTargetServer();
+			final int nextPair = tvector.poll();
+			final VirtualServer serverVi = tvector.getSourceServer(nextPair);
+			final VirtualServer serverVj = tvector.getTargetServer(nextPair);
 
 			// 4: If both Vi and Vj have not been placed then
 			if (!placedVms.containsKey(serverVi) && !placedVms.containsKey(serverVj)) {
@@ -436,19 +641,19 @@ public class TafAlgorithm extends AbstractAlgorithm {
 					if (substrateServerForVi == null) {
 						return false;
 					}
-					placedVms.put(serverVi, substrateServerForVi);
+					place(serverVi, substrateServerForVi);
 
 					// 8: Place Vj to Sd found by algorithm 2(Vj)
 					final SubstrateServer substrateServerForVj = algorithm2(Arrays.asList(serverVj));
 					if (substrateServerForVj == null) {
 						return false;
 					}
-					placedVms.put(serverVj, substrateServerForVj);
+					place(serverVj, substrateServerForVj);
 
 					// 9: End if
 				} else {
-					placedVms.put(serverVi, serverSd);
-					placedVms.put(serverVj, serverSd);
+					place(serverVi, serverSd);
+					place(serverVj, serverSd);
 				}
 
 				// 10: Else if only Vi has already been placed then
@@ -459,7 +664,7 @@ public class TafAlgorithm extends AbstractAlgorithm {
 				if (substrateServerForVj == null) {
 					return false;
 				}
-				placedVms.put(serverVj, substrateServerForVj);
+				place(serverVj, substrateServerForVj);
 
 				// 12: Else if only Vj has already been placed then
 			} else if (!placedVms.containsKey(serverVi) && placedVms.containsKey(serverVj)) {
@@ -469,13 +674,12 @@ public class TafAlgorithm extends AbstractAlgorithm {
 				if (substrateServerForVi == null) {
 					return false;
 				}
-				placedVms.put(serverVi, substrateServerForVi);
+				place(serverVi, substrateServerForVi);
 
 				// 14: End if
 			}
 
-			// 15: Remove Tij from T
-			tvector.remove(nextPair);
+			// 15: Remove Tij from T (already done by polling the head of T)
 
 			// 16: End while
 		}
@@ -491,43 +695,95 @@ public class TafAlgorithm extends AbstractAlgorithm {
 	 * @return The server to embed the virtual server
 	 */
 	private SubstrateServer algorithm2(final List<VirtualServer> listServerV) {
-		SubstrateServer serverSd = null;
-
 		// Require: A set of VMs V to be placed
 		// Ensure: Target server Sd
 
 		// 1: Sc <- empty list
-		final TreeSet<TafCommunicationCost> serverSc = new TreeSet<>();
+		// (Sc is not materialized, only its minimum is tracked, see argMin(...).)
+		final SubstrateServer[] candidates = getSubstrateServerCandidates(listServerV)
+				.toArray(new SubstrateServer[0]);
+
+		// 2-5: For all server S with enough residual resources satisfying all VMs in
+		// V: Calculate the incremental communication cost U after placing them on S
+		// and add S into the candidate server set Sc
+		final long min = pool != null ? pool.invoke(new ArgMinTask(listServerV, candidates, 0, candidates.length))
+				: argMin(listServerV, candidates, 0, candidates.length);
+
+		// 6: If Sc is not empty; then
+		// 7: Sd = arg minS2Sc U
+		// 8: Else
+		// 9: Sd null
+		// 10: End if
+		return min == NO_CANDIDATE ? null : candidates[(int) min];
+	}
 
-		// 2: For all server S with enough residual resources satisfying all VMs in V do
-		final List<SubstrateServer> serverSEnoughResources = getSubstrateServerCandidates(listServerV);
-		sortServerCollection(serverSEnoughResources);
+	/**
+	 * Returns the candidate with the minimal incremental communication cost within
+	 * a given range of the candidate array. The result encodes the cost in the
+	 * upper and the position of the candidate in the lower half, i.e., the minimum
+	 * of two results is the candidate with the lower cost or, for the same cost,
+	 * the lower position. Hence, the result does not depend on the order of the
+	 * evaluation.
+	 *
+	 * @param listServerV Virtual servers to place.
+	 * @param candidates  Substrate server candidates.
+	 * @param from        First position of the range (inclusive).
+	 * @param to          Last position of the range (exclusive).
+	 * @return Encoded candidate with the minimal cost or {@link #NO_CANDIDATE} if
+	 *         the range is empty.
+	 */
+	private long argMin(final List<VirtualServer> listServerV, final SubstrateServer[] candidates, final int from,
+			final int to) {
+		long min = NO_CANDIDATE;
+		for (int i = from; i < to; i++) {
+			final long incCommCost = calcIncrComCost(listServerV, candidates[i]);
+			min = Math.min(min, (incCommCost << 32) | i);
+		}
+		return min;
+	}
 
-		for (final SubstrateServer s : serverSEnoughResources) {
+	/**
+	 * Fork-join task that splits the candidate array into halves until a range is
+	 * small enough to evaluate it sequentially.
+	 */
+	private class ArgMinTask extends RecursiveTask<Long> {
 
-			// 3: Calculate the incremental communication cost U after placing them on S
-			final double incCommCost = calcIncrComCost(listServerV, s);
+		private static final long serialVersionUID = 1L;
 
-			// 4: Add S into the candidate server set Sc
-			serverSc.add(new TafCommunicationCost(incCommCost, s));
+		private final List<VirtualServer> listServerV;
+		private final SubstrateServer[] candidates;
+		private final int from;
+		private final int to;
 
-			// 5: End for
+		/**
+		 * Constructor.
+		 *
+		 * @param listServerV Virtual servers to place.
+		 * @param candidates  Substrate server candidates.
+		 * @param from        First position of the range (inclusive).
+		 * @param to          Last position of the range (exclusive).
+		 */
+		private ArgMinTask(final List<VirtualServer> listServerV, final SubstrateServer[] candidates, final int from,
+				final int to) {
+			this.listServerV = listServerV;
+			this.candidates = candidates;
+			this.from = from;
+			this.to = to;
 		}
 
-		// 6: If Sc is not empty; the
-		if (!serverSc.isEmpty()) {
-
-			// 7: Sd = arg minS2Sc U
-			serverSd = serverSc.first().getSubstrateServer();
-		} else {
-			// 8: Else
-			// 9: Sd null
-			serverSd = null;
+		@Override
+		protected Long compute() {
+			if (to - from <= PARALLEL_LEAF_SIZE) {
+				return argMin(listServerV, candidates, from, to);
+			}
 
-			// 10: End if
+			final int mid = (from + to) >>> 1;
+			final ArgMinTask left = new ArgMinTask(listServerV, candidates, from, mid);
+			left.fork();
+			final long right = new ArgMinTask(listServerV, candidates, mid, to).compute();
+			return Math.min(left.join(), right);
 		}
 
-		return serverSd;
 	}
 
 	/*
@@ -535,65 +791,49 @@ public class TafAlgorithm extends AbstractAlgorithm {
 	 */
 
 	/**
-	 * This method sorts the provided collection of servers in reverse order. It is
-	 * necessary, because the model classes Node and Server do not provide a custom
-	 * implementation of compareTo(obj o).
+	 * Creates the initial T vector.
 	 *
-	 * @param servers Collection of servers to sort.
-	 * @return Sorted list of provided substrate servers.
+	 * @return T vector as a max-heap.
 	 */
-	private List<SubstrateServer> sortServerCollection(final Collection<SubstrateServer> servers) {
-		final List<SubstrateServer> sorted = new LinkedList<>();
-		final List<String> names = new LinkedList<>();
-
-		for (final SubstrateServer s : servers) {
-			names.add(s.getName());
+	private TafTVector createTvector() {
+		// Collect all virtual links with a server as source or target once
+		final List<VirtualLink> sourceLinks = new ArrayList<>();
+		final List<VirtualLink> targetLinks = new ArrayList<>();
+		for (final VirtualLink l : virtualLinks) {
+			if (l.getSource() instanceof Server) {
+				sourceLinks.add(l);
+			}
+			if (l.getTarget() instanceof Server) {
+				targetLinks.add(l);
+			}
 		}
 
-		Collections.sort(names, Collections.reverseOrder());
-
-		for (final String n : names) {
-			for (final SubstrateServer s : servers) {
-				if (s.getName().equals(n)) {
-					sorted.add(s);
+		int size = 0;
+		for (final VirtualLink sourceLink : sourceLinks) {
+			for (final VirtualLink targetLink : targetLinks) {
+				if (!targetLink.getTarget().equals(sourceLink.getSource())) {
+					size++;
 				}
 			}
 		}
 
-		return sorted;
-	}
-
-	/**
-	 * Creates the initial T vector.
-	 *
-	 * @return T vector in reverse order.
-	 */
-	private List<TafTVectorData> createTvector() {
-		final List<TafTVectorData> tVector = new LinkedList<>();
-
-		// Extra collection for all virtual links, because the algorithm removes some of
-		// them.
-		final List<VirtualLink> processVirtualLinks = new LinkedList<>();
-
-		// Add all virtual links of the virtual network to the collection.
-		processVirtualLinks.addAll(virtualLinks);
-
-		// Do while there are virtual links left
-		while (!processVirtualLinks.isEmpty()) {
-			final VirtualLink sourceLink = processVirtualLinks.remove(0);
-			if (sourceLink.getSource() instanceof Server) {
-				for (final VirtualLink targetLink : virtualLinks) {
-					if (targetLink.getTarget() instanceof Server
-							&& !targetLink.getTarget().equals(sourceLink.getSource())) {
-						final int interVmTraffic = Math.max(sourceLink.getBandwidth(), targetLink.getBandwidth());
-						tVector.add(new TafTVectorData((VirtualServer) sourceLink.getSource(),
-								(VirtualServer) targetLink.getTarget(), interVmTraffic));
-					}
+		// Create all pairs in the order of the virtual links
+		final VirtualServer[] sourceServers = new VirtualServer[size];
+		final VirtualServer[] targetServers = new VirtualServer[size];
+		final int[] bandwidths = new int[size];
+		int i = 0;
+		for (final VirtualLink sourceLink : sourceLinks) {
+			for (final VirtualLink targetLink : targetLinks) {
+				if (!targetLink.getTarget().equals(sourceLink.getSource())) {
+					sourceServers[i] = (VirtualServer) sourceLink.getSource();
+					targetServers[i] = (VirtualServer) targetLink.getTarget();
+					bandwidths[i] = Math.max(sourceLink.getBandwidth(), targetLink.getBandwidth());
+					i++;
 				}
 			}
 		}
-		Collections.sort(tVector, Collections.reverseOrder());
-		return tVector;
+
+		return new TafTVector(sourceServers, targetServers, bandwidths);
 	}
 
 	/**
@@ -605,37 +845,43 @@ public class TafAlgorithm extends AbstractAlgorithm {
 	 *         all given virtual servers.
 	 */
 	private List<SubstrateServer> getSubstrateServerCandidates(final List<VirtualServer> listServerV) {
-		final List<SubstrateServer> candidates = new LinkedList<>();
-
 		// Sum required resources
 		final long sumCpu = listServerV.stream().mapToLong(e -> e.getCpu()).sum();
 		final long sumMem = listServerV.stream().mapToLong(e -> e.getMemory()).sum();
 		final long sumSto = listServerV.stream().mapToLong(e -> e.getStorage()).sum();
 
-		for (final SubstrateServer s : substrateServers) {
-			// Get residual resources of substrate server from model
-			long resCpu = s.getResidualCpu();
-			long resMem = s.getResidualMemory();
-			long resSto = s.getResidualStorage();
-
-			// Update residual resources of substrate server according to already created
-			// mappings
-			// (The mappings are not made in the model itself, yet!)
-			for (final VirtualServer vPlaced : placedVms.keySet()) {
-				if (placedVms.get(vPlaced).equals(s)) {
-					resCpu -= vPlaced.getCpu();
-					resMem -= vPlaced.getMemory();
-					resSto -= vPlaced.getStorage();
-				}
-			}
+		// The residual resources of the index already contain the reservations of all
+		// created mappings (the mappings are not made in the model itself, yet!)
+		return capacities.getCandidates(sumCpu, sumMem, sumSto);
+	}
 
-			// If requirements are fulfilled, add substrate server s to candidates
-			if (sumCpu <= resCpu && sumMem <= resMem && sumSto <= resSto) {
-				candidates.add(s);
-			}
-		}
+	/**
+	 * Places a virtual server on a substrate server and reserves its resources in
+	 * the capacity index.
+	 *
+	 * @param serverV Virtual server to place.
+	 * @param serverS Substrate server to place the virtual server on.
+	 */
+	private void place(final VirtualServer serverV, final SubstrateServer serverS) {
+		placedVms.put(serverV, serverS);
+		capacities.reserve(serverS, serverV.getCpu(), serverV.getMemory(), serverV.getStorage());
+		count(serverS);
+	}
 
-		return candidates;
+	/**
+	 * Counts a placed virtual server for the given substrate server and its rack.
+	 *
+	 * @param serverS Substrate server of the placed virtual server.
+	 */
+	private void count(final SubstrateServer serverS) {
+		final int server = substrateServerIds.get(serverS);
+		if (vmsPerServer[server]++ == 0) {
+			usedServers++;
+		}
+		final int rack = rackOf[server];
+		if (rack != -1 && vmsPerRack[rack]++ == 0) {
+			usedRacks++;
+		}
 	}
 
 	/**
@@ -648,17 +894,16 @@ public class TafAlgorithm extends AbstractAlgorithm {
 	 */
 	private int calcIncrComCost(final List<VirtualServer> listServerV, final SubstrateServer serverS) {
 		int cost;
-		final Set<Switch> rackSwitches = getRackSwitches();
-		final SubstrateLink link = (SubstrateLink) serverS.getOutgoingLinks().get(0);
-		final SubstrateNode node = (SubstrateNode) link.getTarget();
-		if (node instanceof Switch) {
-			rackSwitches.add((Switch) node);
-		}
+
+		// Number of rack switches of all placed virtual servers and the given
+		// substrate server
+		final int rack = rackOf[substrateServerIds.get(serverS)];
+		final int rackSwitches = rack != -1 && vmsPerRack[rack] == 0 ? usedRacks + 1 : usedRacks;
 
 		if (allVirtualServersToOneSubstrateServer()) {
 			// All servers are placed to one rack (intra-server)
 			cost = CostUtility.TAF_C_ALPHA;
-		} else if (rackSwitches.size() == 1) {
+		} else if (rackSwitches == 1) {
 			// All virtual servers are placed in one rack (inter-server and intra-rack)
 			cost = CostUtility.TAF_C_BETA;
 		} else {
@@ -677,7 +922,7 @@ public class TafAlgorithm extends AbstractAlgorithm {
 	 *         server.
 	 */
 	private boolean allVirtualServersToOneSubstrateServer() {
-		return Collections.frequency(placedVms.values(), placedVms.get(virtualServers.get(0))) == placedVms.size();
+		return placedVms.isEmpty() || (placedVms.containsKey(virtualServers.get(0)) && usedServers == 1);
 	}
 
 	/**
@@ -698,29 +943,4 @@ public class TafAlgorithm extends AbstractAlgorithm {
 		return true;
 	}
 
-	/**
-	 * Returns a set of all rack switches for all substrate servers with a mapped
-	 * virtual switch.
-	 *
-	 * @return Set of all rack switches for all substrate servers with a mapped
-	 *         virtual switch.
-	 */
-	private Set<Switch> getRackSwitches() {
-		final Set<Switch> rackSwitches = new HashSet<>();
-
-		// Iterate over all substrate servers with planned mappings
-		for (final SubstrateServer s : placedVms.values()) {
-			// Iterate over all outgoing links of this particular server
-			for (final Link l : s.getOutgoingLinks()) {
-				// Check if link target is a switch
-				final Node n = l.getTarget();
-				if (n instanceof Switch) {
-					rackSwitches.add((Switch) n);
-				}
-			}
-		}
-
-		return rackSwitches;
-	}
-
 }
@@ -0,0 +1,61 @@
+package algorithms.heuristics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import model.Node;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+import model.VirtualServer;
+
+/**
+ * Implementation of the TAF algorithm that embeds multiple virtual networks per
+ * invocation. The virtual networks are placed one after another in decreasing
+ * order of their resource demand (the sum of CPU, memory and storage of all
+ * virtual servers, ties are broken by the name). All placements share the
+ * substrate data of the algorithm and the capacity index, i.e., a virtual
+ * network sees the placements of its predecessors. The placements of all
+ * accepted virtual networks are embedded in one deploy phase at the end.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class TafBatchAlgorithm extends TafAlgorithm {
+
+	/**
+	 * Public constructor that initializes the instance of this algorithm.
+	 *
+	 * @param sNet  Substrate network to embed virtual networks in.
+	 * @param vNets Virtual networks to generate embeddings for.
+	 */
+	public TafBatchAlgorithm(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		super(sNet, vNets, true);
+	}
+
+	@Override
+	protected List<VirtualNetwork> getPlacementOrder() {
+		final List<VirtualNetwork> order = new ArrayList<>(vNets);
+		order.sort(Comparator.comparingLong(TafBatchAlgorithm::getDemand).reversed()
+				.thenComparing(VirtualNetwork::getName));
+		return order;
+	}
+
+	/**
+	 * Returns the total resource demand of a given virtual network.
+	 *
+	 * @param vNet Virtual network.
+	 * @return Sum of CPU, memory and storage of all virtual servers.
+	 */
+	private static long getDemand(final VirtualNetwork vNet) {
+		long demand = 0;
+		for (final Node n : vNet.getNodes()) {
+			if (n instanceof VirtualServer) {
+				final VirtualServer vsrv = (VirtualServer) n;
+				demand += vsrv.getCpu() + vsrv.getMemory() + vsrv.getStorage();
+			}
+		}
+		return demand;
+	}
+
+}
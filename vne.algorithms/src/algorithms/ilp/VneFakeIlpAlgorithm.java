@@ -12,12 +12,18 @@ import java.util.stream.Collectors;
 
 import algorithms.AbstractAlgorithm;
 import algorithms.AlgorithmConfig;
+import algorithms.SubstrateCapacityIndex;
 import facade.config.ModelFacadeConfig;
 import gt.PatternMatchingDelta;
 import gt.PatternMatchingDelta.Match;
 import ilp.wrapper.IlpDelta;
+import ilp.wrapper.IlpLazyConstraints;
+import ilp.wrapper.IlpPresolveReport;
 import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IlpStatisticsManager;
 import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.SolveHandle;
+import ilp.wrapper.SolverStatus;
 import ilp.wrapper.Statistics;
 import ilp.wrapper.config.IlpSolverConfig;
 import metrics.CostUtility;
@@ -66,6 +72,11 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		 */
 		protected final IlpDelta delta = new IlpDelta();
 
+		/**
+		 * Creation time of this generator in nanoseconds (start of the model build).
+		 */
+		private final long created = System.nanoTime();
+
 		/**
 		 * Mappings for the SOS1 constraints. Each virtual element IDs is a key and the
 		 * corresponding value is a list of virtual to substrate element ID mappings.
@@ -175,8 +186,7 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 			delta.setVariableWeightForConstraint("vl" + match.getVirtual().getName(), 1, varName);
 			delta.addLessOrEqualsConstraint("req" + varName, 0, new int[] { 2, -1, -1 },
 					new String[] { varName, sourceVarName, targetVarName });
-			forEachLink(sPath,
-					l -> delta.setVariableWeightForConstraint("sl" + l.getName(), vLink.getBandwidth(), varName));
+			forEachLink(sPath, l -> addBandwidthTerm(l, vLink.getBandwidth(), varName));
 			variablesToMatch.put(varName, match);
 
 			// SOS match
@@ -235,7 +245,28 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		 * @param link SubstrateLink to get information from.
 		 */
 		public void addNewSubstrateLink(final SubstrateLink link) {
-			delta.addLessOrEqualsConstraint("sl" + link.getName(), link.getResidualBandwidth());
+			if (lazyRows != null) {
+				lazyRows.addLessOrEqualsConstraint("sl" + link.getName(), link.getResidualBandwidth());
+			} else {
+				delta.addLessOrEqualsConstraint("sl" + link.getName(), link.getResidualBandwidth());
+			}
+		}
+
+		/**
+		 * Adds the bandwidth demand of a variable to the bandwidth constraint of a
+		 * substrate link. In lazy bandwidth mode, the term is added to the pooled
+		 * constraint.
+		 *
+		 * @param link      Substrate link.
+		 * @param bandwidth Bandwidth demand.
+		 * @param varName   Name of the variable.
+		 */
+		protected void addBandwidthTerm(final Link link, final double bandwidth, final String varName) {
+			if (lazyRows != null) {
+				lazyRows.setVariableWeightForConstraint("sl" + link.getName(), bandwidth, varName);
+			} else {
+				delta.setVariableWeightForConstraint("sl" + link.getName(), bandwidth, varName);
+			}
 		}
 
 		/**
@@ -279,6 +310,16 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 			for (final String key : sosMappings.keySet()) {
 				delta.addSosConstraint(key, sosMappings.get(key));
 			}
+			// Presolve the delta. The lazy bandwidth mode is skipped, because the
+			// presolver can not see the pooled constraints.
+			if (IlpSolverConfig.presolver != null && lazyRows == null) {
+				final IlpPresolveReport report = IlpSolverConfig.presolver.presolve(delta);
+				IlpStatisticsManager.addPresolveReport(report);
+				if (IlpSolverConfig.ENABLE_ILP_OUTPUT) {
+					System.out.println("=> " + report);
+				}
+			}
+			IlpStatisticsManager.addModelBuildTime(System.nanoTime() - created);
 			delta.apply(ilpSolver);
 		}
 
@@ -306,6 +347,12 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 	 */
 	protected final Set<VirtualNetwork> ignoredVnets = new HashSet<>();
 
+	/**
+	 * Pool of the lazily generated bandwidth constraints of the substrate links of
+	 * the current run. Null if the lazy bandwidth mode is not active.
+	 */
+	protected IlpLazyConstraints lazyRows = null;
+
 	/**
 	 * Constructor that gets the substrate as well as the virtual network.
 	 *
@@ -353,6 +400,7 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		if (this.ilpSolver != null) {
 			this.ilpSolver.dispose();
 		}
+		lazyRows = null;
 		instance = null;
 	}
 
@@ -449,19 +497,71 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 	 * @return Set of virtual networks that could not be embedded.
 	 */
 	protected Set<VirtualNetwork> solveIlp() {
+		final long start = System.currentTimeMillis();
+		SolveHandle handle = createSolveHandle(start);
+
 		GlobalMetricsManager.startIlpTime();
-		final Statistics solve = ilpSolver.solve();
+		Statistics solve = ilpSolver.solve(handle);
+		IlpStatisticsManager.addSolve(solve);
+
+		// Row generation: Add all violated bandwidth constraints and solve again
+		while (lazyRows != null && solve.isFeasible()) {
+			checkIncumbent(solve, handle);
+			if (lazyRows.addViolated(ilpSolver) == 0) {
+				break;
+			}
+			handle = createSolveHandle(start);
+			solve = ilpSolver.solve(handle);
+			IlpStatisticsManager.addSolve(solve);
+		}
 		GlobalMetricsManager.endIlpTime();
 		Set<VirtualNetwork> rejectedNetworks = new HashSet<>();
 		if (solve.isFeasible()) {
+			checkIncumbent(solve, handle);
 			GlobalMetricsManager.startDeployTime();
-			rejectedNetworks = updateMappingsAndEmbed(ilpSolver.getMappings());
+			rejectedNetworks = updateMappingsAndEmbed(ilpSolver.getSelectedVariables());
 		} else {
 			throw new IlpSolverException("Problem was infeasible.");
 		}
 		return rejectedNetworks;
 	}
 
+	/**
+	 * Creates a new solve handle that enforces the latency budget and the gap
+	 * limit. The latency budget covers all solver runs of an embedding request,
+	 * i.e., every handle only gets the remaining part of the budget.
+	 *
+	 * @param start Start of the first solver run (in milliseconds).
+	 * @return New solve handle or null if neither a latency budget nor a gap limit
+	 *         is configured.
+	 */
+	protected SolveHandle createSolveHandle(final long start) {
+		if (IlpSolverConfig.LATENCY_BUDGET <= 0 && IlpSolverConfig.GAP_LIMIT <= 0) {
+			return null;
+		}
+
+		long timeLimit = IlpSolverConfig.LATENCY_BUDGET;
+		if (timeLimit > 0) {
+			timeLimit = Math.max(1, timeLimit - (System.currentTimeMillis() - start));
+		}
+		return new SolveHandle(null, IlpSolverConfig.GAP_LIMIT, timeLimit);
+	}
+
+	/**
+	 * Checks that a (feasible) solver run that was stopped early found an
+	 * incumbent.
+	 *
+	 * @param solve  Statistics of the solver run.
+	 * @param handle Solve handle of the run (may be null).
+	 * @throws IlpSolverException If the run was stopped before an incumbent was
+	 *                            found.
+	 */
+	private void checkIncumbent(final Statistics solve, final SolveHandle handle) throws IlpSolverException {
+		if (handle != null && solve.getStatus() == SolverStatus.TIME_OUT && handle.getBestIncumbent() == null) {
+			throw new IlpSolverException("No solution was found within the latency budget.");
+		}
+	}
+
 	/**
 	 * Translates the given pattern matching delta to an ILP formulation.
 	 *
@@ -506,21 +606,13 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 	 * ignored networks.
 	 */
 	protected void checkOverallResources() {
-		// Calculate total residual resources for substrate servers Datatype long is
-		// needed, because of the possible large values of substrate server residual
-		// resources (e.g. from the diss scenario).
-		long subTotalResidualCpu = 0;
-		long subTotalResidualMem = 0;
-		long subTotalResidualSto = 0;
-
-		for (final Node n : sNet.getNodes()) {
-			if (n instanceof SubstrateServer) {
-				final SubstrateServer ssrv = (SubstrateServer) n;
-				subTotalResidualCpu += ssrv.getResidualCpu();
-				subTotalResidualMem += ssrv.getResidualMemory();
-				subTotalResidualSto += ssrv.getResidualStorage();
-			}
-		}
+		// Total residual resources for substrate servers. Datatype long is needed,
+		// because of the possible large values of substrate server residual resources
+		// (e.g. from the diss scenario).
+		final SubstrateCapacityIndex capacities = SubstrateCapacityIndex.of(sNet);
+		final long subTotalResidualCpu = capacities.getTotalResidualCpu();
+		final long subTotalResidualMem = capacities.getTotalResidualMemory();
+		final long subTotalResidualSto = capacities.getTotalResidualStorage();
 
 		for (final VirtualNetwork vNet : vNets) {
 			// Calculate needed resources for current virtual network candidate
@@ -663,22 +755,18 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 	}
 
 	/**
-	 * Updates and embeds the actual mappings for a given map of names (strings) and
-	 * booleans.
+	 * Updates and embeds the actual mappings for a given list of the names of all
+	 * chosen mappings.
 	 *
-	 * @param mappings Map of strings and booleans. The keys are mapping names and
-	 *                 the values define if the mapping was chosen.
+	 * @param selected List of the names of all chosen mappings (selected
+	 *                 variables).
 	 * @return Returns a set of all virtual networks that could not be embedded.
 	 */
-	protected Set<VirtualNetwork> updateMappingsAndEmbed(final Map<String, Boolean> mappings) {
+	protected Set<VirtualNetwork> updateMappingsAndEmbed(final List<String> selected) {
 		// Embed elements
 		final Set<VirtualNetwork> rejectedNetworks = new HashSet<>();
 
-		for (final String s : mappings.keySet()) {
-			if (!mappings.get(s)) {
-				continue;
-			}
-
+		for (final String s : selected) {
 			final Match m = variablesToMatch.get(s);
 
 			// Network -> Network (rejected)
@@ -713,11 +801,14 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 	}
 
 	/**
-	 * Initializes the algorithm by creating a new incremental solver object.
+	 * Initializes the algorithm by creating a new incremental solver object. If the
+	 * lazy bandwidth mode is active, a new pool for the bandwidth constraints will
+	 * be created.
 	 */
 	public void init() {
 		// Create new ILP solver object on every method call.
 		ilpSolver = IlpSolverConfig.getIlpSolver();
+		lazyRows = AlgorithmConfig.lazyBandwidth ? new IlpLazyConstraints() : null;
 	}
 
 	public void forEachLink(final SubstratePath sPath, final Consumer<? super Link> operation) {
@@ -1,8 +1,11 @@
 package algorithms.pm;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -12,20 +15,41 @@ import java.util.stream.Collectors;
 
 import algorithms.AbstractAlgorithm;
 import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.CacheRetention;
+import algorithms.AlgorithmConfig.Embedding;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.SubstrateCapacityIndex;
 import facade.config.ModelFacadeConfig;
+import gt.ElementIndex;
 import gt.IncrementalPatternMatcher;
+import gt.MatchSet;
+import gt.PatternMatchingConfig;
+import gt.PatternMatchingConfig.PatternMatcher;
 import gt.PatternMatchingDelta;
 import gt.PatternMatchingDelta.Match;
+import gt.PatternMatchingSink;
 import gt.emoflon.EmoflonGt;
 import gt.emoflon.EmoflonGtFactory;
+import gt.indexed.IndexedPatternMatcher;
+import gt.indexed.IndexedPatternMatcherFactory;
+import ilp.wrapper.IlpColumnPool;
+import ilp.wrapper.IlpColumnPool.Column;
 import ilp.wrapper.IlpDelta;
+import ilp.wrapper.IlpLazyConstraints;
+import ilp.wrapper.IlpPresolveReport;
 import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IlpStatisticsManager;
 import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.IncrementalIlpSolver.Constraint;
+import ilp.wrapper.SolveHandle;
+import ilp.wrapper.SolverStatus;
 import ilp.wrapper.Statistics;
 import ilp.wrapper.config.IlpSolverConfig;
 import metrics.CostUtility;
 import metrics.manager.GlobalMetricsManager;
+import model.Element;
 import model.Link;
+import model.Network;
 import model.Node;
 import model.SubstrateElement;
 import model.SubstrateLink;
@@ -70,6 +94,11 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 */
 		protected final IlpDelta delta = new IlpDelta();
 
+		/**
+		 * Creation time of this generator in nanoseconds (start of the model build).
+		 */
+		private final long created = System.nanoTime();
+
 		/**
 		 * Mappings for the SOS1 constraints. Each virtual element IDs is a key and the
 		 * corresponding value is a list of virtual to substrate element ID mappings.
@@ -79,6 +108,39 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 */
 		final Map<String, List<String>> sosMappings = new HashMap<>();
 
+		/**
+		 * Mapping variables of this delta whose matches disappeared within the run
+		 * that added them (see {@link #removeMatch(Match)}).
+		 */
+		private final Set<String> droppedVariables = new HashSet<>();
+
+		/**
+		 * Adds a variable to the delta and remembers it as part of the virtual
+		 * network(s) of this run.
+		 *
+		 * @param name           Name of the variable.
+		 * @param solutionWeight Weight of the variable in solution.
+		 */
+		protected void addVnrVariable(final String name, final double solutionWeight) {
+			delta.addVariable(name, solutionWeight);
+			vnrVariables.add(name);
+		}
+
+		/**
+		 * Returns true if a node mapping variable with the given name is part of the
+		 * delta (and was not dropped) or, if the persistent model mode is active,
+		 * already part of the solver's model.
+		 *
+		 * @param name Name of the variable.
+		 * @return True if the variable exists.
+		 */
+		protected boolean hasMappingVariable(final String name) {
+			if (droppedVariables.contains(name)) {
+				return false;
+			}
+			return delta.hasAddVariable(name) || (usePersistentModel() && ilpSolver.hasVariable(name));
+		}
+
 		/**
 		 * Adds a SOS1 mapping to the collection. This method immediately returns, if
 		 * the algorithm configuration option for SOS1 constraints is disabled.
@@ -106,7 +168,7 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 */
 		public void addNewNetworkMatch(final Match match) {
 			final VirtualNetwork vNet = (VirtualNetwork) match.getVirtual();
-			delta.addVariable("rej" + vNet.getName(), getNetRejCost(vNet));
+			addVnrVariable("rej" + vNet.getName(), getNetRejCost(vNet));
 			variablesToMatch.put("rej" + vNet.getName(), match);
 		}
 
@@ -131,14 +193,15 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 			final String sourceVarName = vLink.getSource().getName() + "_" + match.getSubstrate().getName();
 			final String targetVarName = vLink.getTarget().getName() + "_" + match.getSubstrate().getName();
 
-			if (!delta.hasAddVariable(sourceVarName) || !delta.hasAddVariable(targetVarName)) {
+			if (!hasMappingVariable(sourceVarName) || !hasMappingVariable(targetVarName)) {
 				return;
 			}
 
-			delta.addVariable(varName, getCost(vLink, (SubstrateNode) match.getSubstrate()));
+			addVnrVariable(varName, getCost(vLink, (SubstrateNode) match.getSubstrate()));
 			delta.setVariableWeightForConstraint("vl" + match.getVirtual().getName(), 1, varName);
 			delta.addLessOrEqualsConstraint("req" + varName, 0, new int[] { 2, -1, -1 },
 					new String[] { varName, sourceVarName, targetVarName });
+			vnrConstraints.add("req" + varName);
 			variablesToMatch.put(varName, match);
 
 			// SOS match
@@ -169,18 +232,30 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 			final String sourceVarName = vLink.getSource().getName() + "_" + sPath.getSource().getName();
 			final String targetVarName = vLink.getTarget().getName() + "_" + sPath.getTarget().getName();
 
-			if (!delta.hasAddVariable(sourceVarName) || !delta.hasAddVariable(targetVarName)) {
+			if (!hasMappingVariable(sourceVarName) || !hasMappingVariable(targetVarName)) {
 				return;
 			}
 
 			final String varName = match.getVirtual().getName() + "_" + match.getSubstrate().getName();
 
-			delta.addVariable(varName, getCost(vLink, sPath));
+			// Column generation: Long paths are not part of the restricted model
+			if (columnPool != null && sPath.getHops() > AlgorithmConfig.pmColGenInitialHops) {
+				final Column column = new Column(varName, getCost(vLink, sPath));
+				column.addTerm("vl" + match.getVirtual().getName(), 1);
+				forEachLink(sPath, l -> column.addTerm("sl" + l.getName(), vLink.getBandwidth()));
+				column.addLessOrEqualsConstraint(new Constraint("req" + varName, 0).addVar(varName, 2)
+						.addVar(sourceVarName, -1).addVar(targetVarName, -1));
+				columnPool.add(column);
+				variablesToMatch.put(varName, match);
+				return;
+			}
+
+			addVnrVariable(varName, getCost(vLink, sPath));
 			delta.setVariableWeightForConstraint("vl" + match.getVirtual().getName(), 1, varName);
 			delta.addLessOrEqualsConstraint("req" + varName, 0, new int[] { 2, -1, -1 },
 					new String[] { varName, sourceVarName, targetVarName });
-			forEachLink(sPath,
-					l -> delta.setVariableWeightForConstraint("sl" + l.getName(), vLink.getBandwidth(), varName));
+			vnrConstraints.add("req" + varName);
+			forEachLink(sPath, l -> addBandwidthTerm(l, vLink.getBandwidth(), varName));
 			variablesToMatch.put(varName, match);
 
 			// SOS match
@@ -195,7 +270,7 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		public void addServerMatch(final Match match) {
 			final VirtualServer vServer = (VirtualServer) facade.getServerById(match.getVirtual().getName());
 			final String varName = match.getVirtual().getName() + "_" + match.getSubstrate().getName();
-			delta.addVariable(varName, getCost(vServer, (SubstrateServer) match.getSubstrate()));
+			addVnrVariable(varName, getCost(vServer, (SubstrateServer) match.getSubstrate()));
 			delta.setVariableWeightForConstraint("vs" + match.getVirtual().getName(), 1, varName);
 
 			delta.setVariableWeightForConstraint("cpu" + match.getSubstrate().getName(), vServer.getCpu(), varName);
@@ -214,7 +289,7 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 */
 		public void addSwitchMatch(final Match match) {
 			final String varName = match.getVirtual().getName() + "_" + match.getSubstrate().getName();
-			delta.addVariable(varName, getCost((VirtualNode) match.getVirtual(), (SubstrateNode) match.getSubstrate()));
+			addVnrVariable(varName, getCost((VirtualNode) match.getVirtual(), (SubstrateNode) match.getSubstrate()));
 			delta.setVariableWeightForConstraint("vw" + match.getVirtual().getName(), 1, varName);
 			variablesToMatch.put(varName, match);
 
@@ -222,6 +297,51 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 			addSosMappings(match.getVirtual().getName(), varName);
 		}
 
+		/**
+		 * Removes the mapping variable of a disappeared match. If the variable was
+		 * already added to this delta (i.e., its match was streamed into the delta
+		 * earlier in the same run), it is dropped by fixing it to zero, which also
+		 * rules out all link variables that depend on it. Otherwise, the variable is
+		 * removed from the solver's model, if the persistent model mode is active and
+		 * the variable is part of it. Without the persistent model, the model is built
+		 * from scratch and does not contain the variable anyway.
+		 *
+		 * @param match Disappeared match.
+		 */
+		public void removeMatch(final Match match) {
+			final String varName = match.getVirtual().getName() + "_" + match.getSubstrate().getName();
+			if (delta.hasAddVariable(varName)) {
+				if (droppedVariables.add(varName)) {
+					delta.changeVariableBounds(varName, 0, 0);
+					variablesToMatch.remove(varName);
+				}
+			} else if (usePersistentModel() && ilpSolver.hasVariable(varName)) {
+				delta.removeVariable(varName);
+				vnrVariables.remove(varName);
+				variablesToMatch.remove(varName);
+			}
+		}
+
+		/**
+		 * Restores the mapping variable of a match that appeared again within the
+		 * same run after it was dropped (see {@link #removeMatch(Match)}). All terms
+		 * of the variable are still part of this delta, hence only its bounds are
+		 * reset.
+		 *
+		 * @param match Re-appeared match.
+		 * @return True if the variable was restored, false if the match must be added
+		 *         as a new one.
+		 */
+		public boolean restoreMatch(final Match match) {
+			final String varName = match.getVirtual().getName() + "_" + match.getSubstrate().getName();
+			if (!droppedVariables.remove(varName)) {
+				return false;
+			}
+			delta.changeVariableBounds(varName, 0, 1);
+			variablesToMatch.put(varName, match);
+			return true;
+		}
+
 		/**
 		 * Adds a new substrate server.
 		 *
@@ -233,13 +353,79 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 			delta.addLessOrEqualsConstraint("sto" + server.getName(), (int) server.getResidualStorage());
 		}
 
+		/**
+		 * Updates the right hand sides of the capacity constraints of an already
+		 * existing substrate server (if they have changed).
+		 *
+		 * @param server SubstrateServer to get information from.
+		 */
+		public void updateSubstrateServer(final SubstrateServer server) {
+			updateSubstrateRight("cpu" + server.getName(), (int) server.getResidualCpu());
+			updateSubstrateRight("mem" + server.getName(), (int) server.getResidualMemory());
+			updateSubstrateRight("sto" + server.getName(), (int) server.getResidualStorage());
+		}
+
 		/**
 		 * Adds a new substrate link.
 		 *
 		 * @param link SubstrateLink to get information from.
 		 */
 		public void addNewSubstrateLink(final SubstrateLink link) {
-			delta.addLessOrEqualsConstraint("sl" + link.getName(), link.getResidualBandwidth());
+			if (lazyRows != null) {
+				lazyRows.addLessOrEqualsConstraint("sl" + link.getName(), link.getResidualBandwidth());
+			} else {
+				delta.addLessOrEqualsConstraint("sl" + link.getName(), link.getResidualBandwidth());
+			}
+		}
+
+		/**
+		 * Adds the bandwidth demand of a variable to the bandwidth constraint of a
+		 * substrate link. In lazy bandwidth mode, the term is added to the pooled
+		 * constraint.
+		 *
+		 * @param link      Substrate link.
+		 * @param bandwidth Bandwidth demand.
+		 * @param varName   Name of the variable.
+		 */
+		protected void addBandwidthTerm(final Link link, final double bandwidth, final String varName) {
+			if (lazyRows != null) {
+				lazyRows.setVariableWeightForConstraint("sl" + link.getName(), bandwidth, varName);
+			} else {
+				delta.setVariableWeightForConstraint("sl" + link.getName(), bandwidth, varName);
+			}
+		}
+
+		/**
+		 * Updates the right hand side of the bandwidth constraint of an already
+		 * existing substrate link (if it has changed).
+		 *
+		 * @param link SubstrateLink to get information from.
+		 */
+		public void updateSubstrateLink(final SubstrateLink link) {
+			updateSubstrateRight("sl" + link.getName(), link.getResidualBandwidth());
+		}
+
+		/**
+		 * Sets the right hand side of a persistent substrate constraint if it differs
+		 * from the value currently present in the solver's model.
+		 *
+		 * @param name  Name of the substrate constraint.
+		 * @param right New value of the right hand side.
+		 */
+		private void updateSubstrateRight(final String name, final double right) {
+			final Double old = substrateRights.put(name, right);
+			if (old == null || old != right) {
+				delta.setConstraintRight(name, right);
+			}
+		}
+
+		/**
+		 * Removes a persistent substrate constraint from the solver's model.
+		 *
+		 * @param name Name of the substrate constraint.
+		 */
+		public void removeSubstrateConstraint(final String name) {
+			delta.removeConstraint(name);
 		}
 
 		/**
@@ -249,6 +435,7 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 */
 		public void addNewVirtualServer(final VirtualServer server) {
 			delta.addEqualsConstraint("vs" + server.getName(), 1);
+			vnrConstraints.add("vs" + server.getName());
 			delta.setVariableWeightForConstraint("vs" + server.getName(), 1, "rej" + server.getNetwork().getName());
 		}
 
@@ -259,6 +446,7 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 */
 		public void addNewVirtualSwitch(final VirtualSwitch sw) {
 			delta.addEqualsConstraint("vw" + sw.getName(), 1);
+			vnrConstraints.add("vw" + sw.getName());
 			delta.setVariableWeightForConstraint("vw" + sw.getName(), 1, "rej" + sw.getNetwork().getName());
 		}
 
@@ -269,6 +457,7 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 */
 		public void addNewVirtualLink(final VirtualLink link) {
 			delta.addEqualsConstraint("vl" + link.getName(), 1);
+			vnrConstraints.add("vl" + link.getName());
 			delta.setVariableWeightForConstraint("vl" + link.getName(), 1, "rej" + link.getNetwork().getName());
 		}
 
@@ -283,11 +472,210 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 			for (final String key : sosMappings.keySet()) {
 				delta.addSosConstraint(key, sosMappings.get(key));
 			}
+			// Presolve the delta. The persistent model is skipped, because later deltas
+			// reference its elements by name. The lazy bandwidth mode and the column
+			// generation are skipped, because the presolver can not see the pooled
+			// constraints and columns.
+			if (IlpSolverConfig.presolver != null && !usePersistentModel() && lazyRows == null
+					&& columnPool == null) {
+				final IlpPresolveReport report = IlpSolverConfig.presolver.presolve(delta);
+				IlpStatisticsManager.addPresolveReport(report);
+				if (IlpSolverConfig.ENABLE_ILP_OUTPUT) {
+					System.out.println("=> " + report);
+				}
+			}
+			IlpStatisticsManager.addModelBuildTime(System.nanoTime() - created);
 			delta.apply(ilpSolver);
 		}
 
 	}
 
+	/**
+	 * Pattern matching sink that translates every match into the ILP formulation
+	 * as soon as the pattern matcher reports it. The node matches are translated
+	 * immediately. A link match is only translated immediately if the mapping
+	 * variables of both endpoints are already known (and the persistent model is
+	 * inactive, because its node variables may still disappear within the run).
+	 * All other link matches are kept in compact match sets until
+	 * {@link #flush()} is called after the pattern matcher finished, which
+	 * preserves the node-before-link order of {@link #delta2Ilp}. A match that
+	 * disappears within the run is removed from the pending matches or, if it was
+	 * already translated, dropped from the delta again.
+	 *
+	 * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+	 */
+	protected class IlpMatchSink implements PatternMatchingSink {
+
+		/**
+		 * ILP delta generator that receives all matches.
+		 */
+		private final IlpDeltaGenerator gen;
+
+		/**
+		 * Index of the elements of all pending link matches.
+		 */
+		private final ElementIndex index = new ElementIndex();
+
+		/**
+		 * Pending link to path and link to server matches.
+		 */
+		private final MatchSet pendingLinkPaths = new MatchSet(index);
+		private final MatchSet pendingLinkServers = new MatchSet(index);
+
+		/**
+		 * Creates a new sink for a given ILP delta generator.
+		 *
+		 * @param gen ILP delta generator that receives all matches.
+		 */
+		public IlpMatchSink(final IlpDeltaGenerator gen) {
+			this.gen = gen;
+		}
+
+		/**
+		 * Returns true if the given virtual network is part of the current run.
+		 *
+		 * @param vNet Virtual network to check.
+		 * @return True if the virtual network is part of the current run.
+		 */
+		private boolean isActive(final Network vNet) {
+			return !ignoredVnets.contains(vNet) && vNets.contains(vNet);
+		}
+
+		/**
+		 * Returns true if the mapping variables of both endpoints of the given virtual
+		 * link onto the given substrate nodes are known.
+		 *
+		 * @param vLink  Virtual link.
+		 * @param source Substrate node for the source of the virtual link.
+		 * @param target Substrate node for the target of the virtual link.
+		 * @return True if the link match can be translated immediately.
+		 */
+		private boolean hasEndpoints(final VirtualLink vLink, final Node source, final Node target) {
+			return !usePersistentModel()
+					&& gen.hasMappingVariable(vLink.getSource().getName() + "_" + source.getName())
+					&& gen.hasMappingVariable(vLink.getTarget().getName() + "_" + target.getName());
+		}
+
+		/**
+		 * Removes a pending link match whose match disappeared before it was
+		 * translated.
+		 *
+		 * @param pending   Set of the pending link matches.
+		 * @param virtual   Virtual element of the match.
+		 * @param substrate Substrate element of the match.
+		 * @return True if the match was pending.
+		 */
+		private boolean removePending(final MatchSet pending, final Element virtual, final Element substrate) {
+			final int v = index.getId(virtual);
+			final int s = index.getId(substrate);
+			return v >= 0 && s >= 0 && pending.remove(ElementIndex.pair(v, s));
+		}
+
+		@Override
+		public void addServerMatchPositive(final Element virtual, final Element substrate) {
+			final Match match = new Match(virtual, substrate);
+			if (isActive(((VirtualServer) virtual).getNetwork()) && !gen.restoreMatch(match)) {
+				gen.addServerMatch(match);
+			}
+		}
+
+		@Override
+		public void addSwitchMatchPositive(final Element virtual, final Element substrate) {
+			final Match match = new Match(virtual, substrate);
+			if (isActive(((VirtualSwitch) virtual).getNetwork()) && !gen.restoreMatch(match)) {
+				gen.addSwitchMatch(match);
+			}
+		}
+
+		@Override
+		public void addLinkPathMatchPositive(final Element virtual, final Element substrate) {
+			final VirtualLink vLink = (VirtualLink) virtual;
+			if (!isActive(vLink.getNetwork())) {
+				return;
+			}
+
+			final Match match = new Match(virtual, substrate);
+			final SubstratePath sPath = (SubstratePath) substrate;
+			if (gen.restoreMatch(match)) {
+				return;
+			} else if (hasEndpoints(vLink, sPath.getSource(), sPath.getTarget())) {
+				gen.addLinkPathMatch(match);
+			} else {
+				pendingLinkPaths.add(ElementIndex.pair(index.intern(virtual), index.intern(substrate)));
+			}
+		}
+
+		@Override
+		public void addLinkServerMatchPositive(final Element virtual, final Element substrate) {
+			final VirtualLink vLink = (VirtualLink) virtual;
+			if (!isActive(vLink.getNetwork())) {
+				return;
+			}
+
+			final Match match = new Match(virtual, substrate);
+			if (gen.restoreMatch(match)) {
+				return;
+			} else if (hasEndpoints(vLink, (Node) substrate, (Node) substrate)) {
+				gen.addLinkServerMatch(match);
+			} else {
+				pendingLinkServers.add(ElementIndex.pair(index.intern(virtual), index.intern(substrate)));
+			}
+		}
+
+		@Override
+		public void addNetworkServerMatchPositive(final Element virtual, final Element substrate) {
+			// Network to server matches are not part of this ILP formulation
+		}
+
+		@Override
+		public void addServerMatchNegative(final Element virtual, final Element substrate) {
+			gen.removeMatch(new Match(virtual, substrate));
+		}
+
+		@Override
+		public void addSwitchMatchNegative(final Element virtual, final Element substrate) {
+			gen.removeMatch(new Match(virtual, substrate));
+		}
+
+		@Override
+		public void addLinkPathMatchNegative(final Element virtual, final Element substrate) {
+			if (!removePending(pendingLinkPaths, virtual, substrate)) {
+				gen.removeMatch(new Match(virtual, substrate));
+			}
+		}
+
+		@Override
+		public void addLinkServerMatchNegative(final Element virtual, final Element substrate) {
+			if (!removePending(pendingLinkServers, virtual, substrate)) {
+				gen.removeMatch(new Match(virtual, substrate));
+			}
+		}
+
+		@Override
+		public void addNetworkServerMatchNegative(final Element virtual, final Element substrate) {
+			// Network to server matches are not part of this ILP formulation
+		}
+
+		/**
+		 * Translates all pending link matches. Must be called after the pattern
+		 * matcher reported all matches of the run.
+		 */
+		public void flush() {
+			pendingLinkPaths.forEachMatch((v, s) -> gen.addLinkPathMatch(new Match(v, s)));
+			pendingLinkServers.forEachMatch((v, s) -> gen.addLinkServerMatch(new Match(v, s)));
+			pendingLinkPaths.clear();
+			pendingLinkServers.clear();
+			index.clear();
+		}
+
+	}
+
+	/**
+	 * Absolute tolerance for the comparison of the cost of a fast path placement
+	 * with its accepted maximum cost.
+	 */
+	private static final double FAST_PATH_EPSILON = 1e-9;
+
 	/**
 	 * Algorithm instance (singleton).
 	 */
@@ -315,6 +703,45 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 	 */
 	protected final Set<VirtualNetwork> ignoredVnets = new HashSet<>();
 
+	/**
+	 * Names of all variables of the virtual network(s) of the current run (in the
+	 * order of their creation). In persistent model mode, they will be removed
+	 * from the solver's model after the run.
+	 */
+	protected final Set<String> vnrVariables = new LinkedHashSet<>();
+
+	/**
+	 * Names of all constraints of the virtual network(s) of the current run. In
+	 * persistent model mode, they will be removed from the solver's model after
+	 * the run.
+	 */
+	protected final List<String> vnrConstraints = new LinkedList<>();
+
+	/**
+	 * Right hand sides of all substrate constraints (by name) currently present in
+	 * the persistent solver's model. This map is empty if the persistent model mode
+	 * is disabled or if the substrate constraints were not yet created.
+	 */
+	protected final Map<String, Double> substrateRights = new HashMap<>();
+
+	/**
+	 * Names of all selected variables of the last feasible ILP solution. These can
+	 * be used as (partial) start solution for subsequent solver calls.
+	 */
+	protected List<String> lastSolution = null;
+
+	/**
+	 * Pool of the lazily generated bandwidth constraints of the substrate links of
+	 * the current run. Null if the lazy bandwidth mode is not active.
+	 */
+	protected IlpLazyConstraints lazyRows = null;
+
+	/**
+	 * Pool of the link to path variables of the current run that are generated by
+	 * column generation. Null if the column generation is not active.
+	 */
+	protected IlpColumnPool columnPool = null;
+
 	/**
 	 * Constructor that gets the substrate as well as the virtual network.
 	 *
@@ -365,13 +792,18 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		if (this.patternMatcher != null) {
 			this.patternMatcher.dispose();
 		}
+		substrateRights.clear();
+		lastSolution = null;
+		lazyRows = null;
+		columnPool = null;
+		vnrVariables.clear();
+		vnrConstraints.clear();
 		instance = null;
 	}
 
 	@Override
 	public boolean execute() {
 		GlobalMetricsManager.measureMemory();
-		init();
 
 		// Check overall embedding possibility
 		checkOverallResources();
@@ -382,25 +814,337 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		// Repair model consistency: Virtual network(s)
 		final Set<VirtualNetwork> repairedVnets = repairVirtualNetworks();
 		if (!repairedVnets.isEmpty()) {
-			this.patternMatcher = new EmoflonGtFactory().create();
+			resetPatternMatcher();
 		}
 		vNets.addAll(repairedVnets);
 
-		GlobalMetricsManager.startPmTime();
-		final PatternMatchingDelta delta = patternMatcher.run();
-		GlobalMetricsManager.endPmTime();
+		// Greedy fast path: Skips the pattern matching and the ILP solver (and its
+		// initialization) if all virtual networks could be embedded
+		if (AlgorithmConfig.pmFastPath && embedFastPath()) {
+			evictVnrs(vNets, Set.of());
+			GlobalMetricsManager.endDeployTime();
+			GlobalMetricsManager.measureMemory();
+			return true;
+		}
 
-		delta2Ilp(delta);
+		init();
+		GlobalMetricsManager.startPmTime();
+		if (AlgorithmConfig.pmStreaming) {
+			streamMatches2Ilp();
+		} else {
+			final PatternMatchingDelta delta = patternMatcher.run();
+			GlobalMetricsManager.endPmTime();
+			delta2Ilp(delta);
+		}
 		GlobalMetricsManager.measureMemory();
 		final Set<VirtualNetwork> rejectedNetworks = solveIlp();
 
 		rejectedNetworks.addAll(ignoredVnets);
 		embedNetworks(rejectedNetworks);
+		removeVnrsFromSolver();
+		evictVnrs(vNets, rejectedNetworks);
 		GlobalMetricsManager.endDeployTime();
 		GlobalMetricsManager.measureMemory();
 		return rejectedNetworks.isEmpty();
 	}
 
+	/**
+	 * Tries to embed all virtual networks of the current run with the greedy fast
+	 * path: Every virtual network is placed completely onto the first substrate
+	 * server (in the order of the substrate network) that has enough free
+	 * resources for all of its virtual servers and whose cost is within
+	 * {@link AlgorithmConfig#pmFastPathGap} of the lower bound of the cost of the
+	 * virtual network. The placements of the previous virtual networks of the run
+	 * are reserved in the capacity index and the residual dependent costs are
+	 * computed from the free resources of the index. All virtual networks are
+	 * embedded if (and only if) every one of them has an accepted placement.
+	 * Otherwise, nothing is embedded and the pattern matching and the ILP solver
+	 * have to be used.
+	 *
+	 * @return True if all virtual networks were embedded by the fast path.
+	 */
+	protected boolean embedFastPath() {
+		final SubstrateCapacityIndex capacities = SubstrateCapacityIndex.of(sNet);
+		final Map<VirtualNetwork, SubstrateServer> placements = new LinkedHashMap<>();
+		try {
+			for (final VirtualNetwork vNet : vNets) {
+				if (ignoredVnets.contains(vNet)) {
+					return false;
+				}
+				final SubstrateServer host = placeFastPath(vNet, capacities);
+				if (host == null) {
+					return false;
+				}
+				placements.put(vNet, host);
+			}
+		} finally {
+			capacities.clearReservations();
+		}
+
+		GlobalMetricsManager.startDeployTime();
+		placements.forEach((vNet, host) -> {
+			for (final Node n : vNet.getNodes()) {
+				embedManually((VirtualElement) n, host);
+			}
+			for (final Link l : vNet.getLinks()) {
+				embedManually((VirtualElement) l, host);
+			}
+			facade.embedNetworkToNetwork(sNet.getName(), vNet.getName());
+		});
+		return true;
+	}
+
+	/**
+	 * Finds the fast path placement of a given virtual network, i.e., the first
+	 * substrate server that can host all virtual elements of the network and whose
+	 * cost is within the accepted gap (first fit). If a placement is accepted, its
+	 * resources get reserved in the given capacity index.
+	 *
+	 * @param vNet       Virtual network to place.
+	 * @param capacities Capacity index of the substrate network.
+	 * @return Substrate server to host the virtual network or null if there is no
+	 *         accepted placement.
+	 */
+	protected SubstrateServer placeFastPath(final VirtualNetwork vNet, final SubstrateCapacityIndex capacities) {
+		long cpu = 0;
+		long mem = 0;
+		long sto = 0;
+		for (final Node n : vNet.getNodes()) {
+			if (n instanceof VirtualServer) {
+				final VirtualServer vsrv = (VirtualServer) n;
+				cpu += vsrv.getCpu();
+				mem += vsrv.getMemory();
+				sto += vsrv.getStorage();
+			}
+		}
+
+		final List<SubstrateServer> candidates = capacities.getCandidates(cpu, mem, sto);
+		if (candidates.isEmpty()) {
+			return null;
+		}
+
+		final double maxCost = getFastPathLowerBound(vNet, candidates.get(0), capacities)
+				* (1 + AlgorithmConfig.pmFastPathGap) + FAST_PATH_EPSILON;
+		for (final SubstrateServer candidate : candidates) {
+			if (getFastPathCost(vNet, candidate, capacities) <= maxCost) {
+				capacities.reserve(candidate, cpu, mem, sto);
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the cost of the embedding of all virtual elements of a given virtual
+	 * network onto a given substrate server.
+	 *
+	 * @param vNet       Virtual network.
+	 * @param host       Substrate server.
+	 * @param capacities Capacity index of the substrate network.
+	 * @return Cost of the embedding (as used in the objective of the ILP).
+	 */
+	protected double getFastPathCost(final VirtualNetwork vNet, final SubstrateServer host,
+			final SubstrateCapacityIndex capacities) {
+		double cost = 0;
+		for (final Node n : vNet.getNodes()) {
+			cost += getFastPathNodeCost((VirtualNode) n, host, capacities);
+		}
+		for (final Link l : vNet.getLinks()) {
+			cost += getCost((VirtualLink) l, host);
+		}
+		return cost;
+	}
+
+	/**
+	 * Returns a lower bound of the cost of every embedding of a given virtual
+	 * network. It is the sum of the minimal cost of every virtual element: A
+	 * virtual node is placed onto the cheapest substrate node that could host it
+	 * (regardless of its free resources) and a virtual link is placed onto a
+	 * substrate server, because no cost function rates a substrate path cheaper
+	 * than a substrate server. The node cost functions only depend on the type of
+	 * the virtual node, hence, the minimal cost is only searched once per type.
+	 *
+	 * @param vNet       Virtual network.
+	 * @param server     Any substrate server to calculate the link cost with.
+	 * @param capacities Capacity index of the substrate network.
+	 * @return Lower bound of the cost of every embedding of the virtual network.
+	 */
+	protected double getFastPathLowerBound(final VirtualNetwork vNet, final SubstrateServer server,
+			final SubstrateCapacityIndex capacities) {
+		double bound = 0;
+		double minServerCost = -1;
+		double minSwitchCost = -1;
+		for (final Node n : vNet.getNodes()) {
+			if (n instanceof VirtualServer) {
+				if (minServerCost < 0) {
+					minServerCost = getMinNodeCost((VirtualNode) n, true, capacities);
+				}
+				bound += minServerCost;
+			} else if (n instanceof VirtualSwitch) {
+				if (minSwitchCost < 0) {
+					minSwitchCost = getMinNodeCost((VirtualNode) n, false, capacities);
+				}
+				bound += minSwitchCost;
+			}
+		}
+		for (final Link l : vNet.getLinks()) {
+			bound += getCost((VirtualLink) l, server);
+		}
+		return bound;
+	}
+
+	/**
+	 * Returns the minimal cost of a given virtual node over all substrate nodes.
+	 *
+	 * @param virt        Virtual node.
+	 * @param serversOnly If true, only substrate servers are considered as hosts.
+	 * @param capacities  Capacity index of the substrate network.
+	 * @return Minimal cost of the virtual node.
+	 */
+	private double getMinNodeCost(final VirtualNode virt, final boolean serversOnly,
+			final SubstrateCapacityIndex capacities) {
+		double min = Double.MAX_VALUE;
+		for (final Node n : sNet.getNodes()) {
+			if (!serversOnly || n instanceof SubstrateServer) {
+				min = Math.min(min, getFastPathNodeCost(virt, (SubstrateNode) n, capacities));
+			}
+		}
+		return min;
+	}
+
+	/**
+	 * Returns the cost of the embedding of a virtual node onto a substrate node for
+	 * the fast path. If the node cost depends on the residual resources, the cost
+	 * of a virtual server is computed from the free resources of the capacity
+	 * index, i.e., including the reservations of the previous virtual networks of
+	 * the run.
+	 *
+	 * @param virt       Virtual node.
+	 * @param host       Substrate node.
+	 * @param capacities Capacity index of the substrate network.
+	 * @return Cost of the embedding (as used in the objective of the ILP).
+	 */
+	private double getFastPathNodeCost(final VirtualNode virt, final SubstrateNode host,
+			final SubstrateCapacityIndex capacities) {
+		if (hasResidualDependentCost() && virt instanceof VirtualServer && host instanceof SubstrateServer) {
+			final SubstrateServer server = (SubstrateServer) host;
+			return getCost((VirtualServer) virt, server, capacities.getFreeCpu(server),
+					capacities.getFreeMemory(server), capacities.getFreeStorage(server));
+		}
+		return getCost(virt, host);
+	}
+
+	/**
+	 * Evicts all cache entries of the given virtual networks that are finished
+	 * (embedded or rejected) after a run, if the cache retention policy is
+	 * {@link CacheRetention#EVICT}. This keeps the memory of long-running
+	 * scenarios flat, as the caches of this singleton would otherwise grow with
+	 * every virtual network.
+	 *
+	 * @param finished Virtual networks of the run (embedded or rejected).
+	 * @param rejected Virtual networks of the run that were rejected.
+	 */
+	protected void evictVnrs(final Set<VirtualNetwork> finished, final Set<VirtualNetwork> rejected) {
+		if (AlgorithmConfig.pmCacheRetention != CacheRetention.EVICT) {
+			return;
+		}
+
+		variablesToMatch.values().removeIf(m -> finished.contains(getVirtualNetwork(m.getVirtual())));
+		ignoredVnets.removeAll(finished);
+		if (patternMatcher != null) {
+			patternMatcher.evict(finished);
+		}
+	}
+
+	/**
+	 * Returns the virtual network of a given virtual element (or the element itself
+	 * if it is a virtual network).
+	 *
+	 * @param virtual Virtual element.
+	 * @return Virtual network of the element.
+	 */
+	protected static VirtualNetwork getVirtualNetwork(final Element virtual) {
+		if (virtual instanceof VirtualNetwork) {
+			return (VirtualNetwork) virtual;
+		} else if (virtual instanceof Node) {
+			return (VirtualNetwork) ((Node) virtual).getNetwork();
+		} else if (virtual instanceof Link) {
+			return (VirtualNetwork) ((Link) virtual).getNetwork();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the approximate heap size of all caches of this algorithm (and its
+	 * pattern matcher) in bytes by the name of the cache. The sizes are estimated
+	 * from the number of entries and the typical size of an entry.
+	 *
+	 * @return Approximate heap size of all caches in bytes.
+	 */
+	public Map<String, Long> getCacheFootprints() {
+		final Map<String, Long> footprints = new LinkedHashMap<>();
+		// Hash map entry, match object and variable name
+		footprints.put("variablesToMatch", variablesToMatch.size() * (48L + 24L + 64L));
+		footprints.put("ignoredVnets", ignoredVnets.size() * 48L);
+		footprints.put("substrateRights", substrateRights.size() * (48L + 16L + 48L));
+		if (patternMatcher != null) {
+			patternMatcher.getCacheFootprints().forEach((name, bytes) -> footprints.put("pm." + name, bytes));
+		}
+		return footprints;
+	}
+
+	/**
+	 * Removes all variables and constraints of the virtual network(s) of the
+	 * current run from the solver's model, if the persistent model mode is active.
+	 * Otherwise, only the bookkeeping of the current run is reset.
+	 */
+	protected void removeVnrsFromSolver() {
+		if (usePersistentModel() && ilpSolver != null) {
+			if (!vnrVariables.isEmpty()) {
+				ilpSolver.removeVariables(new ArrayList<>(vnrVariables));
+			}
+			if (!vnrConstraints.isEmpty()) {
+				ilpSolver.removeConstraints(vnrConstraints);
+			}
+			vnrVariables.forEach(variablesToMatch::remove);
+		}
+		vnrVariables.clear();
+		vnrConstraints.clear();
+	}
+
+	/**
+	 * Returns true if the solver's model should be kept alive between multiple
+	 * runs of this algorithm.
+	 *
+	 * @return True if the persistent model mode is active.
+	 */
+	protected boolean usePersistentModel() {
+		return AlgorithmConfig.pmPersistentModel;
+	}
+
+	/**
+	 * Returns true if the bandwidth constraints of the substrate links should be
+	 * generated lazily. This mode is not available for the persistent model, as
+	 * its substrate constraints are kept across multiple runs.
+	 *
+	 * @return True if the lazy bandwidth mode is active.
+	 */
+	protected boolean useLazyBandwidth() {
+		return AlgorithmConfig.lazyBandwidth && !usePersistentModel() && !useColumnGeneration();
+	}
+
+	/**
+	 * Returns true if the link to path variables of long substrate paths should be
+	 * generated by column generation. This mode is not available for the
+	 * persistent model. As the pricing needs the dual values of the bandwidth
+	 * constraints, it overrides the lazy bandwidth mode.
+	 *
+	 * @return True if the column generation is active.
+	 */
+	protected boolean useColumnGeneration() {
+		return AlgorithmConfig.pmColumnGeneration && !usePersistentModel();
+	}
+
 	/**
 	 * Solves the created ILP problem, embeds all accepted elements and returns a
 	 * set of virtual networks that could not be embedded.
@@ -408,19 +1152,117 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 	 * @return Set of virtual networks that could not be embedded.
 	 */
 	protected Set<VirtualNetwork> solveIlp() {
+		final long start = System.currentTimeMillis();
+		SolveHandle handle = createSolveHandle(start);
+
 		GlobalMetricsManager.startIlpTime();
-		final Statistics solve = ilpSolver.solve();
+		generateColumns();
+		Statistics solve = ilpSolver.solve(handle);
+		IlpStatisticsManager.addSolve(solve);
+
+		// Row generation: Add all violated bandwidth constraints and solve again
+		while (lazyRows != null && solve.isFeasible()) {
+			checkIncumbent(solve, handle);
+			if (lazyRows.addViolated(ilpSolver) == 0) {
+				break;
+			}
+			handle = createSolveHandle(start);
+			solve = ilpSolver.solve(handle);
+			IlpStatisticsManager.addSolve(solve);
+		}
 		GlobalMetricsManager.endIlpTime();
 		Set<VirtualNetwork> rejectedNetworks = new HashSet<>();
 		if (solve.isFeasible()) {
+			checkIncumbent(solve, handle);
 			GlobalMetricsManager.startDeployTime();
-			rejectedNetworks = updateMappingsAndEmbed(ilpSolver.getMappings());
+			lastSolution = ilpSolver.getSelectedVariables();
+			rejectedNetworks = updateMappingsAndEmbed(lastSolution);
 		} else {
 			throw new IlpSolverException("Problem was infeasible.");
 		}
 		return rejectedNetworks;
 	}
 
+	/**
+	 * Adds all pooled link to path variables with a negative reduced cost to the
+	 * solver's model until the LP relaxation of the restricted model is optimal.
+	 * Afterwards, the restricted model can be solved as an ILP.
+	 */
+	protected void generateColumns() {
+		if (columnPool == null) {
+			return;
+		}
+
+		int rounds = 0;
+		while (columnPool.addPriced(ilpSolver) > 0) {
+			rounds++;
+		}
+
+		if (IlpSolverConfig.ENABLE_ILP_OUTPUT) {
+			System.out.println("=> Column generation: " + columnPool.getAddedCount() + " of "
+					+ (columnPool.getAddedCount() + columnPool.getPendingCount()) + " columns added in " + rounds
+					+ " rounds");
+		}
+	}
+
+	/**
+	 * Creates a new solve handle that enforces the latency budget and the gap
+	 * limit. The latency budget covers all solver runs of an embedding request,
+	 * i.e., every handle only gets the remaining part of the budget.
+	 *
+	 * @param start Start of the first solver run (in milliseconds).
+	 * @return New solve handle or null if neither a latency budget nor a gap limit
+	 *         is configured.
+	 */
+	protected SolveHandle createSolveHandle(final long start) {
+		if (IlpSolverConfig.LATENCY_BUDGET <= 0 && IlpSolverConfig.GAP_LIMIT <= 0) {
+			return null;
+		}
+
+		long timeLimit = IlpSolverConfig.LATENCY_BUDGET;
+		if (timeLimit > 0) {
+			timeLimit = Math.max(1, timeLimit - (System.currentTimeMillis() - start));
+		}
+		return new SolveHandle(null, IlpSolverConfig.GAP_LIMIT, timeLimit);
+	}
+
+	/**
+	 * Checks that a (feasible) solver run that was stopped early found an
+	 * incumbent.
+	 *
+	 * @param solve  Statistics of the solver run.
+	 * @param handle Solve handle of the run (may be null).
+	 * @throws IlpSolverException If the run was stopped before an incumbent was
+	 *                            found.
+	 */
+	protected void checkIncumbent(final Statistics solve, final SolveHandle handle) throws IlpSolverException {
+		if (handle != null && solve.getStatus() == SolverStatus.TIME_OUT && handle.getBestIncumbent() == null) {
+			throw new IlpSolverException("No solution was found within the latency budget.");
+		}
+	}
+
+	/**
+	 * Runs the pattern matcher and translates every reported match into the ILP
+	 * formulation without collecting the matches in a pattern matching delta
+	 * first. The PM time includes the translation of all immediately translated
+	 * matches.
+	 */
+	protected void streamMatches2Ilp() {
+		final IlpDeltaGenerator gen = new IlpDeltaGenerator();
+
+		// add new elements
+		addElementsToSolver(gen);
+
+		// add and remove all matches while the pattern matcher runs
+		final IlpMatchSink sink = new IlpMatchSink(gen);
+		patternMatcher.run(sink);
+		GlobalMetricsManager.endPmTime();
+		sink.flush();
+
+		// apply delta in ILP generator
+		gen.apply();
+	}
+
 	/**
 	 * Translates the given pattern matching delta to an ILP formulation.
 	 *
@@ -432,6 +1274,12 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		// add new elements
 		addElementsToSolver(gen);
 
+		// remove disappeared matches
+		delta.getNewServerMatchNegatives().forEach(gen::removeMatch);
+		delta.getNewSwitchMatchNegatives().forEach(gen::removeMatch);
+		delta.getNewLinkPathMatchNegatives().forEach(gen::removeMatch);
+		delta.getNewLinkServerMatchNegatives().forEach(gen::removeMatch);
+
 		// add new matches
 		delta.getNewServerMatchPositives().stream()
 				.filter(m -> !ignoredVnets.contains(((VirtualServer) m.getVirtual()).getNetwork()))
@@ -467,22 +1315,13 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 	 * ignored networks.
 	 */
 	protected void checkOverallResources() {
-		// Calculate total residual resources for substrate servers
-		// Datatype long is needed, because of the possible large values of substrate
-		// server residual
-		// resources (e.g. from the diss scenario).
-		long subTotalResidualCpu = 0;
-		long subTotalResidualMem = 0;
-		long subTotalResidualSto = 0;
-
-		for (final Node n : sNet.getNodes()) {
-			if (n instanceof SubstrateServer) {
-				final SubstrateServer ssrv = (SubstrateServer) n;
-				subTotalResidualCpu += ssrv.getResidualCpu();
-				subTotalResidualMem += ssrv.getResidualMemory();
-				subTotalResidualSto += ssrv.getResidualStorage();
-			}
-		}
+		// Total residual resources for substrate servers. Datatype long is needed,
+		// because of the possible large values of substrate server residual resources
+		// (e.g. from the diss scenario).
+		final SubstrateCapacityIndex capacities = SubstrateCapacityIndex.of(sNet);
+		final long subTotalResidualCpu = capacities.getTotalResidualCpu();
+		final long subTotalResidualMem = capacities.getTotalResidualMemory();
+		final long subTotalResidualSto = capacities.getTotalResidualStorage();
 
 		for (final VirtualNetwork vNet : vNets) {
 			// Calculate needed resources for current virtual network candidate
@@ -583,17 +1422,21 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 	 */
 	protected void addElementsToSolver(final IlpDeltaGenerator gen) {
 		// Substrate network
-		for (final Node n : sNet.getNodes()) {
-			if (n instanceof SubstrateServer) {
-				gen.addNewSubstrateServer((SubstrateServer) n);
-			} else if (n instanceof SubstrateSwitch) {
-				// Nothing to do here
+		if (usePersistentModel()) {
+			updateSubstrateInSolver(gen);
+		} else {
+			for (final Node n : sNet.getNodes()) {
+				if (n instanceof SubstrateServer) {
+					gen.addNewSubstrateServer((SubstrateServer) n);
+				} else if (n instanceof SubstrateSwitch) {
+					// Nothing to do here
+				}
 			}
-		}
 
-		for (final Link l : sNet.getLinks()) {
-			if (l instanceof SubstrateLink) {
-				gen.addNewSubstrateLink((SubstrateLink) l);
+			for (final Link l : sNet.getLinks()) {
+				if (l instanceof SubstrateLink) {
+					gen.addNewSubstrateLink((SubstrateLink) l);
+				}
 			}
 		}
 
@@ -604,45 +1447,95 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 			if (ignoredVnets.contains(vNet)) {
 				continue;
 			}
+			addVirtualNetworkToSolver(gen, vNet);
+		}
+	}
 
-			for (final Node n : vNet.getNodes()) {
-				if (n instanceof VirtualServer) {
-					gen.addNewVirtualServer((VirtualServer) n);
-				} else if (n instanceof VirtualSwitch) {
-					gen.addNewVirtualSwitch((VirtualSwitch) n);
+	/**
+	 * Adds the elements of a virtual network to the given delta generator
+	 * (solver).
+	 *
+	 * @param gen  ILP delta generator to add elements to.
+	 * @param vNet Virtual network to add.
+	 */
+	protected void addVirtualNetworkToSolver(final IlpDeltaGenerator gen, final VirtualNetwork vNet) {
+		for (final Node n : vNet.getNodes()) {
+			if (n instanceof VirtualServer) {
+				gen.addNewVirtualServer((VirtualServer) n);
+			} else if (n instanceof VirtualSwitch) {
+				gen.addNewVirtualSwitch((VirtualSwitch) n);
+			}
+		}
+
+		for (final Link l : vNet.getLinks()) {
+			if (l instanceof VirtualLink) {
+				gen.addNewVirtualLink((VirtualLink) l);
+			}
+		}
+
+		// Network match
+		gen.addNewNetworkMatch(new Match(vNet, sNet));
+	}
+
+	/**
+	 * Synchronizes the substrate constraints of the persistent solver's model with
+	 * the substrate network. New substrate elements get new constraints, existing
+	 * constraints only get their right hand sides updated (if changed) and
+	 * constraints of removed substrate elements are removed.
+	 *
+	 * @param gen ILP delta generator to add elements to.
+	 */
+	protected void updateSubstrateInSolver(final IlpDeltaGenerator gen) {
+		final Set<String> outdated = new HashSet<>(substrateRights.keySet());
+
+		for (final Node n : sNet.getNodes()) {
+			if (n instanceof SubstrateServer) {
+				final SubstrateServer server = (SubstrateServer) n;
+				if (!substrateRights.containsKey("cpu" + server.getName())) {
+					gen.addNewSubstrateServer(server);
 				}
+				gen.updateSubstrateServer(server);
+				outdated.remove("cpu" + server.getName());
+				outdated.remove("mem" + server.getName());
+				outdated.remove("sto" + server.getName());
 			}
+		}
 
-			for (final Link l : vNet.getLinks()) {
-				if (l instanceof VirtualLink) {
-					gen.addNewVirtualLink((VirtualLink) l);
+		for (final Link l : sNet.getLinks()) {
+			if (l instanceof SubstrateLink) {
+				final SubstrateLink link = (SubstrateLink) l;
+				if (!substrateRights.containsKey("sl" + link.getName())) {
+					gen.addNewSubstrateLink(link);
 				}
+				gen.updateSubstrateLink(link);
+				outdated.remove("sl" + link.getName());
 			}
+		}
 
-			// Network match
-			gen.addNewNetworkMatch(new Match(vNet, sNet));
+		for (final String name : outdated) {
+			gen.removeSubstrateConstraint(name);
+			substrateRights.remove(name);
 		}
 	}
 
 	/**
-	 * Updates and embeds the actual mappings for a given map of names (strings) and
-	 * booleans.
+	 * Updates and embeds the actual mappings for a given list of the names of all
+	 * chosen mappings.
 	 *
-	 * @param mappings Map of strings and booleans. The keys are mapping names and
-	 *                 the values define if the mapping was chosen.
+	 * @param selected List of the names of all chosen mappings (selected
+	 *                 variables).
 	 * @return Returns a set of all virtual networks that could not be embedded.
 	 */
-	protected Set<VirtualNetwork> updateMappingsAndEmbed(final Map<String, Boolean> mappings) {
+	protected Set<VirtualNetwork> updateMappingsAndEmbed(final List<String> selected) {
 		// Embed elements
 		final Set<VirtualNetwork> rejectedNetworks = new HashSet<>();
-		final EmoflonGt engine = (EmoflonGt) patternMatcher;
+		// The index-based pattern matcher can not apply matches, hence its embeddings
+		// are always created manually
+		final EmoflonGt engine = patternMatcher instanceof EmoflonGt ? (EmoflonGt) patternMatcher : null;
+		final Embedding emb = engine != null ? AlgorithmConfig.emb : Embedding.MANUAL;
 
 		// for (final String s : newMappings) {
-		for (final String s : mappings.keySet()) {
-			if (!mappings.get(s)) {
-				continue;
-			}
-
+		for (final String s : selected) {
 			final Match m = variablesToMatch.get(s);
 
 			// Network -> Network (rejected)
@@ -651,30 +1544,26 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 				continue;
 			}
 
-			// Embed element: Either use emoflon/GT or use manual mode.
-			switch (AlgorithmConfig.emb) {
+			// Embed element: Either use emoflon/GT or use manual mode. The GT matches of
+			// evicted virtual networks (e.g., victims of a migration) can not be applied,
+			// hence they are embedded manually.
+			final VirtualElement ve = (VirtualElement) m.getVirtual();
+			final SubstrateElement se = (SubstrateElement) m.getSubstrate();
+			switch (emb) {
 			case EMOFLON:
 				// Create embedding via matches and graph transformation
-				engine.apply((VirtualElement) m.getVirtual(), (SubstrateElement) m.getSubstrate(), true);
+				if (!engine.apply(ve, se, true)) {
+					embedManually(ve, se);
+				}
 				break;
 			case EMOFLON_WO_UPDATE:
 				// Create embedding via matches and graph transformation
-				engine.apply((VirtualElement) m.getVirtual(), (SubstrateElement) m.getSubstrate(), false);
+				if (!engine.apply(ve, se, false)) {
+					embedManually(ve, se);
+				}
 				break;
 			case MANUAL:
-				final VirtualElement ve = (VirtualElement) m.getVirtual();
-				final SubstrateElement se = (SubstrateElement) m.getSubstrate();
-				if (ve instanceof VirtualServer) {
-					facade.embedServerToServer(se.getName(), ve.getName());
-				} else if (ve instanceof VirtualSwitch) {
-					facade.embedSwitchToNode(se.getName(), ve.getName());
-				} else if (ve instanceof VirtualLink) {
-					if (se instanceof SubstrateServer) {
-						facade.embedLinkToServer(se.getName(), ve.getName());
-					} else if (se instanceof SubstratePath) {
-						facade.embedLinkToPath(se.getName(), ve.getName());
-					}
-				}
+				embedManually(ve, se);
 				break;
 			}
 		}
@@ -686,16 +1575,73 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		return rejectedNetworks;
 	}
 
+	/**
+	 * Embeds a virtual element onto a substrate element via the model facade.
+	 *
+	 * @param ve Virtual element to embed.
+	 * @param se Substrate element to embed the virtual element on.
+	 */
+	protected void embedManually(final VirtualElement ve, final SubstrateElement se) {
+		if (ve instanceof VirtualServer) {
+			facade.embedServerToServer(se.getName(), ve.getName());
+		} else if (ve instanceof VirtualSwitch) {
+			facade.embedSwitchToNode(se.getName(), ve.getName());
+		} else if (ve instanceof VirtualLink) {
+			if (se instanceof SubstrateServer) {
+				facade.embedLinkToServer(se.getName(), ve.getName());
+			} else if (se instanceof SubstratePath) {
+				facade.embedLinkToPath(se.getName(), ve.getName());
+			}
+		}
+	}
+
 	/**
 	 * Initializes the algorithm by creating a new incremental solver object and a
-	 * new pattern matcher object.
+	 * new pattern matcher object. If the persistent model mode is active, an
+	 * already existing solver object will be kept. If the lazy bandwidth mode
+	 * (column generation) is active, a new pool for the bandwidth constraints (link
+	 * to path variables) will be created.
 	 */
 	public void init() {
-		// Create new ILP solver object on every method call.
-		ilpSolver = IlpSolverConfig.getIlpSolver();
+		if (!usePersistentModel()) {
+			// Create new ILP solver object on every method call.
+			ilpSolver = IlpSolverConfig.getIlpSolver();
+			vnrVariables.clear();
+			vnrConstraints.clear();
+		} else if (ilpSolver == null) {
+			ilpSolver = IlpSolverConfig.getIlpSolver();
+			substrateRights.clear();
+		}
+		lazyRows = useLazyBandwidth() ? new IlpLazyConstraints() : null;
+		columnPool = useColumnGeneration() ? new IlpColumnPool() : null;
 
 		if (patternMatcher == null) {
-			patternMatcher = new EmoflonGtFactory().create();
+			patternMatcher = createPatternMatcher();
+		}
+	}
+
+	/**
+	 * Creates a new pattern matcher as configured by
+	 * {@link PatternMatchingConfig#pm}.
+	 *
+	 * @return New pattern matcher.
+	 */
+	protected IncrementalPatternMatcher createPatternMatcher() {
+		if (PatternMatchingConfig.pm == PatternMatcher.NATIVE) {
+			return new IndexedPatternMatcherFactory().create();
+		}
+		return new EmoflonGtFactory().create();
+	}
+
+	/**
+	 * Replaces the pattern matcher by a new one after the repair of the model
+	 * removed virtual elements, because the eMoflon pattern matchers do not handle
+	 * these removals. The index-based pattern matcher handles them on its own and
+	 * is kept.
+	 */
+	protected void resetPatternMatcher() {
+		if (!(patternMatcher instanceof IndexedPatternMatcher)) {
+			patternMatcher = createPatternMatcher();
 		}
 	}
 
@@ -737,6 +1683,33 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		throw new IllegalArgumentException();
 	}
 
+	/**
+	 * Returns the cost of the embedding of a virtual server onto a substrate
+	 * server with the given residual resources instead of the current ones of the
+	 * substrate server. Only the objectives of {@link #hasResidualDependentCost()}
+	 * take the residual resources into account.
+	 *
+	 * @param virt            Virtual server to embed.
+	 * @param host            Substrate server to embed the virtual server on.
+	 * @param residualCpu     Residual CPU of the substrate server.
+	 * @param residualMemory  Residual memory of the substrate server.
+	 * @param residualStorage Residual storage of the substrate server.
+	 * @return Cost of the embedding (as used in the objective of the ILP).
+	 */
+	public double getCost(final VirtualServer virt, final SubstrateServer host, final double residualCpu,
+			final double residualMemory, final double residualStorage) {
+		switch (AlgorithmConfig.obj) {
+		case TOTAL_COMMUNICATION_OBJECTIVE_C:
+			return IlpSolverConfig.transformObj(CostUtility.getTotalCommunicationCostObjectiveNodeC(host, residualCpu,
+					residualMemory, residualStorage));
+		case TOTAL_COMMUNICATION_OBJECTIVE_D:
+			return IlpSolverConfig.transformObj(CostUtility.getTotalCommunicationCostObjectiveNodeD(host, residualCpu,
+					residualMemory, residualStorage));
+		default:
+			return getCost(virt, host);
+		}
+	}
+
 	public double getNodeCost(final VirtualNode virt, final SubstrateNode sub) {
 		switch (AlgorithmConfig.obj) {
 		case TOTAL_PATH_COST:
@@ -771,6 +1744,17 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		}
 	}
 
+	/**
+	 * Returns true if the node cost of the configured objective depends on the
+	 * residual resources of the substrate servers.
+	 *
+	 * @return True if the node cost depends on the residual resources.
+	 */
+	protected static boolean hasResidualDependentCost() {
+		return AlgorithmConfig.obj == Objective.TOTAL_COMMUNICATION_OBJECTIVE_C
+				|| AlgorithmConfig.obj == Objective.TOTAL_COMMUNICATION_OBJECTIVE_D;
+	}
+
 	public double getNetRejCost(final VirtualNetwork vNet) {
 		if (AlgorithmConfig.netRejCostDynamic) {
 			return IlpSolverConfig.transformObj(CostUtility.getNetworkRejectionCost(vNet));
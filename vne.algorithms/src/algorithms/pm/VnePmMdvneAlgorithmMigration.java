@@ -1,17 +1,46 @@
 package algorithms.pm;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.CacheRetention;
 import facade.ModelFacade;
 import gt.PatternMatchingDelta;
-import gt.emoflon.EmoflonGtFactory;
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IlpStatisticsManager;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.SolveHandle;
+import ilp.wrapper.Statistics;
+import ilp.wrapper.config.IlpSolverConfig;
 import metrics.manager.GlobalMetricsManager;
+import model.Element;
+import model.Link;
 import model.Node;
+import model.SubstrateElement;
+import model.SubstrateLink;
 import model.SubstrateNetwork;
+import model.SubstratePath;
+import model.SubstrateServer;
+import model.VirtualElement;
+import model.VirtualLink;
 import model.VirtualNetwork;
 import model.VirtualServer;
+import model.VirtualSwitch;
 
 /**
  * Implementation of the model-driven virtual network algorithm that uses
@@ -19,6 +48,10 @@ import model.VirtualServer;
  * implementation also uses migration functionality in case a virtual network
  * does not fit on the current state of the substrate network.
  *
+ * If {@link AlgorithmConfig#pmMigrationThreads} is greater than 1, the victim
+ * sets of the migration are not tried one after another, but evaluated in
+ * parallel on separate solver models.
+ *
  * Parts of this implementation are heavily inspired, taken or adapted from the
  * idyve project [1].
  *
@@ -43,6 +76,118 @@ public class VnePmMdvneAlgorithmMigration extends VnePmMdvneAlgorithm {
 	 */
 	final PatternMatchingDelta globalDelta = new PatternMatchingDelta();
 
+	/**
+	 * True while the migration tries are running. During the tries, the solver's
+	 * model is kept alive (persistent model) and only extended by the released
+	 * virtual networks.
+	 */
+	private boolean migrating = false;
+
+	/**
+	 * Virtual networks released by the current migration try. If not null, only
+	 * these virtual networks are added to the solver's model, because all other
+	 * ones are already part of it.
+	 */
+	private Set<VirtualNetwork> releasedVnets = null;
+
+	/**
+	 * Right hand sides of the substrate constraints that differ from the residual
+	 * resources, because they stay reserved for victims that are not released by
+	 * the currently generated victim set. If not null, they override the right
+	 * hand sides of the new solver's model.
+	 */
+	private Map<String, Double> reservedRights = null;
+
+	/**
+	 * Victim of the parallel migration search: A virtual network that is embedded
+	 * on the substrate network together with the hosts of all of its elements and
+	 * the substrate resources it occupies.
+	 *
+	 * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+	 */
+	private static class Victim {
+
+		/**
+		 * Embedded virtual network.
+		 */
+		private final VirtualNetwork vNet;
+
+		/**
+		 * Hosts of all embedded elements (nodes before links).
+		 */
+		private final Map<VirtualElement, SubstrateElement> hosts = new LinkedHashMap<>();
+
+		/**
+		 * Occupied substrate resources per substrate constraint name.
+		 */
+		private final Map<String, Double> usage = new HashMap<>();
+
+		/**
+		 * Summed up resources (cpu, memory, storage) of all virtual servers.
+		 */
+		private long size = 0;
+
+		/**
+		 * Number of host servers that can host the largest rejected virtual server
+		 * only if this victim is released.
+		 */
+		private int useful = 0;
+
+		/**
+		 * Creates a new victim and saves the current embedding of the given virtual
+		 * network.
+		 *
+		 * @param vNet Embedded virtual network.
+		 */
+		private Victim(final VirtualNetwork vNet) {
+			this.vNet = vNet;
+
+			for (final Node n : vNet.getNodes()) {
+				if (n instanceof VirtualServer) {
+					final VirtualServer vsrv = (VirtualServer) n;
+					size += vsrv.getCpu() + vsrv.getMemory() + vsrv.getStorage();
+					if (vsrv.getHost() != null) {
+						final SubstrateServer host = vsrv.getHost();
+						hosts.put(vsrv, host);
+						usage.merge("cpu" + host.getName(), (double) vsrv.getCpu(), Double::sum);
+						usage.merge("mem" + host.getName(), (double) vsrv.getMemory(), Double::sum);
+						usage.merge("sto" + host.getName(), (double) vsrv.getStorage(), Double::sum);
+					}
+				} else if (n instanceof VirtualSwitch) {
+					final VirtualSwitch vsw = (VirtualSwitch) n;
+					if (vsw.getHost() != null) {
+						hosts.put(vsw, vsw.getHost());
+					}
+				}
+			}
+
+			for (final Link l : vNet.getLinks()) {
+				if (l instanceof VirtualLink) {
+					final VirtualLink vl = (VirtualLink) l;
+					if (vl.getHost() != null) {
+						hosts.put(vl, vl.getHost());
+						if (vl.getHost() instanceof SubstratePath) {
+							for (final Link sl : ((SubstratePath) vl.getHost()).getLinks()) {
+								usage.merge("sl" + sl.getName(), (double) vl.getBandwidth(), Double::sum);
+							}
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns the amount of a substrate resource this victim occupies.
+		 *
+		 * @param name Name of the substrate constraint.
+		 * @return Occupied amount of the resource.
+		 */
+		private double getUsage(final String name) {
+			return usage.getOrDefault(name, 0.0);
+		}
+
+	}
+
 	/**
 	 * Constructor that gets the substrate as well as the virtual network.
 	 *
@@ -96,7 +241,7 @@ public class VnePmMdvneAlgorithmMigration extends VnePmMdvneAlgorithm {
 		// Repair model consistency: Virtual network(s)
 		final Set<VirtualNetwork> repairedVnets = repairVirtualNetworks();
 		if (!repairedVnets.isEmpty()) {
-			this.patternMatcher = new EmoflonGtFactory().create();
+			resetPatternMatcher();
 		}
 		vNets.addAll(repairedVnets);
 
@@ -116,14 +261,45 @@ public class VnePmMdvneAlgorithmMigration extends VnePmMdvneAlgorithm {
 		if (!rejectedNetworks.isEmpty()) {
 			System.out.println("=> Started embedding migration.");
 			embedNetworks(rejectedNetworks);
-			rejectedNetworks = tryMigrationEmbedding();
+			rejectedNetworks = AlgorithmConfig.pmMigrationThreads > 1 ? tryParallelMigrationEmbedding(rejectedNetworks)
+					: tryMigrationEmbedding();
 		}
 
 		rejectedDespiteMigration.addAll(ignoredVnets);
 		embedNetworks(rejectedDespiteMigration);
+		final boolean accepted = rejectedDespiteMigration.isEmpty();
+		evictVnrs(vNets, rejectedDespiteMigration);
 		GlobalMetricsManager.endDeployTime();
 		GlobalMetricsManager.measureMemory();
-		return rejectedDespiteMigration.isEmpty();
+		return accepted;
+	}
+
+	/**
+	 * In addition to the caches of the super class, all mappings of the run
+	 * (including the ones of the migration victims) and the rejected virtual
+	 * networks are evicted. The global delta only keeps the matches of the
+	 * embedded virtual networks, as these are the only ones that may be released
+	 * by a later migration.
+	 */
+	@Override
+	protected void evictVnrs(final Set<VirtualNetwork> finished, final Set<VirtualNetwork> rejected) {
+		if (AlgorithmConfig.pmCacheRetention != CacheRetention.EVICT) {
+			return;
+		}
+
+		globalDelta.evict(v -> rejected.contains(getVirtualNetwork(v)));
+		globalDelta.clearNegatives();
+		super.evictVnrs(finished, rejected);
+		variablesToMatch.clear();
+		rejectedDespiteMigration.clear();
+	}
+
+	@Override
+	public Map<String, Long> getCacheFootprints() {
+		final Map<String, Long> footprints = super.getCacheFootprints();
+		footprints.put("globalDelta", globalDelta.getFootprint());
+		footprints.put("rejectedDespiteMigration", rejectedDespiteMigration.size() * 48L);
+		return footprints;
 	}
 
 	/**
@@ -132,6 +308,13 @@ public class VnePmMdvneAlgorithmMigration extends VnePmMdvneAlgorithm {
 	 * next smallest virtual network and tries again. If no virtual network to
 	 * remove is left, the method returns a set of rejected networks.
 	 *
+	 * The first try builds a new solver model, all subsequent tries only extend
+	 * it: The released virtual network and all new matches are added, the freed
+	 * substrate resources are restored by updating the right hand sides of the
+	 * substrate constraints and the solution of the previous try is used as start
+	 * solution. If the node cost of the objective depends on the residual
+	 * resources, the weights of the kept mapping variables are recomputed.
+	 *
 	 * @return Set of virtual networks that could not be embedded onto the substrate
 	 *         one.
 	 */
@@ -144,41 +327,478 @@ public class VnePmMdvneAlgorithmMigration extends VnePmMdvneAlgorithm {
 		final PatternMatchingDelta delta = new PatternMatchingDelta();
 		delta.addOther(globalDelta);
 
-		while (removalCandidate != null) {
-			PmAlgorithmUtils.unembedAll(sNet, vNets);
-			vNets.add(removalCandidate);
-			PmAlgorithmUtils.unembedAll(sNet, vNets);
-			init();
+		// The tries share a new persistent solver model
+		if (ilpSolver != null) {
+			ilpSolver.dispose();
+			ilpSolver = null;
+		}
+		migrating = true;
+
+		try {
+			while (removalCandidate != null) {
+				PmAlgorithmUtils.unembedAll(sNet, vNets);
+				// The candidate may already be part of the model if it was embedded by a
+				// previous try
+				final boolean released = vNets.add(removalCandidate);
+				PmAlgorithmUtils.unembedAll(sNet, vNets);
+				final boolean firstTry = ilpSolver == null;
+				init();
+
+				GlobalMetricsManager.startPmTime();
+				final PatternMatchingDelta deltaIncr = patternMatcher.run();
+				GlobalMetricsManager.endPmTime();
+
+				// add deltaIncr to delta
+				delta.addOther(deltaIncr);
+
+				if (firstTry) {
+					delta2Ilp(delta);
+				} else {
+					releasedVnets = released ? Set.of(removalCandidate) : Set.of();
+					delta2Ilp(filterNewMatches(delta, deltaIncr));
+					releasedVnets = null;
+					refreshMappingWeights();
+				}
+
+				// Use the selected variables of the previous try as (partial) start solution
+				if (lastSolution != null) {
+					ilpSolver.setStartSolution(
+							lastSolution.stream().collect(Collectors.toMap(Function.identity(), s -> true, (a, b) -> a)));
+				}
+
+				rejectedNetworks.clear();
+				rejectedNetworks.addAll(solveIlp());
+
+				rejectedDespiteMigration.addAll(rejectedNetworks);
+				rejectedDespiteMigration.retainAll(rejectedNetworks);
+
+				if (rejectedNetworks.isEmpty()) {
+					break;
+				}
+
+				tries++;
+
+				// Check number of already tried migrations; if threshold reached, stop trying.
+				if (tries >= AlgorithmConfig.pmNoMigrations) {
+					break;
+				}
+
+				removalCandidate = findAndUnembedSmallestNetwork();
+			}
+		} finally {
+			migrating = false;
+			if (ilpSolver != null) {
+				ilpSolver.dispose();
+				ilpSolver = null;
+			}
+		}
+
+		return rejectedNetworks;
+	}
+
+	/**
+	 * Recomputes the weights of all server mapping variables of the solver's model
+	 * that are kept from the previous tries, if the node cost of the objective
+	 * depends on the residual resources of the substrate servers. These residual
+	 * resources change with every released victim.
+	 */
+	private void refreshMappingWeights() {
+		if (!hasResidualDependentCost()) {
+			return;
+		}
+
+		final Map<String, Double> weights = new HashMap<>();
+		variablesToMatch.forEach((name, match) -> {
+			if (match.getVirtual() instanceof VirtualServer && match.getSubstrate() instanceof SubstrateServer
+					&& ilpSolver.hasVariable(name)) {
+				weights.put(name, getCost((VirtualServer) match.getVirtual(), (SubstrateServer) match.getSubstrate()));
+			}
+		});
+		if (!weights.isEmpty()) {
+			ilpSolver.setVariableWeights(weights);
+		}
+	}
+
+	/**
+	 * Evaluates multiple victim sets in parallel. The currently embedded virtual
+	 * networks are ranked by {@link #rankRemovalCandidates(Set)} and the victim
+	 * sets are the prefixes of this ranking, i.e., the i-th set releases the first
+	 * i victims (as the sequential tries do). At most
+	 * {@link AlgorithmConfig#pmNoMigrations} sets are evaluated.
+	 *
+	 * All victims are released at once, hence one pattern matcher run finds the
+	 * matches for all victim sets. Every victim set gets its own solver model in
+	 * which the resources of all victims that are not part of the set stay
+	 * reserved. If the node cost of the objective depends on the residual
+	 * resources, the cost of the mappings onto these substrate servers is computed
+	 * from the resources the victim set actually frees. The models are solved
+	 * concurrently and the first victim set (in the order of the ranking) that
+	 * embeds all virtual networks is committed. If there is no such set, the
+	 * largest one is committed. All victims that are not part of the committed set
+	 * get their previous embedding back.
+	 *
+	 * @param rejected Set of virtual networks that were rejected by the initial
+	 *                 solver run.
+	 * @return Set of virtual networks that could not be embedded onto the substrate
+	 *         one.
+	 */
+	private Set<VirtualNetwork> tryParallelMigrationEmbedding(final Set<VirtualNetwork> rejected) {
+		final List<Victim> ranking = rankRemovalCandidates(rejected);
+		final int k = Math.min(AlgorithmConfig.pmNoMigrations, ranking.size());
+		if (k == 0) {
+			return rejected;
+		}
+		final List<Victim> victims = ranking.subList(0, k);
 
-			GlobalMetricsManager.startPmTime();
-			final PatternMatchingDelta deltaIncr = patternMatcher.run();
-			GlobalMetricsManager.endPmTime();
+		if (ilpSolver != null) {
+			ilpSolver.dispose();
+			ilpSolver = null;
+		}
 
-			// add deltaIncr to delta
-			delta.addOther(deltaIncr);
+		// Release all victims at once
+		PmAlgorithmUtils.unembedAll(sNet, vNets);
+		for (final Victim victim : victims) {
+			ModelFacade.getInstance().unembedVirtualNetwork(victim.vNet);
+		}
 
-			delta2Ilp(delta);
-			rejectedNetworks.clear();
-			rejectedNetworks.addAll(solveIlp());
+		final PatternMatchingDelta delta = new PatternMatchingDelta();
+		delta.addOther(globalDelta);
+		GlobalMetricsManager.startPmTime();
+		delta.addOther(patternMatcher.run());
+		GlobalMetricsManager.endPmTime();
+
+		final Map<String, Double> residuals = getSubstrateResiduals();
+		final IncrementalIlpSolver[] solvers = new IncrementalIlpSolver[k];
+		final SolveHandle[] handles = new SolveHandle[k];
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(AlgorithmConfig.pmMigrationThreads, k),
+				r -> {
+					final Thread thread = new Thread(r, "pm-migration");
+					thread.setDaemon(true);
+					return thread;
+				});
+
+		try {
+			// Build the models sequentially, because the generation shares the
+			// bookkeeping of the algorithm
+			for (int i = 0; i < k; i++) {
+				vNets.add(victims.get(i).vNet);
+				final Map<String, Double> reserved = new HashMap<>();
+				for (final Victim victim : victims.subList(i + 1, k)) {
+					victim.usage.forEach((name, amount) -> reserved.merge(name, amount, Double::sum));
+				}
+				reservedRights = new HashMap<>();
+				reserved.forEach((name, amount) -> {
+					if (residuals.containsKey(name)) {
+						reservedRights.put(name, residuals.get(name) - amount);
+					}
+				});
+
+				ilpSolver = IlpSolverConfig.getIlpSolver();
+				solvers[i] = ilpSolver;
+				lazyRows = null;
+				columnPool = null;
+				delta2Ilp(delta);
+				if (hasResidualDependentCost()) {
+					applyReservedWeights();
+				}
+			}
+			reservedRights = null;
+			ilpSolver = null;
+
+			// Solve all models concurrently
+			GlobalMetricsManager.startIlpTime();
+			final long start = System.currentTimeMillis();
+			final List<Future<List<String>>> futures = new ArrayList<>();
+			for (int i = 0; i < k; i++) {
+				final SolveHandle handle = createSolveHandle(start);
+				handles[i] = handle != null ? handle : new SolveHandle(null, 0, 0);
+				final IncrementalIlpSolver solver = solvers[i];
+				final SolveHandle solverHandle = handles[i];
+				futures.add(executor.submit(() -> solveVictimSet(solver, solverHandle)));
+			}
+
+			// Wait for the victim sets in the order of the ranking, hence the choice does
+			// not depend on the scheduling of the threads
+			int chosen = k - 1;
+			List<String> selected = null;
+			for (int i = 0; i < k; i++) {
+				selected = awaitVictimSet(futures.get(i));
+				if (selected.stream().noneMatch(s -> variablesToMatch.get(s).getVirtual() instanceof VirtualNetwork)) {
+					chosen = i;
+					break;
+				}
+			}
+			for (final SolveHandle handle : handles) {
+				handle.cancel();
+			}
+			GlobalMetricsManager.endIlpTime();
+
+			// Commit the chosen victim set
+			GlobalMetricsManager.startDeployTime();
+			for (final Victim victim : victims.subList(chosen + 1, k)) {
+				vNets.remove(victim.vNet);
+				restoreEmbedding(victim);
+			}
+			lastSolution = selected;
+			final Set<VirtualNetwork> rejectedNetworks = updateMappingsAndEmbed(selected);
 
 			rejectedDespiteMigration.addAll(rejectedNetworks);
 			rejectedDespiteMigration.retainAll(rejectedNetworks);
+			return rejectedNetworks;
+		} finally {
+			reservedRights = null;
+			ilpSolver = null;
+			for (final SolveHandle handle : handles) {
+				if (handle != null) {
+					handle.cancel();
+				}
+			}
+			executor.shutdown();
+			try {
+				executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			for (final IncrementalIlpSolver solver : solvers) {
+				if (solver != null) {
+					solver.dispose();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Recomputes the weights of all server mapping variables of the current
+	 * solver's model whose substrate server keeps resources reserved for victims
+	 * that are not part of the generated victim set. The model was built while all
+	 * victims were released, hence these weights are based on residual resources
+	 * that the victim set never sees.
+	 */
+	private void applyReservedWeights() {
+		final Map<String, Double> weights = new HashMap<>();
+		variablesToMatch.forEach((name, match) -> {
+			if (!(match.getVirtual() instanceof VirtualServer) || !(match.getSubstrate() instanceof SubstrateServer)
+					|| !ilpSolver.hasVariable(name)) {
+				return;
+			}
 
-			if (rejectedNetworks.isEmpty()) {
-				break;
+			final SubstrateServer server = (SubstrateServer) match.getSubstrate();
+			final String cpu = "cpu" + server.getName();
+			final String mem = "mem" + server.getName();
+			final String sto = "sto" + server.getName();
+			if (reservedRights.containsKey(cpu) || reservedRights.containsKey(mem) || reservedRights.containsKey(sto)) {
+				weights.put(name, getCost((VirtualServer) match.getVirtual(), server,
+						reservedRights.getOrDefault(cpu, (double) server.getResidualCpu()),
+						reservedRights.getOrDefault(mem, (double) server.getResidualMemory()),
+						reservedRights.getOrDefault(sto, (double) server.getResidualStorage())));
 			}
+		});
+		if (!weights.isEmpty()) {
+			ilpSolver.setVariableWeights(weights);
+		}
+	}
 
-			tries++;
+	/**
+	 * Ranks all virtual networks that are embedded on the substrate network (and
+	 * not part of the current request) as removal candidates. A candidate is
+	 * ranked higher the more of its host servers could host the largest rejected
+	 * virtual server after its removal, i.e., the more freed capacity is usable
+	 * for the rejected networks. Ties are broken by the size of the candidate
+	 * (smallest first) and its name.
+	 *
+	 * @param rejected Set of rejected virtual networks.
+	 * @return Ranked list of all removal candidates.
+	 */
+	private List<Victim> rankRemovalCandidates(final Set<VirtualNetwork> rejected) {
+		// Largest demand of a rejected virtual server per resource
+		long cpu = 0;
+		long mem = 0;
+		long sto = 0;
+		for (final VirtualNetwork vNet : rejected) {
+			for (final Node n : vNet.getNodes()) {
+				if (n instanceof VirtualServer) {
+					final VirtualServer vsrv = (VirtualServer) n;
+					cpu = Math.max(cpu, vsrv.getCpu());
+					mem = Math.max(mem, vsrv.getMemory());
+					sto = Math.max(sto, vsrv.getStorage());
+				}
+			}
+		}
 
-			// Check number of already tried migrations; if threshold reached, stop trying.
-			if (tries >= AlgorithmConfig.pmNoMigrations) {
-				break;
+		final List<Victim> candidates = new ArrayList<>();
+		for (final VirtualNetwork guest : sNet.getGuests()) {
+			if (vNets.contains(guest)) {
+				continue;
 			}
 
-			removalCandidate = findAndUnembedSmallestNetwork();
+			final Victim victim = new Victim(guest);
+			for (final SubstrateElement host : new HashSet<>(victim.hosts.values())) {
+				if (!(host instanceof SubstrateServer)) {
+					continue;
+				}
+				final SubstrateServer srv = (SubstrateServer) host;
+				final boolean fitsBefore = srv.getResidualCpu() >= cpu && srv.getResidualMemory() >= mem
+						&& srv.getResidualStorage() >= sto;
+				final boolean fitsAfter = srv.getResidualCpu() + victim.getUsage("cpu" + srv.getName()) >= cpu
+						&& srv.getResidualMemory() + victim.getUsage("mem" + srv.getName()) >= mem
+						&& srv.getResidualStorage() + victim.getUsage("sto" + srv.getName()) >= sto;
+				if (!fitsBefore && fitsAfter) {
+					victim.useful++;
+				}
+			}
+			candidates.add(victim);
 		}
 
-		return rejectedNetworks;
+		candidates.sort(Comparator.comparingInt((Victim v) -> -v.useful).thenComparingLong(v -> v.size)
+				.thenComparing(v -> v.vNet.getName()));
+		return candidates;
+	}
+
+	/**
+	 * Returns the residual resources of the substrate network per substrate
+	 * constraint name.
+	 *
+	 * @return Map of substrate constraint names to residual resources.
+	 */
+	private Map<String, Double> getSubstrateResiduals() {
+		final Map<String, Double> residuals = new HashMap<>();
+		for (final Node n : sNet.getNodes()) {
+			if (n instanceof SubstrateServer) {
+				final SubstrateServer server = (SubstrateServer) n;
+				residuals.put("cpu" + server.getName(), (double) server.getResidualCpu());
+				residuals.put("mem" + server.getName(), (double) server.getResidualMemory());
+				residuals.put("sto" + server.getName(), (double) server.getResidualStorage());
+			}
+		}
+		for (final Link l : sNet.getLinks()) {
+			if (l instanceof SubstrateLink) {
+				residuals.put("sl" + l.getName(), (double) ((SubstrateLink) l).getResidualBandwidth());
+			}
+		}
+		return residuals;
+	}
+
+	/**
+	 * Solves the model of a victim set. This method runs on a thread of the
+	 * parallel migration search.
+	 *
+	 * @param solver Solver that holds the model of the victim set.
+	 * @param handle Solve handle of the run.
+	 * @return List of the names of all selected variables.
+	 */
+	private List<String> solveVictimSet(final IncrementalIlpSolver solver, final SolveHandle handle) {
+		final Statistics solve = solver.solve(handle);
+		IlpStatisticsManager.addSolve(solve);
+		if (!solve.isFeasible()) {
+			throw new IlpSolverException("Problem was infeasible.");
+		}
+		checkIncumbent(solve, handle);
+		return solver.getSelectedVariables();
+	}
+
+	/**
+	 * Waits for the solution of a victim set.
+	 *
+	 * @param future Future of the solver run.
+	 * @return List of the names of all selected variables.
+	 * @throws IlpSolverException If the solver run failed or the waiting thread
+	 *                            was interrupted.
+	 */
+	private List<String> awaitVictimSet(final Future<List<String>> future) throws IlpSolverException {
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IlpSolverException(e);
+		} catch (final ExecutionException e) {
+			throw e.getCause() instanceof IlpSolverException ? (IlpSolverException) e.getCause()
+					: new IlpSolverException(e.getCause());
+		}
+	}
+
+	/**
+	 * Restores the saved embedding of a victim that was released but is not part
+	 * of the committed victim set.
+	 *
+	 * @param victim Victim to embed again.
+	 */
+	private void restoreEmbedding(final Victim victim) {
+		victim.hosts.forEach((virt, host) -> {
+			if (virt instanceof VirtualServer) {
+				facade.embedServerToServer(host.getName(), virt.getName());
+			} else if (virt instanceof VirtualSwitch) {
+				facade.embedSwitchToNode(host.getName(), virt.getName());
+			} else if (virt instanceof VirtualLink) {
+				if (host instanceof SubstrateServer) {
+					facade.embedLinkToServer(host.getName(), virt.getName());
+				} else if (host instanceof SubstratePath) {
+					facade.embedLinkToPath(host.getName(), virt.getName());
+				}
+			}
+		});
+		facade.embedNetworkToNetwork(sNet.getName(), victim.vNet.getName());
+	}
+
+	/**
+	 * Returns a new pattern matching delta that only contains the matches of the
+	 * given delta whose mapping variables are not yet part of the solver's model
+	 * and all disappeared matches of the given incremental delta. (The
+	 * disappeared matches cancel out in the accumulated delta.)
+	 *
+	 * @param delta     Accumulated pattern matching delta to filter.
+	 * @param deltaIncr Pattern matching delta of the current try.
+	 * @return Pattern matching delta with all new and disappeared matches.
+	 */
+	private PatternMatchingDelta filterNewMatches(final PatternMatchingDelta delta,
+			final PatternMatchingDelta deltaIncr) {
+		final PatternMatchingDelta filtered = new PatternMatchingDelta();
+		deltaIncr.getNewServerMatchNegatives().forEachMatch(filtered::addServerMatchNegative);
+		deltaIncr.getNewSwitchMatchNegatives().forEachMatch(filtered::addSwitchMatchNegative);
+		deltaIncr.getNewLinkPathMatchNegatives().forEachMatch(filtered::addLinkPathMatchNegative);
+		deltaIncr.getNewLinkServerMatchNegatives().forEachMatch(filtered::addLinkServerMatchNegative);
+		delta.getNewServerMatchPositives().forEachMatch(ifNew(filtered::addServerMatchPositive));
+		delta.getNewSwitchMatchPositives().forEachMatch(ifNew(filtered::addSwitchMatchPositive));
+		delta.getNewLinkPathMatchPositives().forEachMatch(ifNew(filtered::addLinkPathMatchPositive));
+		delta.getNewLinkServerMatchPositives().forEachMatch(ifNew(filtered::addLinkServerMatchPositive));
+		return filtered;
+	}
+
+	/**
+	 * Wraps a given action on the elements of a match such that it is only
+	 * performed if the mapping variable of the match is not yet part of the
+	 * solver's model.
+	 *
+	 * @param action Action to perform for new matches.
+	 * @return Wrapped action.
+	 */
+	private BiConsumer<Element, Element> ifNew(final BiConsumer<Element, Element> action) {
+		return (virtual, substrate) -> {
+			if (!ilpSolver.hasVariable(virtual.getName() + "_" + substrate.getName())) {
+				action.accept(virtual, substrate);
+			}
+		};
+	}
+
+	/**
+	 * During a migration try that extends the solver's model, only the substrate
+	 * constraints are updated and the released virtual networks are added. During
+	 * the parallel migration search, the resources of all victims that are not
+	 * released by the generated victim set stay reserved.
+	 */
+	@Override
+	protected void addElementsToSolver(final IlpDeltaGenerator gen) {
+		if (releasedVnets == null) {
+			super.addElementsToSolver(gen);
+			if (reservedRights != null) {
+				reservedRights.forEach(gen.delta::setConstraintRight);
+			}
+			return;
+		}
+
+		updateSubstrateInSolver(gen);
+		for (final VirtualNetwork vNet : releasedVnets) {
+			addVirtualNetworkToSolver(gen, vNet);
+		}
 	}
 
 	/**
@@ -217,11 +837,24 @@ public class VnePmMdvneAlgorithmMigration extends VnePmMdvneAlgorithm {
 		return smallest;
 	}
 
+	/**
+	 * The persistent model mode is only used within the migration tries of one
+	 * embedding request. Across requests, the migration tries rebuild the ILP model
+	 * from the global pattern matching delta.
+	 */
+	@Override
+	protected boolean usePersistentModel() {
+		return migrating;
+	}
+
 	/**
 	 * Resets the components of the super algorithm and the ones of this class.
 	 */
 	@Override
 	public void dispose() {
+		migrating = false;
+		releasedVnets = null;
+		reservedRights = null;
 		super.dispose();
 		rejectedDespiteMigration.clear();
 		this.globalDelta.clear();
@@ -2,7 +2,7 @@ package algorithms.pm.stages;
 
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
 
 import algorithms.AlgorithmConfig;
@@ -264,24 +264,20 @@ public class VnePmMdvneAlgorithmPipelineStageVnet extends VnePmMdvneAlgorithm {
 	}
 
 	/**
-	 * Updates and embeds the actual mappings for a given map of names (strings) and
-	 * booleans.
+	 * Updates and embeds the actual mappings for a given list of the names of all
+	 * chosen mappings.
 	 *
-	 * @param mappings Map of strings and booleans. The keys are mapping names and
-	 *                 the values define if the mapping was chosen.
+	 * @param selected List of the names of all chosen mappings (selected
+	 *                 variables).
 	 * @return Returns a set of all virtual networks that could not be embedded.
 	 */
 	@Override
-	protected Set<VirtualNetwork> updateMappingsAndEmbed(final Map<String, Boolean> mappings) {
+	protected Set<VirtualNetwork> updateMappingsAndEmbed(final List<String> selected) {
 		// Embed elements
 		final Set<VirtualNetwork> rejectedNetworks = new HashSet<>();
 		final EmoflonGtVnet engine = (EmoflonGtVnet) patternMatcherVnet;
 
-		for (final String s : mappings.keySet()) {
-			if (!mappings.get(s)) {
-				continue;
-			}
-
+		for (final String s : selected) {
 			final Match m = variablesToMatch.get(s);
 
 			// Network -> Network (rejected)
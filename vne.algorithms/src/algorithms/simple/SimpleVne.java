@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Set;
 
 import algorithms.AbstractAlgorithm;
+import algorithms.SubstrateCapacityIndex;
 import model.Link;
 import model.Node;
 import model.SubstrateNetwork;
@@ -13,9 +14,9 @@ import model.VirtualServer;
 
 /**
  * Super simple Virtual Network Embedding algorithm. It searches for the
- * substrate server with largest residual amount of resources and checks if the
- * whole virtual network could fit onto it. If it does not, the algorithm is
- * unable to embed the request. The resources are added all together.
+ * substrate server with largest residual amount of resources that the whole
+ * virtual network could fit onto. If there is none, the algorithm is unable to
+ * embed the request. The resources are added all together.
  *
  * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
  */
@@ -38,12 +39,25 @@ public class SimpleVne extends AbstractAlgorithm {
 
 	@Override
 	public boolean execute() {
-		final List<Node> subServers = facade.getAllServersOfNetwork(sNet.getName());
-		String largestServerId = "";
-		long largestServerRes = Long.MAX_VALUE;
+		// Sum required resources
+		long summedCpu = 0;
+		long summedMem = 0;
+		long summedStor = 0;
 
-		for (Node actNode : subServers) {
-			final SubstrateServer actServer = (SubstrateServer) actNode;
+		for (Node actNode : facade.getAllServersOfNetwork(getFirstVnet().getName())) {
+			final VirtualServer actServer = (VirtualServer) actNode;
+			summedCpu += actServer.getCpu();
+			summedMem += actServer.getMemory();
+			summedStor += actServer.getStorage();
+		}
+
+		// Search for the largest substrate server that can host the whole virtual
+		// network
+		String largestServerId = null;
+		long largestServerRes = Long.MIN_VALUE;
+
+		for (final SubstrateServer actServer : SubstrateCapacityIndex.of(sNet).getCandidates(summedCpu, summedMem,
+				summedStor)) {
 			final long resSum = actServer.getResidualCpu() + actServer.getResidualMemory()
 					+ actServer.getResidualStorage();
 			if (largestServerRes < resSum) {
@@ -53,21 +67,7 @@ public class SimpleVne extends AbstractAlgorithm {
 		}
 
 		// Check if embedding is possible
-		int summedCpu = 0;
-		int summedMem = 0;
-		int summedStor = 0;
-
-		for (Node actNode : facade.getAllServersOfNetwork(getFirstVnet().getName())) {
-			final VirtualServer actServer = (VirtualServer) actNode;
-			summedCpu += actServer.getCpu();
-			summedMem += actServer.getMemory();
-			summedMem += actServer.getStorage();
-		}
-
-		final SubstrateServer largestSubServer = (SubstrateServer) facade.getServerById(largestServerId);
-
-		if (!(summedCpu <= largestSubServer.getResidualCpu() && summedMem <= largestSubServer.getResidualMemory()
-				&& summedStor <= largestSubServer.getResidualStorage())) {
+		if (largestServerId == null) {
 			System.out.println("=> SimpleVne: Embedding not possible due to resource constraints.");
 			return false;
 		}
@@ -15,6 +15,8 @@ import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
 
+import ilp.wrapper.IlpStatisticsManager;
+import ilp.wrapper.Statistics;
 import metrics.MetricConsts;
 import metrics.embedding.AcceptedVnrMetric;
 import metrics.embedding.AveragePathLengthMetric;
@@ -73,7 +75,18 @@ public class CsvUtil {
 			"memory_start", //
 			"memory_ilp", //
 			"memory_end", //
-			"memory_pid_max");
+			"memory_pid_max", //
+			"ilp_time_build", //
+			"ilp_time_apply", //
+			"ilp_variables", //
+			"ilp_constraints", //
+			"ilp_nonzeros", //
+			"ilp_presolve_removed_variables", //
+			"ilp_presolve_removed_constraints", //
+			"ilp_nodes", //
+			"ilp_mip_gap", //
+			"ilp_time_first_incumbent", //
+			"ilp_incumbents");
 
 	/**
 	 * CSV file header format for mean and standard derivation (after simulation).
@@ -122,7 +135,7 @@ public class CsvUtil {
 	 * @param sNet    Substrate network to export metrics for.
 	 */
 	public static void appendCsvLine(final String lastVnr, final String csvPath, final SubstrateNetwork sNet) {
-		final String[] content = new String[22];
+		final String[] content = new String[33];
 		content[0] = String.valueOf(csvCounter++); // line counter
 		content[1] = String.valueOf(java.time.LocalDateTime.now()); // time stamp
 		content[2] = String.valueOf(lastVnr); // name of the last embedded virtual network
@@ -155,6 +168,26 @@ public class CsvUtil {
 				content[i] = String.valueOf(-1);
 			}
 		}
+		final Statistics ilp = IlpStatisticsManager.getStatistics();
+		if (ilp != null) {
+			content[22] = String.valueOf(ilp.getModelBuildTime() / (double) MetricConsts.NANO_TO_MILLI);
+			content[23] = String.valueOf(ilp.getDeltaApplyTime() / (double) MetricConsts.NANO_TO_MILLI);
+			content[24] = String.valueOf(ilp.getVariableCount());
+			content[25] = String.valueOf(ilp.getConstraintCount());
+			content[26] = String.valueOf(ilp.getNonZeroCount());
+			content[27] = String.valueOf(ilp.getPresolveRemovedVariables());
+			content[28] = String.valueOf(ilp.getPresolveRemovedConstraints());
+			content[29] = String.valueOf(ilp.getNodeCount());
+			content[30] = String.valueOf(ilp.getMipGap());
+			content[31] = String.valueOf(ilp.getTimeToFirstIncumbent() < 0 ? -1
+					: ilp.getTimeToFirstIncumbent() / (double) MetricConsts.NANO_TO_MILLI);
+			content[32] = String.valueOf(ilp.getIncumbentCount());
+		} else {
+			// Algorithm without ILP solver runs
+			for (int i = 22; i <= 32; i++) {
+				content[i] = String.valueOf(-1);
+			}
+		}
 
 		writeCsvLine(csvPath, formatNormal, content);
 	}
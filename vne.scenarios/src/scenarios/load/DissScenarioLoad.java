@@ -14,12 +14,14 @@ import org.apache.commons.cli.ParseException;
 
 import algorithms.AbstractAlgorithm;
 import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.CacheRetention;
 import algorithms.AlgorithmConfig.Embedding;
 import algorithms.AlgorithmConfig.Objective;
 import algorithms.gips.VneGipsAlgorithm;
 import algorithms.gips.VneGipsMigrationAlgorithm;
 import algorithms.gips.VneGipsSeqAlgorithm;
 import algorithms.heuristics.TafAlgorithm;
+import algorithms.heuristics.TafBatchAlgorithm;
 import algorithms.ilp.VneFakeIlpAlgorithm;
 import algorithms.ilp.VneFakeIlpBatchAlgorithm;
 import algorithms.pm.VnePmMdvneAlgorithm;
@@ -31,7 +33,10 @@ import algorithms.pm.VnePmMdvneAlgorithmPipelineTwoStagesRackB;
 import algorithms.pm.VnePmMdvneAlgorithmPipelineTwoStagesVnet;
 import facade.ModelFacade;
 import facade.config.ModelFacadeConfig;
+import ilp.wrapper.IlpDeltaPresolver;
+import ilp.wrapper.IlpStatisticsManager;
 import ilp.wrapper.config.IlpSolverConfig;
+import ilp.wrapper.config.Solver;
 import metrics.MetricConfig;
 import metrics.MetricConsts;
 import metrics.embedding.AcceptedVnrMetric;
@@ -133,6 +138,7 @@ public class DissScenarioLoad {
 			sNet = (SubstrateNetwork) ModelFacade.getInstance().getNetworkById(sNet.getName());
 			CsvUtil.appendCsvLine(vNet.getName(), csvPath, sNet);
 			GlobalMetricsManager.resetRuntime();
+			IlpStatisticsManager.reset();
 			GlobalMetricsManager.resetMemory();
 
 			// Get next virtual network ID to embed
@@ -163,7 +169,8 @@ public class DissScenarioLoad {
 	 * <ol>
 	 * <li>#0: Algorithm "pm", "pm-migration", "pm-pipeline2-vnet",
 	 * "pm-pipeline2-racka", "pm-pipeline2-rackb", "pm-pipeline3a", "pm-pipeline3b",
-	 * "ilp", "ilp-batch", "gips", "gips-mig", "gips-seq" or "taf" (required)</li>
+	 * "ilp", "ilp-batch", "gips", "gips-mig", "gips-seq", "taf" or "taf-batch"
+	 * (required)</li>
 	 * <li>#1: Objective "total-path", "total-comm-a", "total-comm-b",
 	 * "total-obj-c", "total-obj-d", "total-taf-comm" (required)</li>
 	 * <li>#2: Embedding "emoflon", "emoflon_wo_update" or "manual" [only relevant
@@ -265,6 +272,89 @@ public class DissScenarioLoad {
 		ilpObjLog.setRequired(false);
 		options.addOption(ilpObjLog);
 
+		// ILP solver to use
+		final Option ilpSolver = new Option("u", "ilpsolver", true, "ILP solver to use (gurobi, cplex, java)");
+		ilpSolver.setRequired(false);
+		options.addOption(ilpSolver);
+
+		// Persistent ILP model for the PM algorithm
+		final Option persistentModel = new Option("p", "persistentmodel", false,
+				"Keep the ILP model of the PM algorithm alive across virtual network requests");
+		persistentModel.setRequired(false);
+		options.addOption(persistentModel);
+
+		// ILP solver latency budget per embedding request
+		final Option ilpLatencyBudget = new Option("b", "ilplatencybudget", true,
+				"ILP solver latency budget per embedding request in milliseconds");
+		ilpLatencyBudget.setRequired(false);
+		options.addOption(ilpLatencyBudget);
+
+		// ILP solver relative gap limit for an early stop
+		final Option ilpGapLimit = new Option("q", "ilpgaplimit", true, "ILP solver relative gap limit for an early stop");
+		ilpGapLimit.setRequired(false);
+		options.addOption(ilpGapLimit);
+
+		// ILP solver portfolio size
+		final Option ilpPortfolio = new Option("n", "ilpportfolio", true,
+				"number of ILP solver instances with different seeds that race against each other");
+		ilpPortfolio.setRequired(false);
+		options.addOption(ilpPortfolio);
+
+		// ILP delta presolve
+		final Option deltaPresolve = new Option("d", "deltapresolve", false,
+				"Presolve every ILP delta before it is applied to the solver");
+		deltaPresolve.setRequired(false);
+		options.addOption(deltaPresolve);
+
+		// Lazy bandwidth constraints
+		final Option lazyBandwidth = new Option("w", "lazybandwidth", false,
+				"Generate the bandwidth constraints of the substrate links lazily");
+		lazyBandwidth.setRequired(false);
+		options.addOption(lazyBandwidth);
+
+		// Column generation for the link to path variables
+		final Option colGen = new Option("j", "colgen", true,
+				"Generate the link to path variables of paths with more than the given number of hops by column generation");
+		colGen.setRequired(false);
+		options.addOption(colGen);
+
+		// Parallel migration search (only for the PM algorithm with migration)
+		final Option migThreads = new Option("f", "migthreads", true,
+				"number of threads to evaluate the migration victim sets in parallel");
+		migThreads.setRequired(false);
+		options.addOption(migThreads);
+
+		// Streaming of the matches into the ILP formulation (only for the PM
+		// algorithm)
+		final Option pmStreaming = new Option(null, "pmstreaming", false,
+				"Translate the matches into the ILP formulation while the pattern matcher runs");
+		pmStreaming.setRequired(false);
+		options.addOption(pmStreaming);
+
+		// Cache retention policy (only for the PM algorithms)
+		final Option cacheRetention = new Option(null, "cacheretention", true,
+				"retention policy of the algorithm caches: keep or evict (default)");
+		cacheRetention.setRequired(false);
+		options.addOption(cacheRetention);
+
+		// Parallel candidate evaluation (only for the TAF algorithm)
+		final Option tafThreads = new Option(null, "tafthreads", true,
+				"number of threads to evaluate the substrate server candidates of the TAF algorithm in parallel");
+		tafThreads.setRequired(false);
+		options.addOption(tafThreads);
+
+		// Greedy fast path with the maximum relative gap to the lower bound (only for
+		// the PM algorithm)
+		final Option pmFastPath = new Option(null, "pmfastpath", true,
+				"enable the greedy fast path with the given maximum relative gap to the lower bound of the cost");
+		pmFastPath.setRequired(false);
+		options.addOption(pmFastPath);
+
+		// ILP solver quiet mode
+		final Option ilpQuiet = new Option("z", "ilpquiet", false, "Disable the log output of the ILP solvers");
+		ilpQuiet.setRequired(false);
+		options.addOption(ilpQuiet);
+
 		final CommandLineParser parser = new DefaultParser();
 		final HelpFormatter formatter = new HelpFormatter();
 		CommandLine cmd = null;
@@ -381,6 +471,81 @@ public class DissScenarioLoad {
 		// #14: ILP solver objective logarithm
 		IlpSolverConfig.OBJ_LOG = cmd.hasOption("ilpobjlog");
 
+		// #15: ILP solver
+		if (cmd.getOptionValue("ilpsolver") != null) {
+			switch (cmd.getOptionValue("ilpsolver")) {
+			case "gurobi":
+				IlpSolverConfig.solver = Solver.GUROBI;
+				break;
+			case "cplex":
+				IlpSolverConfig.solver = Solver.CPLEX;
+				break;
+			case "java":
+				IlpSolverConfig.solver = Solver.JAVA;
+				break;
+			}
+		}
+
+		// #16: Persistent ILP model for the PM algorithm
+		AlgorithmConfig.pmPersistentModel = cmd.hasOption("persistentmodel");
+
+		// #17: ILP solver latency budget
+		if (cmd.getOptionValue("ilplatencybudget") != null) {
+			IlpSolverConfig.LATENCY_BUDGET = Long.valueOf(cmd.getOptionValue("ilplatencybudget"));
+		}
+
+		// #18: ILP solver gap limit
+		if (cmd.getOptionValue("ilpgaplimit") != null) {
+			IlpSolverConfig.GAP_LIMIT = Double.valueOf(cmd.getOptionValue("ilpgaplimit"));
+		}
+
+		// #19: ILP solver portfolio size
+		if (cmd.getOptionValue("ilpportfolio") != null) {
+			IlpSolverConfig.PORTFOLIO_SIZE = Integer.valueOf(cmd.getOptionValue("ilpportfolio"));
+		}
+
+		// #20: ILP delta presolve
+		if (cmd.hasOption("deltapresolve")) {
+			IlpSolverConfig.presolver = new IlpDeltaPresolver();
+		}
+
+		// #21: Lazy bandwidth constraints
+		AlgorithmConfig.lazyBandwidth = cmd.hasOption("lazybandwidth");
+
+		// #22: Column generation for the link to path variables
+		if (cmd.getOptionValue("colgen") != null) {
+			AlgorithmConfig.pmColumnGeneration = true;
+			AlgorithmConfig.pmColGenInitialHops = Integer.valueOf(cmd.getOptionValue("colgen"));
+		}
+
+		// #23: ILP solver quiet mode
+		IlpSolverConfig.ENABLE_ILP_OUTPUT = !cmd.hasOption("ilpquiet");
+
+		// #24: Parallel migration search
+		if (cmd.getOptionValue("migthreads") != null) {
+			AlgorithmConfig.pmMigrationThreads = Integer.valueOf(cmd.getOptionValue("migthreads"));
+		}
+
+		// #25: Streaming of the matches into the ILP formulation
+		AlgorithmConfig.pmStreaming = cmd.hasOption("pmstreaming");
+
+		// #26: Cache retention policy
+		if (cmd.getOptionValue("cacheretention") != null) {
+			AlgorithmConfig.pmCacheRetention = CacheRetention
+					.valueOf(cmd.getOptionValue("cacheretention").toUpperCase());
+		}
+
+		// #27: Parallel candidate evaluation of the TAF algorithm
+		if (cmd.getOptionValue("tafthreads") != null) {
+			AlgorithmConfig.tafThreads = Integer.valueOf(cmd.getOptionValue("tafthreads"));
+		}
+
+		// #28: Greedy fast path of the PM algorithm
+		if (cmd.getOptionValue("pmfastpath") != null) {
+			AlgorithmConfig.pmFastPath = true;
+			AlgorithmConfig.pmFastPathGap = Double.valueOf(cmd.getOptionValue("pmfastpath"));
+		}
+
 		// Print arguments into logs/system outputs
 		System.out.println("=> Arguments: " + Arrays.toString(args));
 	}
@@ -419,6 +584,9 @@ public class DissScenarioLoad {
 		case "taf":
 			ModelFacadeConfig.IGNORE_BW = true;
 			return new TafAlgorithm(sNet, vNets);
+		case "taf-batch":
+			ModelFacadeConfig.IGNORE_BW = true;
+			return new TafBatchAlgorithm(sNet, vNets);
 		default:
 			throw new IllegalArgumentException("Configured algorithm not known.");
 		}
@@ -7,6 +7,7 @@ import java.util.Set;
 import algorithms.AbstractAlgorithm;
 import facade.ModelFacade;
 import facade.config.ModelFacadeConfig;
+import ilp.wrapper.IlpStatisticsManager;
 import metrics.manager.GlobalMetricsManager;
 import model.SubstrateNetwork;
 import model.VirtualNetwork;
@@ -69,6 +70,7 @@ public class DissScenarioLoadBatch extends DissScenarioLoad {
 		sNet = (SubstrateNetwork) ModelFacade.getInstance().getNetworkById(sNet.getName());
 		CsvUtil.appendCsvLine("batch-all", csvPath, sNet);
 		GlobalMetricsManager.resetRuntime();
+		IlpStatisticsManager.reset();
 
 		// Validate model
 		ModelFacade.getInstance().validateModel();